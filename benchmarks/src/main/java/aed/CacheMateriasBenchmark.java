@@ -0,0 +1,96 @@
+package aed;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Consultas con el tráfico sesgado de un día de inscripción: la mayoría de las búsquedas son de unas pocas materias
+// de primer año. Compara el sistema sin cache (capacidad 0) con caches de distintas capacidades, con uno y con cuatro
+// hilos lectores sobre el mismo sistema (las búsquedas en el cache no toman lock).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class CacheMateriasBenchmark {
+
+    @Param({"0", "64", "1024"})
+    int capacidad;
+
+    // Proporción de las consultas que van a las materias populares
+    @Param({"0.9"})
+    double sesgo;
+
+    static final int CANT_POPULARES = 40;
+    static final int CANT_CONSULTAS = 1 << 16;
+
+    SistemaSIU sistema;
+    ParCarreraMateria[] consultas;
+
+    // Estado de cada hilo: su posición en las consultas
+    @State(Scope.Thread)
+    public static class Hilo {
+        int siguiente;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            siguiente = (int) (Thread.currentThread().getId() * 7919);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        InfoMateria[] infos = DatosBenchmark.infoMaterias(20, 2000, 3);
+        ParCarreraMateria[] pares = DatosBenchmark.pares(infos);
+        sistema = new SistemaSIU(infos, DatosBenchmark.libretas(1000));
+        if (capacidad > 0) {
+            sistema.activarCache(capacidad);
+        }
+
+        // Las consultas son copias de los nombres (como llegan de afuera), no las mismas instancias del sistema
+        Random azar = new Random(41);
+        consultas = new ParCarreraMateria[CANT_CONSULTAS];
+        for (int i = 0; i < CANT_CONSULTAS; i++) {
+            ParCarreraMateria par = azar.nextDouble() < sesgo ? pares[azar.nextInt(CANT_POPULARES)] : pares[azar.nextInt(pares.length)];
+            consultas[i] = new ParCarreraMateria(new String(par.getCarrera()), new String(par.getNombreMateria()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void mostrarCache() {
+        if (sistema.cache() != null) {
+            System.out.println(sistema.cache());
+        }
+    }
+
+    static boolean consultar(CacheMateriasBenchmark datos, Hilo hilo) {
+        ParCarreraMateria par = datos.consultas[hilo.siguiente++ & (CANT_CONSULTAS - 1)];
+        return datos.sistema.excedeCupo(par.getNombreMateria(), par.getCarrera());
+    }
+
+    @Benchmark
+    public boolean excedeCupo(Hilo hilo) {
+        return consultar(this, hilo);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean excedeCupoCuatroHilos(Hilo hilo) {
+        return consultar(this, hilo);
+    }
+}
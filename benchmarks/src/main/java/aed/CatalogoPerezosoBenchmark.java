@@ -0,0 +1,80 @@
+package aed;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Compara construir el sistema completo con construirlo con el catálogo perezoso, y en los dos casos usar algunas
+// carreras (una consulta de materias() en cada una, que con el catálogo perezoso la materializa).
+// main() imprime la memoria estimada de cada uno según la cantidad de carreras usadas.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class CatalogoPerezosoBenchmark {
+
+    @Param({"20"})
+    int cantCarreras;
+
+    @Param({"2000"})
+    int cantMaterias;
+
+    @Param({"1", "4"})
+    int nombresPorMateria;
+
+    // Cantidad de carreras que se usan después de construir
+    @Param({"1", "5", "20"})
+    int carrerasUsadas;
+
+    InfoMateria[] infos;
+    String[] libretas;
+
+    @Setup
+    public void preparar() {
+        infos = DatosBenchmark.infoMaterias(cantCarreras, cantMaterias, nombresPorMateria);
+        libretas = DatosBenchmark.libretas(1000);
+    }
+
+    static int usar(SistemaSIU sistema, int carrerasUsadas) {
+        int total = 0;
+        for (int i = 0; i < carrerasUsadas; i++) {
+            total += sistema.materias(DatosBenchmark.nombreCarrera(i)).length;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int completo() {
+        return usar(new SistemaSIU(infos, libretas), carrerasUsadas);
+    }
+
+    @Benchmark
+    public int perezoso() {
+        return usar(SistemaSIU.conCatalogoPerezoso(infos, libretas), carrerasUsadas);
+    }
+
+    public static void main(String[] args) {
+        InfoMateria[] infos = DatosBenchmark.infoMaterias(20, 2000, 4);
+        String[] libretas = DatosBenchmark.libretas(1000);
+        SistemaSIU completo = new SistemaSIU(infos, libretas);
+        System.out.printf("Completo: %,d bytes%n", completo.memoria().bytes);
+        for (int usadas : new int[] {0, 1, 5, 20}) {
+            SistemaSIU perezoso = SistemaSIU.conCatalogoPerezoso(infos, libretas);
+            usar(perezoso, usadas);
+            System.out.printf("Perezoso, %2d carreras usadas: %,d bytes (%d sin materializar)%n", usadas,
+                perezoso.memoria().bytes, perezoso.carrerasSinMaterializar());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package aed;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+// Compara el pico de heap al construir el sistema desde archivos: leyéndolos a Arrays de InfoMateria y de libretas
+// (como hace hoy el ETL) o con CargadorSIU, que inserta cada línea apenas la lee. Cada modo corre en una JVM aparte.
+// Uso: java -cp target/benchmarks.jar aed.CompararCarga
+public class CompararCarga {
+
+    private static final int CANT_CARRERAS = 40;
+    private static final int CANT_MATERIAS = 20000;
+    private static final int NOMBRES_POR_MATERIA = 3;
+    private static final int CANT_ESTUDIANTES = 500000;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 3 && args[0].equals("--medir")) {
+            medir(args[1], Paths.get(args[2]));
+            return;
+        }
+
+        Path carpeta = Files.createTempDirectory("carga");
+        escribirArchivos(carpeta);
+        String java = System.getProperty("java.home") + "/bin/java";
+        String classpath = System.getProperty("java.class.path");
+        System.out.printf("%-10s %12s %14s %12s%n", "modo", "tiempo", "pico de heap", "heap final");
+        for (String modo : new String[] {"arrays", "cargador"}) {
+            Process proceso = new ProcessBuilder(java, "-Xmx4g", "-XX:+UseG1GC", "-cp", classpath,
+                CompararCarga.class.getName(), "--medir", modo, carpeta.toString()).inheritIO().start();
+            if (proceso.waitFor() != 0) {
+                System.out.println(modo + ": la medición terminó con error");
+            }
+        }
+    }
+
+    // Escribe el catálogo y el padrón con los datos de DatosBenchmark
+    private static void escribirArchivos(Path carpeta) throws IOException {
+        InfoMateria[] infos = DatosBenchmark.infoMaterias(CANT_CARRERAS, CANT_MATERIAS, NOMBRES_POR_MATERIA);
+        try (BufferedWriter salida = Files.newBufferedWriter(carpeta.resolve("catalogo.csv"), StandardCharsets.UTF_8)) {
+            for (int i = 0; i < infos.length; i++) {
+                for (ParCarreraMateria par : infos[i].getParesCarreraMateria()) {
+                    salida.write(i + ";" + par.getCarrera() + ";" + par.getNombreMateria() + "\n");
+                }
+            }
+        }
+        try (BufferedWriter salida = Files.newBufferedWriter(carpeta.resolve("padron.txt"), StandardCharsets.UTF_8)) {
+            for (String libreta : DatosBenchmark.libretas(CANT_ESTUDIANTES)) {
+                salida.write(libreta + "\n");
+            }
+        }
+    }
+
+    // Lee los archivos como lo haría el ETL: todas las líneas a memoria, y de ahí a los Arrays
+    private static SistemaSIU cargarConArrays(Path carpeta) throws IOException {
+        List<String> filas = Files.readAllLines(carpeta.resolve("catalogo.csv"), StandardCharsets.UTF_8);
+        List<InfoMateria> infos = new ArrayList<>();
+        List<ParCarreraMateria> pares = new ArrayList<>();
+        String idActual = null;
+        for (String fila : filas) {
+            String[] campos = fila.split(";", 3);
+            if (idActual != null && !campos[0].equals(idActual)) {
+                infos.add(new InfoMateria(pares.toArray(new ParCarreraMateria[0])));
+                pares.clear();
+            }
+            idActual = campos[0];
+            pares.add(new ParCarreraMateria(campos[1], campos[2]));
+        }
+        infos.add(new InfoMateria(pares.toArray(new ParCarreraMateria[0])));
+        String[] libretas = Files.readAllLines(carpeta.resolve("padron.txt"), StandardCharsets.UTF_8).toArray(new String[0]);
+        return new SistemaSIU(infos.toArray(new InfoMateria[0]), libretas);
+    }
+
+    private static void medir(String modo, Path carpeta) throws IOException {
+        System.gc();
+        for (MemoryPoolMXBean pileta : ManagementFactory.getMemoryPoolMXBeans()) {
+            pileta.resetPeakUsage();
+        }
+        long inicio = System.nanoTime();
+        SistemaSIU sistema = modo.equals("arrays") ? cargarConArrays(carpeta)
+            : CargadorSIU.cargar(carpeta.resolve("catalogo.csv"), carpeta.resolve("padron.txt"));
+        long tiempo = (System.nanoTime() - inicio) / 1000000;
+
+        // El pico de cada pileta del heap (es una cota superior del pico total, porque no se dan todas a la vez)
+        long pico = 0;
+        for (MemoryPoolMXBean pileta : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pileta.getType() == MemoryType.HEAP) {
+                pico += pileta.getPeakUsage().getUsed();
+            }
+        }
+        System.gc();
+        long usado = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        System.out.printf("%-10s %9d ms %11d MB %9d MB%n", modo, tiempo, pico >> 20, usado >> 20);
+        if (sistema.cantidadMaterias() != CANT_MATERIAS || sistema.cantidadEstudiantes() != CANT_ESTUDIANTES) {
+            throw new IllegalStateException("La carga no coincide");
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package aed;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Exporta un sistema con 10 millones de inscripciones en cada formato, y muestra el tiempo, el tamaño del archivo y
+// cuánto crece el heap durante la exportación (después de recolectar): tiene que ser ~0, porque el exportador sólo
+// usa un buffer fijo. Los inscriptos se guardan fuera del heap para que el heap tenga sobre todo los Tries.
+// Uso: java -Xmx4g -cp target/benchmarks.jar aed.CompararExportacion
+public class CompararExportacion {
+
+    private static final int CANT_CARRERAS = 40;
+    private static final int CANT_MATERIAS = 4000;
+    private static final int NOMBRES_POR_MATERIA = 2;
+    private static final int CANT_ESTUDIANTES = 200000;
+    private static final int MATERIAS_POR_ESTUDIANTE = 50;
+
+    public static void main(String[] args) throws Exception {
+        InfoMateria[] infos = DatosBenchmark.infoMaterias(CANT_CARRERAS, CANT_MATERIAS, NOMBRES_POR_MATERIA);
+        ParCarreraMateria[] pares = DatosBenchmark.pares(infos);
+        String[] libretas = DatosBenchmark.libretas(CANT_ESTUDIANTES);
+        SistemaSIU sistema = new SistemaSIU(infos, libretas, TipoSecuencia.FUERA_DEL_HEAP);
+        for (int i = 0; i < CANT_ESTUDIANTES * MATERIAS_POR_ESTUDIANTE; i++) {
+            ParCarreraMateria par = pares[(int) ((i * 2654435761L) % pares.length)];
+            sistema.inscribir(libretas[i % libretas.length], par.getCarrera(), par.getNombreMateria());
+        }
+        libretas = null;
+
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Path archivo = Files.createTempFile("exportacion", ".dat");
+        System.out.printf("%-8s %6s %14s %10s %12s %16s %14s%n", "formato", "gzip", "registros", "tiempo", "archivo",
+            "asignado/reg", "heap antes/después");
+        try {
+            for (ExportadorSIU.Formato formato : ExportadorSIU.Formato.values()) {
+                for (boolean gzip : new boolean[] {false, true}) {
+                    System.gc();
+                    long heapAntes = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+                    long asignadoAntes = hilos.getThreadAllocatedBytes(Thread.currentThread().getId());
+                    long inicio = System.nanoTime();
+                    long registros = ExportadorSIU.exportar(sistema, archivo, formato, gzip);
+                    long tiempo = (System.nanoTime() - inicio) / 1000000;
+                    long asignado = hilos.getThreadAllocatedBytes(Thread.currentThread().getId()) - asignadoAntes;
+                    System.gc();
+                    long heapDespues = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+                    System.out.printf("%-8s %6s %14d %7d ms %9d MB %13.1f B %8d/%d MB%n", formato, gzip, registros, tiempo,
+                        Files.size(archivo) >> 20, (double) asignado / registros, heapAntes >> 20, heapDespues >> 20);
+                }
+            }
+        } finally {
+            Files.delete(archivo);
+        }
+    }
+}
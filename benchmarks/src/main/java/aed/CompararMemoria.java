@@ -0,0 +1,21 @@
+package aed;
+
+// Compara la memoria estimada por elemento de cada implementación de Secuencia (ver ReporteMemoria)
+// Uso: java -cp target/benchmarks.jar aed.CompararMemoria
+public class CompararMemoria {
+
+    public static void main(String[] args) {
+        int[] longitudes = {10, 100, 10000, 1000000};
+        System.out.printf("%-14s %10s %14s %16s %16s%n", "tipo", "longitud", "bytes", "bytes/elemento", "fuera del heap");
+        for (TipoSecuencia tipo : TipoSecuencia.values()) {
+            for (int longitud : longitudes) {
+                Secuencia<String> lista = tipo.crear();
+                for (int i = 0; i < longitud; i++) {
+                    lista.agregarAtras("");
+                }
+                ReporteMemoria reporte = lista.memoria();
+                System.out.printf("%-14s %10d %14d %16.2f %16d%n", tipo, longitud, reporte.bytes, (double) reporte.bytes / longitud, reporte.bytesFueraDelHeap);
+            }
+        }
+    }
+}
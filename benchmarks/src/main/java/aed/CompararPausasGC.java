@@ -0,0 +1,117 @@
+package aed;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+// Compara las pausas del recolector de basura de un día de inscripción con los inscriptos en el heap y fuera del heap.
+// Cada tipo de lista se mide en una JVM aparte (con el mismo heap y recolector), que inscribe a todos los estudiantes
+// en varias materias y después fuerza recolecciones completas, cuya duración depende de lo que queda vivo en el heap.
+// Uso: java -cp target/benchmarks.jar aed.CompararPausasGC [TIPO ...]   (por defecto ENLAZADA y FUERA_DEL_HEAP)
+public class CompararPausasGC {
+
+    private static final int CANT_CARRERAS = 40;
+    private static final int CANT_MATERIAS = 4000;
+    private static final int NOMBRES_POR_MATERIA = 3;
+    private static final int CANT_ESTUDIANTES = 200000;
+    private static final int MATERIAS_POR_ESTUDIANTE = 5;
+    private static final int RECOLECCIONES_COMPLETAS = 5;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && args[0].equals("--medir")) {
+            medir(TipoSecuencia.valueOf(args[1]));
+            return;
+        }
+
+        String[] tipos = args.length > 0 ? args : new String[] {"ENLAZADA", "FUERA_DEL_HEAP"};
+        String java = System.getProperty("java.home") + "/bin/java";
+        String classpath = System.getProperty("java.class.path");
+        System.out.printf("%-16s %12s %10s %12s %12s %14s %14s %14s %12s%n", "tipo", "inscripciones", "GCs",
+            "pausa total", "pausa max", "completa prom", "completa max", "heap usado", "fuera heap");
+        for (String tipo : tipos) {
+            Process proceso = new ProcessBuilder(java, "-Xms2g", "-Xmx2g", "-XX:+UseG1GC", "-cp", classpath,
+                CompararPausasGC.class.getName(), "--medir", tipo).inheritIO().start();
+            if (proceso.waitFor() != 0) {
+                System.out.println(tipo + ": la medición terminó con error");
+            }
+        }
+    }
+
+    // Pausas registradas por las notificaciones de los recolectores, en milisegundos
+    private static final List<Long> pausas = Collections.synchronizedList(new ArrayList<>());
+
+    private static void escucharPausas() {
+        for (GarbageCollectorMXBean recolector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) recolector).addNotificationListener((notificacion, contexto) -> {
+                if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notificacion.getType())) {
+                    GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notificacion.getUserData());
+                    // Las fases concurrentes de G1 no frenan a la aplicación
+                    if (!info.getGcName().contains("Concurrent")) {
+                        pausas.add(info.getGcInfo().getDuration());
+                    }
+                }
+            }, null, null);
+        }
+    }
+
+    private static void medir(TipoSecuencia tipo) throws InterruptedException {
+        InfoMateria[] infos = DatosBenchmark.infoMaterias(CANT_CARRERAS, CANT_MATERIAS, NOMBRES_POR_MATERIA);
+        ParCarreraMateria[] pares = DatosBenchmark.pares(infos);
+        String[] libretas = DatosBenchmark.libretas(CANT_ESTUDIANTES);
+        SistemaSIU sistema = new SistemaSIU(infos, libretas, tipo);
+        System.gc();
+        escucharPausas();
+
+        // Día de inscripción: cada estudiante se inscribe en varias materias al azar
+        Random azar = new Random(36);
+        long inscripciones = 0;
+        for (String libreta : libretas) {
+            for (int k = 0; k < MATERIAS_POR_ESTUDIANTE; k++) {
+                ParCarreraMateria par = pares[azar.nextInt(pares.length)];
+                sistema.inscribir(libreta, par.getCarrera(), par.getNombreMateria());
+                inscripciones++;
+            }
+        }
+        Thread.sleep(200); // Las notificaciones llegan en otro hilo
+        List<Long> pausasInscripcion;
+        synchronized (pausas) {
+            pausasInscripcion = new ArrayList<>(pausas);
+            pausas.clear();
+        }
+
+        // Recolecciones completas: recorren todo lo que sigue vivo, incluidas las listas de inscriptos
+        long totalCompletas = 0;
+        long maxCompleta = 0;
+        for (int i = 0; i < RECOLECCIONES_COMPLETAS; i++) {
+            long inicio = System.nanoTime();
+            System.gc();
+            long duracion = (System.nanoTime() - inicio) / 1000000;
+            totalCompletas += duracion;
+            maxCompleta = Math.max(maxCompleta, duracion);
+        }
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+
+        long totalPausas = 0;
+        long maxPausa = 0;
+        for (long pausa : pausasInscripcion) {
+            totalPausas += pausa;
+            maxPausa = Math.max(maxPausa, pausa);
+        }
+        ReporteMemoria memoria = sistema.memoria();
+        System.out.printf("%-16s %12d %10d %10d ms %10d ms %11d ms %11d ms %11d MB %9d MB%n", tipo, inscripciones,
+            pausasInscripcion.size(), totalPausas, maxPausa, totalCompletas / RECOLECCIONES_COMPLETAS, maxCompleta,
+            heap.getUsed() >> 20, memoria.bytesFueraDelHeap >> 20);
+        if (sistema.inscripcionesTotales() != inscripciones) {
+            throw new IllegalStateException("Faltan inscripciones");
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package aed;
+
+import java.util.Random;
+
+// Clase con los datos de prueba que comparten los benchmarks
+public class DatosBenchmark {
+
+    // Nombres base para armar nombres de materias largos y con tildes, como los reales
+    private static final String[] NOMBRES_BASE = {
+        "Análisis", "Álgebra Lineal", "Matemática", "Química General e Inorgánica", "Física Teórica",
+        "Técnicas de Diseño de Algoritmos", "Programación", "Estadística", "Biología Molecular", "Geometría"
+    };
+
+    // Arma un Array de InfoMateria con cantMaterias materias, cada una con nombresPorMateria nombres en carreras distintas
+    // (la materia i está en las carreras i, i+1, ..., i+nombresPorMateria-1, módulo cantCarreras)
+    public static InfoMateria[] infoMaterias(int cantCarreras, int cantMaterias, int nombresPorMateria) {
+        if (nombresPorMateria > cantCarreras) {
+            throw new IllegalArgumentException("Cada nombre de una materia tiene que estar en una carrera distinta");
+        }
+        InfoMateria[] infos = new InfoMateria[cantMaterias];
+        for (int i = 0; i < cantMaterias; i++) {
+            ParCarreraMateria[] pares = new ParCarreraMateria[nombresPorMateria];
+            for (int k = 0; k < nombresPorMateria; k++) {
+                String carrera = nombreCarrera((i + k) % cantCarreras);
+                String materia = NOMBRES_BASE[(i + k) % NOMBRES_BASE.length] + " " + i + "." + k;
+                pares[k] = new ParCarreraMateria(carrera, materia);
+            }
+            infos[i] = new InfoMateria(pares);
+        }
+        return infos;
+    }
+
+    // Nombre de la carrera número i
+    public static String nombreCarrera(int i) {
+        return "Licenciatura en Ciencias " + i;
+    }
+
+    // Arma cantEstudiantes libretas universitarias distintas, con el formato numero/año
+    public static String[] libretas(int cantEstudiantes) {
+        String[] libretas = new String[cantEstudiantes];
+        for (int i = 0; i < cantEstudiantes; i++) {
+            libretas[i] = i + "/" + (10 + i % 15);
+        }
+        return libretas;
+    }
+
+    // Aplana todos los pares carrera - materia de las infoMaterias
+    public static ParCarreraMateria[] pares(InfoMateria[] infos) {
+        int total = 0;
+        for (InfoMateria info : infos) {
+            total += info.getParesCarreraMateria().length;
+        }
+        ParCarreraMateria[] pares = new ParCarreraMateria[total];
+        int j = 0;
+        for (InfoMateria info : infos) {
+            for (ParCarreraMateria par : info.getParesCarreraMateria()) {
+                pares[j] = par;
+                j++;
+            }
+        }
+        return pares;
+    }
+
+    // Devuelve una permutación aleatoria (con semilla fija) de las claves dadas
+    public static String[] mezclar(String[] claves, long semilla) {
+        String[] res = claves.clone();
+        Random random = new Random(semilla);
+        for (int i = res.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            String aux = res[i];
+            res[i] = res[j];
+            res[j] = aux;
+        }
+        return res;
+    }
+}
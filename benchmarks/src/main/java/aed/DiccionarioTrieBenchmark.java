@@ -0,0 +1,105 @@
+package aed;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Benchmarks de DiccionarioTrie: inserción, búsqueda, eliminación y listado de claves
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class DiccionarioTrieBenchmark {
+
+    @Param({"1000", "20000"})
+    int cantClaves;
+
+    // "lu": libretas universitarias (dígitos y '/'), "materia": nombres de materias con tildes
+    @Param({"lu", "materia"})
+    String tipoClave;
+
+    String[] claves;
+    String[] ausentes;
+    DiccionarioTrie<Integer> lleno;
+    int siguiente;
+
+    @Setup
+    public void preparar() {
+        if (tipoClave.equals("lu")) {
+            claves = DatosBenchmark.libretas(cantClaves);
+        } else {
+            ParCarreraMateria[] pares = DatosBenchmark.pares(DatosBenchmark.infoMaterias(1, cantClaves, 1));
+            claves = new String[pares.length];
+            for (int i = 0; i < pares.length; i++) {
+                claves[i] = pares[i].getNombreMateria();
+            }
+        }
+        claves = DatosBenchmark.mezclar(claves, 42);
+
+        // Claves que comparten prefijo con las del diccionario pero no están
+        ausentes = new String[claves.length];
+        for (int i = 0; i < claves.length; i++) {
+            ausentes[i] = claves[i] + "#";
+        }
+
+        lleno = new DiccionarioTrie<>();
+        for (int i = 0; i < claves.length; i++) {
+            lleno.insertar(claves[i], i);
+        }
+        siguiente = 0;
+    }
+
+    private int proximoIndice() {
+        siguiente++;
+        if (siguiente == claves.length) {
+            siguiente = 0;
+        }
+        return siguiente;
+    }
+
+    // Arma un diccionario nuevo con todas las claves (el tiempo es por diccionario, no por clave)
+    @Benchmark
+    public DiccionarioTrie<Integer> insertarTodas() {
+        DiccionarioTrie<Integer> dicc = new DiccionarioTrie<>();
+        for (int i = 0; i < claves.length; i++) {
+            dicc.insertar(claves[i], i);
+        }
+        return dicc;
+    }
+
+    @Benchmark
+    public Integer buscar() {
+        return lleno.buscar(claves[proximoIndice()]);
+    }
+
+    @Benchmark
+    public Integer buscarAusente() {
+        return lleno.buscar(ausentes[proximoIndice()]);
+    }
+
+    // Elimina una clave y la vuelve a insertar, para que el diccionario no cambie entre invocaciones
+    @Benchmark
+    public boolean eliminarYReinsertar() {
+        int i = proximoIndice();
+        boolean res = lleno.eliminar(claves[i]);
+        lleno.insertar(claves[i], i);
+        return res;
+    }
+
+    @Benchmark
+    public ListaEnlazada<String> obtenerClaves() {
+        return lleno.obtenerClaves();
+    }
+}
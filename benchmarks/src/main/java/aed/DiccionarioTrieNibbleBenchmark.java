@@ -0,0 +1,138 @@
+package aed;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Compara la búsqueda en DiccionarioTrie (255 slots por nodo, un nodo por caracter) y en DiccionarioTrieNibble (16 slots
+// por nodo, dos nodos por byte UTF-8), con claves presentes y ausentes, sobre libretas y nombres de materias.
+// main() imprime la memoria estimada y el heap medido de cada uno con las mismas claves.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class DiccionarioTrieNibbleBenchmark {
+
+    @Param({"20000"})
+    int cantClaves;
+
+    // "lu": libretas universitarias (dígitos y '/'), "materia": nombres de materias con tildes
+    @Param({"lu", "materia"})
+    String tipoClave;
+
+    String[] claves;
+    String[] ausentes;
+    DiccionarioTrie<Integer> trie;
+    DiccionarioTrieNibble<Integer> nibble;
+    int siguiente;
+
+    @Setup
+    public void preparar() {
+        claves = claves(tipoClave, cantClaves);
+
+        // Claves que comparten prefijo con las del diccionario pero no están
+        ausentes = new String[claves.length];
+        for (int i = 0; i < claves.length; i++) {
+            ausentes[i] = claves[i] + "#";
+        }
+        trie = new DiccionarioTrie<>();
+        nibble = new DiccionarioTrieNibble<>();
+        for (int i = 0; i < claves.length; i++) {
+            trie.insertar(claves[i], i);
+            nibble.insertar(claves[i], i);
+        }
+        siguiente = 0;
+    }
+
+    static String[] claves(String tipoClave, int cantClaves) {
+        String[] claves;
+        if (tipoClave.equals("lu")) {
+            claves = DatosBenchmark.libretas(cantClaves);
+        } else {
+            ParCarreraMateria[] pares = DatosBenchmark.pares(DatosBenchmark.infoMaterias(1, cantClaves, 1));
+            claves = new String[pares.length];
+            for (int i = 0; i < pares.length; i++) {
+                claves[i] = pares[i].getNombreMateria();
+            }
+        }
+        return DatosBenchmark.mezclar(claves, 42);
+    }
+
+    private int proximoIndice() {
+        siguiente++;
+        if (siguiente == claves.length) {
+            siguiente = 0;
+        }
+        return siguiente;
+    }
+
+    @Benchmark
+    public Integer buscarTrie() {
+        return trie.buscar(claves[proximoIndice()]);
+    }
+
+    @Benchmark
+    public Integer buscarNibble() {
+        return nibble.buscar(claves[proximoIndice()]);
+    }
+
+    @Benchmark
+    public Integer buscarAusenteTrie() {
+        return trie.buscar(ausentes[proximoIndice()]);
+    }
+
+    @Benchmark
+    public Integer buscarAusenteNibble() {
+        return nibble.buscar(ausentes[proximoIndice()]);
+    }
+
+    // Heap ocupado después de un GC (aproximado: depende de que el GC libere todo lo que no se usa)
+    private static long heapUsado() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    public static void main(String[] args) {
+        for (String tipoClave : new String[] {"lu", "materia"}) {
+            String[] claves = claves(tipoClave, 20000);
+
+            long antes = heapUsado();
+            DiccionarioTrie<Integer> trie = new DiccionarioTrie<>();
+            for (int i = 0; i < claves.length; i++) {
+                trie.insertar(claves[i], i);
+            }
+            long heapTrie = heapUsado() - antes;
+            ReporteMemoria memoriaTrie = trie.memoria();
+            trie = null;
+
+            antes = heapUsado();
+            DiccionarioTrieNibble<Integer> nibble = new DiccionarioTrieNibble<>();
+            for (int i = 0; i < claves.length; i++) {
+                nibble.insertar(claves[i], i);
+            }
+            long heapNibble = heapUsado() - antes;
+            ReporteMemoria memoriaNibble = nibble.memoria();
+
+            System.out.printf("%s (%,d claves)%n", tipoClave, claves.length);
+            System.out.printf("  DiccionarioTrie:       %,9d nodos, estimado %,13d bytes, heap medido %,13d bytes%n",
+                memoriaTrie.nodos, memoriaTrie.bytes, heapTrie);
+            System.out.printf("  DiccionarioTrieNibble: %,9d nodos, estimado %,13d bytes, heap medido %,13d bytes%n",
+                memoriaNibble.nodos, memoriaNibble.bytes, heapNibble);
+        }
+    }
+}
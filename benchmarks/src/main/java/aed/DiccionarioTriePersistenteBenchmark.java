@@ -0,0 +1,105 @@
+package aed;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Compara la búsqueda en DiccionarioTrie (255 slots por nodo) y en DiccionarioTriePersistente (mapa de bits y sólo los
+// hijos presentes), y el costo de armar una versión nueva con una clave más o una menos (copia del camino).
+// main() imprime la memoria de una versión y de 30 versiones que difieren en una clave cada una.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class DiccionarioTriePersistenteBenchmark {
+
+    @Param({"20000"})
+    int cantClaves;
+
+    String[] claves;
+    DiccionarioTrie<Integer> mutable;
+    DiccionarioTriePersistente<Integer> persistente;
+    int siguiente;
+
+    @Setup
+    public void preparar() {
+        claves = claves(cantClaves);
+        mutable = new DiccionarioTrie<>();
+        for (int i = 0; i < claves.length; i++) {
+            mutable.insertar(claves[i], i);
+        }
+        persistente = DiccionarioTriePersistente.desde(mutable);
+        siguiente = 0;
+    }
+
+    // Nombres de materias con tildes, mezclados
+    static String[] claves(int cantClaves) {
+        ParCarreraMateria[] pares = DatosBenchmark.pares(DatosBenchmark.infoMaterias(1, cantClaves, 1));
+        String[] claves = new String[pares.length];
+        for (int i = 0; i < pares.length; i++) {
+            claves[i] = pares[i].getNombreMateria();
+        }
+        return DatosBenchmark.mezclar(claves, 42);
+    }
+
+    private int proximoIndice() {
+        siguiente++;
+        if (siguiente == claves.length) {
+            siguiente = 0;
+        }
+        return siguiente;
+    }
+
+    @Benchmark
+    public Integer buscarMutable() {
+        return mutable.buscar(claves[proximoIndice()]);
+    }
+
+    @Benchmark
+    public Integer buscarPersistente() {
+        return persistente.buscar(claves[proximoIndice()]);
+    }
+
+    // Versión sin una clave (la versión base no cambia, así que todas las invocaciones hacen lo mismo)
+    @Benchmark
+    public DiccionarioTriePersistente<Integer> versionSinClave() {
+        return persistente.eliminar(claves[proximoIndice()]);
+    }
+
+    // Versión con la clave asociada a otro valor
+    @Benchmark
+    public DiccionarioTriePersistente<Integer> versionConClave() {
+        int i = proximoIndice();
+        return persistente.insertar(claves[i], -i);
+    }
+
+    public static void main(String[] args) {
+        String[] claves = claves(20000);
+        DiccionarioTrie<Integer> mutable = new DiccionarioTrie<>();
+        for (int i = 0; i < claves.length; i++) {
+            mutable.insertar(claves[i], i);
+        }
+        @SuppressWarnings("unchecked")
+        DiccionarioTriePersistente<Integer>[] versiones = new DiccionarioTriePersistente[31];
+        versiones[0] = DiccionarioTriePersistente.desde(mutable);
+        for (int k = 1; k < versiones.length; k++) {
+            versiones[k] = versiones[k - 1].eliminar(claves[k]);
+        }
+        System.out.printf("DiccionarioTrie: %,d bytes%n", mutable.memoria().bytes);
+        System.out.printf("Persistente, 1 versión: %,d bytes%n", versiones[0].memoria().bytes);
+        System.out.printf("Persistente, 31 versiones: %,d bytes%n",
+            DiccionarioTriePersistente.memoriaCompartida(versiones).bytes);
+    }
+}
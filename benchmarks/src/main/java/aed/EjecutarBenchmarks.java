@@ -0,0 +1,21 @@
+package aed;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Corre los benchmarks con el perfilador de memoria (equivalente a "-prof gc"), para ver también las asignaciones por operación
+// Uso: java -cp target/benchmarks.jar aed.EjecutarBenchmarks [expresión regular de benchmarks]
+public class EjecutarBenchmarks {
+
+    public static void main(String[] args) throws RunnerException {
+        String incluir = args.length > 0 ? args[0] : "aed\\..*Benchmark";
+        Options opciones = new OptionsBuilder()
+            .include(incluir)
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(opciones).run();
+    }
+}
@@ -0,0 +1,91 @@
+package aed;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Compara materiasInscriptas() con libretas conocidas y desconocidas (que el filtro de libretas rechaza casi siempre
+// sin bajar por el Trie) contra la bajada por el Trie de estudiantes sin filtro. Cada desconocida es una conocida con
+// el año equivocado (un error de tipeo), así que en el Trie se baja casi toda la clave antes de no encontrarla.
+// Cada búsqueda elige la libreta siguiente según el resultado de la anterior: si no, el procesador superpone las bajadas
+// de búsquedas consecutivas y el Trie solo parece mucho más rápido de lo que es en una consulta aislada.
+// main() imprime la tasa de falsos positivos medida y la esperada.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class FiltroLibretasBenchmark {
+
+    @Param({"20000"})
+    int cantEstudiantes;
+
+    String[] conocidas;
+    String[] desconocidas;
+    SistemaSIU sistema;
+    int siguiente;
+
+    @Setup
+    public void preparar() {
+        conocidas = DatosBenchmark.mezclar(DatosBenchmark.libretas(cantEstudiantes), 42);
+        desconocidas = new String[cantEstudiantes];
+        for (int i = 0; i < cantEstudiantes; i++) {
+            desconocidas[i] = conocidas[i].substring(0, conocidas[i].indexOf('/') + 1) + "99";
+        }
+        sistema = new SistemaSIU(new InfoMateria[0], conocidas);
+        siguiente = 0;
+    }
+
+    // Avanza a la libreta siguiente dependiendo del resultado (que es 0 o -1, así que en la práctica avanza de a una)
+    private int encadenar(int resultado) {
+        siguiente = (siguiente + 2 + resultado % 2) % cantEstudiantes;
+        return resultado;
+    }
+
+    @Benchmark
+    public int materiasInscriptasConocida() {
+        return encadenar(sistema.materiasInscriptas(conocidas[siguiente]));
+    }
+
+    @Benchmark
+    public int materiasInscriptasDesconocida() {
+        return encadenar(sistema.materiasInscriptas(desconocidas[siguiente]));
+    }
+
+    // La búsqueda de antes: directo al Trie
+    @Benchmark
+    public int trieConocida() {
+        SistemaSIU.EstadoEstudiante estado = sistema.estudiantes.buscar(conocidas[siguiente]);
+        return encadenar(estado == null ? -1 : estado.materias);
+    }
+
+    @Benchmark
+    public int trieDesconocida() {
+        SistemaSIU.EstadoEstudiante estado = sistema.estudiantes.buscar(desconocidas[siguiente]);
+        return encadenar(estado == null ? -1 : estado.materias);
+    }
+
+    public static void main(String[] args) {
+        FiltroLibretasBenchmark datos = new FiltroLibretasBenchmark();
+        datos.cantEstudiantes = 20000;
+        datos.preparar();
+        for (String libreta : datos.desconocidas) {
+            datos.sistema.materiasInscriptas(libreta);
+        }
+        FiltroLibretas filtro = datos.sistema.filtroLibretas();
+        System.out.println(filtro);
+        System.out.printf("Filtro: %,d bytes, Trie de estudiantes: %,d bytes%n", filtro.memoria().bytes,
+            datos.sistema.estudiantes.memoria().bytes);
+    }
+}
@@ -0,0 +1,262 @@
+package aed;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+
+// Generador de carga sintética con escala de facultad: carreras, materias compartidas con varios nombres,
+// estudiantes y trazas de operaciones con popularidad tipo Zipf y ráfagas de días de inscripción.
+// Con la misma semilla y los mismos parámetros genera siempre los mismos datos y la misma traza.
+public class GeneradorCarga {
+
+    // Familias de nombres: una misma materia puede llamarse distinto en cada carrera ("Análisis I", "Matemática 1", ...)
+    private static final String[][] FAMILIAS = {
+        {"Análisis", "Análisis Matemático", "Matemática", "Cálculo"},
+        {"Álgebra", "Álgebra Lineal", "Matemática Discreta"},
+        {"Química General", "Química General e Inorgánica", "Química Básica"},
+        {"Física", "Física General", "Física Teórica"},
+        {"Algoritmos", "Algoritmos y Estructuras de Datos", "Programación"},
+        {"Probabilidad", "Probabilidad y Estadística", "Estadística Aplicada"},
+        {"Biología", "Biología General", "Biología Molecular"},
+        {"Introducción a la Computación", "Intro a la Programación", "Computación"},
+        {"Geología", "Geología General", "Ciencias de la Tierra"},
+        {"Técnicas de Diseño de Algoritmos", "Diseño de Algoritmos", "Algoritmos Avanzados"}
+    };
+
+    private static final String[] ROMANOS = {"I", "II", "III", "IV", "V", "VI", "VII", "VIII", "IX", "X"};
+
+    private static final String[] AREAS = {
+        "Computación", "Datos", "Físicas", "Químicas", "Matemáticas", "Biológicas", "Geológicas", "de la Atmósfera",
+        "Oceanografía", "Alimentos", "Paleontología", "Ambientales"
+    };
+
+    // Proporciones de cada tipo de operación (en el orden de OperacionSIU.Tipo, sin CERRAR_MATERIA)
+    // fuera y dentro de una ráfaga de inscripción
+    private static final double[] MEZCLA_NORMAL = {0.15, 0.01, 0.25, 0.15, 0.10, 0.20, 0.12, 0.02};
+    private static final double[] MEZCLA_RAFAGA = {0.70, 0.00, 0.10, 0.05, 0.00, 0.10, 0.05, 0.00};
+
+    // Parámetros de la facultad
+    private final long semilla;
+    private final int cantCarreras;
+    private final int cantMaterias;
+    private final int maxNombresPorMateria;
+    private final int cantEstudiantes;
+
+    // Parámetros de la traza (se pueden ajustar antes de llamar a traza())
+    public double exponenteZipf = 1.0; // s de la distribución de popularidad de materias (0 = uniforme)
+    public double operacionesPorSegundo = 5000; // tasa de llegada fuera de las ráfagas
+    public double factorRafaga = 20; // cuántas veces más rápido llegan las operaciones durante una ráfaga
+    public int operacionesPorBloque = 10000; // la traza se divide en bloques, y cada bloque es o no una ráfaga
+    public double probabilidadRafaga = 0.3; // probabilidad de que un bloque sea una ráfaga de inscripción
+    public int cantCierres = 0; // materias que se cierran al final de la traza (fin de cuatrimestre)
+
+    // Datos generados
+    private InfoMateria[] infoMaterias;
+    private String[] libretas;
+    private String[] carreras;
+
+    // Constructor: genera la facultad (materias y estudiantes) a partir de la semilla
+    public GeneradorCarga(long semilla, int cantCarreras, int cantMaterias, int maxNombresPorMateria, int cantEstudiantes) {
+        if (maxNombresPorMateria > cantCarreras) {
+            throw new IllegalArgumentException("Cada nombre de una materia tiene que estar en una carrera distinta");
+        }
+        this.semilla = semilla;
+        this.cantCarreras = cantCarreras;
+        this.cantMaterias = cantMaterias;
+        this.maxNombresPorMateria = maxNombresPorMateria;
+        this.cantEstudiantes = cantEstudiantes;
+        Random random = new Random(semilla);
+        generarCarreras();
+        generarMaterias(random);
+        generarLibretas(random);
+    }
+
+    // Constructor con la escala de referencia: 40 carreras, 3000 materias con hasta 4 nombres, 200000 estudiantes
+    public GeneradorCarga(long semilla) {
+        this(semilla, 40, 3000, 4, 200000);
+    }
+
+    public InfoMateria[] infoMaterias() {
+        return infoMaterias;
+    }
+
+    public String[] libretas() {
+        return libretas;
+    }
+
+    public String[] carreras() {
+        return carreras;
+    }
+
+    private void generarCarreras() {
+        carreras = new String[cantCarreras];
+        for (int i = 0; i < cantCarreras; i++) {
+            String area = AREAS[i % AREAS.length];
+            carreras[i] = i < AREAS.length ? "Ciencias " + area : "Ciencias " + area + " " + (i / AREAS.length + 1);
+        }
+    }
+
+    private void generarMaterias(Random random) {
+        infoMaterias = new InfoMateria[cantMaterias];
+
+        // Nombres ya usados en cada carrera, para que no se repitan dentro de una carrera
+        ArrayList<HashSet<String>> usados = new ArrayList<>();
+        for (int c = 0; c < cantCarreras; c++) {
+            usados.add(new HashSet<>());
+        }
+
+        for (int i = 0; i < cantMaterias; i++) {
+            String[] familia = FAMILIAS[i % FAMILIAS.length];
+            int nivel = i / FAMILIAS.length;
+            int cantNombres = 1 + random.nextInt(maxNombresPorMateria);
+
+            // Elegimos cantNombres carreras distintas
+            int[] elegidas = new int[cantNombres];
+            HashSet<Integer> yaElegidas = new HashSet<>();
+            for (int k = 0; k < cantNombres; k++) {
+                int c = random.nextInt(cantCarreras);
+                while (yaElegidas.contains(c)) {
+                    c = random.nextInt(cantCarreras);
+                }
+                yaElegidas.add(c);
+                elegidas[k] = c;
+            }
+
+            ParCarreraMateria[] pares = new ParCarreraMateria[cantNombres];
+            for (int k = 0; k < cantNombres; k++) {
+                String base = familia[random.nextInt(familia.length)];
+                String sufijo = random.nextBoolean() && nivel < ROMANOS.length ? ROMANOS[nivel] : Integer.toString(nivel + 1);
+                String nombre = base + " " + sufijo;
+                if (usados.get(elegidas[k]).contains(nombre)) {
+                    nombre = nombre + " (" + i + ")";
+                }
+                usados.get(elegidas[k]).add(nombre);
+                pares[k] = new ParCarreraMateria(carreras[elegidas[k]], nombre);
+            }
+            infoMaterias[i] = new InfoMateria(pares);
+        }
+    }
+
+    private void generarLibretas(Random random) {
+        libretas = new String[cantEstudiantes];
+        for (int i = 0; i < cantEstudiantes; i++) {
+            libretas[i] = (i + 1) + "/" + String.format("%02d", random.nextInt(25));
+        }
+    }
+
+    // Arma la distribución acumulada de Zipf sobre las materias, con el ranking de popularidad mezclado
+    private double[] acumuladaZipf() {
+        double[] acumulada = new double[cantMaterias];
+        double total = 0;
+        for (int r = 0; r < cantMaterias; r++) {
+            total += 1.0 / Math.pow(r + 1, exponenteZipf);
+            acumulada[r] = total;
+        }
+        for (int r = 0; r < cantMaterias; r++) {
+            acumulada[r] /= total;
+        }
+        return acumulada;
+    }
+
+    // Busca en la acumulada el primer rango con probabilidad acumulada >= u
+    private static int buscarRango(double[] acumulada, double u) {
+        int desde = 0;
+        int hasta = acumulada.length - 1;
+        while (desde < hasta) {
+            int medio = (desde + hasta) / 2;
+            if (acumulada[medio] < u) {
+                desde = medio + 1;
+            } else {
+                hasta = medio;
+            }
+        }
+        return desde;
+    }
+
+    // Elige un tipo de operación según la mezcla
+    private static OperacionSIU.Tipo elegirTipo(double[] mezcla, Random random) {
+        double u = random.nextDouble();
+        double acumulada = 0;
+        for (int i = 0; i < mezcla.length; i++) {
+            acumulada += mezcla[i];
+            if (u < acumulada) {
+                return OperacionSIU.Tipo.values()[i];
+            }
+        }
+        return OperacionSIU.Tipo.INSCRIPTOS;
+    }
+
+    // Genera una traza de cantOperaciones operaciones (más cantCierres cierres al final).
+    // Las materias populares se eligen con distribución de Zipf, y los bloques de ráfaga llegan más rápido y casi sólo inscriben.
+    // Nunca inscribe dos veces al mismo estudiante en la misma materia.
+    public OperacionSIU[] traza(int cantOperaciones) {
+        if (cantCierres > cantMaterias) {
+            throw new IllegalArgumentException("No se pueden cerrar más materias de las que hay");
+        }
+        Random random = new Random(semilla * 31 + cantOperaciones);
+        double[] acumulada = acumuladaZipf();
+
+        // La materia de rango r es popularidad[r]: la popularidad no depende del orden de infoMaterias
+        int[] popularidad = new int[cantMaterias];
+        for (int i = 0; i < cantMaterias; i++) {
+            popularidad[i] = i;
+        }
+        for (int i = cantMaterias - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int aux = popularidad[i];
+            popularidad[i] = popularidad[j];
+            popularidad[j] = aux;
+        }
+
+        SistemaSIU.CargoDocente[] cargos = SistemaSIU.CargoDocente.values();
+        HashSet<Long> inscripciones = new HashSet<>();
+        OperacionSIU[] traza = new OperacionSIU[cantOperaciones + cantCierres];
+        boolean enRafaga = false;
+        double instante = 0;
+
+        for (int n = 0; n < cantOperaciones; n++) {
+            if (n % operacionesPorBloque == 0) {
+                enRafaga = random.nextDouble() < probabilidadRafaga;
+            }
+
+            // Llegadas de Poisson: tiempo exponencial entre operaciones
+            double tasa = enRafaga ? operacionesPorSegundo * factorRafaga : operacionesPorSegundo;
+            instante += -Math.log(1 - random.nextDouble()) / tasa * 1e9;
+
+            OperacionSIU.Tipo tipo = elegirTipo(enRafaga ? MEZCLA_RAFAGA : MEZCLA_NORMAL, random);
+            int materia = popularidad[buscarRango(acumulada, random.nextDouble())];
+            ParCarreraMateria[] pares = infoMaterias[materia].getParesCarreraMateria();
+            ParCarreraMateria par = pares[random.nextInt(pares.length)];
+            int estudiante = random.nextInt(cantEstudiantes);
+
+            if (tipo == OperacionSIU.Tipo.INSCRIBIR) {
+                // Si ya estaba inscripto, probamos con otros estudiantes; si no hay suerte, se convierte en una consulta
+                int intentos = 0;
+                while (!inscripciones.add((long) estudiante * cantMaterias + materia) && intentos < 8) {
+                    estudiante = random.nextInt(cantEstudiantes);
+                    intentos++;
+                }
+                if (intentos == 8) {
+                    tipo = OperacionSIU.Tipo.INSCRIPTOS;
+                }
+            }
+
+            SistemaSIU.CargoDocente cargo = tipo == OperacionSIU.Tipo.AGREGAR_DOCENTE ? cargos[random.nextInt(cargos.length)] : null;
+            traza[n] = new OperacionSIU(tipo, libretas[estudiante], par.getCarrera(), par.getNombreMateria(), cargo, (long) instante);
+        }
+
+        // Cierres de materias distintas, al final de la traza
+        HashSet<Integer> cerradas = new HashSet<>();
+        for (int n = 0; n < cantCierres; n++) {
+            int materia = random.nextInt(cantMaterias);
+            while (cerradas.contains(materia)) {
+                materia = random.nextInt(cantMaterias);
+            }
+            cerradas.add(materia);
+            ParCarreraMateria par = infoMaterias[materia].getParesCarreraMateria()[0];
+            instante += 1e6;
+            traza[cantOperaciones + n] = new OperacionSIU(OperacionSIU.Tipo.CERRAR_MATERIA, null, par.getCarrera(), par.getNombreMateria(), null, (long) instante);
+        }
+        return traza;
+    }
+}
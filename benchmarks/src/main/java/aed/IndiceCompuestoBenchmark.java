@@ -0,0 +1,80 @@
+package aed;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Compara la resolución (carrera, materia) con los Tries anidados de SistemaSIU y con el índice plano de claves
+// "carrera␟materia", y el listado de materias de una carrera (recorrido del Trie de la carrera o del subárbol del prefijo).
+// La memoria de cada disposición se imprime con main().
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class IndiceCompuestoBenchmark {
+
+    @Param({"ANIDADO", "PLANO"})
+    String indice;
+
+    @Param({"2000"})
+    int cantMaterias;
+
+    SistemaSIU sistema;
+    ParCarreraMateria[] pares;
+    String[] carreras;
+    int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        sistema = armar(indice, cantMaterias);
+        pares = DatosBenchmark.pares(DatosBenchmark.infoMaterias(20, cantMaterias, 3));
+        carreras = sistema.carreras();
+    }
+
+    static SistemaSIU armar(String indice, int cantMaterias) {
+        SistemaSIU sistema = new SistemaSIU(DatosBenchmark.infoMaterias(20, cantMaterias, 3), DatosBenchmark.libretas(10));
+        if (indice.equals("PLANO")) {
+            sistema.activarIndicePlano();
+        }
+        return sistema;
+    }
+
+    @Benchmark
+    public int inscriptos() {
+        siguiente++;
+        ParCarreraMateria par = pares[(int) ((siguiente * 2654435761L) % pares.length)];
+        return sistema.inscriptos(par.getNombreMateria(), par.getCarrera());
+    }
+
+    @Benchmark
+    public String[] materias() {
+        siguiente++;
+        return sistema.materias(carreras[siguiente % carreras.length]);
+    }
+
+    // Imprime la memoria de los Tries de materias en cada disposición
+    public static void main(String[] args) {
+        int cantMaterias = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        SistemaSIU sistema = armar("PLANO", cantMaterias);
+        ReporteMemoria anidado = new ReporteMemoria("Anidado");
+        anidado.sumar(sistema.carreras.memoria());
+        for (String carrera : sistema.carreras()) {
+            anidado.sumar(sistema.carreras.buscar(carrera).memoria());
+        }
+        System.out.println(anidado);
+        System.out.println(sistema.indicePlano.memoria());
+    }
+}
@@ -0,0 +1,88 @@
+package aed;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Benchmarks de ListaEnteros contra ListaEnlazada<Integer>: armar la lista y sumar sus elementos.
+// Con -prof gc, gc.alloc.rate.norm de los armar* dividido la longitud da los bytes asignados por elemento.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ListaEnterosBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    int longitud;
+
+    int[] valores;
+    ListaEnteros enteros;
+    ListaEnlazada<Integer> enlazada;
+
+    @Setup
+    public void preparar() {
+        valores = new int[longitud];
+        for (int i = 0; i < longitud; i++) {
+            valores[i] = 100000 + i; // Fuera del cache de Integer, como las libretas o los ids de estudiantes
+        }
+        enteros = armarEnteros();
+        enlazada = armarEnlazada();
+    }
+
+    @Benchmark
+    public ListaEnteros armarEnteros() {
+        ListaEnteros lista = new ListaEnteros();
+        for (int valor : valores) {
+            lista.agregarAtras(valor);
+        }
+        return lista;
+    }
+
+    @Benchmark
+    public ListaEnteros armarEnterosEnBloque() {
+        ListaEnteros lista = new ListaEnteros();
+        lista.agregarTodos(valores);
+        return lista;
+    }
+
+    @Benchmark
+    public ListaEnlazada<Integer> armarEnlazada() {
+        ListaEnlazada<Integer> lista = new ListaEnlazada<>();
+        for (int valor : valores) {
+            lista.agregarAtras(valor);
+        }
+        return lista;
+    }
+
+    @Benchmark
+    public long sumarEnteros() {
+        long suma = 0;
+        ListaEnteros.IteradorEnteros iterador = enteros.iterador();
+        while (iterador.haySiguiente()) {
+            suma += iterador.siguiente();
+        }
+        return suma;
+    }
+
+    @Benchmark
+    public long sumarEnlazada() {
+        long suma = 0;
+        ListaEnlazada<Integer>.IteradorLista iterador = enlazada.iterador();
+        while (iterador.haySiguiente()) {
+            suma += iterador.siguiente();
+        }
+        return suma;
+    }
+}
@@ -0,0 +1,67 @@
+package aed;
+
+// Clase para representar una operación de una traza de carga sobre SistemaSIU
+public class OperacionSIU {
+
+    public enum Tipo {
+        INSCRIBIR,
+        AGREGAR_DOCENTE,
+        INSCRIPTOS,
+        EXCEDE_CUPO,
+        PLANTEL_DOCENTE,
+        MATERIAS_INSCRIPTAS,
+        MATERIAS,
+        CARRERAS,
+        CERRAR_MATERIA
+    }
+
+    public final Tipo tipo;
+    public final String estudiante; // null si la operación no usa estudiante
+    public final String carrera; // null si la operación no usa carrera
+    public final String materia; // null si la operación no usa materia
+    public final SistemaSIU.CargoDocente cargo; // sólo para AGREGAR_DOCENTE
+    public final long instanteNanos; // momento de llegada de la operación, desde el inicio de la traza
+
+    public OperacionSIU(Tipo tipo, String estudiante, String carrera, String materia, SistemaSIU.CargoDocente cargo, long instanteNanos) {
+        this.tipo = tipo;
+        this.estudiante = estudiante;
+        this.carrera = carrera;
+        this.materia = materia;
+        this.cargo = cargo;
+        this.instanteNanos = instanteNanos;
+    }
+
+    // Ejecuta la operación sobre el sistema, devolviendo su resultado (para que no lo elimine el compilador)
+    public Object ejecutar(SistemaSIU sistema) {
+        switch (tipo) {
+            case INSCRIBIR:
+                sistema.inscribir(estudiante, carrera, materia);
+                return null;
+            case AGREGAR_DOCENTE:
+                sistema.agregarDocente(cargo, carrera, materia);
+                return null;
+            case INSCRIPTOS:
+                return sistema.inscriptos(materia, carrera);
+            case EXCEDE_CUPO:
+                return sistema.excedeCupo(materia, carrera);
+            case PLANTEL_DOCENTE:
+                return sistema.plantelDocente(materia, carrera);
+            case MATERIAS_INSCRIPTAS:
+                return sistema.materiasInscriptas(estudiante);
+            case MATERIAS:
+                return sistema.materias(carrera);
+            case CARRERAS:
+                return sistema.carreras();
+            case CERRAR_MATERIA:
+                sistema.cerrarMateria(materia, carrera);
+                return null;
+            default:
+                throw new IllegalStateException("Operación desconocida: " + tipo);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return tipo + "(" + estudiante + ", " + carrera + ", " + materia + ")";
+    }
+}
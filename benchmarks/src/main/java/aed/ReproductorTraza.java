@@ -0,0 +1,169 @@
+package aed;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+
+// Reproduce una traza de operaciones sobre un SistemaSIU, con uno o varios hilos, y mide throughput y latencias por tipo de operación.
+// Los cierres de materias van al final de la traza (ver GeneradorCarga.traza()) y se ejecutan en un solo hilo,
+// después de que terminen las demás operaciones, para que ninguna operación use una materia ya cerrada.
+public class ReproductorTraza {
+
+    // Resultado de una reproducción
+    public static class Resultado {
+        public final long duracionNanos;
+        public final int hilos;
+        public final long[] cantidadPorTipo; // indexado por OperacionSIU.Tipo.ordinal()
+        public final long verificacion; // suma de los hashes de los resultados de las operaciones, para que no se descarten
+        private final long[][] latenciasPorTipo; // latencias ordenadas de cada tipo
+
+        Resultado(long duracionNanos, int hilos, long[][] latenciasPorTipo, long verificacion) {
+            this.duracionNanos = duracionNanos;
+            this.hilos = hilos;
+            this.verificacion = verificacion;
+            this.latenciasPorTipo = latenciasPorTipo;
+            this.cantidadPorTipo = new long[latenciasPorTipo.length];
+            for (int t = 0; t < latenciasPorTipo.length; t++) {
+                cantidadPorTipo[t] = latenciasPorTipo[t].length;
+            }
+        }
+
+        public long totalOperaciones() {
+            long total = 0;
+            for (long cantidad : cantidadPorTipo) {
+                total += cantidad;
+            }
+            return total;
+        }
+
+        public double operacionesPorSegundo() {
+            return totalOperaciones() * 1e9 / duracionNanos;
+        }
+
+        // Percentil p (entre 0 y 100) de las latencias de un tipo de operación, en nanosegundos (-1 si no hubo operaciones)
+        public long percentil(OperacionSIU.Tipo tipo, double p) {
+            long[] latencias = latenciasPorTipo[tipo.ordinal()];
+            if (latencias.length == 0) {
+                return -1;
+            }
+            int indice = (int) Math.ceil(p / 100 * latencias.length) - 1;
+            return latencias[Math.max(0, Math.min(indice, latencias.length - 1))];
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder res = new StringBuilder();
+            res.append(String.format("%d operaciones en %.3f s con %d hilo(s): %.0f ops/s%n",
+                totalOperaciones(), duracionNanos / 1e9, hilos, operacionesPorSegundo()));
+            res.append(String.format("%-20s %10s %12s %10s %10s %10s %10s %10s%n",
+                "operación", "cantidad", "ops/s", "p50 ns", "p90 ns", "p99 ns", "p99.9 ns", "max ns"));
+            for (OperacionSIU.Tipo tipo : OperacionSIU.Tipo.values()) {
+                long cantidad = cantidadPorTipo[tipo.ordinal()];
+                if (cantidad == 0) {
+                    continue;
+                }
+                res.append(String.format("%-20s %10d %12.0f %10d %10d %10d %10d %10d%n",
+                    tipo, cantidad, cantidad * 1e9 / duracionNanos,
+                    percentil(tipo, 50), percentil(tipo, 90), percentil(tipo, 99), percentil(tipo, 99.9), percentil(tipo, 100)));
+            }
+            return res.toString();
+        }
+    }
+
+    // Reproduce la traza sobre el sistema.
+    // Si respetarTiempos es true, cada operación espera a su instante de llegada y la latencia se mide desde ese instante
+    // (así una demora no esconde la espera de las operaciones siguientes). Si es false, se ejecutan lo más rápido posible.
+    public static Resultado reproducir(SistemaSIU sistema, OperacionSIU[] traza, int hilos, boolean respetarTiempos) throws InterruptedException {
+
+        // Las operaciones hasta el primer cierre se reparten entre los hilos; los cierres van después
+        int finParalelo = 0;
+        while (finParalelo < traza.length && traza[finParalelo].tipo != OperacionSIU.Tipo.CERRAR_MATERIA) {
+            finParalelo++;
+        }
+        long[] latencias = new long[traza.length];
+        long[] verificaciones = new long[hilos + 1]; // una por hilo, y la última para los cierres
+
+        long inicio = System.nanoTime();
+        Thread[] trabajadores = new Thread[hilos];
+        for (int h = 0; h < hilos; h++) {
+            final int primero = h;
+            final int fin = finParalelo;
+            trabajadores[h] = new Thread(() -> verificaciones[primero] = ejecutar(sistema, traza, latencias, primero, fin, hilos, inicio, respetarTiempos), "reproductor-" + h);
+            trabajadores[h].start();
+        }
+        for (Thread trabajador : trabajadores) {
+            trabajador.join();
+        }
+        long inicioCierres = System.nanoTime();
+        verificaciones[hilos] = ejecutar(sistema, traza, latencias, finParalelo, traza.length, 1, inicioCierres - (finParalelo < traza.length ? traza[finParalelo].instanteNanos : 0), respetarTiempos);
+        long duracion = System.nanoTime() - inicio;
+
+        // Agrupamos las latencias por tipo y las ordenamos para calcular percentiles exactos
+        int cantTipos = OperacionSIU.Tipo.values().length;
+        int[] cantidades = new int[cantTipos];
+        for (OperacionSIU op : traza) {
+            cantidades[op.tipo.ordinal()]++;
+        }
+        long[][] porTipo = new long[cantTipos][];
+        for (int t = 0; t < cantTipos; t++) {
+            porTipo[t] = new long[cantidades[t]];
+            cantidades[t] = 0;
+        }
+        for (int i = 0; i < traza.length; i++) {
+            int t = traza[i].tipo.ordinal();
+            porTipo[t][cantidades[t]] = latencias[i];
+            cantidades[t]++;
+        }
+        for (long[] deUnTipo : porTipo) {
+            Arrays.sort(deUnTipo);
+        }
+        long verificacion = 0;
+        for (long v : verificaciones) {
+            verificacion += v;
+        }
+        return new Resultado(duracion, hilos, porTipo, verificacion);
+    }
+
+    // Ejecuta las operaciones primero, primero + paso, ... (menores a fin), guardando la latencia de cada una.
+    // Devuelve la suma de los hashes de los resultados, que se calcula fuera de la medición.
+    private static long ejecutar(SistemaSIU sistema, OperacionSIU[] traza, long[] latencias, int primero, int fin, int paso, long inicio, boolean respetarTiempos) {
+        long verificacion = 0;
+        for (int i = primero; i < fin; i += paso) {
+            OperacionSIU op = traza[i];
+            long comienzo;
+            if (respetarTiempos) {
+                comienzo = inicio + op.instanteNanos;
+                long espera = comienzo - System.nanoTime();
+                while (espera > 0) {
+                    LockSupport.parkNanos(espera);
+                    espera = comienzo - System.nanoTime();
+                }
+            } else {
+                comienzo = System.nanoTime();
+            }
+            Object resultado = op.ejecutar(sistema);
+            latencias[i] = System.nanoTime() - comienzo;
+            verificacion += Objects.hashCode(resultado);
+        }
+        return verificacion;
+    }
+
+    // Uso: java -cp target/benchmarks.jar aed.ReproductorTraza [operaciones] [hilos] [semilla] [estudiantes] [--tiempos]
+    // Con 200000 estudiantes hace falta un heap grande (por ejemplo -Xmx8g): ver DiccionarioTrie.
+    public static void main(String[] args) throws InterruptedException {
+        int operaciones = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int hilos = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        long semilla = args.length > 2 ? Long.parseLong(args[2]) : 42;
+        int estudiantes = args.length > 3 ? Integer.parseInt(args[3]) : 200000;
+        boolean respetarTiempos = args.length > 4 && args[4].equals("--tiempos");
+
+        GeneradorCarga generador = new GeneradorCarga(semilla, 40, 3000, 4, estudiantes);
+        generador.cantCierres = 100;
+        OperacionSIU[] traza = generador.traza(operaciones);
+
+        long inicio = System.nanoTime();
+        SistemaSIU sistema = new SistemaSIU(generador.infoMaterias(), generador.libretas());
+        System.out.printf("Construcción: %.3f s%n", (System.nanoTime() - inicio) / 1e9);
+        System.out.print(reproducir(sistema, traza, hilos, respetarTiempos));
+    }
+}
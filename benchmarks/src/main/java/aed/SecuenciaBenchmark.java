@@ -0,0 +1,78 @@
+package aed;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Benchmarks de las implementaciones de Secuencia: agregar al final, recorrer con el iterador y acceder por posición.
+// Con -prof gc, gc.alloc.rate.norm de agregarAtrasTodos dividido la longitud da los bytes asignados por elemento.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class SecuenciaBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    int longitud;
+
+    @Param({"ENLAZADA", "DESENROLLADA", "INDEXADA", "FUERA_DEL_HEAP"})
+    TipoSecuencia tipo;
+
+    String[] elementos;
+    Secuencia<String> lista;
+    int siguiente;
+
+    @Setup
+    public void preparar() {
+        elementos = DatosBenchmark.libretas(longitud);
+        lista = tipo.crear();
+        for (String elem : elementos) {
+            lista.agregarAtras(elem);
+        }
+        siguiente = 0;
+    }
+
+    // Arma una lista nueva agregando todos los elementos al final (el tiempo es por lista)
+    @Benchmark
+    public Secuencia<String> agregarAtrasTodos() {
+        Secuencia<String> nueva = tipo.crear();
+        for (String elem : elementos) {
+            nueva.agregarAtras(elem);
+        }
+        return nueva;
+    }
+
+    // Recorre toda la lista con su iterador, como cerrarMateria() con los inscriptos
+    @Benchmark
+    public void iterar(Blackhole bh) {
+        Iterador<String> iterador = lista.iterador();
+        while (iterador.haySiguiente()) {
+            bh.consume(iterador.siguiente());
+        }
+    }
+
+    // Accede a posiciones que recorren toda la lista
+    @Benchmark
+    public String obtener() {
+        siguiente = (siguiente + 7919) % longitud;
+        return lista.obtener(siguiente);
+    }
+
+    @Benchmark
+    public Secuencia<String> copiar() {
+        return lista.copiar();
+    }
+}
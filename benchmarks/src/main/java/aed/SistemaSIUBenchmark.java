@@ -0,0 +1,145 @@
+package aed;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Benchmarks de las operaciones de SistemaSIU, parametrizados por el tamaño de la facultad
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SistemaSIUBenchmark {
+
+    @Param({"20"})
+    int cantCarreras;
+
+    @Param({"500", "2000"})
+    int cantMaterias;
+
+    @Param({"1", "4"})
+    int nombresPorMateria;
+
+    @Param({"10000"})
+    int cantEstudiantes;
+
+    // Implementación de las listas de inscriptos
+    @Param({"ENLAZADA", "DESENROLLADA", "INDEXADA", "FUERA_DEL_HEAP"})
+    TipoSecuencia tipoInscriptos;
+
+    // Inscripciones por estudiante que se hacen antes de medir las consultas
+    static final int INSCRIPCIONES_POR_ESTUDIANTE = 3;
+
+    InfoMateria[] infos;
+    String[] libretas;
+    ParCarreraMateria[] pares;
+    String[] nombresCarreras;
+    SistemaSIU sistema;
+    int siguiente;
+
+    @Setup(Level.Trial)
+    public void prepararDatos() {
+        infos = DatosBenchmark.infoMaterias(cantCarreras, cantMaterias, nombresPorMateria);
+        libretas = DatosBenchmark.libretas(cantEstudiantes);
+        pares = DatosBenchmark.pares(infos);
+        nombresCarreras = new String[cantCarreras];
+        for (int i = 0; i < cantCarreras; i++) {
+            nombresCarreras[i] = DatosBenchmark.nombreCarrera(i);
+        }
+    }
+
+    // Cada iteración arranca de un sistema nuevo, para que las listas de inscriptos no crezcan sin límite
+    @Setup(Level.Iteration)
+    public void prepararSistema() {
+        sistema = armarSistema(this);
+        siguiente = 0;
+    }
+
+    // Arma un sistema con docentes e inscripciones repartidas entre todas las materias
+    static SistemaSIU armarSistema(SistemaSIUBenchmark datos) {
+        SistemaSIU sistema = new SistemaSIU(datos.infos, datos.libretas, datos.tipoInscriptos);
+        for (int i = 0; i < datos.pares.length; i++) {
+            if (i % datos.nombresPorMateria == 0) {
+                ParCarreraMateria par = datos.pares[i];
+                sistema.agregarDocente(SistemaSIU.CargoDocente.PROF, par.getCarrera(), par.getNombreMateria());
+                sistema.agregarDocente(SistemaSIU.CargoDocente.AY1, par.getCarrera(), par.getNombreMateria());
+            }
+        }
+        for (int i = 0; i < datos.libretas.length * INSCRIPCIONES_POR_ESTUDIANTE; i++) {
+            ParCarreraMateria par = datos.pares[(int) ((i * 2654435761L) % datos.pares.length)];
+            sistema.inscribir(datos.libretas[i % datos.libretas.length], par.getCarrera(), par.getNombreMateria());
+        }
+        return sistema;
+    }
+
+    private ParCarreraMateria proximoPar() {
+        siguiente++;
+        return pares[(int) ((siguiente * 2654435761L) % pares.length)];
+    }
+
+    @Benchmark
+    public SistemaSIU construccion() {
+        return new SistemaSIU(infos, libretas, tipoInscriptos);
+    }
+
+    @Benchmark
+    public void inscribir() {
+        ParCarreraMateria par = proximoPar();
+        sistema.inscribir(libretas[siguiente % libretas.length], par.getCarrera(), par.getNombreMateria());
+    }
+
+    @Benchmark
+    public boolean excedeCupo() {
+        ParCarreraMateria par = proximoPar();
+        return sistema.excedeCupo(par.getNombreMateria(), par.getCarrera());
+    }
+
+    @Benchmark
+    public String[] carreras() {
+        return sistema.carreras();
+    }
+
+    @Benchmark
+    public String[] materias() {
+        siguiente++;
+        return sistema.materias(nombresCarreras[siguiente % nombresCarreras.length]);
+    }
+
+    // Estado para cerrarMateria: como cerrar una materia la saca del sistema, cada invocación usa un sistema nuevo
+    @State(Scope.Thread)
+    public static class SistemaParaCerrar {
+        SistemaSIU sistema;
+
+        @Setup(Level.Invocation)
+        public void preparar(SistemaSIUBenchmark datos) {
+            sistema = armarSistema(datos);
+        }
+    }
+
+    // Cierra todas las materias del sistema (una vez cada una, por su primer nombre)
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 20)
+    public SistemaSIU cerrarTodas(SistemaParaCerrar estado) {
+        for (InfoMateria info : infos) {
+            ParCarreraMateria par = info.getParesCarreraMateria()[0];
+            estado.sistema.cerrarMateria(par.getNombreMateria(), par.getCarrera());
+        }
+        return estado.sistema;
+    }
+}
@@ -0,0 +1,89 @@
+package aed;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Throughput de inscripciones concurrentes según la cantidad de fragmentos: todos los hilos inscriben en materias al azar
+// de toda la facultad, así que con un fragmento se turnan en un único monitor y con N se reparten entre N.
+// La cantidad de hilos se cambia con -t (por defecto 4); conviene que sea al menos la cantidad de fragmentos.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Threads(4)
+public class SistemaSIUFragmentadoBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    int cantFragmentos;
+
+    @Param({"40"})
+    int cantCarreras;
+
+    @Param({"2000"})
+    int cantMaterias;
+
+    // Con dos nombres por materia, muchas materias quedan compartidas entre fragmentos
+    @Param({"2"})
+    int nombresPorMateria;
+
+    @Param({"10000"})
+    int cantEstudiantes;
+
+    InfoMateria[] infos;
+    String[] libretas;
+    ParCarreraMateria[] pares;
+    SistemaSIUFragmentado sistema;
+
+    @Setup(Level.Trial)
+    public void prepararDatos() {
+        infos = DatosBenchmark.infoMaterias(cantCarreras, cantMaterias, nombresPorMateria);
+        libretas = DatosBenchmark.libretas(cantEstudiantes);
+        pares = DatosBenchmark.pares(infos);
+    }
+
+    // Cada iteración arranca de un sistema nuevo, para que las listas de inscriptos no crezcan sin límite
+    @Setup(Level.Iteration)
+    public void prepararSistema() {
+        sistema = new SistemaSIUFragmentado(infos, libretas, cantFragmentos);
+    }
+
+    // Estado de cada hilo: su propia secuencia de pares y libretas
+    @State(Scope.Thread)
+    public static class Hilo {
+        int siguiente;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            siguiente = (int) (Thread.currentThread().getId() * 7919);
+        }
+    }
+
+    @Benchmark
+    public void inscribir(Hilo hilo) {
+        hilo.siguiente++;
+        ParCarreraMateria par = pares[(int) ((hilo.siguiente * 2654435761L) % pares.length)];
+        sistema.inscribir(libretas[Math.floorMod(hilo.siguiente, libretas.length)], par.getCarrera(), par.getNombreMateria());
+    }
+
+    // Una consulta que cruza todos los fragmentos, mezclada con las inscripciones
+    @Benchmark
+    public int materiasInscriptas(Hilo hilo) {
+        hilo.siguiente++;
+        return sistema.materiasInscriptas(libretas[Math.floorMod(hilo.siguiente, libretas.length)]);
+    }
+}
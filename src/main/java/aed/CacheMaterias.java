@@ -0,0 +1,274 @@
+package aed;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Clase para representar un cache acotado de la resolución (carrera, materia) -> Materia, delante de los dos Tries de
+// SistemaSIU. Tiene una cantidad fija de lugares, con desalojo CLOCK (una aproximación de LRU: cada lugar tiene un bit
+// de "usado" que se prende en cada acierto, y la manecilla desaloja el primer lugar con el bit apagado, apagando los
+// que encuentra prendidos). Las entradas se encuentran por una tabla de hash encadenada, y guardan el hash del par
+// (armado con los hashes de las Strings, que Java calcula una vez por String) para comparar primero los hashes.
+// buscar() no toma lock, porque SistemaSIU busca materias desde lectores sin lock: las entradas son inmutables y cada
+// cubeta se publica con una escritura volatile, así que un lector ve una cadena entera, vieja o nueva. guardar() e
+// invalidar() son synchronized y nunca modifican una entrada publicada: para sacar una, copian las anteriores de su
+// cadena. Los bits de CLOCK se prenden sin lock; si se pierde o se prende uno de más, sólo cambia qué se desaloja.
+public class CacheMaterias {
+
+    // Entrada inmutable de una cadena: el par, su hash, la materia y el lugar que ocupa
+    private static final class Entrada {
+        final String carrera;
+        final String materia;
+        final int hash;
+        final Materia valor;
+        final int lugar;
+        final Entrada siguiente; // Siguiente entrada de la misma cubeta (null si es la última)
+
+        Entrada(String carrera, String materia, int hash, Materia valor, int lugar, Entrada siguiente) {
+            this.carrera = carrera;
+            this.materia = materia;
+            this.hash = hash;
+            this.valor = valor;
+            this.lugar = lugar;
+            this.siguiente = siguiente;
+        }
+    }
+
+    private final AtomicReferenceArray<Entrada> cubetas; // Primera entrada de cada cubeta (null si está vacía)
+    private final Entrada[] ocupantes; // Entrada de cada lugar (null si está libre); sólo con el lock
+    private final boolean[] usados; // Bit de CLOCK de cada lugar (los lectores lo prenden sin lock)
+    private final int[] libres; // Pila de lugares libres, en libres[0..cantLibres)
+    private int cantLibres;
+    private int manecilla;
+    private int ocupadas;
+    private volatile int generacion; // Cambia con cada invalidación
+
+    private final LongAdder aciertos;
+    private final LongAdder fallos;
+    private final LongAdder desalojos;
+    private final LongAdder invalidadas;
+
+    // Invariante de representación:
+    // - ocupantes, usados y libres tienen longitud capacidad, y cubetas.length() es una potencia de 2 mayor o igual.
+    // - Cada entrada publicada (alcanzable desde cubetas) está en la cadena de la cubeta hash & (cubetas.length() - 1),
+    // hash = hash(carrera, materia), y ocupantes[lugar] es ella. Cada lugar sin entrada está una vez en libres.
+    // - No hay dos entradas publicadas con el mismo par, y ocupadas es la cantidad de entradas publicadas.
+    // - Cada entrada publicada tiene como valor la Materia que SistemaSIU resuelve para su par: al cerrar una materia se
+    // invalidan todas sus entradas (todos sus nombres en todas sus carreras).
+    // - 0 <= manecilla < capacidad.
+
+    // Constructor del cache vacío con la capacidad dada
+    public CacheMaterias(int capacidad) {
+        if (capacidad < 1) {
+            throw new IllegalArgumentException("La capacidad tiene que ser positiva: " + capacidad);
+        }
+        ocupantes = new Entrada[capacidad];
+        usados = new boolean[capacidad];
+        libres = new int[capacidad];
+        int cant_cubetas = Integer.highestOneBit(capacidad) << 1;
+        cubetas = new AtomicReferenceArray<>(cant_cubetas);
+
+        // Todos los lugares empiezan libres, y se usan del primero al último: O(capacidad)
+        for (int i = 0; i < capacidad; i++) {
+            libres[i] = capacidad - 1 - i;
+        }
+        cantLibres = capacidad;
+        aciertos = new LongAdder();
+        fallos = new LongAdder();
+        desalojos = new LongAdder();
+        invalidadas = new LongAdder();
+
+    } // Complejidad: O(capacidad)
+
+
+    // Devuelve el hash de un par, mezclando los bits altos con los bajos (las cubetas usan los bajos)
+    private static int hash(String carrera, String materia) {
+        int h = carrera.hashCode() * 31 + materia.hashCode();
+        return h ^ (h >>> 16);
+
+    } // Complejidad hash(): O(1) si las Strings ya calcularon su hash, O(|c| + |m|) la primera vez
+
+
+    // Devuelve la entrada publicada del par, o null si no está
+    private Entrada entrada(String carrera, String materia, int h) {
+
+        // La cadena tiene en promedio menos de una entrada: O(1) esperado, más O(|c| + |m|) del equals si las
+        // Strings no son las mismas instancias
+        for (Entrada e = cubetas.get(h & (cubetas.length() - 1)); e != null; e = e.siguiente) {
+            if (e.hash == h && e.carrera.equals(carrera) && e.materia.equals(materia)) {
+                return e;
+            }
+        }
+        return null;
+
+    } // Complejidad entrada(): O(1) esperado
+
+
+    // Devuelve la materia guardada para el par, o null si no está (y cuenta el acierto o el fallo). No toma lock.
+    public Materia buscar(String carrera, String materia) {
+        Entrada e = entrada(carrera, materia, hash(carrera, materia));
+        if (e == null) {
+            fallos.increment();
+            return null;
+        }
+
+        // Sólo se escribe si estaba apagado, para no ensuciar la línea de cache en cada acierto
+        if (!usados[e.lugar]) {
+            usados[e.lugar] = true;
+        }
+        aciertos.increment();
+        return e.valor;
+
+    } // Complejidad buscar(): O(1) esperado
+
+
+    // Devuelve la generación actual, que hay que leer antes de resolver un par en los Tries para después guardarlo
+    public int generacion() {
+        return generacion;
+
+    } // Complejidad generacion(): O(1)
+
+
+    // Guarda la materia resuelta para el par, si desde que se leyó la generación no se invalidó nada (si no, la materia
+    // podría estar cerrada). Si el cache está lleno, desaloja una entrada con CLOCK.
+    public synchronized void guardar(String carrera, String materia, Materia materia_obj, int generacion_leida) {
+        if (generacion_leida != generacion) {
+            return;
+        }
+        int h = hash(carrera, materia);
+        if (entrada(carrera, materia, h) != null) {
+            return;
+        }
+        int lugar;
+        if (cantLibres > 0) {
+            lugar = libres[--cantLibres];
+        } else {
+            lugar = victima();
+            sacarDeCubeta(ocupantes[lugar]);
+            desalojos.increment();
+            ocupadas--;
+        }
+
+        // La entrada nueva va al principio de su cadena, sin copiar las demás: O(1)
+        int cubeta = h & (cubetas.length() - 1);
+        Entrada nueva = new Entrada(carrera, materia, h, materia_obj, lugar, cubetas.get(cubeta));
+        ocupantes[lugar] = nueva;
+        usados[lugar] = false;
+        cubetas.set(cubeta, nueva);
+        ocupadas++;
+
+    } // Complejidad guardar(): O(1) esperado (la manecilla da a lo sumo dos vueltas, O(1) amortizado)
+
+
+    // Avanza la manecilla hasta un lugar no usado desde la última vuelta, apagando los bits que encuentra
+    private int victima() {
+        while (usados[manecilla]) {
+            usados[manecilla] = false;
+            manecilla = (manecilla + 1) % ocupantes.length;
+        }
+        int lugar = manecilla;
+        manecilla = (manecilla + 1) % ocupantes.length;
+        return lugar;
+
+    } // Complejidad victima(): O(capacidad) en el peor caso, O(1) amortizado
+
+
+    // Saca una entrada publicada de su cubeta, publicando la cadena sin ella
+    private void sacarDeCubeta(Entrada e) {
+        int cubeta = e.hash & (cubetas.length() - 1);
+        cubetas.set(cubeta, cadenaSin(cubetas.get(cubeta), e));
+        ocupantes[e.lugar] = null;
+
+    } // Complejidad sacarDeCubeta(): O(1) esperado
+
+
+    // Devuelve la cadena sin la entrada e: las que están después se comparten, y las anteriores (en promedio menos de
+    // una) se copian, porque un lector puede estar recorriéndolas
+    private Entrada cadenaSin(Entrada cadena, Entrada e) {
+        if (cadena == e) {
+            return e.siguiente;
+        }
+        Entrada copia = new Entrada(cadena.carrera, cadena.materia, cadena.hash, cadena.valor, cadena.lugar,
+            cadenaSin(cadena.siguiente, e));
+        ocupantes[copia.lugar] = copia;
+        return copia;
+
+    } // Complejidad cadenaSin(): O(longitud de la cadena hasta e)
+
+
+    // Invalida todas las entradas de una materia (todos sus nombres en todas sus carreras), por ejemplo al cerrarla.
+    // Recorre los lugares comparando por referencia, porque el cache no sabe qué nombres de la materia tiene.
+    public synchronized void invalidar(Materia materia_obj) {
+        generacion++;
+
+        // O(capacidad)
+        for (int lugar = 0; lugar < ocupantes.length; lugar++) {
+            Entrada e = ocupantes[lugar];
+            if (e != null && e.valor == materia_obj) {
+                sacarDeCubeta(e);
+                libres[cantLibres++] = lugar;
+                ocupadas--;
+                invalidadas.increment();
+            }
+        }
+
+    } // Complejidad invalidar(): O(capacidad)
+
+
+    // Métricas del cache (se pueden leer sin lock)
+
+    public int capacidad() {
+        return ocupantes.length;
+    }
+
+    public synchronized int ocupadas() {
+        return ocupadas;
+    }
+
+    public long aciertos() {
+        return aciertos.sum();
+    }
+
+    public long fallos() {
+        return fallos.sum();
+    }
+
+    public long desalojos() {
+        return desalojos.sum();
+    }
+
+    public long invalidadas() {
+        return invalidadas.sum();
+    }
+
+    // Devuelve la proporción de búsquedas que acertaron (0 si no hubo búsquedas)
+    public double tasaDeAciertos() {
+        long acertadas = aciertos.sum();
+        long total = acertadas + fallos.sum();
+        return total == 0 ? 0 : (double) acertadas / total;
+
+    } // Complejidad tasaDeAciertos(): O(1)
+
+
+    @Override
+    public String toString() {
+        return String.format("cache: capacidad=%d ocupadas=%d aciertos=%d fallos=%d tasa=%.3f desalojos=%d invalidadas=%d",
+            capacidad(), ocupadas(), aciertos(), fallos(), tasaDeAciertos(), desalojos(), invalidadas());
+    }
+
+
+    // Estima la memoria que ocupa el cache (sin contar las Strings ni las materias, que son del sistema)
+    public ReporteMemoria memoria() {
+        ReporteMemoria reporte = new ReporteMemoria("CacheMaterias");
+        int capacidad = ocupantes.length;
+        reporte.slotsAsignados = capacidad;
+        reporte.slotsUsados = ocupadas();
+        reporte.elementos = ocupadas();
+        reporte.bytes = EstimadorMemoria.instancia(CacheMaterias.class) + EstimadorMemoria.arrayReferencias(capacidad)
+            + EstimadorMemoria.arrayPrimitivos(capacidad, 1) + EstimadorMemoria.arrayPrimitivos(capacidad, 4)
+            + EstimadorMemoria.instancia(AtomicReferenceArray.class) + EstimadorMemoria.arrayReferencias(cubetas.length())
+            + (long) reporte.elementos * EstimadorMemoria.instancia(Entrada.class);
+        reporte.bytesCompactos = reporte.bytes;
+        return reporte;
+
+    } // Complejidad memoria(): O(1)
+}
@@ -0,0 +1,249 @@
+package aed;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Clase para construir un SistemaSIU leyendo el catálogo y el padrón de estudiantes de archivos, sin armar antes los
+// Arrays de InfoMateria y de libretas: cada línea se inserta en el sistema apenas se lee. Los archivos se leen
+// mapeados en memoria (FileChannel.map) de a ventanas, y cada campo se decodifica de UTF-8 directamente desde la
+// ventana mapeada a un buffer de caracteres que se reusa, así que la única copia por campo es la String final.
+//
+// Formatos (UTF-8, una fila por línea, se ignoran las líneas vacías; los finales de línea pueden ser \n o \r\n):
+// - Catálogo: id;carrera;materia. Las filas con el mismo id son nombres de la misma materia (como los pares de una
+//   InfoMateria), y no tienen que estar seguidas. El nombre de la materia es todo lo que sigue al segundo separador.
+// - Padrón: una libreta universitaria por línea.
+public class CargadorSIU {
+
+    public static final char SEPARADOR = ';';
+    public static final int VENTANA = 1 << 26; // Bytes que se mapean por vez (64 MiB)
+
+    // Construye un sistema a partir de los archivos de catálogo y padrón
+    public static SistemaSIU cargar(Path catalogo, Path padron) throws IOException {
+        return cargar(catalogo, padron, TipoSecuencia.ENLAZADA);
+    }
+
+
+    // Construye un sistema a partir de los archivos, eligiendo la implementación de las listas de inscriptos
+    public static SistemaSIU cargar(Path catalogo, Path padron, TipoSecuencia tipo_inscriptos) throws IOException {
+        SistemaSIU sistema = new SistemaSIU(tipo_inscriptos);
+        cargarPadron(sistema, padron);
+        cargarCatalogo(sistema, catalogo);
+        return sistema;
+
+    } // Complejidad cargar(): la del constructor de SistemaSIU, más O(bytes de los archivos)
+
+
+    // Agrega al sistema los estudiantes del padrón
+    static void cargarPadron(SistemaSIU sistema, Path padron) throws IOException {
+        try (LectorLineas lector = new LectorLineas(padron, VENTANA)) {
+            String[] campos = new String[1];
+
+            // Se ejecuta E veces: O(|estudiante|) = O(1) cada una
+            while (lector.leerLinea(campos, '\n') >= 0) {
+                if (!campos[0].isEmpty()) {
+                    sistema.agregarEstudiante(campos[0]);
+                }
+            }
+        }
+
+    } // Complejidad cargarPadron(): O(E)
+
+
+    // Agrega al sistema las materias del catálogo
+    static void cargarCatalogo(SistemaSIU sistema, Path catalogo) throws IOException {
+
+        // Materia de cada id, sólo mientras dura la carga
+        DiccionarioTrie<Materia> materias_por_id = new DiccionarioTrie<>();
+        try (LectorLineas lector = new LectorLineas(catalogo, VENTANA)) {
+            String[] campos = new String[3];
+            int cant_campos;
+
+            // Se ejecuta |M| * |N_m| veces
+            while ((cant_campos = lector.leerLinea(campos, SEPARADOR)) >= 0) {
+                if (cant_campos == 1 && campos[0].isEmpty()) {
+                    continue;
+                }
+                if (cant_campos != 3) {
+                    throw new IllegalArgumentException("La línea " + lector.numeroDeLinea() + " del catálogo no tiene la forma id"
+                        + SEPARADOR + "carrera" + SEPARADOR + "materia");
+                }
+
+                // O(|id|)
+                Materia materia_obj = materias_por_id.buscar(campos[0]);
+                if (materia_obj == null) {
+                    materia_obj = sistema.agregarMateria();
+                    materias_por_id.insertar(campos[0], materia_obj);
+                }
+
+                // O(|c|) + O(|n|)
+                sistema.agregarNombre(materia_obj, campos[1], campos[2]);
+            }
+        }
+
+    } // Complejidad cargarCatalogo(): O(|M| * |N_m| * (|id| + |c| + |n|))
+
+
+    // Clase para leer un archivo de texto UTF-8 línea por línea, mapeando ventanas del archivo
+    static class LectorLineas implements AutoCloseable {
+
+        private final FileChannel canal;
+        private final long tamanioArchivo;
+        private final int tamanioVentana;
+        private MappedByteBuffer ventana; // Bytes del archivo desde inicioVentana
+        private long inicioVentana;
+        private int posicion; // Próximo byte a leer de la ventana
+        private int numeroDeLinea;
+        private final CharsetDecoder decodificador;
+        private CharBuffer caracteres; // Buffer que se reusa para decodificar cada campo
+
+        // Invariante de representación:
+        // - ventana mapea los bytes [inicioVentana, inicioVentana + ventana.limit()) del archivo, con
+        // ventana.limit() <= tamanioVentana, y 0 <= posicion <= ventana.limit().
+        // - Las líneas ya leídas son exactamente las que terminan antes de inicioVentana + posicion.
+
+        LectorLineas(Path archivo, int tamanioVentana) throws IOException {
+            this.canal = FileChannel.open(archivo, StandardOpenOption.READ);
+            this.tamanioArchivo = canal.size();
+            this.tamanioVentana = tamanioVentana;
+            this.decodificador = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+            this.caracteres = CharBuffer.allocate(256);
+            this.numeroDeLinea = 0;
+            mapear(0);
+
+            // Salteamos la marca de orden de bytes, si la hay
+            if (ventana.limit() >= 3 && (ventana.get(0) & 0xFF) == 0xEF && (ventana.get(1) & 0xFF) == 0xBB
+                && (ventana.get(2) & 0xFF) == 0xBF) {
+                posicion = 3;
+            }
+        }
+
+
+        // Mapea la ventana que empieza en el byte dado del archivo
+        private void mapear(long desde) throws IOException {
+            long tamanio = Math.min(tamanioVentana, tamanioArchivo - desde);
+            ventana = canal.map(FileChannel.MapMode.READ_ONLY, desde, tamanio);
+            inicioVentana = desde;
+            posicion = 0;
+
+        } // Complejidad mapear(): O(1) (las páginas se leen al accederlas)
+
+
+        // Devuelve el número de la última línea leída (la primera es 1)
+        int numeroDeLinea() {
+            return numeroDeLinea;
+        }
+
+
+        // Lee la próxima línea, dejando en campos sus campos separados por el separador (si tiene más campos que
+        // lugares, el último se queda con el resto). Devuelve la cantidad de campos, o -1 si no hay más líneas.
+        int leerLinea(String[] campos, char separador) throws IOException {
+            int fin = buscarFinDeLinea();
+            if (fin < 0) {
+                return -1;
+            }
+            numeroDeLinea++;
+
+            // Sacamos el \r de un final de línea \r\n
+            int finContenido = fin;
+            if (finContenido > posicion && ventana.get(finContenido - 1) == '\r') {
+                finContenido--;
+            }
+
+            // Los separadores son ASCII, así que se pueden buscar byte a byte sin decodificar: O(longitud de la línea)
+            int cant_campos = 0;
+            int inicioCampo = posicion;
+            for (int j = posicion; j < finContenido && cant_campos < campos.length - 1; j++) {
+                if (ventana.get(j) == separador) {
+                    campos[cant_campos] = decodificar(inicioCampo, j);
+                    cant_campos++;
+                    inicioCampo = j + 1;
+                }
+            }
+            campos[cant_campos] = decodificar(inicioCampo, finContenido);
+            cant_campos++;
+
+            posicion = fin < ventana.limit() ? fin + 1 : fin;
+            return cant_campos;
+
+        } // Complejidad leerLinea(): O(longitud de la línea)
+
+
+        // Devuelve la posición en la ventana del final de la próxima línea (el \n, o el final del archivo), mapeando
+        // la ventana siguiente si la línea no termina en la actual. Devuelve -1 si no quedan líneas.
+        private int buscarFinDeLinea() throws IOException {
+            if (inicioVentana + posicion >= tamanioArchivo) {
+                return -1;
+            }
+            while (true) {
+                for (int j = posicion; j < ventana.limit(); j++) {
+                    if (ventana.get(j) == '\n') {
+                        return j;
+                    }
+                }
+                if (inicioVentana + ventana.limit() >= tamanioArchivo) {
+                    return ventana.limit(); // Última línea, sin \n al final
+                }
+                if (posicion == 0) {
+                    throw new IllegalArgumentException("La línea " + (numeroDeLinea + 1) + " es más larga que la ventana de "
+                        + tamanioVentana + " bytes");
+                }
+                // La línea sigue en la próxima ventana: la mapeamos desde el comienzo de la línea
+                mapear(inicioVentana + posicion);
+            }
+
+        } // Complejidad buscarFinDeLinea(): O(longitud de la línea) amortizado
+
+
+        // Decodifica los bytes [desde, hasta) de la ventana. Los bytes ASCII se pasan directo a caracteres; si aparece
+        // otro, el resto del campo lo decodifica el CharsetDecoder, leyendo de la ventana mapeada sin copiarla.
+        private String decodificar(int desde, int hasta) throws CharacterCodingException {
+            if (caracteres.capacity() < hasta - desde) {
+                caracteres = CharBuffer.allocate(Math.max(hasta - desde, 2 * caracteres.capacity()));
+            }
+            caracteres.clear();
+
+            // O(hasta - desde)
+            int j = desde;
+            while (j < hasta) {
+                byte b = ventana.get(j);
+                if (b < 0) {
+                    break;
+                }
+                caracteres.put((char) b);
+                j++;
+            }
+            if (j < hasta) {
+                ByteBuffer resto = ventana.duplicate();
+                resto.limit(hasta).position(j);
+                decodificador.reset();
+                CoderResult resultado = decodificador.decode(resto, caracteres, true);
+                if (resultado.isError()) {
+                    resultado.throwException();
+                }
+                decodificador.flush(caracteres);
+            }
+            caracteres.flip();
+            return caracteres.toString();
+
+        } // Complejidad decodificar(): O(hasta - desde)
+
+
+        @Override
+        public void close() throws IOException {
+            ventana = null;
+            canal.close();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package aed;
+
+import java.util.Iterator;
+import java.util.Spliterators;
+
+// Clase para construir de a poco el catálogo de materias de un SistemaSIU: al crearse sólo indexa, para cada carrera, qué
+// InfoMateria la nombran (un Trie de carreras y una lista de enteros por carrera), sin armar ningún Trie de materias ni
+// ninguna Materia. El diccionario de materias de una carrera se arma la primera vez que se pide (materializar()), y
+// recién entonces se publica en SistemaSIU.carreras. Cada Materia se crea una sola vez, la primera vez que se materializa
+// alguna de sus carreras, con todos sus nombres en el orden de su InfoMateria (como en la construcción completa), así
+// que las materias compartidas siguen siendo la misma instancia en todas sus carreras: sus nombres en las carreras que
+// todavía no se materializaron quedan en diccionarios sin publicar, que se completan cuando les toca.
+// No es thread-safe por sí misma: SistemaSIU llama a materializar() con su lock tomado.
+public class CatalogoPerezoso {
+
+    private final InfoMateria[] infos;
+    private final Materia[] materias; // Materia de cada InfoMateria (null si todavía no se creó)
+    private final DiccionarioTrie<Entrada> entradas; // Carrera -> su entrada
+    private final ControlVersiones control;
+    private final TipoSecuencia tipoInscriptos;
+    private int pendientes; // Carreras sin materializar
+    private int materiasCreadas;
+
+    // Invariante de representación:
+    // - Las claves de entradas son las carreras de los pares de infos, y entradas no cambia después del constructor
+    // (sólo cambian los campos de cada Entrada). Entrada.infos tiene, en orden creciente y sin repetidos, las posiciones
+    // de infos que tienen algún par con esa carrera.
+    // - materias[i] != null sii ya se creó la materia de infos[i]. Al crearla se agregan todos sus nombres, cada uno en
+    // el diccionario de su carrera (creándolo si hace falta), en el orden de los pares de infos[i]: así
+    // carreras_comunes.obtener(0) es el diccionario de la primera carrera del InfoMateria, igual que sin catálogo perezoso.
+    // - Entrada.completa sii todas las materias de Entrada.infos están creadas; sólo las entradas completas están en
+    // SistemaSIU.carreras, así que los lectores sin lock nunca ven un diccionario a medio armar (carreras.insertar lo
+    // publica con una escritura volatile, después de armarlo; ver DiccionarioTrie).
+    // - Una materia cerrada se sacó de los diccionarios de todas sus carreras (publicados o no) y sigue en materias,
+    // así que completar una carrera no la vuelve a agregar.
+    // - pendientes es la cantidad de entradas no completas, y materiasCreadas la de posiciones no null de materias.
+
+    // Clase de entradas: lo que se sabe de una carrera
+    private static final class Entrada {
+        final ListaEnteros infos = new ListaEnteros(); // Posiciones de las InfoMateria de la carrera
+        DiccionarioTrie<Materia> materias; // Diccionario de materias de la carrera (null si ninguna se creó todavía)
+        boolean completa; // Si ya se crearon todas sus materias y se publicó en SistemaSIU.carreras
+    }
+
+    // Constructor: indexa las carreras de las InfoMateria
+    public CatalogoPerezoso(InfoMateria[] infoMaterias, ControlVersiones control, TipoSecuencia tipo_inscriptos) {
+        this.infos = infoMaterias;
+        this.materias = new Materia[infoMaterias.length];
+        this.entradas = new DiccionarioTrie<>();
+        this.control = control;
+        this.tipoInscriptos = tipo_inscriptos;
+
+        // Se ejecuta una vez por cada par carrera - materia: O(|c|) cada una
+        for (int i = 0; i < infoMaterias.length; i++) {
+            for (ParCarreraMateria par : infoMaterias[i].getParesCarreraMateria()) {
+                Entrada entrada = entradas.buscar(par.getCarrera());
+                if (entrada == null) {
+                    entrada = new Entrada();
+                    entradas.insertar(par.getCarrera(), entrada);
+                    pendientes++;
+                }
+
+                // Una InfoMateria con dos nombres en la misma carrera se anota una vez
+                int cant_infos = entrada.infos.longitud();
+                if (cant_infos == 0 || entrada.infos.obtener(cant_infos - 1) != i) {
+                    entrada.infos.agregarAtras(i);
+                }
+            }
+        }
+        materiasCreadas = 0;
+
+    } // Complejidad: O(|M| * |N_m| * |c|) = O(|C| * |M_c| * |c|)
+
+
+    // Devuelve el diccionario de materias de una carrera, creando las materias que falten y publicándolo en carreras
+    // si es la primera vez, o null si la carrera no existe
+    public DiccionarioTrie<Materia> materializar(String carrera, DiccionarioTrie<DiccionarioTrie<Materia>> carreras) {
+
+        // O(|c|)
+        Entrada entrada = entradas.buscar(carrera);
+        if (entrada == null) {
+            return null;
+        }
+        if (!entrada.completa) {
+
+            // Se ejecuta |M_c| veces, y cada materia nueva agrega sus |N_m| nombres: O(|N_m| * (|c| + |n|))
+            ListaEnteros.IteradorEnteros posiciones = entrada.infos.iterador();
+            while (posiciones.haySiguiente()) {
+                int i = posiciones.siguiente();
+                if (materias[i] == null) {
+                    crearMateria(i);
+                }
+            }
+
+            // El diccionario ya está completo cuando se publica: O(|c|)
+            entrada.completa = true;
+            pendientes--;
+            carreras.insertar(carrera, entrada.materias);
+        }
+        return entrada.materias;
+
+    } // Complejidad materializar(): O(|c|) si ya estaba, y O(|M_c| * |N_m| * (|c| + |n|)) la primera vez
+
+
+    // Método auxiliar que crea la materia de infos[i], agregando cada nombre en el diccionario de su carrera (publicado o no)
+    private void crearMateria(int i) {
+        Materia materia_obj = new Materia(tipoInscriptos);
+
+        // Se ejecuta |N_m| veces: O(|c| + |n|) cada una
+        for (ParCarreraMateria par : infos[i].getParesCarreraMateria()) {
+            Entrada entrada = entradas.buscar(par.getCarrera());
+            if (entrada.materias == null) {
+                entrada.materias = new DiccionarioTrie<>(control);
+            }
+            materia_obj.nombres.agregarAtras(par.getNombreMateria());
+            entrada.materias.insertar(par.getNombreMateria(), materia_obj);
+            materia_obj.carreras_comunes.agregarAtras(entrada.materias);
+        }
+        materias[i] = materia_obj;
+        materiasCreadas++;
+
+    } // Complejidad crearMateria(): O(|N_m| * (|c| + |n|))
+
+
+    // Materializa todas las carreras que falten
+    public void materializarTodas(DiccionarioTrie<DiccionarioTrie<Materia>> carreras) {
+
+        // Se ejecuta |C| veces
+        for (String carrera : entradas) {
+            materializar(carrera, carreras);
+        }
+
+    } // Complejidad materializarTodas(): O(|C| * |M_c| * (|c| + |m_c|))
+
+
+    // Devuelve todas las carreras (materializadas o no), ordenadas
+    public String[] carreras() {
+        return entradas.flujoDeClaves(false).toArray(String[]::new);
+
+    } // Complejidad carreras(): O(|C| * |c|)
+
+
+    // Devuelve si la carrera ya se materializó
+    public boolean estaMaterializada(String carrera) {
+        Entrada entrada = entradas.buscar(carrera);
+        return entrada != null && entrada.completa;
+
+    } // Complejidad estaMaterializada(): O(|c|)
+
+
+    // Devuelve la cantidad de carreras sin materializar
+    public int pendientes() {
+        return pendientes;
+
+    } // Complejidad pendientes(): O(1)
+
+
+    // Devuelve la cantidad de materias creadas (contando las cerradas)
+    public int materiasCreadas() {
+        return materiasCreadas;
+
+    } // Complejidad materiasCreadas(): O(1)
+
+
+    // Devuelve la cantidad de nodos de los diccionarios de materias que existen pero no se publicaron todavía
+    public long nodosSinPublicar() {
+        long total = 0;
+
+        // Se ejecuta |C| veces
+        Iterator<Entrada> iterador_entradas = Spliterators.iterator(entradas.spliteratorValores());
+        while (iterador_entradas.hasNext()) {
+            Entrada entrada = iterador_entradas.next();
+            if (!entrada.completa && entrada.materias != null) {
+                total += entrada.materias.cantidadNodos();
+            }
+        }
+        return total;
+
+    } // Complejidad nodosSinPublicar(): O(|C| * |c|)
+
+
+    // Estima la memoria del catálogo: el índice de carreras, los diccionarios sin publicar, y las materias abiertas cuya
+    // primera carrera no se publicó (las demás las cuenta SistemaSIU.memoria() desde su primera carrera)
+    public ReporteMemoria memoria() {
+        ReporteMemoria reporte = new ReporteMemoria("Catálogo perezoso");
+        reporte.bytes = EstimadorMemoria.instancia(CatalogoPerezoso.class) + EstimadorMemoria.arrayReferencias(materias.length);
+        reporte.bytesCompactos = reporte.bytes;
+        ReporteMemoria reporte_indice = new ReporteMemoria("Índice de carreras", entradas.memoria());
+        ReporteMemoria reporte_sin_publicar = new ReporteMemoria("Diccionarios sin publicar");
+        ReporteMemoria reporte_materias = new ReporteMemoria("Materias sin publicar");
+
+        // Se ejecuta |C| veces
+        for (String carrera : entradas) {
+            Entrada entrada = entradas.buscar(carrera);
+            reporte_indice.sumar(entrada.infos.memoria());
+            if (!entrada.completa && entrada.materias != null) {
+                reporte_sin_publicar.agregarParte(new ReporteMemoria(carrera, entrada.materias.memoria()));
+            }
+        }
+
+        // Se ejecuta |M| veces
+        for (int i = 0; i < materias.length; i++) {
+            Materia materia_obj = materias[i];
+            if (materia_obj != null && !materia_obj.estaCerrada()
+                && !entradas.buscar(infos[i].getParesCarreraMateria()[0].getCarrera()).completa) {
+                reporte_materias.sumar(materia_obj.memoria());
+            }
+        }
+        reporte.agregarParte(reporte_indice);
+        reporte.agregarParte(reporte_sin_publicar);
+        reporte.agregarParte(reporte_materias);
+        return reporte;
+
+    } // Complejidad memoria(): O(cantidad de nodos de los Tries del catálogo + |M| * |c|)
+}
@@ -0,0 +1,269 @@
+package aed;
+
+// Clase para mantener elementos ordenados por un contador que cambia de a poco (por ejemplo, materias por cantidad de
+// inscriptos). Los elementos con el mismo conteo están en una cubeta, y las cubetas no vacías forman una lista doblemente
+// enlazada ordenada por conteo; dentro de cada cubeta, los elementos forman otra lista doblemente enlazada, en el orden
+// en que llegaron a ese conteo. Sumar o restar 1 mueve el elemento a la cubeta vecina (creándola si no existe): O(1).
+// Recorrer de mayor a menor conteo pasa por cada elemento en O(1), porque no hay cubetas vacías.
+public class ConteoOrdenado<T> {
+
+    private Cubeta<T> mayor; // Cubeta de mayor conteo (null si no hay elementos)
+    private Cubeta<T> menor; // Cubeta de menor conteo (null si no hay elementos)
+    private int tamanio; // Cantidad de elementos
+    private int cantCubetas; // Cantidad de cubetas (de conteos distintos)
+
+    // Invariante de representación:
+    // - Las cubetas van de menor a mayor siguiendo el enlace mayor, con conteos estrictamente crecientes, y ninguna está
+    // vacía. menor y mayor son la primera y la última, y cantCubetas es cuántas hay.
+    // - Cada nodo está en la lista de exactamente una cubeta (nodo.cubeta), y su conteo es el de esa cubeta.
+    // - tamanio es la suma de los tamaños de las cubetas.
+
+    // Clase nodo: un elemento con su lugar en las cubetas. Quien agrega el elemento guarda el nodo para moverlo después.
+    public static class Nodo<T> {
+        private final T elemento;
+        private Cubeta<T> cubeta;
+        private Nodo<T> anterior;
+        private Nodo<T> siguiente;
+
+        private Nodo(T elemento) {
+            this.elemento = elemento;
+        }
+
+        public T elemento() {
+            return elemento;
+        }
+
+        public int conteo() {
+            return cubeta.conteo;
+        }
+    }
+
+    // Clase cubeta: los nodos con un mismo conteo
+    private static class Cubeta<T> {
+        final int conteo;
+        Nodo<T> primero;
+        Nodo<T> ultimo;
+        int tamanio;
+        Cubeta<T> menor;
+        Cubeta<T> mayor;
+
+        Cubeta(int conteo) {
+            this.conteo = conteo;
+        }
+    }
+
+    // Constructor sin elementos
+    public ConteoOrdenado() {
+        mayor = null;
+        menor = null;
+        tamanio = 0;
+        cantCubetas = 0;
+
+    } // Complejidad: O(1)
+
+
+    // Devuelve la cantidad de elementos
+    public int tamanio() {
+        return tamanio;
+
+    } // Complejidad tamanio(): O(1)
+
+
+    // Devuelve la cantidad de conteos distintos
+    public int cantidadCubetas() {
+        return cantCubetas;
+
+    } // Complejidad cantidadCubetas(): O(1)
+
+
+    // Agrega un elemento con el conteo dado y devuelve su nodo. Busca la cubeta desde la de mayor conteo, así que
+    // agregar los elementos de menor a mayor conteo cuesta O(1) cada uno.
+    public Nodo<T> agregar(T elemento, int conteo) {
+        Nodo<T> nodo = new Nodo<>(elemento);
+
+        // Se ejecuta una vez por cada cubeta de conteo mayor
+        Cubeta<T> debajo = mayor;
+        while (debajo != null && debajo.conteo > conteo) {
+            debajo = debajo.menor;
+        }
+        enlazar(nodo, cubetaSobre(debajo, conteo));
+        tamanio++;
+        return nodo;
+
+    } // Complejidad agregar(): O(cubetas con conteo mayor)
+
+
+    // Suma delta al conteo de un nodo (puede ser negativo), moviéndolo a la cubeta de su nuevo conteo
+    public void sumar(Nodo<T> nodo, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        Cubeta<T> vieja = nodo.cubeta;
+        int conteo = vieja.conteo + delta;
+
+        // Buscamos la última cubeta con conteo <= conteo, caminando desde la vieja: a lo sumo |delta| cubetas
+        Cubeta<T> debajo = vieja;
+        if (delta > 0) {
+            while (debajo.mayor != null && debajo.mayor.conteo <= conteo) {
+                debajo = debajo.mayor;
+            }
+        } else {
+            while (debajo != null && debajo.conteo > conteo) {
+                debajo = debajo.menor;
+            }
+        }
+        Cubeta<T> nueva = cubetaSobre(debajo, conteo);
+
+        // O(1)
+        desenlazar(nodo);
+        enlazar(nodo, nueva);
+
+    } // Complejidad sumar(): O(|delta|), O(1) para delta = ±1
+
+
+    // Saca un nodo
+    public void eliminar(Nodo<T> nodo) {
+        desenlazar(nodo);
+        tamanio--;
+
+    } // Complejidad eliminar(): O(1)
+
+
+    // Devuelve el nodo de mayor conteo (el primero que llegó a ese conteo), o null si no hay elementos
+    public Nodo<T> primero() {
+        return mayor == null ? null : mayor.primero;
+
+    } // Complejidad primero(): O(1)
+
+
+    // Devuelve el nodo que sigue a uno en el orden de mayor a menor conteo, o null si es el último
+    public Nodo<T> siguiente(Nodo<T> nodo) {
+        if (nodo.siguiente != null) {
+            return nodo.siguiente;
+        }
+        Cubeta<T> debajo = nodo.cubeta.menor;
+        return debajo == null ? null : debajo.primero;
+
+    } // Complejidad siguiente(): O(1)
+
+
+    // Devuelve el nodo de menor conteo (el último que llegó a ese conteo), o null si no hay elementos
+    public Nodo<T> ultimo() {
+        return menor == null ? null : menor.ultimo;
+
+    } // Complejidad ultimo(): O(1)
+
+
+    // Devuelve el nodo que antecede a uno en el orden de mayor a menor conteo, o null si es el primero
+    public Nodo<T> anterior(Nodo<T> nodo) {
+        if (nodo.anterior != null) {
+            return nodo.anterior;
+        }
+        Cubeta<T> encima = nodo.cubeta.mayor;
+        return encima == null ? null : encima.ultimo;
+
+    } // Complejidad anterior(): O(1)
+
+
+    // Devuelve, de mayor a menor conteo, cada conteo distinto con su cantidad de elementos: {conteo, cantidad}
+    public int[][] histograma() {
+        int[][] histograma = new int[cantCubetas][];
+
+        // Se ejecuta cantCubetas veces
+        int i = 0;
+        for (Cubeta<T> cubeta = mayor; cubeta != null; cubeta = cubeta.menor) {
+            histograma[i] = new int[] {cubeta.conteo, cubeta.tamanio};
+            i++;
+        }
+        return histograma;
+
+    } // Complejidad histograma(): O(cantidad de conteos distintos)
+
+
+    // Devuelve la cubeta con el conteo dado, que va justo arriba de debajo (la última con conteo <= conteo, o null si no
+    // hay ninguna), creándola si no existe
+    private Cubeta<T> cubetaSobre(Cubeta<T> debajo, int conteo) {
+        if (debajo != null && debajo.conteo == conteo) {
+            return debajo;
+        }
+        Cubeta<T> cubeta = new Cubeta<>(conteo);
+        cubeta.menor = debajo;
+        cubeta.mayor = debajo == null ? menor : debajo.mayor;
+        if (cubeta.menor == null) {
+            menor = cubeta;
+        } else {
+            cubeta.menor.mayor = cubeta;
+        }
+        if (cubeta.mayor == null) {
+            mayor = cubeta;
+        } else {
+            cubeta.mayor.menor = cubeta;
+        }
+        cantCubetas++;
+        return cubeta;
+
+    } // Complejidad cubetaSobre(): O(1)
+
+
+    // Agrega un nodo al final de una cubeta
+    private void enlazar(Nodo<T> nodo, Cubeta<T> cubeta) {
+        nodo.cubeta = cubeta;
+        nodo.anterior = cubeta.ultimo;
+        nodo.siguiente = null;
+        if (cubeta.ultimo == null) {
+            cubeta.primero = nodo;
+        } else {
+            cubeta.ultimo.siguiente = nodo;
+        }
+        cubeta.ultimo = nodo;
+        cubeta.tamanio++;
+
+    } // Complejidad enlazar(): O(1)
+
+
+    // Saca un nodo de su cubeta, y la cubeta de la lista si queda vacía
+    private void desenlazar(Nodo<T> nodo) {
+        Cubeta<T> cubeta = nodo.cubeta;
+        if (nodo.anterior == null) {
+            cubeta.primero = nodo.siguiente;
+        } else {
+            nodo.anterior.siguiente = nodo.siguiente;
+        }
+        if (nodo.siguiente == null) {
+            cubeta.ultimo = nodo.anterior;
+        } else {
+            nodo.siguiente.anterior = nodo.anterior;
+        }
+        nodo.anterior = null;
+        nodo.siguiente = null;
+        cubeta.tamanio--;
+
+        if (cubeta.tamanio == 0) {
+            if (cubeta.menor == null) {
+                menor = cubeta.mayor;
+            } else {
+                cubeta.menor.mayor = cubeta.mayor;
+            }
+            if (cubeta.mayor == null) {
+                mayor = cubeta.menor;
+            } else {
+                cubeta.mayor.menor = cubeta.menor;
+            }
+            cantCubetas--;
+        }
+
+    } // Complejidad desenlazar(): O(1)
+
+
+    // Estima la memoria que ocupa la estructura (sin contar los elementos)
+    public ReporteMemoria memoria() {
+        ReporteMemoria reporte = new ReporteMemoria("ConteoOrdenado");
+        reporte.nodos = tamanio;
+        reporte.elementos = tamanio;
+        reporte.bytes = EstimadorMemoria.instancia(ConteoOrdenado.class) + tamanio * EstimadorMemoria.instancia(Nodo.class)
+            + cantCubetas * EstimadorMemoria.instancia(Cubeta.class);
+        reporte.bytesCompactos = reporte.bytes;
+        return reporte;
+
+    } // Complejidad memoria(): O(1)
+}
@@ -0,0 +1,120 @@
+package aed;
+
+// Clase que lleva la cuenta de las versiones (generaciones) del sistema, para poder tomar instantáneas de lectura
+public class ControlVersiones {
+
+    private int generacion; // Versión a la que pertenecen las escrituras actuales
+    private int ultimaViva; // Mayor versión de una instantánea sin liberar (-1 si no hay ninguna)
+    private ListaEnteros vivas; // Versiones de las instantáneas sin liberar
+    private ListaEnlazada<Versionado> modificados; // Estructuras que guardan versiones anteriores
+
+    // Invariante de representación:
+    // - generacion >= 0 y toda versión de vivas es menor estricta que generacion.
+    // - ultimaViva es el máximo de vivas, o -1 si vivas está vacía.
+    // - Un objeto está en modificados si y sólo si guarda alguna versión anterior de su estado (no tiene repetidos).
+    // - Una estructura con versión v (la generación de su última escritura) no puede modificarse en el lugar 
+    // si existe una instantánea viva con versión s >= v: en ese caso hay que copiarla o guardar su estado anterior.
+
+    // Constructor
+    // O(1)
+    public ControlVersiones() {
+        generacion = 0;
+        ultimaViva = -1;
+        vivas = new ListaEnteros();
+        modificados = new ListaEnlazada<>();
+    }
+
+
+    // Devuelve la versión de las escrituras actuales
+    public int generacion() {
+        return generacion;
+
+    } // Complejidad generacion(): O(1)
+
+
+    // Indica si una estructura escrita en la versión dada todavía es leída por alguna instantánea viva
+    public boolean debeCopiar(int version) {
+
+        // O(1): comparación
+        return ultimaViva >= version;
+
+    } // Complejidad debeCopiar(): O(1)
+
+
+    // Indica si hay alguna instantánea viva con versión s tal que desde <= s < hasta
+    public boolean hayVivaEntre(int desde, int hasta) {
+
+        // Se ejecuta |vivas| veces
+        ListaEnteros.IteradorEnteros iterador = vivas.iterador();
+        while (iterador.haySiguiente()) {
+            int version = iterador.siguiente();
+            if (desde <= version && version < hasta) {
+                return true;
+            }
+        }
+        return false;
+
+    } // Complejidad hayVivaEntre(): O(|vivas|)
+
+
+    // Toma una nueva versión para una instantánea: las escrituras posteriores pasan a la generación siguiente
+    public int tomarVersion() {
+        int version = generacion;
+        vivas.agregarAtras(version);
+        ultimaViva = version;
+        generacion++;
+        return version;
+
+    } // Complejidad tomarVersion(): O(1)
+
+
+    // Registra una estructura que empezó a guardar versiones anteriores de su estado
+    public void registrarModificado(Versionado estructura) {
+        modificados.agregarAtras(estructura);
+
+    } // Complejidad registrarModificado(): O(1)
+
+
+    // Libera la versión de una instantánea, y descarta las versiones anteriores que ya nadie necesita
+    public void liberarVersion(int version) {
+
+        // Quitamos la versión de las vivas y recalculamos la mayor: O(|vivas|)
+        int i = vivas.buscar(version);
+        if (i == -1) {
+            return;
+        }
+        vivas.eliminar(i);
+        ultimaViva = -1;
+        ListaEnteros.IteradorEnteros iterador = vivas.iterador();
+        while (iterador.haySiguiente()) {
+            ultimaViva = Math.max(ultimaViva, iterador.siguiente());
+        }
+
+        // Podamos el historial de cada estructura modificada, y nos quedamos sólo con las que todavía guardan algo
+        // Se ejecuta |modificados| veces
+        ListaEnlazada<Versionado> quedan = new ListaEnlazada<>();
+        ListaEnlazada<Versionado>.IteradorLista iterador_modificados = modificados.iterador();
+        while (iterador_modificados.haySiguiente()) {
+            Versionado estructura = iterador_modificados.siguiente();
+            if (estructura.podarHistorial(this)) {
+                quedan.agregarAtras(estructura);
+            }
+        }
+        modificados = quedan;
+
+    } // Complejidad liberarVersion(): O(|vivas| + |modificados| * |vivas|)
+
+
+    // Devuelve la cantidad de instantáneas sin liberar
+    public int cantidadVivas() {
+        return vivas.longitud();
+
+    } // Complejidad cantidadVivas(): O(1)
+
+
+    // Devuelve la cantidad de estructuras que guardan versiones anteriores
+    public int cantidadModificados() {
+        return modificados.longitud();
+
+    } // Complejidad cantidadModificados(): O(1)
+}
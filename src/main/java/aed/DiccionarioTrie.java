@@ -1,16 +1,31 @@
 package aed;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 // Clase para representar el Diccionario Trie
-public class DiccionarioTrie<V> {
+public class DiccionarioTrie<V> implements Versionado, Iterable<String> {
 
     // Esta implementación de Diccionario al estar hecha con un Trie, asume que la clave siempre es una String
 
-    private NodoTrie<V> raiz; // Nodo raíz del Trie
+    private volatile NodoTrie<V> raiz; // Nodo raíz del Trie
+    private ControlVersiones control; // Control de versiones para instantáneas (null si no se toman instantáneas)
+    private volatile VersionRaiz<V> historial; // Raíces anteriores que todavía pueden leer las instantáneas vivas
+    private int cantidadNodos; // Cantidad de nodos alcanzables desde la raíz actual (incluida)
+    private int cantidadClaves; // Cantidad de claves del diccionario
 
     // Invariante de Representación:
     // - El Trie es un árbol, por lo que no tiene ciclos, y tiene un nodo raíz .
     // - Si la raíz es null, el diccionario está vacío.
-    // - Cada nodo tiene 256 hijos (que representan cada caracter de ASCII extendido), aunque pueden ser null.
+    // - Cada nodo tiene 256 hijos (que representan cada caracter de ASCII extendido), aunque pueden ser null. El array de
+    // hijos puede estar recortado (ver compactar()): los caracteres a partir de hijos.length no tienen hijo.
+    // - cantHijos de cada nodo es la cantidad de posiciones de hijos distintas de null.
     // - Si los hijos de un nodo valen null, entonces ese nodo es una hoja.
     // - Los nodos hojas tienen esFinDePalabra = True, y el resto tienen esFinDePalabra = False.
     // - Todas las hojas son alcanzables partiendo del nodo raíz.
@@ -19,19 +34,44 @@ public class DiccionarioTrie<V> {
     // - El atributo valor de un nodo es siempre null, a no ser que sea un nodo hoja, en cuyo caso tiene el valor (de tipo V) 
     // asociado a la palabra clave utilizada para llegar hasta ese nodo.
     // - Todos los nodos o tienen valor distinto de null o tiene algún hijo distinto de null.
+    // - Si control no es null, ningún nodo con version <= a la de una instantánea viva se modifica: se copia el camino
+    // desde la raíz (copy-on-write), y la raíz anterior se guarda en historial.
+    // - Las raíces de historial están ordenadas de la más nueva a la más vieja, con versiones estrictamente decrecientes
+    // y menores a raiz.version.
+    // - cantidadNodos es la cantidad de nodos alcanzables desde raiz, contando la raíz (las copias no suman nodos).
+    // - cantidadClaves es la cantidad de nodos alcanzables desde raiz con esFinDePalabra = true.
+    // - Publicación para los lectores sin lock: el array de hijos de un nodo alcanzable desde raiz no se modifica nunca.
+    // Para cambiar un hijo se arma un array nuevo y se publica con una escritura volatile (ver publicarHijo()), así que un
+    // lector que ve el array también ve el hijo completo. Los nodos nuevos se arman enteros antes de colgarlos. En un
+    // nodo ya publicado, valor (volatile) se escribe después de esFinDePalabra, y los lectores lo leen antes.
 
     // Clase de nodos
     private class NodoTrie<T> {
-        NodoTrie<V>[] hijos; // Array de nodos hijos
-        T valor; // Valor asociado al nodo
+        volatile NodoTrie<V>[] hijos; // Array de nodos hijos (una vez publicado, no se modifica)
+        int cantHijos; // Cantidad de hijos distintos de null
+        volatile T valor; // Valor asociado al nodo
         boolean esFinDePalabra; // Indicador de si es el final de una clave
+        int version; // Generación en la que se creó el nodo
     
         // Constructor de nodo
         @SuppressWarnings("unchecked")
         public NodoTrie() {
             hijos = new NodoTrie[255]; // Asumiendo caracteres ASCII extendido (con 256 caracteres)
+            cantHijos = 0;
             valor = null;
             esFinDePalabra = false;
+            version = 0;
+        }
+    }
+
+    // Clase para guardar una raíz anterior del Trie
+    private static class VersionRaiz<V> {
+        final DiccionarioTrie<V>.NodoTrie<V> raiz;
+        final VersionRaiz<V> anterior;
+
+        VersionRaiz(DiccionarioTrie<V>.NodoTrie<V> raiz, VersionRaiz<V> anterior) {
+            this.raiz = raiz;
+            this.anterior = anterior;
         }
     }
 
@@ -39,22 +79,167 @@ public class DiccionarioTrie<V> {
     // O(1)
     public DiccionarioTrie() {
         raiz = new NodoTrie<>();
+        cantidadNodos = 1;
     }
 
-    // Método para verificar si un nodo está vacío (sin hijos)
-    private boolean estaVacioNodo(NodoTrie<V> nodo) {
+    // Constructor de diccionario que permite tomar instantáneas con el control de versiones dado
+    // O(1)
+    public DiccionarioTrie(ControlVersiones control) {
+        this.control = control;
+        raiz = nuevoNodo();
+        cantidadNodos = 1;
+    }
 
-        // Se ejecuta 256 veces (hijos tiene siempre la misma longitud)
-        for (NodoTrie<V> hijo : nodo.hijos) {
 
-            // O(1): comparacion
-            if (hijo != null) {
-                return false;
+    // Crea un nodo vacío en la generación actual
+    private NodoTrie<V> nuevoNodo() {
+        NodoTrie<V> nodo = new NodoTrie<>();
+        if (control != null) {
+            nodo.version = control.generacion();
+        }
+        return nodo;
+
+    } // Complejidad nuevoNodo(): O(1)
+
+
+    // Devuelve una versión del nodo que se puede modificar sin afectar a las instantáneas vivas:
+    // el mismo nodo, o una copia suya en la generación actual
+    private NodoTrie<V> escribible(NodoTrie<V> nodo) {
+
+        // O(1): comparaciones
+        if (control == null || !control.debeCopiar(nodo.version)) {
+            return nodo;
+        }
+
+        // O(1): los arrays publicados no se modifican, así que la copia puede compartir el de hijos
+        NodoTrie<V> copia = nuevoNodo();
+        copia.hijos = nodo.hijos;
+        copia.cantHijos = nodo.cantHijos;
+        copia.valor = nodo.valor;
+        copia.esFinDePalabra = nodo.esFinDePalabra;
+        return copia;
+
+    } // Complejidad escribible(): O(1)
+
+
+    // Devuelve el hijo de un nodo escribible, reemplazándolo por una copia si hace falta
+    private NodoTrie<V> hijoEscribible(NodoTrie<V> padre, int indice) {
+        NodoTrie<V> hijo = hijo(padre, indice);
+        NodoTrie<V> copia = escribible(hijo);
+        if (copia != hijo) {
+            publicarHijo(padre, indice, copia);
+        }
+        return copia;
+
+    } // Complejidad hijoEscribible(): O(1)
+
+
+    // Cambia el hijo de un nodo publicado: arma un array nuevo con el cambio y lo publica de una sola vez (hijos es
+    // volatile), así un lector sin lock nunca ve el hijo sin la escritura que lo armó. Si el array estaba recortado y
+    // el índice no entra, el nuevo vuelve a tener los 255 lugares.
+    private void publicarHijo(NodoTrie<V> nodo, int indice, NodoTrie<V> hijo) {
+
+        // O(255) = O(1)
+        NodoTrie<V>[] hijos = nodo.hijos;
+        NodoTrie<V>[] nuevos = Arrays.copyOf(hijos, indice < hijos.length ? hijos.length : 255);
+        nuevos[indice] = hijo;
+        nodo.hijos = nuevos;
+
+    } // Complejidad publicarHijo(): O(1)
+
+
+    // Devuelve la raíz lista para ser modificada. Si se copió, guarda la raíz anterior en el historial
+    private NodoTrie<V> raizEscribible() {
+        NodoTrie<V> actual = raiz;
+        NodoTrie<V> copia = escribible(actual);
+        if (copia != actual) {
+            boolean estabaVacio = historial == null;
+            historial = new VersionRaiz<>(actual, historial);
+            if (estabaVacio) {
+                control.registrarModificado(this);
             }
+            raiz = copia; // Se publica después del historial, para que un lector que vea la copia encuentre la raíz anterior
         }
-        return true;
+        return copia;
+
+    } // Complejidad raizEscribible(): O(1)
+
+
+    // Devuelve la raíz que tenía el Trie en la versión dada, o null si el Trie todavía no existía
+    private NodoTrie<V> raizEn(int version) {
+        NodoTrie<V> actual = raiz;
+        if (actual.version <= version) {
+            return actual;
+        }
+
+        // Se ejecuta a lo sumo |historial| veces
+        VersionRaiz<V> anterior = historial;
+        while (anterior != null && anterior.raiz.version > version) {
+            anterior = anterior.anterior;
+        }
+        return anterior == null ? null : anterior.raiz;
+
+    } // Complejidad raizEn(): O(|historial|)
+
+
+    // Descarta las raíces anteriores que ya no lee ninguna instantánea viva
+    @Override
+    public boolean podarHistorial(ControlVersiones control) {
+
+        // Una raíz anterior sirve para las versiones s con raiz.version <= s < (version de la raíz siguiente)
+        // Las que quedan se agregan adelante, así la lista queda de la más vieja a la más nueva
+        ListaEnlazada<NodoTrie<V>> quedan = new ListaEnlazada<>();
+        int hasta = raiz.version;
+        VersionRaiz<V> actual = historial;
+        while (actual != null) {
+            if (control.hayVivaEntre(actual.raiz.version, hasta)) {
+                quedan.agregarAdelante(actual.raiz);
+            }
+            hasta = actual.raiz.version;
+            actual = actual.anterior;
+        }
+
+        // Rearmamos el historial con las raíces que quedaron, y lo publicamos de una sola vez
+        VersionRaiz<V> nuevo = null;
+        ListaEnlazada<NodoTrie<V>>.IteradorLista iterador = quedan.iterador();
+        while (iterador.haySiguiente()) {
+            nuevo = new VersionRaiz<>(iterador.siguiente(), nuevo);
+        }
+        historial = nuevo;
+        return nuevo != null;
+
+    } // Complejidad podarHistorial(): O(|historial| * |vivas|)
+
+    // Método para verificar si un nodo está vacío (sin hijos)
+    private boolean estaVacioNodo(NodoTrie<V> nodo) {
+
+        // O(1): el nodo lleva la cuenta de sus hijos
+        return nodo.cantHijos == 0;
         
-    } // Complejidad estaVacioNodo(): 256 * O(1) = O(1)
+    } // Complejidad estaVacioNodo(): O(1)
+
+
+    // Método auxiliar que devuelve el hijo de un nodo para un caracter, o null si no tiene (el array de hijos se lee
+    // una sola vez, porque compactar() lo puede reemplazar por uno más corto)
+    private NodoTrie<V> hijo(NodoTrie<V> nodo, int indice) {
+        NodoTrie<V>[] hijos = nodo.hijos;
+        return indice < hijos.length ? hijos[indice] : null;
+
+    } // Complejidad hijo(): O(1)
+
+
+    // Método para obtener la cantidad de nodos del Trie (incluida la raíz)
+    public int cantidadNodos() {
+        return cantidadNodos;
+
+    } // Complejidad cantidadNodos(): O(1)
+
+
+    // Método para obtener la cantidad de claves del Trie
+    public int cantidadClaves() {
+        return cantidadClaves;
+
+    } // Complejidad cantidadClaves(): O(1)
 
 
     // Método para verificar si un diccionario esta vacio
@@ -68,28 +253,67 @@ public class DiccionarioTrie<V> {
 
     // Método para insertar una clave con su valor asociado
     public void insertar(String clave, V valor) {
-        NodoTrie<V> nodo_actual = raiz;
+        NodoTrie<V> nodo_actual = raizEscribible();
 
-        // Se ejecuta |clave| veces: recorre los caracteres de clave 
-        for (char c : clave.toCharArray()) {
+        // Baja por los nodos que ya existen: se ejecuta a lo sumo |clave| veces
+        // Si hay instantáneas vivas, los nodos del camino se copian en lugar de modificarse
+        int j = 0;
+        while (j < clave.length() && hijo(nodo_actual, clave.charAt(j)) != null) {
 
-            // O(1): comparaciones y asignaciones
-            int indice = (int) c;
-            if (nodo_actual.hijos[indice] == null) {
-                nodo_actual.hijos[indice] = new NodoTrie<>();
+            // O(1)
+            nodo_actual = hijoEscribible(nodo_actual, clave.charAt(j));
+            j++;
+        }
+
+        // La clave ya tenía nodo: O(1), valor se escribe último (ver el invariante)
+        if (j == clave.length()) {
+            if (!nodo_actual.esFinDePalabra) {
+                cantidadClaves++;
             }
-            nodo_actual = nodo_actual.hijos[indice];
+            nodo_actual.esFinDePalabra = true;
+            nodo_actual.valor = valor;
+            return;
         }
 
-        // O(1): asignaciones
-        nodo_actual.esFinDePalabra = true;
-        nodo_actual.valor = valor;
+        // El resto del camino se arma desde la hoja, sin publicar, y se cuelga de una sola vez: O(|clave| - j)
+        NodoTrie<V> resto = nuevoNodo();
+        resto.esFinDePalabra = true;
+        resto.valor = valor;
+        for (int k = clave.length() - 1; k > j; k--) {
+            NodoTrie<V> padre = nuevoNodo();
+            padre.hijos[clave.charAt(k)] = resto;
+            padre.cantHijos = 1;
+            resto = padre;
+        }
+        publicarHijo(nodo_actual, clave.charAt(j), resto);
+        nodo_actual.cantHijos++;
+        cantidadNodos += clave.length() - j;
+        cantidadClaves++;
 
     } // Complejidad insertar(): |clave| * O(1) + O(1) = O(|clave|)
 
 
     // Método para buscar una clave y obtener su valor
     public V buscar(String clave) {
+
+        // O(|clave|)
+        return buscarDesde(raiz, clave);
+
+    } // Complejidad buscar(): O(|clave|)
+
+
+    // Método para buscar una clave tal como estaba en la versión dada (para instantáneas)
+    public V buscar(String clave, int version) {
+
+        // O(|historial|) + O(|clave|)
+        NodoTrie<V> raiz_version = raizEn(version);
+        return raiz_version == null ? null : buscarDesde(raiz_version, clave);
+
+    } // Complejidad buscar(clave, version): O(|historial| + |clave|)
+
+
+    // Método auxiliar para buscar una clave desde una raíz dada
+    private V buscarDesde(NodoTrie<V> raiz, String clave) {
         
         NodoTrie<V> nodo = raiz;
 
@@ -98,20 +322,49 @@ public class DiccionarioTrie<V> {
 
             // O(1): asignaciones y comparaciones
             int indice = (int) c;
-            if (nodo.hijos[indice] == null) {
+            nodo = hijo(nodo, indice);
+            if (nodo == null) {
                 return null;
             }
-            nodo = nodo.hijos[indice];
         }
 
-        // O(1): comparacion y return
+        // O(1): el valor se lee antes que la marca (ver el invariante)
+        V valor = nodo.valor;
         if (nodo.esFinDePalabra){
-            return nodo.valor;
+            return valor;
         } else {
             return null;
         }
 
-    } // Complejidad buscar(): |clave|*O(1) + O(1) = O(|clave|)
+    } // Complejidad buscarDesde(): |clave|*O(1) + O(1) = O(|clave|)
+
+
+    // Método para buscar la clave primera + separador + segunda sin armar la String concatenada
+    public V buscar(String primera, char separador, String segunda) {
+
+        // O(|primera|) + O(1) + O(|segunda|)
+        NodoTrie<V> nodo = bajar(raiz, primera);
+        nodo = nodo == null ? null : hijo(nodo, separador);
+        nodo = nodo == null ? null : bajar(nodo, segunda);
+        if (nodo == null) {
+            return null;
+        }
+        V valor = nodo.valor;
+        return nodo.esFinDePalabra ? valor : null;
+
+    } // Complejidad buscar(primera, separador, segunda): O(|primera| + |segunda|)
+
+
+    // Método auxiliar que baja desde un nodo por los caracteres de una String. Devuelve null si el camino no existe
+    private NodoTrie<V> bajar(NodoTrie<V> nodo, String camino) {
+
+        // Se ejecuta |camino| veces
+        for (int j = 0; j < camino.length() && nodo != null; j++) {
+            nodo = hijo(nodo, camino.charAt(j));
+        }
+        return nodo;
+
+    } // Complejidad bajar(): O(|camino|)
 
 
     // Método para verificar si una clave pertenece al Trie
@@ -124,59 +377,84 @@ public class DiccionarioTrie<V> {
 
 
     // Método para eliminar una clave del Trie
+    @SuppressWarnings("unchecked")
     public boolean eliminar(String clave) {
 
-        // O(|clave|): misma complejidad que eliminarAux()
-        return eliminarAux(raiz, clave, 0);
-
-    } // Complejidad eliminar(): O(|clave|)
-
-
-    // Método recursivo auxiliar para eliminar una clave del Trie
-    private boolean eliminarAux(NodoTrie<V> actual, String clave, int indice) {
+        // Si la clave no está, no copiamos ningún nodo: O(|clave|)
+        if (!pertenece(clave)) {
+            return false;
+        }
 
-        // Caso base: se llega al nodo correspondiente al ultimo caracter de clave
-        // O(1): comparaciones, asignaciones y estaVacioNodo()
-        if (indice == clave.length()) {
+        // Bajamos guardando el camino; si lo lee alguna instantánea viva, trabajamos sobre copias: O(|clave|)
+        NodoTrie<V>[] camino = new NodoTrie[clave.length() + 1];
+        camino[0] = raizEscribible();
+        for (int j = 0; j < clave.length(); j++) {
+            camino[j + 1] = hijoEscribible(camino[j], clave.charAt(j));
+        }
 
-            // Si el nodo actual no es el final de palabra, la clave no existe en el diccionario
-            if (!actual.esFinDePalabra) {
-                return false;
-            }
-            actual.esFinDePalabra = false;
+        // O(1): el nodo de la clave deja de ser fin de palabra
+        NodoTrie<V> nodo = camino[clave.length()];
+        nodo.esFinDePalabra = false;
+        nodo.valor = null;
+        cantidadClaves--;
+
+        // Subimos contando los nodos que quedaron sin clave y sin hijos (la raíz nunca se saca)
+        // Se ejecuta a lo sumo |clave| veces: O(1) cada una, porque cada nodo sabe cuántos hijos tiene
+        int j = clave.length();
+        while (j > 0 && !camino[j].esFinDePalabra && estaVacioNodo(camino[j])) {
+            camino[j - 1].cantHijos--;
+            cantidadNodos--;
+            j--;
+        }
 
-            // Si no esta vacío, significa que la clave no pertenece al diccionario
-            return estaVacioNodo(actual); // O(1)
+        // Basta descolgar el más alto: los de abajo quedan inalcanzables con él. O(1)
+        if (j < clave.length()) {
+            publicarHijo(camino[j], clave.charAt(j), null);
         }
+        return true;
 
-        // Obtenemos el índice del hijo y su nodo
-        // O(1): asignaciones
-        char c = clave.charAt(indice);
-        int indiceHijo = (int) c;
-        NodoTrie<V> nodo = actual.hijos[indiceHijo];
+    } // Complejidad eliminar(): O(|clave|)
 
-        // Si el nodo no existe, la clave no esta en el diccionario
-        // O(1): comparacion
-        if (nodo == null) {
-            return false;
-        }
 
-        // Cambia el nodo hasta llegar recursivamente al nodo del ultimo caracter de clave
-        // O(|clave|): recorre cada caracter de clave mediante un indice
-        boolean debeEliminarNodoActual = eliminarAux(nodo, clave, indice + 1);
+    // Método para recortar los arrays de hijos de los nodos hasta su último hijo (por ejemplo, después de muchas
+    // eliminaciones): un nodo de una libreta universitaria sólo usa hasta el '9', y una hoja no necesita ninguno.
+    // No cambia las claves ni los nodos alcanzables, así que los lectores sin lock ven las mismas claves antes y después
+    // (leen el array de cada nodo una sola vez). No se puede llamar al mismo tiempo que una escritura en este Trie
+    // (SistemaSIU.compactar() toma el lock de a un Trie por vez, para no frenar las escrituras durante todo el sistema).
+    // Los nodos que lee una instantánea viva no se tocan. Devuelve la cantidad estimada de bytes liberados.
+    public long compactar() {
+        long liberados = 0;
+        ListaEnlazada<NodoTrie<V>> pendientes = new ListaEnlazada<>();
+        pendientes.agregarAdelante(raiz);
+
+        // Cada nodo se visita una vez: O(255) = O(1) por nodo
+        while (pendientes.longitud() > 0) {
+            NodoTrie<V> nodo = pendientes.obtener(0);
+            pendientes.eliminar(0);
+
+            // Si lo lee una instantánea viva, sus descendientes también (una escritura lo habría copiado): no se tocan
+            if (control != null && control.debeCopiar(nodo.version)) {
+                continue;
+            }
 
-        // A la vuelta, elimina los nodos que ya no son necesarios
-        // O(1): comparaciones y asignaciones
-        if (debeEliminarNodoActual) {
-            actual.hijos[indiceHijo] = null;
+            NodoTrie<V>[] hijos = nodo.hijos;
+            int largo = 0;
+            for (int c = 0; c < hijos.length; c++) {
+                if (hijos[c] != null) {
+                    pendientes.agregarAdelante(hijos[c]);
+                    largo = c + 1;
+                }
+            }
 
-            // Verificamos si el nodo actual no tiene otros hijos y no es fin de palabra
-            return !actual.esFinDePalabra && estaVacioNodo(actual);
+            // El array nuevo tiene los mismos hijos, y se publica de una sola vez
+            if (largo < hijos.length) {
+                nodo.hijos = Arrays.copyOf(hijos, largo);
+                liberados += EstimadorMemoria.arrayReferencias(hijos.length) - EstimadorMemoria.arrayReferencias(largo);
+            }
         }
+        return liberados;
 
-        return false;
-
-    }  // Complejidad eliminarAux(): O(1) + O(1) + O(1) + O(|clave|) + O(1) = O(|clave|)
+    } // Complejidad compactar(): O(cantidadNodos)
 
 
     // Método para obtener todas las claves almacenadas en el Trie
@@ -190,6 +468,17 @@ public class DiccionarioTrie<V> {
     } // Complejidad obtenerClaves(): O(n*|clave|)
 
 
+    // Método para obtener todas las claves que tenía el Trie en la versión dada (para instantáneas)
+    public ListaEnlazada<String> obtenerClaves(int version) {
+        ListaEnlazada<String> resultado = new ListaEnlazada<>();
+
+        // O(|historial|) + O(n*|clave|)
+        obtenerClavesAux(raizEn(version), "", resultado);
+        return resultado;
+
+    } // Complejidad obtenerClaves(version): O(|historial| + n*|clave|)
+
+
     // Método recursivo auxiliar para obtener todas las claves almacenadas en el Trie
     private void obtenerClavesAux(NodoTrie<V> nodo, String prefijo, ListaEnlazada<String> resultado) {
 
@@ -208,8 +497,9 @@ public class DiccionarioTrie<V> {
 
             // Para cada caracter, si el hijo del nodo no es null, agrega las claves recursivamente
             // Como recorre desde 0 hasta 255, las claves se van agregando en orden lexicografico
-            if (nodo.hijos[c] != null) {
-                obtenerClavesAux(nodo.hijos[c], prefijo + (char) c, resultado);
+            NodoTrie<V> hijo = hijo(nodo, c);
+            if (hijo != null) {
+                obtenerClavesAux(hijo, prefijo + (char) c, resultado);
             }
         } 
         // En el peor caso, cada clave tiene todos los caracteres distintos y el Trie está lleno, pero cada recorrido de los nodos siempre 
@@ -218,4 +508,318 @@ public class DiccionarioTrie<V> {
 
     } // Complejidad obtenerClavesAux(): O(1) + O(1) + O(n*|clave|) = O(n*|clave|)
 
+
+    // Construye un iterador de las claves, en orden lexicográfico (para recorrer el Trie con for-each)
+    @Override
+    public Iterator<String> iterator() {
+        return Spliterators.iterator(spliterator());
+
+    } // Complejidad iterator(): O(1), y recorrer todas las claves O(n*|clave|)
+
+
+    // Construye un Spliterator de las claves, en orden lexicográfico
+    @Override
+    public Spliterator<String> spliterator() {
+        return new EspliteradorTrie<>(true);
+
+    } // Complejidad spliterator(): O(1)
+
+
+    // Construye un Spliterator de los valores, en el orden de sus claves
+    public Spliterator<V> spliteratorValores() {
+        return new EspliteradorTrie<>(false);
+
+    } // Complejidad spliteratorValores(): O(1)
+
+
+    // Construye un Spliterator de las claves que tenía el Trie en la versión dada (para instantáneas), en orden
+    public Spliterator<String> spliterator(int version) {
+
+        // O(|historial|)
+        NodoTrie<V> raiz_version = raizEn(version);
+        if (raiz_version == null) {
+            return Spliterators.emptySpliterator();
+        }
+        return new EspliteradorTrie<>(true, raiz_version, "", true, 0, 255, cantidadClaves, false);
+
+    } // Complejidad spliterator(version): O(|historial|)
+
+
+    // Construye un Spliterator de los valores que tenía el Trie en la versión dada (para instantáneas), en el orden de
+    // sus claves
+    public Spliterator<V> spliteratorValores(int version) {
+
+        // O(|historial|)
+        NodoTrie<V> raiz_version = raizEn(version);
+        if (raiz_version == null) {
+            return Spliterators.emptySpliterator();
+        }
+        return new EspliteradorTrie<>(false, raiz_version, null, true, 0, 255, cantidadClaves, false);
+
+    } // Complejidad spliteratorValores(version): O(|historial|)
+
+
+    // Método para obtener un Stream de las claves (paralelo o no)
+    public Stream<String> flujoDeClaves(boolean paralelo) {
+        return StreamSupport.stream(spliterator(), paralelo);
+
+    } // Complejidad flujoDeClaves(): O(1)
+
+
+    // Método para obtener un Stream de los valores (paralelo o no)
+    public Stream<V> flujoDeValores(boolean paralelo) {
+        return StreamSupport.stream(spliteratorValores(), paralelo);
+
+    } // Complejidad flujoDeValores(): O(1)
+
+
+    // Método para obtener un Stream de las claves que empiezan con el prefijo dado, en orden (paralelo o no)
+    public Stream<String> flujoDeClavesConPrefijo(String prefijo, boolean paralelo) {
+
+        // Bajamos al nodo del prefijo y recorremos sólo su subárbol: O(|prefijo|)
+        NodoTrie<V> nodo = bajar(raiz, prefijo);
+        if (nodo == null) {
+            return Stream.empty();
+        }
+        return StreamSupport.stream(new EspliteradorTrie<String>(true, nodo, prefijo, true, 0, 255, cantidadClaves, false), paralelo);
+
+    } // Complejidad flujoDeClavesConPrefijo(): O(|prefijo|), y recorrerlas O(k*|clave|) para k claves con el prefijo
+
+
+    // Método para obtener un Stream de los valores de las claves que empiezan con el prefijo dado (paralelo o no)
+    public Stream<V> flujoDeValoresConPrefijo(String prefijo, boolean paralelo) {
+
+        // O(|prefijo|)
+        NodoTrie<V> nodo = bajar(raiz, prefijo);
+        if (nodo == null) {
+            return Stream.empty();
+        }
+        return StreamSupport.stream(new EspliteradorTrie<V>(false, nodo, null, true, 0, 255, cantidadClaves, false), paralelo);
+
+    } // Complejidad flujoDeValoresConPrefijo(): O(|prefijo|), y recorrerlos O(nodos del subárbol)
+
+
+    // Spliterator de las claves (o de los valores) de un rango de hijos [desde, hasta) de un nodo, más la clave del nodo
+    // mismo si incluyeNodo. Se divide por subárboles: la primera mitad de los hijos del rango queda para el Spliterator 
+    // nuevo (que va antes en el orden), y si el rango tiene un solo hijo, baja hasta el primer nodo con varios. 
+    // Sólo el Spliterator del Trie entero sabe su tamaño exacto (cantidadClaves); las partes lo estiman a la mitad.
+    // Lee la raíz al construirse: no se debe modificar el Trie mientras se lo recorre.
+    private final class EspliteradorTrie<R> implements Spliterator<R> {
+        private final boolean claves; // Si devuelve claves (o valores)
+        private NodoTrie<V> nodo;
+        private String prefijo; // Clave del nodo (null si se recorren valores)
+        private boolean incluyeNodo;
+        private int desde;
+        private int hasta;
+        private long estimacion;
+        private boolean exacto;
+        private ListaEnlazada<Marco> pila; // Recorrido en profundidad (null mientras no se empezó a recorrer)
+
+        // Marco del recorrido: un nodo y el próximo hijo a visitar
+        private final class Marco {
+            final NodoTrie<V> nodo;
+            final String prefijo;
+            int siguiente;
+            final int hasta;
+
+            Marco(NodoTrie<V> nodo, String prefijo, int siguiente, int hasta) {
+                this.nodo = nodo;
+                this.prefijo = prefijo;
+                this.siguiente = siguiente;
+                this.hasta = hasta;
+            }
+        }
+
+        // Spliterator de todo el Trie
+        EspliteradorTrie(boolean claves) {
+            this(claves, raiz, claves ? "" : null, true, 0, 255, cantidadClaves, true);
+        }
+
+        EspliteradorTrie(boolean claves, NodoTrie<V> nodo, String prefijo, boolean incluyeNodo, int desde, int hasta, long estimacion, boolean exacto) {
+            this.claves = claves;
+            this.nodo = nodo;
+            this.prefijo = prefijo;
+            this.incluyeNodo = incluyeNodo;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.estimacion = estimacion;
+            this.exacto = exacto;
+            this.pila = null;
+        }
+
+        // Devuelve la clave o el valor de un nodo
+        @SuppressWarnings("unchecked")
+        private R elemento(NodoTrie<V> nodo, String prefijo) {
+            return claves ? (R) prefijo : (R) nodo.valor;
+        }
+
+        // Avanza hasta el próximo nodo con esFinDePalabra: O(1) amortizado por nodo visitado
+        @Override
+        public boolean tryAdvance(Consumer<? super R> accion) {
+            if (pila == null) {
+                pila = new ListaEnlazada<>();
+                pila.agregarAdelante(new Marco(nodo, prefijo, desde, hasta));
+                if (incluyeNodo && nodo.esFinDePalabra) {
+                    emitir(accion, nodo, prefijo);
+                    return true;
+                }
+            }
+
+            // Cada nodo se apila una vez, y cada marco recorre sus hijos una vez
+            while (pila.longitud() > 0) {
+                Marco marco = pila.obtener(0);
+                while (marco.siguiente < marco.hasta && hijo(marco.nodo, marco.siguiente) == null) {
+                    marco.siguiente++;
+                }
+                if (marco.siguiente == marco.hasta) {
+                    pila.eliminar(0);
+                    continue;
+                }
+                NodoTrie<V> hijo = hijo(marco.nodo, marco.siguiente);
+                String prefijoHijo = claves ? marco.prefijo + (char) marco.siguiente : null;
+                marco.siguiente++;
+                pila.agregarAdelante(new Marco(hijo, prefijoHijo, 0, 255));
+                if (hijo.esFinDePalabra) {
+                    emitir(accion, hijo, prefijoHijo);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void emitir(Consumer<? super R> accion, NodoTrie<V> nodo, String prefijo) {
+            if (estimacion > 0) {
+                estimacion--;
+            }
+            accion.accept(elemento(nodo, prefijo));
+        }
+
+        // Separa la primera mitad de los subárboles del rango: O(255 * altura de las cadenas de un solo hijo)
+        @Override
+        public Spliterator<R> trySplit() {
+            if (pila != null) {
+                return null;
+            }
+            while (true) {
+                int cantHijos = 0;
+                int unico = -1;
+                for (int c = desde; c < hasta; c++) {
+                    if (hijo(nodo, c) != null) {
+                        cantHijos++;
+                        unico = c;
+                    }
+                }
+                if (cantHijos == 0) {
+                    return null;
+                }
+
+                // La clave del nodo va antes que las de sus hijos: la separamos sola
+                if (incluyeNodo && nodo.esFinDePalabra) {
+                    incluyeNodo = false;
+                    exacto = false;
+                    estimacion = Math.max(estimacion - 1, 1);
+                    return new EspliteradorTrie<>(claves, nodo, prefijo, true, 0, 0, 1, true);
+                }
+
+                // Con un solo hijo no hay nada que repartir: bajamos a él
+                if (cantHijos == 1) {
+                    nodo = hijo(nodo, unico);
+                    prefijo = claves ? prefijo + (char) unico : null;
+                    incluyeNodo = true;
+                    desde = 0;
+                    hasta = 255;
+                    continue;
+                }
+
+                // Buscamos el hijo que deja la mitad de los subárboles de cada lado
+                int mitad = desde;
+                int vistos = 0;
+                while (vistos < cantHijos / 2) {
+                    if (hijo(nodo, mitad) != null) {
+                        vistos++;
+                    }
+                    mitad++;
+                }
+                long estimacionPrimera = estimacion / 2;
+                EspliteradorTrie<R> primera = new EspliteradorTrie<>(claves, nodo, prefijo, false, desde, mitad, estimacionPrimera, false);
+                desde = mitad;
+                estimacion -= estimacionPrimera;
+                exacto = false;
+                return primera;
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimacion;
+        }
+
+        @Override
+        public int characteristics() {
+            int caracteristicas = Spliterator.ORDERED;
+            if (claves) {
+                // Recorriendo los hijos de 0 a 254, las claves salen ordenadas como Strings y sin repetir
+                caracteristicas |= Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL;
+            }
+            if (exacto) {
+                caracteristicas |= Spliterator.SIZED;
+            }
+            return caracteristicas;
+        }
+
+        @Override
+        public Comparator<? super R> getComparator() {
+            if (claves) {
+                return null; // Orden natural de las Strings
+            }
+            throw new IllegalStateException();
+        }
+    }
+
+
+    // Método para estimar la memoria que ocupa el Trie: nodos, slots de hijos asignados y usados, y bytes.
+    // La disposición compacta es la de un nodo que guarda sólo sus hijos usados, en un array de caracteres ordenado
+    // y un array de referencias del mismo largo (sin cambiar la cantidad de nodos).
+    // No cuenta las raíces anteriores que guardan las instantáneas vivas.
+    public ReporteMemoria memoria() {
+        ReporteMemoria reporte = new ReporteMemoria("DiccionarioTrie");
+
+        // O(1): tamaños de las clases
+        long bytesNodo = EstimadorMemoria.instancia(NodoTrie.class);
+        reporte.bytes = EstimadorMemoria.instancia(DiccionarioTrie.class);
+        reporte.bytesCompactos = reporte.bytes;
+
+        // Recorre todos los nodos: O(cantidadNodos)
+        memoriaAux(raiz, bytesNodo, reporte);
+        return reporte;
+
+    } // Complejidad memoria(): O(cantidadNodos)
+
+
+    // Método recursivo auxiliar para sumar la memoria de un nodo y sus descendientes
+    private void memoriaAux(NodoTrie<V> nodo, long bytesNodo, ReporteMemoria reporte) {
+
+        // Se ejecuta una vez por cada slot de hijos (255, o menos si el array está recortado)
+        int usados = 0;
+        for (NodoTrie<V> hijo : nodo.hijos) {
+            if (hijo != null) {
+                usados++;
+                memoriaAux(hijo, bytesNodo, reporte);
+            }
+        }
+
+        // O(1)
+        reporte.nodos++;
+        reporte.slotsAsignados += nodo.hijos.length;
+        reporte.slotsUsados += usados;
+        if (nodo.esFinDePalabra) {
+            reporte.elementos++;
+        }
+        reporte.bytes += bytesNodo + EstimadorMemoria.arrayReferencias(nodo.hijos.length);
+        reporte.bytesCompactos += bytesNodo;
+        if (usados > 0) {
+            reporte.bytesCompactos += EstimadorMemoria.arrayPrimitivos(usados, 2) + EstimadorMemoria.arrayReferencias(usados);
+        }
+
+    } // Complejidad memoriaAux(): O(cantidad de nodos del subárbol)
 }
@@ -0,0 +1,383 @@
+package aed;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Clase para representar un Diccionario Trie de 16 hijos por nodo: cada clave se recorre en UTF-8, y cada byte se parte
+// en dos mitades de 4 bits (nibbles), la alta primero. Los caminos son más largos que en DiccionarioTrie (dos nodos por
+// byte, y los caracteres no ASCII ocupan dos o más bytes), pero cada nodo tiene 16 slots en lugar de 255, y acepta
+// cualquier caracter Unicode. Los bytes se calculan a medida que se baja, sin armar un array con la clave codificada.
+// Las claves tienen que ser UTF-16 bien formado: insertar rechaza un surrogate suelto, que no tiene código Unicode.
+public class DiccionarioTrieNibble<V> implements Iterable<String> {
+
+    private final Nodo<V> raiz;
+    private int cantidadNodos; // Cantidad de nodos, incluida la raíz
+    private int cantidadClaves;
+
+    // Invariante de representación:
+    // - Los nodos forman un árbol con raíz raiz. El camino desde la raíz hasta un nodo de profundidad par es una secuencia
+    // de bytes (dos nibbles por byte, el alto primero); sólo esos nodos pueden tener esFinDePalabra = true, y en ese caso
+    // los bytes del camino son la codificación UTF-8 de una clave del diccionario y valor es su valor.
+    // - valor es null si esFinDePalabra es false.
+    // - Todo nodo salvo la raíz tiene esFinDePalabra = true o algún hijo. cantHijos es la cantidad de hijos no null.
+    // - cantidadNodos es la cantidad de nodos alcanzables desde raiz (contándola), y cantidadClaves la de nodos con
+    // esFinDePalabra = true.
+
+    // Clase de nodos
+    private static final class Nodo<V> {
+        @SuppressWarnings("unchecked")
+        final Nodo<V>[] hijos = new Nodo[16]; // Un hijo por cada valor de un nibble
+        int cantHijos; // Cantidad de hijos distintos de null
+        V valor; // Valor asociado al nodo
+        boolean esFinDePalabra; // Indicador de si es el final de una clave
+    }
+
+    // Constructor del diccionario vacío
+    public DiccionarioTrieNibble() {
+        raiz = new Nodo<>();
+        cantidadNodos = 1;
+        cantidadClaves = 0;
+
+    } // Complejidad: O(1)
+
+
+    // Método para obtener la cantidad de nodos (incluida la raíz)
+    public int cantidadNodos() {
+        return cantidadNodos;
+
+    } // Complejidad cantidadNodos(): O(1)
+
+
+    // Método para obtener la cantidad de claves
+    public int cantidadClaves() {
+        return cantidadClaves;
+
+    } // Complejidad cantidadClaves(): O(1)
+
+
+    // Método para verificar si el diccionario está vacío
+    public boolean estaVacio() {
+        return cantidadClaves == 0;
+
+    } // Complejidad estaVacio(): O(1)
+
+
+    // Código que devuelve codigo() para un surrogate suelto
+    private static final int SURROGATE_SUELTO = -1;
+
+    // Método auxiliar que devuelve el código del caracter de la clave en la posición j (un par de surrogates es un solo
+    // código), o SURROGATE_SUELTO si es un surrogate sin su pareja
+    private static int codigo(String clave, int j) {
+        char c = clave.charAt(j);
+        if (Character.isHighSurrogate(c) && j + 1 < clave.length() && Character.isLowSurrogate(clave.charAt(j + 1))) {
+            return Character.toCodePoint(c, clave.charAt(j + 1));
+        }
+        return Character.isSurrogate(c) ? SURROGATE_SUELTO : c;
+
+    } // Complejidad codigo(): O(1)
+
+
+    // Método auxiliar que guarda en bytes la codificación UTF-8 de un código y devuelve cuántos bytes usa (1 a 4)
+    private static int utf8(int codigo, int[] bytes) {
+        if (codigo < 0x80) {
+            bytes[0] = codigo;
+            return 1;
+        }
+        if (codigo < 0x800) {
+            bytes[0] = 0xC0 | (codigo >> 6);
+            bytes[1] = 0x80 | (codigo & 0x3F);
+            return 2;
+        }
+        if (codigo < 0x10000) {
+            bytes[0] = 0xE0 | (codigo >> 12);
+            bytes[1] = 0x80 | ((codigo >> 6) & 0x3F);
+            bytes[2] = 0x80 | (codigo & 0x3F);
+            return 3;
+        }
+        bytes[0] = 0xF0 | (codigo >> 18);
+        bytes[1] = 0x80 | ((codigo >> 12) & 0x3F);
+        bytes[2] = 0x80 | ((codigo >> 6) & 0x3F);
+        bytes[3] = 0x80 | (codigo & 0x3F);
+        return 4;
+
+    } // Complejidad utf8(): O(1)
+
+
+    // Método auxiliar que baja desde la raíz por los nibbles de la clave. Devuelve el nodo de la clave, o null si el
+    // camino no existe
+    private Nodo<V> bajar(String clave) {
+        Nodo<V> nodo = raiz;
+        int[] bytes = new int[4];
+
+        // Se ejecuta |clave| veces, y cada vez a lo sumo 4 bytes (8 nibbles): O(1)
+        for (int j = 0; j < clave.length() && nodo != null; j++) {
+            int codigo = codigo(clave, j);
+            if (codigo == SURROGATE_SUELTO) {
+                return null; // Ninguna clave tiene surrogates sueltos (ver insertar())
+            }
+            if (codigo >= 0x10000) {
+                j++;
+            }
+
+            // Camino rápido para ASCII: un byte, dos nibbles
+            if (codigo < 0x80) {
+                nodo = nodo.hijos[codigo >>> 4];
+                nodo = nodo == null ? null : nodo.hijos[codigo & 0xF];
+                continue;
+            }
+            int cant_bytes = utf8(codigo, bytes);
+            for (int b = 0; b < cant_bytes && nodo != null; b++) {
+                nodo = nodo.hijos[bytes[b] >>> 4];
+                nodo = nodo == null ? null : nodo.hijos[bytes[b] & 0xF];
+            }
+        }
+        return nodo;
+
+    } // Complejidad bajar(): O(|clave|)
+
+
+    // Método para buscar una clave y obtener su valor
+    public V buscar(String clave) {
+
+        // O(|clave|)
+        Nodo<V> nodo = bajar(clave);
+        return nodo != null && nodo.esFinDePalabra ? nodo.valor : null;
+
+    } // Complejidad buscar(): O(|clave|)
+
+
+    // Método para verificar si una clave pertenece al diccionario
+    public boolean pertenece(String clave) {
+        return buscar(clave) != null;
+
+    } // Complejidad pertenece(): O(|clave|)
+
+
+    // Método para insertar una clave con su valor asociado. Lanza IllegalArgumentException si la clave tiene un
+    // surrogate suelto, sin modificar el diccionario.
+    public void insertar(String clave, V valor) {
+        verificar(clave);
+        Nodo<V> nodo = raiz;
+        int[] bytes = new int[4];
+
+        // Se ejecuta |clave| veces, y cada vez a lo sumo 8 nibbles: O(1)
+        for (int j = 0; j < clave.length(); j++) {
+            int codigo = codigo(clave, j);
+            if (codigo >= 0x10000) {
+                j++;
+            }
+            int cant_bytes = utf8(codigo, bytes);
+            for (int b = 0; b < cant_bytes; b++) {
+                nodo = hijoOCrear(nodo, bytes[b] >>> 4);
+                nodo = hijoOCrear(nodo, bytes[b] & 0xF);
+            }
+        }
+
+        // O(1)
+        if (!nodo.esFinDePalabra) {
+            cantidadClaves++;
+        }
+        nodo.esFinDePalabra = true;
+        nodo.valor = valor;
+
+    } // Complejidad insertar(): O(|clave|)
+
+
+    // Método auxiliar que verifica que la clave no tenga surrogates sueltos
+    private static void verificar(String clave) {
+        for (int j = 0; j < clave.length(); j++) {
+            int codigo = codigo(clave, j);
+            if (codigo == SURROGATE_SUELTO) {
+                throw new IllegalArgumentException("La clave tiene un surrogate suelto en la posición " + j + ": " + clave);
+            }
+            if (codigo >= 0x10000) {
+                j++;
+            }
+        }
+
+    } // Complejidad verificar(): O(|clave|)
+
+
+    // Método auxiliar que devuelve el hijo de un nodo para un nibble, creándolo si no existe
+    private Nodo<V> hijoOCrear(Nodo<V> nodo, int nibble) {
+        Nodo<V> hijo = nodo.hijos[nibble];
+        if (hijo == null) {
+            hijo = new Nodo<>();
+            nodo.hijos[nibble] = hijo;
+            nodo.cantHijos++;
+            cantidadNodos++;
+        }
+        return hijo;
+
+    } // Complejidad hijoOCrear(): O(1)
+
+
+    // Método para eliminar una clave. Devuelve si estaba.
+    @SuppressWarnings("unchecked")
+    public boolean eliminar(String clave) {
+
+        // Bajamos guardando el camino de nodos y los nibbles por los que se bajó: O(|clave|)
+        Nodo<V>[] camino = new Nodo[8 * clave.length() + 1];
+        byte[] nibbles = new byte[8 * clave.length()];
+        int largo = 0;
+        camino[0] = raiz;
+        int[] bytes = new int[4];
+        for (int j = 0; j < clave.length(); j++) {
+            int codigo = codigo(clave, j);
+            if (codigo == SURROGATE_SUELTO) {
+                return false; // Ninguna clave tiene surrogates sueltos (ver insertar())
+            }
+            if (codigo >= 0x10000) {
+                j++;
+            }
+            int cant_bytes = utf8(codigo, bytes);
+            for (int b = 0; b < cant_bytes; b++) {
+                for (int mitad = 0; mitad < 2; mitad++) {
+                    int nibble = mitad == 0 ? bytes[b] >>> 4 : bytes[b] & 0xF;
+                    Nodo<V> hijo = camino[largo].hijos[nibble];
+                    if (hijo == null) {
+                        return false;
+                    }
+                    nibbles[largo] = (byte) nibble;
+                    largo++;
+                    camino[largo] = hijo;
+                }
+            }
+        }
+        Nodo<V> nodo = camino[largo];
+        if (!nodo.esFinDePalabra) {
+            return false;
+        }
+        nodo.esFinDePalabra = false;
+        nodo.valor = null;
+        cantidadClaves--;
+
+        // Subimos sacando los nodos que quedaron sin clave y sin hijos (la raíz nunca se saca): O(|clave|)
+        for (int k = largo; k > 0 && !camino[k].esFinDePalabra && camino[k].cantHijos == 0; k--) {
+            camino[k - 1].hijos[nibbles[k - 1]] = null;
+            camino[k - 1].cantHijos--;
+            cantidadNodos--;
+        }
+        return true;
+
+    } // Complejidad eliminar(): O(|clave|)
+
+
+    // Iterador de las claves, ordenadas por sus bytes UTF-8 (que es el orden de los códigos Unicode). Recorre en
+    // profundidad con una pila, guardando los bytes del camino; no se debe modificar el diccionario mientras se recorre.
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private Nodo<V>[] pila = nuevaPila(16); // Nodos del camino actual
+            private int[] siguientes = new int[16]; // Próximo nibble a visitar de cada nodo del camino
+            private byte[] bytesCamino = new byte[8]; // Bytes del camino actual
+            private int profundidad = 0; // Nodos del camino, menos uno
+            private String proxima;
+
+            {
+                pila[0] = raiz;
+                proxima = raiz.esFinDePalabra ? "" : null;
+                if (proxima == null) {
+                    avanzar();
+                }
+            }
+
+            @SuppressWarnings("unchecked")
+            private Nodo<V>[] nuevaPila(int largo) {
+                return new Nodo[largo];
+            }
+
+            // Avanza hasta el próximo nodo con clave: O(1) amortizado por nodo visitado (16 slots por nodo)
+            private void avanzar() {
+                proxima = null;
+                while (proxima == null && profundidad >= 0) {
+                    Nodo<V> nodo = pila[profundidad];
+                    int nibble = siguientes[profundidad];
+                    while (nibble < 16 && nodo.hijos[nibble] == null) {
+                        nibble++;
+                    }
+                    if (nibble == 16) {
+                        profundidad--;
+                        continue;
+                    }
+                    siguientes[profundidad] = nibble + 1;
+
+                    // Bajamos al hijo, armando el byte cuando el nibble es el bajo
+                    if (profundidad + 1 == pila.length) {
+                        pila = Arrays.copyOf(pila, 2 * pila.length);
+                        siguientes = Arrays.copyOf(siguientes, 2 * siguientes.length);
+                    }
+                    if (profundidad / 2 >= bytesCamino.length) {
+                        bytesCamino = Arrays.copyOf(bytesCamino, 2 * bytesCamino.length);
+                    }
+                    if (profundidad % 2 == 0) {
+                        bytesCamino[profundidad / 2] = (byte) (nibble << 4);
+                    } else {
+                        bytesCamino[profundidad / 2] = (byte) ((bytesCamino[profundidad / 2] & 0xF0) | nibble);
+                    }
+                    profundidad++;
+                    pila[profundidad] = nodo.hijos[nibble];
+                    siguientes[profundidad] = 0;
+                    if (pila[profundidad].esFinDePalabra) {
+                        proxima = new String(bytesCamino, 0, profundidad / 2, StandardCharsets.UTF_8);
+                    }
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return proxima != null;
+            }
+
+            @Override
+            public String next() {
+                if (proxima == null) {
+                    throw new NoSuchElementException();
+                }
+                String clave = proxima;
+                avanzar();
+                return clave;
+            }
+        };
+
+    } // Complejidad de recorrer todas las claves: O(cantidadNodos + n*|clave|)
+
+
+    // Método para estimar la memoria que ocupa el Trie (mismos campos del reporte que DiccionarioTrie.memoria())
+    public ReporteMemoria memoria() {
+        ReporteMemoria reporte = new ReporteMemoria("DiccionarioTrieNibble");
+        long bytesInstanciaNodo = EstimadorMemoria.instancia(Nodo.class); // Se calcula una vez: usa reflexión
+        long bytesNodo = bytesInstanciaNodo + EstimadorMemoria.arrayReferencias(16);
+        reporte.bytes = EstimadorMemoria.instancia(DiccionarioTrieNibble.class);
+        reporte.bytesCompactos = reporte.bytes;
+
+        // Recorre todos los nodos con una pila: O(cantidadNodos)
+        ListaEnlazada<Nodo<V>> pendientes = new ListaEnlazada<>();
+        pendientes.agregarAdelante(raiz);
+        while (pendientes.longitud() > 0) {
+            Nodo<V> nodo = pendientes.obtener(0);
+            pendientes.eliminar(0);
+            for (Nodo<V> hijo : nodo.hijos) {
+                if (hijo != null) {
+                    pendientes.agregarAdelante(hijo);
+                }
+            }
+            reporte.nodos++;
+            reporte.slotsAsignados += 16;
+            reporte.slotsUsados += nodo.cantHijos;
+            if (nodo.esFinDePalabra) {
+                reporte.elementos++;
+            }
+            reporte.bytes += bytesNodo;
+            reporte.bytesCompactos += bytesInstanciaNodo;
+            if (nodo.cantHijos > 0) {
+                reporte.bytesCompactos += EstimadorMemoria.arrayPrimitivos(nodo.cantHijos, 1)
+                    + EstimadorMemoria.arrayReferencias(nodo.cantHijos);
+            }
+        }
+        return reporte;
+
+    } // Complejidad memoria(): O(cantidadNodos)
+}
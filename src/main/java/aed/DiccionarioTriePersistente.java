@@ -0,0 +1,423 @@
+package aed;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Clase para representar un Diccionario Trie persistente (inmutable): insertar() y eliminar() no modifican el diccionario,
+// sino que devuelven una versión nueva que comparte con la anterior todos los nodos que no están en el camino de la clave
+// (copia de caminos). Cada versión sigue siendo válida y se puede leer desde cualquier hilo sin locks, así que sirve para
+// guardar la historia del catálogo o para probar cambios ("¿y si cerramos estas materias?") sin copiar todo.
+//
+// Como cada escritura copia los nodos del camino, los nodos guardan sólo sus hijos presentes: un mapa de bits de 256
+// posiciones (cuatro long) dice qué caracteres tienen hijo, y el hijo del caracter c está en la posición que resulta de
+// contar los bits prendidos antes de c (Long.bitCount). Buscar sigue siendo O(1) por caracter, y copiar un nodo cuesta
+// lo que ocupan sus hijos y no los 255 slots de un nodo de DiccionarioTrie.
+public final class DiccionarioTriePersistente<V> implements Iterable<String> {
+
+    @SuppressWarnings("rawtypes")
+    private static final Nodo[] SIN_HIJOS = new Nodo[0];
+
+    private final Nodo<V> raiz;
+    private final int cantidadClaves;
+    private final int cantidadNodos;
+
+    // Invariante de representación:
+    // - Los nodos alcanzables desde raiz forman un árbol (aunque distintas versiones compartan subárboles), y ninguno se
+    // modifica después de construido.
+    // - En cada nodo, el bit c de mapa (bits 0..63 en mapa0, 64..127 en mapa1, etc.) está prendido si y sólo si hay un hijo
+    // para el caracter c, y hijos tiene exactamente esos hijos, ordenados por caracter.
+    // - Todo nodo salvo la raíz tiene esFinDePalabra = true o algún hijo. valor es null si esFinDePalabra es false.
+    // - cantidadClaves es la cantidad de nodos con esFinDePalabra = true, y cantidadNodos la de nodos, contando la raíz.
+    // - Las claves sólo tienen caracteres menores a 256.
+
+    // Clase de nodos (inmutables)
+    private static final class Nodo<V> {
+        final long mapa0, mapa1, mapa2, mapa3; // Caracteres que tienen hijo
+        final Nodo<V>[] hijos; // Hijos presentes, ordenados por caracter
+        final V valor; // Valor asociado al nodo
+        final boolean esFinDePalabra; // Indicador de si es el final de una clave
+
+        Nodo(long mapa0, long mapa1, long mapa2, long mapa3, Nodo<V>[] hijos, V valor, boolean esFinDePalabra) {
+            this.mapa0 = mapa0;
+            this.mapa1 = mapa1;
+            this.mapa2 = mapa2;
+            this.mapa3 = mapa3;
+            this.hijos = hijos;
+            this.valor = valor;
+            this.esFinDePalabra = esFinDePalabra;
+        }
+
+        // Devuelve la palabra del mapa que tiene el bit del caracter c
+        long palabra(int c) {
+            switch (c >>> 6) {
+                case 0: return mapa0;
+                case 1: return mapa1;
+                case 2: return mapa2;
+                default: return mapa3;
+            }
+        }
+
+        // Devuelve si el caracter c tiene hijo
+        boolean tiene(int c) {
+            return (palabra(c) >>> (c & 63) & 1) != 0;
+        }
+
+        // Devuelve la posición en hijos del hijo del caracter c (o donde iría, si no está)
+        int posicion(int c) {
+            int palabra = c >>> 6;
+            long antes = palabra(c) & ((1L << (c & 63)) - 1);
+            int posicion = Long.bitCount(antes);
+            if (palabra > 0) {
+                posicion += Long.bitCount(mapa0);
+            }
+            if (palabra > 1) {
+                posicion += Long.bitCount(mapa1);
+            }
+            if (palabra > 2) {
+                posicion += Long.bitCount(mapa2);
+            }
+            return posicion;
+        }
+
+        // Devuelve el hijo del caracter c, o null si no tiene
+        Nodo<V> hijo(int c) {
+            return tiene(c) ? hijos[posicion(c)] : null;
+        }
+    }
+
+    // Constructor del diccionario vacío
+    @SuppressWarnings("unchecked")
+    public DiccionarioTriePersistente() {
+        this(new Nodo<V>(0, 0, 0, 0, SIN_HIJOS, null, false), 0, 1);
+
+    } // Complejidad: O(1)
+
+
+    private DiccionarioTriePersistente(Nodo<V> raiz, int cantidadClaves, int cantidadNodos) {
+        this.raiz = raiz;
+        this.cantidadClaves = cantidadClaves;
+        this.cantidadNodos = cantidadNodos;
+    }
+
+
+    // Construye la versión persistente de un DiccionarioTrie con sus mismas claves y valores. Arma cada nodo una sola
+    // vez, de abajo hacia arriba, a partir de las claves ordenadas (sin copiar caminos).
+    public static <V> DiccionarioTriePersistente<V> desde(DiccionarioTrie<V> diccionario) {
+
+        // Las claves y los valores salen en el mismo orden, ordenados por caracter: O(n*|clave|)
+        String[] claves = diccionario.flujoDeClaves(false).toArray(String[]::new);
+        Object[] valores = diccionario.flujoDeValores(false).toArray();
+        if (claves.length == 0) {
+            return new DiccionarioTriePersistente<>();
+        }
+        for (String clave : claves) {
+            verificar(clave);
+        }
+
+        // O(n*|clave|)
+        int[] nodos = new int[1];
+        Nodo<V> raiz = construir(claves, valores, 0, claves.length, 0, nodos);
+        return new DiccionarioTriePersistente<>(raiz, claves.length, nodos[0]);
+
+    } // Complejidad desde(): O(n*|clave|)
+
+
+    // Método recursivo auxiliar que arma el nodo de las claves [desde, hasta), que comparten sus primeros profundidad
+    // caracteres y están ordenadas, y suma los nodos que arma
+    @SuppressWarnings("unchecked")
+    private static <V> Nodo<V> construir(String[] claves, Object[] valores, int desde, int hasta, int profundidad,
+            int[] nodos) {
+        nodos[0]++;
+
+        // Si la primera clave termina acá, es la del nodo: O(1)
+        boolean fin = claves[desde].length() == profundidad;
+        V valor = fin ? (V) valores[desde] : null;
+        int i = fin ? desde + 1 : desde;
+
+        // Agrupa las claves restantes por su caracter en esta profundidad, y arma un hijo por grupo
+        // Se ejecuta hasta - i veces, más lo que cuesta armar los hijos
+        Nodo<V>[] hijos = new Nodo[255];
+        long[] mapa = new long[4];
+        int cant_hijos = 0;
+        while (i < hasta) {
+            char c = claves[i].charAt(profundidad);
+            int j = i + 1;
+            while (j < hasta && claves[j].charAt(profundidad) == c) {
+                j++;
+            }
+            hijos[cant_hijos] = construir(claves, valores, i, j, profundidad + 1, nodos);
+            cant_hijos++;
+            mapa[c >>> 6] |= 1L << (c & 63);
+            i = j;
+        }
+
+        Nodo<V>[] justos = cant_hijos == 0 ? SIN_HIJOS : new Nodo[cant_hijos];
+        System.arraycopy(hijos, 0, justos, 0, cant_hijos);
+        return new Nodo<>(mapa[0], mapa[1], mapa[2], mapa[3], justos, valor, fin);
+
+    } // Complejidad construir(): O(cantidad de caracteres de las claves [desde, hasta) desde profundidad)
+
+
+    // Verifica que una clave se pueda guardar (los nodos tienen lugar para 256 caracteres)
+    private static void verificar(String clave) {
+        for (int j = 0; j < clave.length(); j++) {
+            if (clave.charAt(j) > 255) {
+                throw new IllegalArgumentException("La clave tiene un caracter fuera de rango: " + clave);
+            }
+        }
+
+    } // Complejidad verificar(): O(|clave|)
+
+
+    // Devuelve una copia del nodo con el hijo del caracter c reemplazado por hijo (o sin ese hijo, si hijo es null)
+    @SuppressWarnings("unchecked")
+    private static <V> Nodo<V> conHijo(Nodo<V> nodo, int c, Nodo<V> hijo) {
+        int posicion = nodo.posicion(c);
+        boolean tenia = nodo.tiene(c);
+        long bit = 1L << (c & 63);
+
+        // O(cantidad de hijos) <= O(256) = O(1)
+        Nodo<V>[] hijos;
+        if (tenia && hijo != null) {
+            hijos = nodo.hijos.clone();
+            hijos[posicion] = hijo;
+            bit = 0;
+        } else if (hijo != null) {
+            hijos = new Nodo[nodo.hijos.length + 1];
+            System.arraycopy(nodo.hijos, 0, hijos, 0, posicion);
+            hijos[posicion] = hijo;
+            System.arraycopy(nodo.hijos, posicion, hijos, posicion + 1, nodo.hijos.length - posicion);
+        } else if (tenia) {
+            hijos = nodo.hijos.length == 1 ? SIN_HIJOS : new Nodo[nodo.hijos.length - 1];
+            System.arraycopy(nodo.hijos, 0, hijos, 0, posicion);
+            System.arraycopy(nodo.hijos, posicion + 1, hijos, posicion, nodo.hijos.length - posicion - 1);
+        } else {
+            return nodo;
+        }
+
+        // El bit sólo cambia si el hijo aparece o desaparece
+        int palabra = c >>> 6;
+        return new Nodo<>(palabra == 0 ? nodo.mapa0 ^ bit : nodo.mapa0, palabra == 1 ? nodo.mapa1 ^ bit : nodo.mapa1,
+            palabra == 2 ? nodo.mapa2 ^ bit : nodo.mapa2, palabra == 3 ? nodo.mapa3 ^ bit : nodo.mapa3, hijos, nodo.valor,
+            nodo.esFinDePalabra);
+
+    } // Complejidad conHijo(): O(1)
+
+
+    // Método para obtener la cantidad de claves de esta versión
+    public int cantidadClaves() {
+        return cantidadClaves;
+
+    } // Complejidad cantidadClaves(): O(1)
+
+
+    // Método para obtener la cantidad de nodos de esta versión (incluida la raíz, y contando los compartidos)
+    public int cantidadNodos() {
+        return cantidadNodos;
+
+    } // Complejidad cantidadNodos(): O(1)
+
+
+    // Método para verificar si el diccionario está vacío
+    public boolean estaVacio() {
+        return cantidadClaves == 0;
+
+    } // Complejidad estaVacio(): O(1)
+
+
+    // Método para buscar una clave y obtener su valor
+    public V buscar(String clave) {
+        Nodo<V> nodo = raiz;
+
+        // Se ejecuta |clave| veces: O(1) cada una (un bitCount por palabra del mapa)
+        for (int j = 0; j < clave.length() && nodo != null; j++) {
+            char c = clave.charAt(j);
+            nodo = c > 255 ? null : nodo.hijo(c);
+        }
+        return nodo != null && nodo.esFinDePalabra ? nodo.valor : null;
+
+    } // Complejidad buscar(): O(|clave|)
+
+
+    // Método para verificar si una clave pertenece al diccionario
+    public boolean pertenece(String clave) {
+        return buscar(clave) != null;
+
+    } // Complejidad pertenece(): O(|clave|)
+
+
+    // Método que devuelve una versión con la clave asociada al valor; esta versión no cambia
+    @SuppressWarnings("unchecked")
+    public DiccionarioTriePersistente<V> insertar(String clave, V valor) {
+        verificar(clave);
+
+        // Bajamos guardando el camino; desde donde el camino no existe, los nodos de camino quedan en null: O(|clave|)
+        Nodo<V>[] camino = new Nodo[clave.length()];
+        Nodo<V> nodo = raiz;
+        int nuevos = 0;
+        for (int j = 0; j < clave.length(); j++) {
+            camino[j] = nodo;
+            nodo = nodo == null ? null : nodo.hijo(clave.charAt(j));
+            if (nodo == null) {
+                nuevos++;
+            }
+        }
+        if (nodo != null && nodo.esFinDePalabra && nodo.valor == valor) {
+            return this;
+        }
+        boolean existia = nodo != null && nodo.esFinDePalabra;
+
+        // Armamos el nodo de la clave y copiamos el camino de abajo hacia arriba: O(|clave|)
+        Nodo<V> nuevo = nodo == null
+            ? new Nodo<>(0, 0, 0, 0, SIN_HIJOS, valor, true)
+            : new Nodo<>(nodo.mapa0, nodo.mapa1, nodo.mapa2, nodo.mapa3, nodo.hijos, valor, true);
+        for (int j = clave.length() - 1; j >= 0; j--) {
+            Nodo<V> padre = camino[j] == null ? new Nodo<V>(0, 0, 0, 0, SIN_HIJOS, null, false) : camino[j];
+            nuevo = conHijo(padre, clave.charAt(j), nuevo);
+        }
+        return new DiccionarioTriePersistente<>(nuevo, existia ? cantidadClaves : cantidadClaves + 1, cantidadNodos + nuevos);
+
+    } // Complejidad insertar(): O(|clave|)
+
+
+    // Método que devuelve una versión sin la clave (esta misma, si la clave no está); esta versión no cambia
+    @SuppressWarnings("unchecked")
+    public DiccionarioTriePersistente<V> eliminar(String clave) {
+
+        // O(|clave|)
+        Nodo<V>[] camino = new Nodo[clave.length()];
+        Nodo<V> nodo = raiz;
+        for (int j = 0; j < clave.length() && nodo != null; j++) {
+            camino[j] = nodo;
+            char c = clave.charAt(j);
+            nodo = c > 255 ? null : nodo.hijo(c);
+        }
+        if (nodo == null || !nodo.esFinDePalabra) {
+            return this;
+        }
+
+        // El nodo de la clave queda sin valor, y si no tiene hijos desaparece; lo mismo cada ancestro que queda sin hijos
+        // ni clave (salvo la raíz). Se copia el camino de abajo hacia arriba: O(|clave|)
+        int eliminados = 0;
+        Nodo<V> nuevo = null;
+        if (nodo.hijos.length > 0) {
+            nuevo = new Nodo<>(nodo.mapa0, nodo.mapa1, nodo.mapa2, nodo.mapa3, nodo.hijos, null, false);
+        } else if (clave.length() > 0) {
+            eliminados++;
+        } else {
+            nuevo = new Nodo<>(0, 0, 0, 0, SIN_HIJOS, null, false);
+        }
+        for (int j = clave.length() - 1; j >= 0; j--) {
+            nuevo = conHijo(camino[j], clave.charAt(j), nuevo);
+            if (j > 0 && nuevo.hijos.length == 0 && !nuevo.esFinDePalabra) {
+                nuevo = null;
+                eliminados++;
+            }
+        }
+        return new DiccionarioTriePersistente<>(nuevo, cantidadClaves - 1, cantidadNodos - eliminados);
+
+    } // Complejidad eliminar(): O(|clave|)
+
+
+    // Iterador de las claves de esta versión, ordenadas por caracter (recorrido en profundidad con una pila)
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private final ListaEnlazada<Nodo<V>> nodos = new ListaEnlazada<>();
+            private final ListaEnlazada<String> prefijos = new ListaEnlazada<>();
+            private String proxima = null;
+
+            {
+                nodos.agregarAdelante(raiz);
+                prefijos.agregarAdelante("");
+                avanzar();
+            }
+
+            // Saca nodos de la pila hasta encontrar uno con clave, apilando sus hijos del último al primero
+            private void avanzar() {
+                proxima = null;
+                while (proxima == null && nodos.longitud() > 0) {
+                    Nodo<V> nodo = nodos.obtener(0);
+                    String prefijo = prefijos.obtener(0);
+                    nodos.eliminar(0);
+                    prefijos.eliminar(0);
+                    apilarHijos(nodo, prefijo);
+                    if (nodo.esFinDePalabra) {
+                        proxima = prefijo;
+                    }
+                }
+            }
+
+            private void apilarHijos(Nodo<V> nodo, String prefijo) {
+                int posicion = nodo.hijos.length - 1;
+                for (int c = 255; c >= 0 && posicion >= 0; c--) {
+                    if (nodo.tiene(c)) {
+                        nodos.agregarAdelante(nodo.hijos[posicion]);
+                        prefijos.agregarAdelante(prefijo + (char) c);
+                        posicion--;
+                    }
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return proxima != null;
+            }
+
+            @Override
+            public String next() {
+                if (proxima == null) {
+                    throw new NoSuchElementException();
+                }
+                String clave = proxima;
+                avanzar();
+                return clave;
+            }
+        };
+
+    } // Complejidad de recorrer todas las claves: O(n*|clave|)
+
+
+    // Estima la memoria que ocupa esta versión, como si no compartiera nodos con otras
+    public ReporteMemoria memoria() {
+        return memoriaCompartida(this);
+
+    } // Complejidad memoria(): O(cantidadNodos)
+
+
+    // Estima la memoria que ocupan juntas varias versiones, contando una sola vez cada nodo compartido
+    @SafeVarargs
+    public static <V> ReporteMemoria memoriaCompartida(DiccionarioTriePersistente<V>... versiones) {
+        ReporteMemoria reporte = new ReporteMemoria("DiccionarioTriePersistente");
+        long bytesNodo = EstimadorMemoria.instancia(Nodo.class);
+        IdentityHashMap<Nodo<V>, Boolean> vistos = new IdentityHashMap<>();
+
+        // Cada nodo distinto se recorre una vez: O(cantidad de nodos distintos)
+        for (DiccionarioTriePersistente<V> version : versiones) {
+            reporte.bytes += EstimadorMemoria.instancia(DiccionarioTriePersistente.class);
+            ListaEnlazada<Nodo<V>> pendientes = new ListaEnlazada<>();
+            pendientes.agregarAdelante(version.raiz);
+            while (pendientes.longitud() > 0) {
+                Nodo<V> nodo = pendientes.obtener(0);
+                pendientes.eliminar(0);
+                if (vistos.put(nodo, Boolean.TRUE) != null) {
+                    continue;
+                }
+                reporte.nodos++;
+                reporte.slotsAsignados += nodo.hijos.length;
+                reporte.slotsUsados += nodo.hijos.length;
+                if (nodo.esFinDePalabra) {
+                    reporte.elementos++;
+                }
+                reporte.bytes += bytesNodo + (nodo.hijos.length == 0 ? 0 : EstimadorMemoria.arrayReferencias(nodo.hijos.length));
+                for (Nodo<V> hijo : nodo.hijos) {
+                    pendientes.agregarAdelante(hijo);
+                }
+            }
+        }
+        reporte.bytesCompactos = reporte.bytes;
+        return reporte;
+
+    } // Complejidad memoriaCompartida(): O(cantidad de nodos distintos de las versiones)
+}
@@ -0,0 +1,191 @@
+package aed;
+
+import java.util.Arrays;
+
+// Clase para repartir las carreras de la facultad entre varios fragmentos (ver SistemaSIUFragmentado) y saber a qué
+// fragmento ir para cada par carrera - materia. Cada carrera tiene un fragmento propio, elegido para equilibrar la
+// cantidad de materias de cada fragmento. Una materia compartida entre carreras de fragmentos distintos (por ejemplo
+// "Análisis I", con un nombre en cada carrera) vive entera en un único fragmento, su dueño: el de menor número entre
+// los de sus carreras. Para esos nombres el enrutador guarda una excepción que apunta al dueño.
+public class EnrutadorCarreras {
+
+    private final int cantFragmentos;
+    private final DiccionarioTrie<Integer> fragmentoDeCarrera; // Fragmento propio de cada carrera
+    private final DiccionarioTrie<DiccionarioTrie<Integer>> excepciones; // carrera -> materia -> dueño, si no es el propio
+    private final DiccionarioTrie<ListaEnteros> fragmentosDeCarrera; // Fragmentos que tienen alguna materia de cada carrera
+    private final InfoMateria[][] infoPorFragmento; // InfoMateria de las materias de cada fragmento
+
+    // Invariante de representación:
+    // - Las claves de fragmentoDeCarrera son las carreras de las InfoMateria, y sus valores están entre 0 y cantFragmentos-1.
+    // - Para toda InfoMateria, su dueño es el mínimo fragmentoDeCarrera entre sus carreras, y la InfoMateria está en
+    // infoPorFragmento[dueño] (y en ningún otro fragmento).
+    // - Un par (c, m) de una InfoMateria está en excepciones (con valor su dueño) si y sólo si el dueño no es el
+    // fragmento propio de c.
+    // - fragmentosDeCarrera.buscar(c) tiene, sin repetidos y en orden creciente, los fragmentos con alguna materia de c:
+    // el propio (si c tiene alguna materia sin excepción) y los dueños de sus excepciones.
+
+    // Constructor: reparte las carreras de las InfoMateria entre cantFragmentos fragmentos
+    public EnrutadorCarreras(InfoMateria[] infoMaterias, int cantFragmentos) {
+        if (cantFragmentos < 1) {
+            throw new IllegalArgumentException("Tiene que haber al menos un fragmento: " + cantFragmentos);
+        }
+        this.cantFragmentos = cantFragmentos;
+        fragmentoDeCarrera = new DiccionarioTrie<>();
+        excepciones = new DiccionarioTrie<>();
+        fragmentosDeCarrera = new DiccionarioTrie<>();
+
+        // Contamos los nombres de materias de cada carrera: O(|M| * |N_m| * |c|)
+        DiccionarioTrie<Integer> nombresPorCarrera = new DiccionarioTrie<>();
+        for (InfoMateria info : infoMaterias) {
+            for (ParCarreraMateria par : info.getParesCarreraMateria()) {
+                Integer cantidad = nombresPorCarrera.buscar(par.getCarrera());
+                nombresPorCarrera.insertar(par.getCarrera(), cantidad == null ? 1 : cantidad + 1);
+            }
+        }
+
+        // Repartimos las carreras de la más grande a la más chica, cada una al fragmento con menos materias hasta el
+        // momento (las claves salen ordenadas y el orden es estable, así que el reparto es siempre el mismo): O(|C| * (log |C| + N))
+        String[] carreras = nombresPorCarrera.flujoDeClaves(false).toArray(String[]::new);
+        Arrays.sort(carreras, (a, b) -> Integer.compare(nombresPorCarrera.buscar(b), nombresPorCarrera.buscar(a)));
+        long[] carga = new long[cantFragmentos];
+        for (String carrera : carreras) {
+            int elegido = 0;
+            for (int f = 1; f < cantFragmentos; f++) {
+                if (carga[f] < carga[elegido]) {
+                    elegido = f;
+                }
+            }
+            fragmentoDeCarrera.insertar(carrera, elegido);
+            carga[elegido] += nombresPorCarrera.buscar(carrera);
+        }
+
+        // Elegimos el dueño de cada materia y anotamos las excepciones: O(|M| * |N_m| * (|c| + |n| + N))
+        ListaEnlazada<InfoMateria>[] materias = nuevasListas(cantFragmentos);
+        for (InfoMateria info : infoMaterias) {
+            int duenio = duenio(info);
+            materias[duenio].agregarAtras(info);
+            for (ParCarreraMateria par : info.getParesCarreraMateria()) {
+                if (fragmentoDeCarrera.buscar(par.getCarrera()) != duenio) {
+                    DiccionarioTrie<Integer> excepciones_carrera = excepciones.buscar(par.getCarrera());
+                    if (excepciones_carrera == null) {
+                        excepciones_carrera = new DiccionarioTrie<>();
+                        excepciones.insertar(par.getCarrera(), excepciones_carrera);
+                    }
+                    excepciones_carrera.insertar(par.getNombreMateria(), duenio);
+                }
+                agregarFragmento(par.getCarrera(), duenio);
+            }
+        }
+
+        // O(|M|)
+        infoPorFragmento = new InfoMateria[cantFragmentos][];
+        for (int f = 0; f < cantFragmentos; f++) {
+            infoPorFragmento[f] = materias[f].flujo(false).toArray(InfoMateria[]::new);
+        }
+
+    } // Complejidad: O(|M| * |N_m| * (|c| + |n| + N) + |C| * log |C|)
+
+
+    @SuppressWarnings("unchecked")
+    private static ListaEnlazada<InfoMateria>[] nuevasListas(int cantidad) {
+        ListaEnlazada<InfoMateria>[] listas = new ListaEnlazada[cantidad];
+        for (int f = 0; f < cantidad; f++) {
+            listas[f] = new ListaEnlazada<>();
+        }
+        return listas;
+    }
+
+
+    // Devuelve el dueño de una materia: el menor de los fragmentos propios de sus carreras
+    private int duenio(InfoMateria info) {
+        int duenio = cantFragmentos;
+
+        // Se ejecuta |N_m| veces
+        for (ParCarreraMateria par : info.getParesCarreraMateria()) {
+            duenio = Math.min(duenio, fragmentoDeCarrera.buscar(par.getCarrera()));
+        }
+        return duenio;
+
+    } // Complejidad duenio(): O(|N_m| * |c|)
+
+
+    // Anota que el fragmento tiene alguna materia de la carrera, manteniendo la lista ordenada y sin repetidos
+    private void agregarFragmento(String carrera, int fragmento) {
+        ListaEnteros fragmentos = fragmentosDeCarrera.buscar(carrera);
+        if (fragmentos == null) {
+            fragmentos = new ListaEnteros(1);
+            fragmentosDeCarrera.insertar(carrera, fragmentos);
+        }
+
+        // A lo sumo N fragmentos: O(N)
+        int i = 0;
+        while (i < fragmentos.longitud() && fragmentos.obtener(i) < fragmento) {
+            i++;
+        }
+        if (i == fragmentos.longitud()) {
+            fragmentos.agregarAtras(fragmento);
+        } else if (fragmentos.obtener(i) != fragmento) {
+            int[] valores = fragmentos.toArray();
+            ListaEnteros nuevos = new ListaEnteros(valores.length + 1);
+            nuevos.agregarTodos(Arrays.copyOf(valores, i));
+            nuevos.agregarAtras(fragmento);
+            nuevos.agregarTodos(Arrays.copyOfRange(valores, i, valores.length));
+            fragmentosDeCarrera.insertar(carrera, nuevos);
+        }
+
+    } // Complejidad agregarFragmento(): O(|c| + N)
+
+
+    // Devuelve la cantidad de fragmentos
+    public int cantidadFragmentos() {
+        return cantFragmentos;
+
+    } // Complejidad cantidadFragmentos(): O(1)
+
+
+    // Devuelve el fragmento donde vive la materia de la carrera dada, o -1 si la carrera no existe
+    public int fragmento(String carrera, String materia) {
+
+        // O(|c|) + O(|m|)
+        DiccionarioTrie<Integer> excepciones_carrera = excepciones.buscar(carrera);
+        Integer duenio = excepciones_carrera == null ? null : excepciones_carrera.buscar(materia);
+        if (duenio != null) {
+            return duenio;
+        }
+
+        // O(|c|)
+        Integer propio = fragmentoDeCarrera.buscar(carrera);
+        return propio == null ? -1 : propio;
+
+    } // Complejidad fragmento(): O(|c| + |m|)
+
+
+    // Devuelve el fragmento propio de una carrera, o -1 si no existe
+    public int fragmentoPropio(String carrera) {
+        Integer propio = fragmentoDeCarrera.buscar(carrera);
+        return propio == null ? -1 : propio;
+
+    } // Complejidad fragmentoPropio(): O(|c|)
+
+
+    // Devuelve los fragmentos que tienen alguna materia de la carrera, en orden creciente (vacío si la carrera no existe)
+    public int[] fragmentosDe(String carrera) {
+        ListaEnteros fragmentos = fragmentosDeCarrera.buscar(carrera);
+        return fragmentos == null ? new int[0] : fragmentos.toArray();
+
+    } // Complejidad fragmentosDe(): O(|c| + N)
+
+
+    // Devuelve las InfoMateria de las materias que viven en el fragmento dado
+    public InfoMateria[] materiasDe(int fragmento) {
+        return infoPorFragmento[fragmento];
+
+    } // Complejidad materiasDe(): O(1)
+
+
+    // Devuelve todas las carreras, ordenadas
+    public String[] carreras() {
+        return fragmentoDeCarrera.flujoDeClaves(false).toArray(String[]::new);
+
+    } // Complejidad carreras(): O(|C| * |c|)
+}
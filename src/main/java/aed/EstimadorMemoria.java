@@ -0,0 +1,93 @@
+package aed;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+// Clase para estimar el tamaño de los objetos a partir de su estructura (campos y arrays), sin usar un agente de instrumentación.
+// Los tamaños dependen de la JVM: se detecta si usa referencias comprimidas, y si no se puede, se asume una JVM de 64 bits
+// con referencias comprimidas (lo habitual con heaps de menos de 32 GB).
+public class EstimadorMemoria {
+
+    public static final int REFERENCIA; // Bytes de una referencia
+    public static final int ENCABEZADO; // Bytes del encabezado de un objeto
+    public static final int ENCABEZADO_ARRAY; // Bytes del encabezado de un array (incluye la longitud)
+    public static final int ALINEACION = 8; // Los objetos ocupan un múltiplo de 8 bytes
+
+    static {
+        boolean oopsComprimidos = opcionVM("UseCompressedOops", true);
+        boolean clasesComprimidas = opcionVM("UseCompressedClassPointers", oopsComprimidos);
+        REFERENCIA = oopsComprimidos ? 4 : 8;
+        ENCABEZADO = clasesComprimidas ? 12 : 16;
+        ENCABEZADO_ARRAY = clasesComprimidas ? 16 : 24;
+    }
+
+    // Lee una opción booleana de la JVM (sólo en HotSpot); si no puede, devuelve el valor por defecto
+    private static boolean opcionVM(String opcion, boolean porDefecto) {
+        try {
+            com.sun.management.HotSpotDiagnosticMXBean hotspot = 
+                ManagementFactory.getPlatformMXBean(com.sun.management.HotSpotDiagnosticMXBean.class);
+            return Boolean.parseBoolean(hotspot.getVMOption(opcion).getValue());
+        } catch (Throwable e) {
+            return porDefecto;
+        }
+    }
+
+    // Redondea un tamaño al múltiplo de la alineación
+    public static long alinear(long bytes) {
+        return (bytes + ALINEACION - 1) / ALINEACION * ALINEACION;
+
+    } // Complejidad alinear(): O(1)
+
+
+    // Tamaño de un objeto con la cantidad dada de referencias y de bytes de campos primitivos
+    public static long objeto(int referencias, int bytesPrimitivos) {
+        return alinear(ENCABEZADO + (long) referencias * REFERENCIA + bytesPrimitivos);
+
+    } // Complejidad objeto(): O(1)
+
+
+    // Tamaño de un array de referencias de la longitud dada
+    public static long arrayReferencias(long longitud) {
+        return alinear(ENCABEZADO_ARRAY + longitud * REFERENCIA);
+
+    } // Complejidad arrayReferencias(): O(1)
+
+
+    // Tamaño de un array de primitivos de la longitud dada, con elementos de bytesElemento bytes
+    public static long arrayPrimitivos(long longitud, int bytesElemento) {
+        return alinear(ENCABEZADO_ARRAY + longitud * bytesElemento);
+
+    } // Complejidad arrayPrimitivos(): O(1)
+
+
+    // Tamaño de una instancia de la clase, sumando sus campos de instancia (y los de sus superclases).
+    // Incluye los campos que agrega el compilador, como la referencia a la instancia externa de una clase interna.
+    public static long instancia(Class<?> clase) {
+        long bytesCampos = 0;
+        for (Class<?> actual = clase; actual != null; actual = actual.getSuperclass()) {
+            for (Field campo : actual.getDeclaredFields()) {
+                if (!Modifier.isStatic(campo.getModifiers())) {
+                    bytesCampos += bytesDeCampo(campo.getType());
+                }
+            }
+        }
+        return alinear(ENCABEZADO + bytesCampos);
+
+    } // Complejidad instancia(): O(cantidad de campos)
+
+
+    // Bytes que ocupa un campo del tipo dado
+    private static int bytesDeCampo(Class<?> tipo) {
+        if (!tipo.isPrimitive()) {
+            return REFERENCIA;
+        } else if (tipo == long.class || tipo == double.class) {
+            return 8;
+        } else if (tipo == int.class || tipo == float.class) {
+            return 4;
+        } else if (tipo == short.class || tipo == char.class) {
+            return 2;
+        }
+        return 1; // boolean y byte
+    }
+}
@@ -0,0 +1,325 @@
+package aed;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Spliterators;
+import java.util.zip.GZIPOutputStream;
+
+// Clase para exportar las materias del sistema (nombres, docentes e inscriptos) como un flujo de registros, visitando
+// cada Materia una sola vez aunque tenga un nombre en varias carreras. No arma listas ni Arrays intermedios: recorre los
+// Tries y las listas de inscriptos y escribe cada registro en un buffer de tamaño fijo que se vuelca al canal al llenarse,
+// así que la memoria no depende de la cantidad de registros. Exporta una instantánea del sistema: el lock se toma sólo
+// para tomarla, y el recorrido lee su versión sin lock mientras las escrituras siguen.
+//
+// Cada materia recibe un id (0, 1, 2, ... en el orden en que se exporta) y produce, en este orden:
+// - un registro de nombre por cada carrera donde está: N;id;carrera;nombre
+// - un registro de docentes: D;id;PROF;JTP;AY1;AY2
+// - un registro por cada inscripto: I;id;libreta
+// En CSV cada registro es una línea (UTF-8, separada por ';'); un texto con ';', comillas o saltos de línea va entre
+// comillas dobles, con sus comillas duplicadas (como en RFC 4180). En binario, cada
+// registro es su tipo ('N', 'D' o 'I') en un byte, el id y los números como varint, y cada String como su longitud en
+// bytes (varint) seguida de sus bytes UTF-8.
+public class ExportadorSIU {
+
+    public enum Formato {
+        CSV,
+        BINARIO
+    }
+
+    public static final int TAMANIO_BUFFER = 1 << 16;
+
+    // Exporta el sistema a un archivo (reemplazándolo si existe), comprimido con gzip si se pide.
+    // Devuelve la cantidad de registros escritos.
+    public static long exportar(SistemaSIU sistema, Path archivo, Formato formato, boolean gzip) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            return exportar(sistema, canal, formato, gzip);
+        }
+
+    } // Complejidad exportar(): la de exportar() a un canal
+
+
+    // Exporta el sistema a un canal (que no se cierra), comprimido con gzip si se pide. Exporta el sistema tal como
+    // estaba al empezar, sin frenar las escrituras de mientras. Devuelve la cantidad de registros escritos.
+    public static long exportar(SistemaSIU sistema, WritableByteChannel destino, Formato formato, boolean gzip)
+            throws IOException {
+        if (!gzip) {
+            return exportarSinComprimir(sistema, destino, formato);
+        }
+
+        // El GZIPOutputStream escribe en el canal; finish() vuelca lo que le queda sin cerrarlo
+        GZIPOutputStream comprimido = new GZIPOutputStream(Channels.newOutputStream(destino), TAMANIO_BUFFER);
+        long registros = exportarSinComprimir(sistema, Channels.newChannel(comprimido), formato);
+        comprimido.finish();
+        return registros;
+
+    } // Complejidad exportar(): O(|C| * |M_c| + Σ_m (|N_m| * (|c| + |n|) + E_m))
+
+
+    private static long exportarSinComprimir(SistemaSIU sistema, WritableByteChannel destino, Formato formato)
+            throws IOException {
+        EscritorRegistros escritor = new EscritorRegistros(destino, formato);
+        long registros = 0;
+        int id = 0;
+
+        // La instantánea se toma con el lock (y con el catálogo perezoso, materializa las carreras que todavía no se
+        // usaron); desde ahí todo se lee en su versión, sin el lock del sistema
+        try (Instantanea instantanea = sistema.instantanea()) {
+            int version = instantanea.version();
+
+            // El nombre de cada carrera según su diccionario de materias, para los nombres de las materias compartidas
+            // (carreras_comunes guarda el diccionario, no el nombre): O(|C| * |c|), y ocupa O(|C|)
+            IdentityHashMap<DiccionarioTrie<Materia>, String> nombres_carreras = new IdentityHashMap<>();
+            Iterator<String> claves = Spliterators.iterator(sistema.carreras.spliterator(version));
+            Iterator<DiccionarioTrie<Materia>> valores = Spliterators.iterator(sistema.carreras.spliteratorValores(version));
+            while (claves.hasNext()) {
+                nombres_carreras.put(valores.next(), claves.next());
+            }
+
+            // Se ejecuta |C| veces
+            Iterator<DiccionarioTrie<Materia>> carreras = Spliterators.iterator(sistema.carreras.spliteratorValores(version));
+            while (carreras.hasNext()) {
+                DiccionarioTrie<Materia> materias_carrera = carreras.next();
+
+                // Se ejecuta |M_c| veces: cada materia se exporta desde su primera carrera, así se visita una sola vez
+                Iterator<Materia> materias = Spliterators.iterator(materias_carrera.spliteratorValores(version));
+                while (materias.hasNext()) {
+                    Materia materia_obj = materias.next();
+                    if (materia_obj.carreras_comunes.obtener(0) == materias_carrera) {
+                        registros += exportarMateria(materia_obj, version, id, nombres_carreras, escritor);
+                        id++;
+                    }
+                }
+            }
+        }
+        escritor.vaciar();
+        return registros;
+
+    } // Complejidad exportarSinComprimir(): O(|C| * |c| + |C| * |M_c| + Σ_m (|N_m| * (|c| + |n|) + E_m))
+
+
+    // Escribe los registros de una materia tal como estaba en la versión dada, y devuelve cuántos escribió. Los nombres
+    // no cambian después de crear la materia, y los docentes y los inscriptos salen de su estado en la versión.
+    private static long exportarMateria(Materia materia_obj, int version, int id,
+            IdentityHashMap<DiccionarioTrie<Materia>, String> nombres_carreras, EscritorRegistros escritor) throws IOException {
+        long registros = 0;
+
+        // Los nombres, cada uno con su carrera: O(|N_m| * (|c| + |n|))
+        ListaEnlazada<String>.IteradorLista nombres = materia_obj.nombres.iterador();
+        ListaEnlazada<DiccionarioTrie<Materia>>.IteradorLista carreras_materia = materia_obj.carreras_comunes.iterador();
+        while (nombres.haySiguiente()) {
+            escritor.nombre(id, nombres_carreras.get(carreras_materia.siguiente()), nombres.siguiente());
+            registros++;
+        }
+
+        // La lista de inscriptos del estado no cambia mientras la instantánea esté viva: O(|historial|)
+        Materia.EstadoMateria estado = materia_obj.estadoEn(version);
+        escritor.docentes(id, estado.docentes);
+        registros++;
+
+        // O(E_m)
+        Secuencia<String> lista = estado.listaInscriptos();
+        Iterador<String> inscriptos = lista.iterador();
+        for (int i = 0; i < lista.longitud(); i++) {
+            escritor.inscripto(id, inscriptos.siguiente());
+            registros++;
+        }
+        return registros;
+
+    } // Complejidad exportarMateria(): O(|N_m| * (|c| + |n|) + |historial| + E_m)
+
+
+    // Clase para escribir registros en un buffer de tamaño fijo, volcándolo al canal cuando se llena
+    private static class EscritorRegistros {
+
+        private final WritableByteChannel destino;
+        private final Formato formato;
+        private final ByteBuffer buffer;
+
+        EscritorRegistros(WritableByteChannel destino, Formato formato) {
+            this.destino = destino;
+            this.formato = formato;
+            this.buffer = ByteBuffer.allocate(TAMANIO_BUFFER);
+        }
+
+
+        // Vuelca al canal lo que haya en el buffer
+        void vaciar() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                destino.write(buffer);
+            }
+            buffer.clear();
+
+        } // Complejidad vaciar(): O(TAMANIO_BUFFER)
+
+
+        // Asegura que entren los bytes dados en el buffer (un registro más grande que el buffer se escribe en partes)
+        private void asegurarLugar(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                vaciar();
+            }
+        }
+
+
+        void nombre(int id, String carrera, String nombre) throws IOException {
+            inicioRegistro('N', id);
+            texto(carrera);
+            texto(nombre);
+            finRegistro();
+        }
+
+
+        void docentes(int id, int[] docentes) throws IOException {
+            inicioRegistro('D', id);
+            for (int cargo : docentes) {
+                numero(cargo);
+            }
+            finRegistro();
+        }
+
+
+        void inscripto(int id, String estudiante) throws IOException {
+            inicioRegistro('I', id);
+            texto(estudiante);
+            finRegistro();
+        }
+
+
+        private void inicioRegistro(char tipo, int id) throws IOException {
+            asegurarLugar(1);
+            buffer.put((byte) tipo);
+            numero(id);
+        }
+
+
+        private void finRegistro() throws IOException {
+            if (formato == Formato.CSV) {
+                asegurarLugar(1);
+                buffer.put((byte) '\n');
+            }
+        }
+
+
+        // Escribe un número: en CSV, ';' y sus dígitos; en binario, como varint (7 bits por byte)
+        private void numero(int valor) throws IOException {
+            asegurarLugar(11);
+            if (formato == Formato.CSV) {
+                buffer.put((byte) ';');
+
+                // Los dígitos de más significativo a menos, sin armar una String: O(cantidad de dígitos)
+                int divisor = 1;
+                while (valor / divisor >= 10) {
+                    divisor *= 10;
+                }
+                while (divisor > 0) {
+                    buffer.put((byte) ('0' + valor / divisor % 10));
+                    divisor /= 10;
+                }
+            } else {
+                varint(valor);
+            }
+
+        } // Complejidad numero(): O(1)
+
+
+        private void varint(int valor) {
+            while ((valor & ~0x7F) != 0) {
+                buffer.put((byte) ((valor & 0x7F) | 0x80));
+                valor >>>= 7;
+            }
+            buffer.put((byte) valor);
+        }
+
+
+        // Escribe una String en UTF-8, directamente en el buffer: en CSV precedida por ';' (y entre comillas si hace
+        // falta), en binario por su longitud
+        private void texto(String s) throws IOException {
+            boolean comillas = formato == Formato.CSV && necesitaComillas(s);
+            if (formato == Formato.CSV) {
+                asegurarLugar(2);
+                buffer.put((byte) ';');
+                if (comillas) {
+                    buffer.put((byte) '"');
+                }
+            } else {
+                asegurarLugar(5);
+                varint(bytesUtf8(s));
+            }
+
+            // O(|s|)
+            for (int j = 0; j < s.length(); j++) {
+                int c = s.charAt(j);
+                if (Character.isHighSurrogate((char) c) && j + 1 < s.length()) {
+                    c = Character.toCodePoint((char) c, s.charAt(j + 1));
+                    j++;
+                }
+                asegurarLugar(4);
+                if (comillas && c == '"') {
+                    buffer.put((byte) '"');
+                    buffer.put((byte) '"');
+                } else if (c < 0x80) {
+                    buffer.put((byte) c);
+                } else if (c < 0x800) {
+                    buffer.put((byte) (0xC0 | (c >> 6)));
+                    buffer.put((byte) (0x80 | (c & 0x3F)));
+                } else if (c < 0x10000) {
+                    buffer.put((byte) (0xE0 | (c >> 12)));
+                    buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                    buffer.put((byte) (0x80 | (c & 0x3F)));
+                } else {
+                    buffer.put((byte) (0xF0 | (c >> 18)));
+                    buffer.put((byte) (0x80 | ((c >> 12) & 0x3F)));
+                    buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                    buffer.put((byte) (0x80 | (c & 0x3F)));
+                }
+            }
+            if (comillas) {
+                asegurarLugar(1);
+                buffer.put((byte) '"');
+            }
+
+        } // Complejidad texto(): O(|s|)
+
+
+        // Devuelve si un texto tiene que ir entre comillas en CSV: si tiene el separador, comillas o un salto de línea
+        private static boolean necesitaComillas(String s) {
+            for (int j = 0; j < s.length(); j++) {
+                char c = s.charAt(j);
+                if (c == ';' || c == '"' || c == '\n' || c == '\r') {
+                    return true;
+                }
+            }
+            return false;
+
+        } // Complejidad necesitaComillas(): O(|s|)
+
+
+        // Devuelve la cantidad de bytes de una String en UTF-8
+        private static int bytesUtf8(String s) {
+            int bytes = 0;
+            for (int j = 0; j < s.length(); j++) {
+                char c = s.charAt(j);
+                if (c < 0x80) {
+                    bytes += 1;
+                } else if (c < 0x800) {
+                    bytes += 2;
+                } else if (Character.isHighSurrogate(c) && j + 1 < s.length()) {
+                    bytes += 4;
+                    j++;
+                } else {
+                    bytes += 3;
+                }
+            }
+            return bytes;
+
+        } // Complejidad bytesUtf8(): O(|s|)
+    }
+}
@@ -0,0 +1,173 @@
+package aed;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Clase para representar un filtro de Bloom de libretas universitarias, delante del Trie de estudiantes de SistemaSIU:
+// responde "seguro que no está" o "puede estar" con CANT_HASHES lecturas de bits, sin bajar por el Trie. Cada libreta
+// prende CANT_HASHES bits de un array de long, elegidos con doble hashing (h1 + i * h2) a partir de dos hashes de la
+// String: el de Java (que la String calcula una sola vez) y otro de otra familia, calculado en una pasada. Con
+// BITS_POR_LIBRETA bits por libreta la tasa de falsos positivos esperada es de alrededor del 1%.
+// Los estudiantes no se eliminan, así que el filtro nunca tiene que sacar una libreta (un filtro de Bloom no puede).
+public class FiltroLibretas {
+
+    public static final int BITS_POR_LIBRETA = 10;
+    public static final int CANT_HASHES = 7; // ≈ BITS_POR_LIBRETA * ln 2, la cantidad que minimiza los falsos positivos
+
+    private final long[] bits;
+    private final int mascara; // bits.length * 64 - 1 (la cantidad de bits es potencia de 2)
+    private final int capacidad; // Libretas que entran sin pasar de BITS_POR_LIBRETA bits por libreta
+    private int cantidad; // Libretas agregadas
+
+    // Sólo se cuentan las consultas de libretas desconocidas: las conocidas, que son casi todas, no pagan ningún incremento
+    private final LongAdder rechazos; // Consultas que el filtro descartó sin mirar el Trie
+    private final LongAdder falsosPositivos; // Consultas que pasaron el filtro pero no estaban en el Trie
+
+    // Invariante de representación:
+    // - bits.length * 64 es una potencia de 2, mayor o igual a capacidad * BITS_POR_LIBRETA, y mascara es esa cantidad
+    // menos uno.
+    // - Para toda libreta agregada, sus CANT_HASHES bits (h1 + i * h2, ver agregar()) están prendidos. Por eso puedeEstar() nunca da
+    // false para una libreta agregada.
+    // - rechazos + falsosPositivos es la cantidad de consultas de libretas desconocidas (si quien consulta registra los
+    // falsos positivos).
+
+    // Constructor del filtro vacío, con lugar para la cantidad de libretas dada
+    public FiltroLibretas(int capacidad) {
+        this.capacidad = Math.max(capacidad, 1);
+        long cant_bits = Math.max(64, Long.highestOneBit((long) this.capacidad * BITS_POR_LIBRETA - 1) << 1);
+        cant_bits = Math.min(cant_bits, 1L << 31); // Las posiciones de los bits son int
+        bits = new long[(int) (cant_bits / 64)];
+        mascara = (int) (cant_bits - 1);
+        cantidad = 0;
+        rechazos = new LongAdder();
+        falsosPositivos = new LongAdder();
+
+    } // Complejidad: O(capacidad)
+
+
+    // Devuelve el segundo hash de una libreta (FNV-1a, independiente del de String.hashCode()). Es impar, para que
+    // h1 + i * h2 recorra posiciones distintas.
+    private static int hash2(String libreta) {
+        int h = 0x811C9DC5;
+
+        // Se ejecuta |libreta| veces
+        for (int j = 0; j < libreta.length(); j++) {
+            h = (h ^ libreta.charAt(j)) * 0x01000193;
+        }
+        return (h ^ (h >>> 15)) | 1;
+
+    } // Complejidad hash2(): O(|libreta|)
+
+
+    // Devuelve el primer hash de una libreta, mezclando los bits de String.hashCode() (que en las libretas, casi todas
+    // dígitos, varía poco en los bits altos)
+    private static int hash1(String libreta) {
+        int h = libreta.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+
+    } // Complejidad hash1(): O(1) si la String ya calculó su hash, O(|libreta|) la primera vez
+
+
+    // Agrega una libreta al filtro
+    public void agregar(String libreta) {
+        int h1 = hash1(libreta);
+        int h2 = hash2(libreta);
+
+        // Se ejecuta CANT_HASHES veces: O(1)
+        for (int i = 0; i < CANT_HASHES; i++) {
+            int bit = (h1 + i * h2) & mascara;
+            bits[bit >>> 6] |= 1L << bit;
+        }
+        cantidad++;
+
+    } // Complejidad agregar(): O(|libreta|)
+
+
+    // Devuelve false si la libreta seguro no fue agregada, y true si puede haberlo sido
+    public boolean puedeEstar(String libreta) {
+        int h1 = hash1(libreta);
+        int h2 = hash2(libreta);
+
+        // Se ejecuta a lo sumo CANT_HASHES veces: O(1)
+        for (int i = 0; i < CANT_HASHES; i++) {
+            int bit = (h1 + i * h2) & mascara;
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                rechazos.increment();
+                return false;
+            }
+        }
+        return true;
+
+    } // Complejidad puedeEstar(): O(|libreta|)
+
+
+    // Anota que una libreta pasó el filtro pero no estaba (lo llama quien después la busca en el Trie)
+    public void registrarFalsoPositivo() {
+        falsosPositivos.increment();
+
+    } // Complejidad registrarFalsoPositivo(): O(1)
+
+
+    // Devuelve si el filtro ya tiene tantas libretas como su capacidad (agregar más sube la tasa de falsos positivos)
+    public boolean estaLleno() {
+        return cantidad >= capacidad;
+
+    } // Complejidad estaLleno(): O(1)
+
+
+    public int capacidad() {
+        return capacidad;
+    }
+
+    public int cantidad() {
+        return cantidad;
+    }
+
+    public long rechazos() {
+        return rechazos.sum();
+    }
+
+    public long falsosPositivos() {
+        return falsosPositivos.sum();
+    }
+
+    // Devuelve la proporción de libretas desconocidas que pasaron el filtro (0 si no se consultó ninguna desconocida)
+    public double tasaFalsosPositivos() {
+        long falsos = falsosPositivos.sum();
+        long desconocidas = falsos + rechazos.sum();
+        return desconocidas == 0 ? 0 : (double) falsos / desconocidas;
+
+    } // Complejidad tasaFalsosPositivos(): O(1)
+
+
+    // Devuelve la tasa de falsos positivos esperada con los bits prendidos ahora: (bits prendidos / bits)^CANT_HASHES
+    public double tasaFalsosPositivosEsperada() {
+        long prendidos = 0;
+
+        // Se ejecuta bits.length veces
+        for (long palabra : bits) {
+            prendidos += Long.bitCount(palabra);
+        }
+        return Math.pow((double) prendidos / (mascara + 1L), CANT_HASHES);
+
+    } // Complejidad tasaFalsosPositivosEsperada(): O(capacidad)
+
+
+    @Override
+    public String toString() {
+        return String.format("filtro: libretas=%d/%d rechazos=%d falsosPositivos=%d tasa=%.4f esperada=%.4f",
+            cantidad, capacidad, rechazos(), falsosPositivos(), tasaFalsosPositivos(),
+            tasaFalsosPositivosEsperada());
+    }
+
+
+    // Estima la memoria que ocupa el filtro
+    public ReporteMemoria memoria() {
+        ReporteMemoria reporte = new ReporteMemoria("FiltroLibretas");
+        reporte.elementos = cantidad;
+        reporte.bytes = EstimadorMemoria.instancia(FiltroLibretas.class) + EstimadorMemoria.arrayPrimitivos(bits.length, 8)
+            + 2 * EstimadorMemoria.instancia(LongAdder.class);
+        reporte.bytesCompactos = reporte.bytes;
+        return reporte;
+
+    } // Complejidad memoria(): O(1)
+}
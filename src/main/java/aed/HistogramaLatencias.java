@@ -0,0 +1,108 @@
+package aed;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Clase para representar un histograma de latencias con cubetas logarítmicas, que se puede actualizar desde varios hilos sin locks
+public class HistogramaLatencias {
+
+    // Cada potencia de 2 se divide en 2^BITS_SUBCUBETA cubetas, así que el error relativo es a lo sumo 1/8 = 12.5%
+    private static final int BITS_SUBCUBETA = 3;
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+    private static final int CANT_CUBETAS = (64 - BITS_SUBCUBETA) * SUBCUBETAS + SUBCUBETAS;
+
+    private final AtomicLongArray cubetas; // Cantidad de valores registrados en cada cubeta
+
+    // Invariante de representación:
+    // - Los valores v < SUBCUBETAS van a la cubeta v (exactos).
+    // - Un valor v >= SUBCUBETAS con su bit más alto en la posición e va a la cubeta (e - BITS_SUBCUBETA + 1) * SUBCUBETAS + s,
+    // donde s son los BITS_SUBCUBETA bits siguientes al más alto. Así las cubetas quedan ordenadas por valor.
+    // - La suma de cubetas es la cantidad de valores registrados.
+
+    // Constructor
+    // O(1): CANT_CUBETAS es constante
+    public HistogramaLatencias() {
+        cubetas = new AtomicLongArray(CANT_CUBETAS);
+    }
+
+
+    // Devuelve la cubeta que le corresponde a un valor
+    static int cubeta(long valor) {
+        if (valor < SUBCUBETAS) {
+            return (int) Math.max(valor, 0);
+        }
+
+        // O(1): operaciones de bits
+        int exponente = 63 - Long.numberOfLeadingZeros(valor);
+        int sub = (int) (valor >>> (exponente - BITS_SUBCUBETA)) & (SUBCUBETAS - 1);
+        return (exponente - BITS_SUBCUBETA + 1) * SUBCUBETAS + sub;
+
+    } // Complejidad cubeta(): O(1)
+
+
+    // Devuelve el mayor valor que puede caer en una cubeta
+    static long maximoDeCubeta(int cubeta) {
+        if (cubeta < SUBCUBETAS) {
+            return cubeta;
+        }
+        int exponente = cubeta / SUBCUBETAS + BITS_SUBCUBETA - 1;
+        long sub = cubeta % SUBCUBETAS;
+        long desde = (1L << exponente) | (sub << (exponente - BITS_SUBCUBETA));
+        return desde + (1L << (exponente - BITS_SUBCUBETA)) - 1;
+
+    } // Complejidad maximoDeCubeta(): O(1)
+
+
+    // Registra un valor (por ejemplo, una latencia en nanosegundos)
+    public void registrar(long valor) {
+
+        // O(1): un incremento atómico
+        cubetas.incrementAndGet(cubeta(valor));
+
+    } // Complejidad registrar(): O(1)
+
+
+    // Devuelve una copia de los contadores del histograma en este momento
+    public long[] copiarCubetas() {
+        long[] copia = new long[CANT_CUBETAS];
+
+        // O(1): CANT_CUBETAS es constante
+        for (int i = 0; i < CANT_CUBETAS; i++) {
+            copia[i] = cubetas.get(i);
+        }
+        return copia;
+
+    } // Complejidad copiarCubetas(): O(1)
+
+
+    // Devuelve la cantidad total de valores en una copia de las cubetas
+    public static long total(long[] cubetas) {
+        long total = 0;
+        for (long cantidad : cubetas) {
+            total += cantidad;
+        }
+        return total;
+
+    } // Complejidad total(): O(1)
+
+
+    // Devuelve el percentil p (entre 0 y 100) de una copia de las cubetas: una cota superior del valor, con error relativo <= 12.5%.
+    // Devuelve 0 si no hay valores.
+    public static long percentil(long[] cubetas, double p) {
+        long total = total(cubetas);
+        if (total == 0) {
+            return 0;
+        }
+
+        // Buscamos la primera cubeta donde la cantidad acumulada llega al rango pedido: O(1)
+        long rango = Math.max(1, (long) Math.ceil(p / 100 * total));
+        long acumulado = 0;
+        for (int i = 0; i < cubetas.length; i++) {
+            acumulado += cubetas[i];
+            if (acumulado >= rango) {
+                return maximoDeCubeta(i);
+            }
+        }
+        return maximoDeCubeta(cubetas.length - 1);
+
+    } // Complejidad percentil(): O(1)
+}
@@ -0,0 +1,115 @@
+package aed;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Spliterators;
+
+// Clase para representar un índice plano de las materias: un único Trie cuyas claves son "carrera" + SEPARADOR + "materia",
+// en lugar del Trie de Tries de SistemaSIU.carreras. Buscar una materia es una sola bajada desde la raíz (sin armar la
+// clave concatenada), y las materias de una carrera son las claves con el prefijo "carrera" + SEPARADOR, que salen
+// ordenadas igual que en el diccionario de la carrera.
+public class IndiceCompuesto {
+
+    // Separador de unidades de ASCII (␟): no aparece en los nombres, y como es menor que cualquier caracter visible,
+    // una carrera que es prefijo de otra no se mezcla con ella
+    public static final char SEPARADOR = '\u001F';
+
+    private final DiccionarioTrie<Materia> indice;
+    private final IdentityHashMap<DiccionarioTrie<Materia>, String> nombresCarreras; // Diccionario de cada carrera -> nombre
+
+    // Invariante de representación:
+    // - Para toda carrera c y materia m de SistemaSIU.carreras, indice tiene la clave c + SEPARADOR + m con la misma
+    // instancia de Materia, y no tiene otras claves.
+    // - nombresCarreras tiene, para cada diccionario de SistemaSIU.carreras, el nombre de su carrera (lo usa eliminar()
+    // para armar las claves de todos los nombres de una materia desde Materia.carreras_comunes).
+
+    // Constructor: arma el índice con las materias de las carreras dadas (el diccionario de carreras de un SistemaSIU)
+    public IndiceCompuesto(DiccionarioTrie<DiccionarioTrie<Materia>> carreras, ControlVersiones control) {
+        indice = new DiccionarioTrie<>(control);
+        nombresCarreras = new IdentityHashMap<>();
+
+        // Se ejecuta |C| veces, y para cada carrera |M_c| veces
+        Iterator<String> claves = carreras.iterator();
+        Iterator<DiccionarioTrie<Materia>> valores = Spliterators.iterator(carreras.spliteratorValores());
+        while (claves.hasNext()) {
+            String carrera = claves.next();
+            DiccionarioTrie<Materia> materias_carrera = valores.next();
+            nombresCarreras.put(materias_carrera, carrera);
+            Iterator<String> materias = materias_carrera.iterator();
+            Iterator<Materia> materias_obj = Spliterators.iterator(materias_carrera.spliteratorValores());
+            while (materias.hasNext()) {
+                indice.insertar(clave(carrera, materias.next()), materias_obj.next());
+            }
+        }
+
+    } // Complejidad: O(|C| * |M_c| * (|c| + |m_c|))
+
+
+    // Devuelve la clave compuesta de un par carrera - materia
+    public static String clave(String carrera, String materia) {
+        return carrera + SEPARADOR + materia;
+
+    } // Complejidad clave(): O(|c| + |m|)
+
+
+    // Devuelve la materia de una carrera, o null si no está
+    public Materia buscar(String carrera, String materia) {
+
+        // Una sola bajada por el Trie: O(|c| + |m|)
+        return indice.buscar(carrera, SEPARADOR, materia);
+
+    } // Complejidad buscar(): O(|c| + |m|)
+
+
+    // Saca del índice todos los nombres de una materia (en todas sus carreras), por ejemplo al cerrarla
+    public void eliminar(Materia materia_obj) {
+
+        // Se ejecuta |N_m| veces
+        ListaEnlazada<String>.IteradorLista nombres = materia_obj.nombres.iterador();
+        ListaEnlazada<DiccionarioTrie<Materia>>.IteradorLista carreras_materia = materia_obj.carreras_comunes.iterador();
+        while (nombres.haySiguiente()) {
+            indice.eliminar(clave(nombresCarreras.get(carreras_materia.siguiente()), nombres.siguiente()));
+        }
+
+    } // Complejidad eliminar(): O(|N_m| * (|c| + |n|))
+
+
+    // Devuelve las materias de una carrera, ordenadas, recorriendo el subárbol de su prefijo
+    public String[] materias(String carrera) {
+        int largo_prefijo = carrera.length() + 1;
+
+        // O(|c|) para llegar al prefijo, y O(|M_c| * (|c| + |m_c|)) para armar las claves y recortarles la carrera
+        return indice.flujoDeClavesConPrefijo(carrera + SEPARADOR, false)
+            .map(clave -> clave.substring(largo_prefijo))
+            .toArray(String[]::new);
+
+    } // Complejidad materias(): O(|M_c| * (|c| + |m_c|))
+
+
+    // Recorta los arrays de hijos del Trie del índice (ver DiccionarioTrie.compactar()) y devuelve los bytes liberados
+    public long compactar() {
+        return indice.compactar();
+
+    } // Complejidad compactar(): O(cantidad de nodos del Trie)
+
+
+    // Devuelve la cantidad de pares carrera - materia del índice
+    public int cantidadClaves() {
+        return indice.cantidadClaves();
+
+    } // Complejidad cantidadClaves(): O(1)
+
+
+    // Devuelve la cantidad de nodos del Trie del índice
+    public int cantidadNodos() {
+        return indice.cantidadNodos();
+
+    } // Complejidad cantidadNodos(): O(1)
+
+
+    // Estima la memoria que ocupa el Trie del índice (el mapa de nombres de carreras es O(|C|) y no se cuenta)
+    public ReporteMemoria memoria() {
+        return new ReporteMemoria("IndiceCompuesto", indice.memoria());
+
+    } // Complejidad memoria(): O(cantidad de nodos del Trie)
+}
@@ -0,0 +1,144 @@
+package aed;
+
+// Clase para representar una vista de solo lectura de SistemaSIU en un momento dado
+public class Instantanea implements AutoCloseable {
+
+    private final SistemaSIU sistema; // Sistema del que se tomó la instantánea
+    private final int version; // Versión del sistema que ve la instantánea
+    private volatile boolean liberada;
+
+    // Invariante de representación:
+    // - version es una versión viva del ControlVersiones de sistema mientras liberada sea false.
+    // - Todas las consultas devuelven lo mismo que habría devuelto sistema al momento de tomar la instantánea,
+    // sin importar las escrituras posteriores.
+    // - Una vez liberada, no se puede consultar (las versiones anteriores que leía pueden haberse descartado).
+
+    // Complejidades: las mismas que en SistemaSIU, más O(|historial|) para encontrar la raíz de cada diccionario 
+    // y el estado de cada Materia en la versión (el historial tiene a lo sumo una entrada por instantánea viva).
+
+    // Constructor (lo usa SistemaSIU.instantanea())
+    // O(1)
+    Instantanea(SistemaSIU sistema, int version) {
+        this.sistema = sistema;
+        this.version = version;
+        this.liberada = false;
+    }
+
+
+    // Devuelve la versión del sistema que ve la instantánea
+    public int version() {
+        return version;
+
+    } // Complejidad version(): O(1)
+
+
+    // Busca una materia tal como estaba en la versión de la instantánea
+    private Materia buscarMateria(String materia, String carrera) {
+        verificarViva();
+
+        // O(|c|) + O(|m|)
+        DiccionarioTrie<Materia> materias_carrera = sistema.carreras.buscar(carrera, version);
+        return materias_carrera.buscar(materia, version);
+
+    } // Complejidad buscarMateria(): O(|c| + |m|)
+
+
+    // Devuelve la cantidad de inscriptos de una materia en la versión de la instantánea
+    public int inscriptos(String materia, String carrera) {
+
+        // O(|c| + |m|)
+        return buscarMateria(materia, carrera).estadoEn(version).inscriptos();
+
+    } // Complejidad inscriptos(): O(|c| + |m|)
+
+
+    // Devuelve el plantel docente de una materia en la versión de la instantánea: [PROF, JTP, AY1, AY2]
+    public int[] plantelDocente(String materia, String carrera) {
+
+        // O(|c| + |m|)
+        return buscarMateria(materia, carrera).estadoEn(version).docentes();
+
+    } // Complejidad plantelDocente(): O(|c| + |m|)
+
+
+    // Devuelve la cantidad de materias inscriptas de un estudiante en la versión de la instantánea
+    // (SistemaSIU.ESTUDIANTE_DESCONOCIDO si la libreta no es de ningún estudiante)
+    public int materiasInscriptas(String estudiante) {
+        verificarViva();
+        if (sistema.registro != null) {
+            throw new UnsupportedOperationException("Los estudiantes del fragmento están en su registro");
+        }
+
+        // Los estudiantes no se eliminan, así que el filtro actual sirve para cualquier versión: O(|estudiante|) = O(1)
+        if (!sistema.filtroLibretas.puedeEstar(estudiante)) {
+            return SistemaSIU.ESTUDIANTE_DESCONOCIDO;
+        }
+        SistemaSIU.EstadoEstudiante estado = sistema.estudiantes.buscar(estudiante, version);
+        if (estado == null) {
+            sistema.filtroLibretas.registrarFalsoPositivo();
+            return SistemaSIU.ESTUDIANTE_DESCONOCIDO;
+        }
+        return estado.materias;
+
+    } // Complejidad materiasInscriptas(): O(1)
+
+
+    // Devuelve un Array con todas las carreras en la versión de la instantánea
+    public String[] carreras() {
+        verificarViva();
+
+        // O(|C| * |c|)
+        return aArray(sistema.carreras.obtenerClaves(version));
+
+    } // Complejidad carreras(): O(|C| * |c|)
+
+
+    // Devuelve un Array con todas las materias de una carrera en la versión de la instantánea
+    public String[] materias(String carrera) {
+        verificarViva();
+
+        // O(|c| + |M_c| * |m_c|)
+        return aArray(sistema.carreras.buscar(carrera, version).obtenerClaves(version));
+
+    } // Complejidad materias(): O(|c| + |M_c| * |m_c|)
+
+
+    // Libera la instantánea: las versiones anteriores que sólo ella leía quedan para el recolector de basura
+    public void liberar() {
+        if (liberada) {
+            return;
+        }
+        liberada = true;
+        sistema.liberarInstantanea(version);
+
+    } // Complejidad liberar(): ver SistemaSIU.liberarInstantanea()
+
+
+    // Permite usar la instantánea en un try-with-resources
+    @Override
+    public void close() {
+        liberar();
+    }
+
+
+    // Verifica que la instantánea no haya sido liberada
+    private void verificarViva() {
+        if (liberada) {
+            throw new IllegalStateException("La instantánea ya fue liberada");
+        }
+    }
+
+
+    // Pasa una lista de Strings a un Array, recorriéndola con su iterador
+    private static String[] aArray(ListaEnlazada<String> lista) {
+        ListaEnlazada<String>.IteradorLista iterador = lista.iterador();
+        String[] res = new String[lista.longitud()];
+
+        // Se ejecuta |lista| veces
+        for (int i = 0; i < res.length; i++) {
+            res[i] = iterador.siguiente();
+        }
+        return res;
+
+    } // Complejidad aArray(): O(|lista|)
+}
@@ -1,15 +1,17 @@
-interface Iterador<T> {
+package aed;
 
+public interface Iterador<T> {
+
+    /**
+     * Devuelve true si hay un elemento siguiente en la colección.
+     * 
+     */
     public boolean haySiguiente();
     
     /**
-     * Devuelve true si hay un elemento anterior en la colección.
+     * Devuelve el elemento siguiente en la colección y avanza el iterador.
      * 
      */
     public T siguiente();
 
-    /**
-     * Devuelve el elemento anterior en la colección y retrocede el iterador.
-     * 
-     */
 }
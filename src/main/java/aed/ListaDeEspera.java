@@ -0,0 +1,291 @@
+package aed;
+
+// Clase para representar la lista de espera de una materia: los estudiantes ordenados por antigüedad (el año de su
+// libreta universitaria, y dentro del mismo año el número de libreta). Es una cola de prioridad hecha con un treap:
+// un árbol binario de búsqueda por antigüedad que además es un heap en prioridades al azar (así queda balanceado con
+// altura O(log n) esperada), y donde cada nodo sabe el tamaño de su subárbol para calcular posiciones en O(log n).
+public class ListaDeEspera {
+
+    private Nodo raiz;
+    private long semilla; // Estado del generador de prioridades al azar
+
+    // Invariante de representación:
+    // - Para todo nodo, las claves de su subárbol izquierdo son menores a la suya y las del derecho mayores (según
+    // comparar()), así que no hay estudiantes repetidos.
+    // - Para todo nodo, la prioridad de sus hijos es menor o igual a la suya.
+    // - tamanio de cada nodo es 1 más la suma de los tamaños de sus hijos.
+
+    // Clase nodo: un estudiante en espera, con su clave de antigüedad ya calculada
+    private static class Nodo {
+        final String estudiante;
+        final int anio;
+        final long numero;
+        final int prioridad;
+        int tamanio;
+        Nodo izq;
+        Nodo der;
+
+        Nodo(String estudiante, int prioridad) {
+            this.estudiante = estudiante;
+            this.anio = anioDeIngreso(estudiante);
+            this.numero = numeroDeLibreta(estudiante);
+            this.prioridad = prioridad;
+            this.tamanio = 1;
+        }
+    }
+
+    // Constructor de la lista de espera vacía
+    public ListaDeEspera() {
+        raiz = null;
+        semilla = 0x9E3779B97F4A7C15L;
+    } // Complejidad: O(1)
+
+
+    // Devuelve el año de ingreso de una libreta con formato numero/año (años de dos dígitos: 50-99 son 1950-1999).
+    // Si la libreta no tiene ese formato, devuelve Integer.MAX_VALUE (va al final de la espera).
+    public static int anioDeIngreso(String estudiante) {
+        int barra = estudiante.lastIndexOf('/');
+        int anio = parsear(estudiante, barra + 1, estudiante.length());
+        if (barra < 0 || anio < 0) {
+            return Integer.MAX_VALUE;
+        }
+        if (estudiante.length() - barra - 1 <= 2) {
+            anio += anio >= 50 ? 1900 : 2000;
+        }
+        return anio;
+
+    } // Complejidad anioDeIngreso(): O(|estudiante|) = O(1)
+
+
+    // Devuelve el número de una libreta con formato numero/año, o Long.MAX_VALUE si no tiene ese formato
+    private static long numeroDeLibreta(String estudiante) {
+        int barra = estudiante.lastIndexOf('/');
+        int numero = parsear(estudiante, 0, Math.max(barra, 0));
+        return barra < 0 || numero < 0 ? Long.MAX_VALUE : numero;
+
+    } // Complejidad numeroDeLibreta(): O(1)
+
+
+    // Convierte los dígitos de s entre desde y hasta en un número, o devuelve -1 si no son todos dígitos (o son demasiados)
+    private static int parsear(String s, int desde, int hasta) {
+        if (desde >= hasta || hasta - desde > 9) {
+            return -1;
+        }
+        int valor = 0;
+        for (int j = desde; j < hasta; j++) {
+            char c = s.charAt(j);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            valor = valor * 10 + (c - '0');
+        }
+        return valor;
+
+    } // Complejidad parsear(): O(hasta - desde)
+
+
+    // Compara la antigüedad de un estudiante con la de un nodo: negativo si el estudiante va antes
+    private static int comparar(int anio, long numero, String estudiante, Nodo nodo) {
+        if (anio != nodo.anio) {
+            return anio < nodo.anio ? -1 : 1;
+        }
+        if (numero != nodo.numero) {
+            return numero < nodo.numero ? -1 : 1;
+        }
+        return estudiante.compareTo(nodo.estudiante);
+
+    } // Complejidad comparar(): O(|estudiante|) = O(1)
+
+
+    // Genera la próxima prioridad al azar (xorshift)
+    private int nuevaPrioridad() {
+        semilla ^= semilla << 13;
+        semilla ^= semilla >>> 7;
+        semilla ^= semilla << 17;
+        return (int) (semilla >>> 32);
+
+    } // Complejidad nuevaPrioridad(): O(1)
+
+
+    private static int tamanio(Nodo nodo) {
+        return nodo == null ? 0 : nodo.tamanio;
+    }
+
+    private static void actualizar(Nodo nodo) {
+        nodo.tamanio = 1 + tamanio(nodo.izq) + tamanio(nodo.der);
+    }
+
+
+    // Devuelve la cantidad de estudiantes en espera
+    public int longitud() {
+        return tamanio(raiz);
+
+    } // Complejidad longitud(): O(1)
+
+
+    // Agrega un estudiante a la espera. Devuelve false si ya estaba
+    public boolean agregar(String estudiante) {
+        if (posicion(estudiante) != -1) {
+            return false;
+        }
+        raiz = insertar(raiz, new Nodo(estudiante, nuevaPrioridad()));
+        return true;
+
+    } // Complejidad agregar(): O(log n) esperado
+
+
+    // Inserta un nodo en el subárbol, y rota hacia arriba mientras su prioridad sea mayor que la de su padre
+    private Nodo insertar(Nodo actual, Nodo nuevo) {
+        if (actual == null) {
+            return nuevo;
+        }
+        if (comparar(nuevo.anio, nuevo.numero, nuevo.estudiante, actual) < 0) {
+            actual.izq = insertar(actual.izq, nuevo);
+            if (actual.izq.prioridad > actual.prioridad) {
+                actual = rotarDerecha(actual);
+            }
+        } else {
+            actual.der = insertar(actual.der, nuevo);
+            if (actual.der.prioridad > actual.prioridad) {
+                actual = rotarIzquierda(actual);
+            }
+        }
+        actualizar(actual);
+        return actual;
+
+    } // Complejidad insertar(): O(altura) = O(log n) esperado
+
+
+    // Sube el hijo izquierdo de un nodo a su lugar
+    private static Nodo rotarDerecha(Nodo nodo) {
+        Nodo hijo = nodo.izq;
+        nodo.izq = hijo.der;
+        hijo.der = nodo;
+        actualizar(nodo);
+        actualizar(hijo);
+        return hijo;
+
+    } // Complejidad rotarDerecha(): O(1)
+
+
+    // Sube el hijo derecho de un nodo a su lugar
+    private static Nodo rotarIzquierda(Nodo nodo) {
+        Nodo hijo = nodo.der;
+        nodo.der = hijo.izq;
+        hijo.izq = nodo;
+        actualizar(nodo);
+        actualizar(hijo);
+        return hijo;
+
+    } // Complejidad rotarIzquierda(): O(1)
+
+
+    // Une dos subárboles, donde todas las claves de izq son menores a las de der
+    private static Nodo unir(Nodo izq, Nodo der) {
+        if (izq == null) {
+            return der;
+        }
+        if (der == null) {
+            return izq;
+        }
+        if (izq.prioridad > der.prioridad) {
+            izq.der = unir(izq.der, der);
+            actualizar(izq);
+            return izq;
+        }
+        der.izq = unir(izq, der.izq);
+        actualizar(der);
+        return der;
+
+    } // Complejidad unir(): O(altura) = O(log n) esperado
+
+
+    // Devuelve el estudiante con más antigüedad, sin sacarlo (null si la espera está vacía)
+    public String primero() {
+        if (raiz == null) {
+            return null;
+        }
+        Nodo actual = raiz;
+        while (actual.izq != null) {
+            actual = actual.izq;
+        }
+        return actual.estudiante;
+
+    } // Complejidad primero(): O(log n) esperado
+
+
+    // Saca y devuelve el estudiante con más antigüedad (null si la espera está vacía)
+    public String sacarPrimero() {
+        String estudiante = primero();
+        if (estudiante != null) {
+            eliminar(estudiante);
+        }
+        return estudiante;
+
+    } // Complejidad sacarPrimero(): O(log n) esperado
+
+
+    // Saca a un estudiante de la espera. Devuelve false si no estaba
+    public boolean eliminar(String estudiante) {
+        int tamanioAnterior = longitud();
+        raiz = eliminarAux(raiz, anioDeIngreso(estudiante), numeroDeLibreta(estudiante), estudiante);
+        return longitud() < tamanioAnterior;
+
+    } // Complejidad eliminar(): O(log n) esperado
+
+
+    private Nodo eliminarAux(Nodo actual, int anio, long numero, String estudiante) {
+        if (actual == null) {
+            return null;
+        }
+        int comparacion = comparar(anio, numero, estudiante, actual);
+        if (comparacion == 0) {
+            return unir(actual.izq, actual.der);
+        }
+        if (comparacion < 0) {
+            actual.izq = eliminarAux(actual.izq, anio, numero, estudiante);
+        } else {
+            actual.der = eliminarAux(actual.der, anio, numero, estudiante);
+        }
+        actualizar(actual);
+        return actual;
+
+    } // Complejidad eliminarAux(): O(altura)
+
+
+    // Devuelve la posición de un estudiante en la espera (1 es el próximo en entrar), o -1 si no está esperando
+    public int posicion(String estudiante) {
+        int anio = anioDeIngreso(estudiante);
+        long numero = numeroDeLibreta(estudiante);
+
+        // Bajamos por el árbol sumando los tamaños de los subárboles que quedan antes: O(altura)
+        int antes = 0;
+        Nodo actual = raiz;
+        while (actual != null) {
+            int comparacion = comparar(anio, numero, estudiante, actual);
+            if (comparacion == 0) {
+                return antes + tamanio(actual.izq) + 1;
+            }
+            if (comparacion < 0) {
+                actual = actual.izq;
+            } else {
+                antes += tamanio(actual.izq) + 1;
+                actual = actual.der;
+            }
+        }
+        return -1;
+
+    } // Complejidad posicion(): O(log n) esperado
+
+
+    // Estima la memoria que ocupa la lista de espera (sin contar las Strings de los estudiantes)
+    public ReporteMemoria memoria() {
+        ReporteMemoria reporte = new ReporteMemoria("ListaDeEspera");
+        reporte.nodos = longitud();
+        reporte.elementos = longitud();
+        reporte.bytes = EstimadorMemoria.instancia(ListaDeEspera.class) + longitud() * EstimadorMemoria.instancia(Nodo.class);
+        reporte.bytesCompactos = reporte.bytes;
+        return reporte;
+
+    } // Complejidad memoria(): O(1)
+}
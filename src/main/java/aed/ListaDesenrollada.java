@@ -0,0 +1,452 @@
+package aed;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+// Clase para representar una lista desenrollada: una lista enlazada de bloques, donde cada bloque guarda 
+// varios elementos seguidos en un array. Recorrerla salta de nodo una vez por bloque y no una vez por elemento.
+public class ListaDesenrollada<T> implements Secuencia<T> {
+
+    public static final int CAPACIDAD_POR_DEFECTO = 64;
+
+    private Bloque primero;
+    private Bloque ultimo;
+    private int longitud;
+    private final int capacidad; // Cantidad máxima de elementos por bloque
+
+    // Invariante de representacion:
+    // - Si la lista está vacía, longitud = 0 y los punteros primero y ultimo valen null.
+    // - Si no está vacía, primero apunta al primer bloque y ultimo al último, y ultimo.sig = null.
+    // - Todos los bloques están encadenados entre primero y ultimo, sin ciclos.
+    // - Cada bloque tiene 1 <= cantidad <= capacidad elementos, guardados en las posiciones 0..cantidad-1 de su array
+    // (las demás posiciones valen null).
+    // - longitud es la suma de las cantidades de todos los bloques.
+    // - El orden de la lista es el de los bloques, y dentro de cada bloque el de su array.
+
+    // Clase bloque
+    private class Bloque {
+        Object[] elementos;
+        int cantidad;
+        Bloque sig;
+
+        // Constructor del bloque (vacío)
+        Bloque() {
+            elementos = new Object[capacidad];
+            cantidad = 0;
+            sig = null;
+        }
+    }
+
+    // Constructor de la lista nueva, con bloques de CAPACIDAD_POR_DEFECTO elementos
+    public ListaDesenrollada() {
+        this(CAPACIDAD_POR_DEFECTO);
+    } // Complejidad: O(1)
+
+
+    // Constructor de la lista nueva, con bloques de la capacidad dada
+    public ListaDesenrollada(int capacidad) {
+        if (capacidad < 2) {
+            throw new IllegalArgumentException("La capacidad de los bloques tiene que ser al menos 2");
+        }
+        this.capacidad = capacidad;
+        primero = null;
+        ultimo = null;
+        longitud = 0;
+    } // Complejidad: O(1)
+
+
+    // Devuelve la longitud de la lista
+    @Override
+    public int longitud() {
+        return longitud;
+
+    } // Complejidad longitud(): O(1)
+
+
+    // Agrega un elemento al principio de la lista
+    @Override
+    public void agregarAdelante(T elem) {
+
+        // Si el primer bloque está lleno (o no hay), agregamos un bloque nuevo adelante: O(1)
+        if (primero == null || primero.cantidad == capacidad) {
+            Bloque nuevo = new Bloque();
+            nuevo.sig = primero;
+            primero = nuevo;
+            if (ultimo == null) {
+                ultimo = nuevo;
+            }
+        }
+
+        // Corremos los elementos del primer bloque una posición: O(capacidad) = O(1)
+        System.arraycopy(primero.elementos, 0, primero.elementos, 1, primero.cantidad);
+        primero.elementos[0] = elem;
+        primero.cantidad++;
+        longitud++;
+
+    } // Complejidad agregarAdelante(): O(capacidad) = O(1)
+
+
+    // Agrega un elemento al final de la lista
+    @Override
+    public void agregarAtras(T elem) {
+
+        // Si el último bloque está lleno (o no hay), agregamos un bloque nuevo al final: O(1)
+        if (ultimo == null || ultimo.cantidad == capacidad) {
+            Bloque nuevo = new Bloque();
+            if (ultimo == null) {
+                primero = nuevo;
+            } else {
+                ultimo.sig = nuevo;
+            }
+            ultimo = nuevo;
+        }
+
+        // O(1)
+        ultimo.elementos[ultimo.cantidad] = elem;
+        ultimo.cantidad++;
+        longitud++;
+
+    } // Complejidad agregarAtras(): O(1)
+
+
+    // Clase auxiliar con el resultado de buscar una posición: el bloque, su anterior y la posición dentro del bloque
+    private class Posicion {
+        Bloque anterior;
+        Bloque bloque;
+        int indice;
+    }
+
+
+    // Busca el bloque que contiene la posición i de la lista
+    private Posicion buscarPosicion(int i) {
+        if (i < 0 || i >= longitud) {
+            throw new IndexOutOfBoundsException("Posición " + i + " fuera de la lista de longitud " + longitud);
+        }
+        Posicion res = new Posicion();
+        res.bloque = primero;
+        res.indice = i;
+
+        // Saltamos bloques enteros: se ejecuta a lo sumo (cantidad de bloques) veces
+        while (res.indice >= res.bloque.cantidad) {
+            res.indice -= res.bloque.cantidad;
+            res.anterior = res.bloque;
+            res.bloque = res.bloque.sig;
+        }
+        return res;
+
+    } // Complejidad buscarPosicion(): O(n / capacidad) mientras los bloques estén llenos al menos a la mitad
+
+
+    // Devuelve un elemento de la lista, dada su posicion
+    @Override
+    @SuppressWarnings("unchecked")
+    public T obtener(int i) {
+        Posicion posicion = buscarPosicion(i);
+        return (T) posicion.bloque.elementos[posicion.indice];
+
+    } // Complejidad obtener(): O(n / capacidad)
+
+
+    // Elimina un elemento de la lista, dada su posición
+    @Override
+    public void eliminar(int i) {
+        Posicion posicion = buscarPosicion(i);
+        Bloque bloque = posicion.bloque;
+
+        // Corremos los elementos siguientes del bloque una posición hacia atrás: O(capacidad)
+        System.arraycopy(bloque.elementos, posicion.indice + 1, bloque.elementos, posicion.indice, bloque.cantidad - posicion.indice - 1);
+        bloque.cantidad--;
+        bloque.elementos[bloque.cantidad] = null;
+        longitud--;
+
+        if (bloque.cantidad == 0) {
+            // Si el bloque quedó vacío, lo sacamos de la cadena: O(1)
+            if (posicion.anterior == null) {
+                primero = bloque.sig;
+            } else {
+                posicion.anterior.sig = bloque.sig;
+            }
+            if (ultimo == bloque) {
+                ultimo = posicion.anterior;
+            }
+        } else if (bloque.sig != null && bloque.cantidad + bloque.sig.cantidad <= capacidad / 2) {
+            // Si el bloque y el siguiente entran juntos en medio bloque, los unimos para que no queden bloques casi vacíos: O(capacidad)
+            Bloque siguiente = bloque.sig;
+            System.arraycopy(siguiente.elementos, 0, bloque.elementos, bloque.cantidad, siguiente.cantidad);
+            bloque.cantidad += siguiente.cantidad;
+            bloque.sig = siguiente.sig;
+            if (ultimo == siguiente) {
+                ultimo = bloque;
+            }
+        }
+
+    } // Complejidad eliminar(): O(n / capacidad + capacidad)
+
+
+    // Elimina en una sola pasada todos los elementos que cumplen la condición, y devuelve cuántos eliminó
+    @Override
+    @SuppressWarnings("unchecked")
+    public int eliminarSi(Predicate<? super T> condicion) {
+        int eliminados = 0;
+        Bloque anterior = null;
+        Bloque actual = primero;
+
+        // Compactamos cada bloque en su lugar, y sacamos o unimos los que quedan vacíos o chicos: O(n)
+        while (actual != null) {
+            int quedan = 0;
+            for (int j = 0; j < actual.cantidad; j++) {
+                Object elem = actual.elementos[j];
+                if (!condicion.test((T) elem)) {
+                    actual.elementos[quedan] = elem;
+                    quedan++;
+                }
+            }
+            Arrays.fill(actual.elementos, quedan, actual.cantidad, null);
+            eliminados += actual.cantidad - quedan;
+            actual.cantidad = quedan;
+
+            if (quedan == 0) {
+                // Bloque vacío: lo sacamos de la cadena
+                if (anterior == null) {
+                    primero = actual.sig;
+                } else {
+                    anterior.sig = actual.sig;
+                }
+                if (ultimo == actual) {
+                    ultimo = anterior;
+                }
+            } else if (anterior != null && anterior.cantidad + quedan <= capacidad / 2) {
+                // Entra junto con el anterior en medio bloque: los unimos, como en eliminar()
+                System.arraycopy(actual.elementos, 0, anterior.elementos, anterior.cantidad, quedan);
+                anterior.cantidad += quedan;
+                anterior.sig = actual.sig;
+                if (ultimo == actual) {
+                    ultimo = anterior;
+                }
+            } else {
+                anterior = actual;
+            }
+            actual = actual.sig;
+        }
+        longitud -= eliminados;
+        return eliminados;
+
+    } // Complejidad eliminarSi(): O(n)
+
+
+    // Modificamos el valor de una posición de la lista
+    @Override
+    public void modificarPosicion(int indice, T elem) {
+        Posicion posicion = buscarPosicion(indice);
+        posicion.bloque.elementos[posicion.indice] = elem;
+
+    } // Complejidad modificarPosicion(): O(n / capacidad)
+
+
+    // Copiamos la lista (con bloques llenos)
+    @Override
+    @SuppressWarnings("unchecked")
+    public ListaDesenrollada<T> copiar() {
+        ListaDesenrollada<T> nuevaLista = new ListaDesenrollada<>(capacidad);
+
+        // Copiamos cada bloque elemento por elemento: O(n)
+        for (Bloque actual = primero; actual != null; actual = actual.sig) {
+            for (int j = 0; j < actual.cantidad; j++) {
+                nuevaLista.agregarAtras((T) actual.elementos[j]);
+            }
+        }
+        return nuevaLista;
+
+    } // Complejidad copiar(): O(n)
+
+
+    // Convierte una lista en una String
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder("["); // O(1)
+
+        // Recorre cada elemento para convertirlo en String: O(n)
+        boolean primerElemento = true;
+        for (Bloque actual = primero; actual != null; actual = actual.sig) {
+            for (int j = 0; j < actual.cantidad; j++) {
+                if (!primerElemento) {
+                    res.append(", ");
+                }
+                res.append(actual.elementos[j]);
+                primerElemento = false;
+            }
+        }
+        res.append("]"); // O(1)
+        return res.toString();
+
+    } // Complejidad toString(): O(n)
+
+
+    // Clase para armar un iterador de la lista (como el de ListaEnlazada, ve los elementos que se agreguen al final mientras recorre)
+    public class IteradorLista implements Iterador<T> {
+        Bloque bloque; // Bloque del último elemento devuelto (null si todavía no devolvió ninguno)
+        int indice; // Posición del último elemento devuelto dentro de bloque
+
+        // Constructor de iterador
+        public IteradorLista() {
+            this.bloque = null;  // O(1)
+            this.indice = -1;
+        }
+
+        // Se fija si hay un elemento más en la lista
+        @Override
+        public boolean haySiguiente() {
+
+            // O(1): comparaciones
+            if (bloque == null) {
+                return primero != null;
+            }
+            return indice + 1 < bloque.cantidad || bloque.sig != null;
+
+        } // Complejidad haySiguiente(): O(1)
+
+
+        // Devuelve el siguiente elemento de la lista
+        @Override
+        @SuppressWarnings("unchecked")
+        public T siguiente() {
+
+            // O(1): avanza dentro del bloque, o pasa al siguiente
+            if (bloque == null) {
+                bloque = primero;
+                indice = 0;
+            } else if (indice + 1 < bloque.cantidad) {
+                indice++;
+            } else {
+                bloque = bloque.sig;
+                indice = 0;
+            }
+            return (T) bloque.elementos[indice];
+
+        } // Complejidad siguiente(): O(1)
+    }
+
+    // Construye un iterador
+    @Override
+    public IteradorLista iterador() {
+        return new IteradorLista();
+    } // Complejidad iterador(): O(1)
+
+
+    // Construye un Spliterator de la lista
+    @Override
+    public Spliterator<T> spliterator() {
+        return new EspliteradorBloques(primero, 0, longitud);
+    } // Complejidad spliterator(): O(1)
+
+
+    // Spliterator de la lista que se divide por bloques: los bloques de la primera mitad de lo que falta (sin partir
+    // ninguno) quedan para el Spliterator nuevo, sin copiar elementos. Los dos lados conocen su tamaño exacto. Toma la
+    // longitud al construirse, así que no ve lo que se agregue después; la lista no se puede modificar de otra forma
+    // mientras se la recorre. Lo que quede dentro de un solo bloque ya no se divide.
+    private final class EspliteradorBloques implements Spliterator<T> {
+        private Bloque bloque; // Bloque del próximo elemento
+        private int indice; // Posición del próximo elemento dentro de bloque
+        private int restantes; // Cantidad de elementos que faltan recorrer
+
+        EspliteradorBloques(Bloque bloque, int indice, int restantes) {
+            this.bloque = bloque;
+            this.indice = indice;
+            this.restantes = restantes;
+        }
+
+        // Recorre el próximo elemento: O(1)
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super T> accion) {
+            if (restantes <= 0) {
+                return false;
+            }
+            T valor = (T) bloque.elementos[indice];
+            indice++;
+            restantes--;
+            if (indice == bloque.cantidad && restantes > 0) {
+                bloque = bloque.sig;
+                indice = 0;
+            }
+            accion.accept(valor);
+            return true;
+        }
+
+        // Recorre todos los que faltan, de a un bloque: O(restantes)
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super T> accion) {
+            while (restantes > 0) {
+                int hasta = Math.min(bloque.cantidad, indice + restantes);
+                Object[] elementos = bloque.elementos;
+                for (int j = indice; j < hasta; j++) {
+                    accion.accept((T) elementos[j]);
+                }
+                restantes -= hasta - indice;
+                indice = hasta;
+                if (restantes > 0) {
+                    bloque = bloque.sig;
+                    indice = 0;
+                }
+            }
+        }
+
+        // Separa los bloques de la primera mitad: O(cantidad de bloques de la mitad)
+        @Override
+        public Spliterator<T> trySplit() {
+            if (restantes <= 0) {
+                return null;
+            }
+            int mitad = restantes / 2;
+            int cantidad = bloque.cantidad - indice;
+            Bloque fin = bloque.sig;
+            while (cantidad < mitad) {
+                cantidad += fin.cantidad;
+                fin = fin.sig;
+            }
+            if (cantidad >= restantes) {
+                return null;
+            }
+            Spliterator<T> primeraMitad = new EspliteradorBloques(bloque, indice, cantidad);
+            bloque = fin;
+            indice = 0;
+            restantes -= cantidad;
+            return primeraMitad;
+        }
+
+        @Override
+        public long estimateSize() {
+            return restantes;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+
+    // Estima la memoria que ocupa la lista (sin contar los elementos).
+    // Los slots son las posiciones de los arrays de los bloques; la disposición compacta es un único array de longitud posiciones.
+    @Override
+    public ReporteMemoria memoria() {
+        ReporteMemoria reporte = new ReporteMemoria("ListaDesenrollada");
+        long bytesLista = EstimadorMemoria.instancia(ListaDesenrollada.class);
+        long bytesBloque = EstimadorMemoria.instancia(Bloque.class) + EstimadorMemoria.arrayReferencias(capacidad);
+
+        // Se ejecuta (cantidad de bloques) veces
+        for (Bloque actual = primero; actual != null; actual = actual.sig) {
+            reporte.nodos++;
+        }
+        reporte.slotsAsignados = reporte.nodos * capacidad;
+        reporte.slotsUsados = longitud;
+        reporte.elementos = longitud;
+        reporte.bytes = bytesLista + reporte.nodos * bytesBloque;
+        reporte.bytesCompactos = bytesLista + EstimadorMemoria.arrayReferencias(longitud);
+        return reporte;
+
+    } // Complejidad memoria(): O(n / capacidad)
+}
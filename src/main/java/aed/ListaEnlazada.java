@@ -1,10 +1,17 @@
 
 package aed;
 
-public class ListaEnlazada<T> {
+import java.util.ConcurrentModificationException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+public class ListaEnlazada<T> implements Secuencia<T> {
     private Nodo<T> primero;
     private Nodo<T> ultimNodo;
     private int longitud;
+    private int modificaciones; // Cuenta los cambios que invalidan a los iteradores (ver IteradorLista)
 
     // Invariante de representacion:
     // - Si la lista está vacía, longitud = 0 y los punteros primero y último valen null.
@@ -14,6 +21,8 @@ public class ListaEnlazada<T> {
     // - Todos los nodos deben estar correctamente encadenados entre primero y ultimNodo, sin nodos intermedios apuntando a null o ciclos.
     // - Cada nodo apunta a otro, excepto el último.
     // - El último nodo apunta a null (ultimNodo.sig = null)
+    // - modificaciones se incrementa con cada agregarAdelante, eliminar y cambio hecho desde un iterador (agregarAtras no
+    // lo incrementa, porque no cambia ningún nodo anterior al último).
 
     // Clase nodo
     private class Nodo<K> { 
@@ -32,10 +41,12 @@ public class ListaEnlazada<T> {
        primero = null;
        ultimNodo = null;
        longitud = 0; 
+       modificaciones = 0;
     } // Complejidad: O(1)
     
 
     // Devuelve la longitud de la lista
+    @Override
     public int longitud() {
         return longitud;
 
@@ -43,6 +54,7 @@ public class ListaEnlazada<T> {
 
 
     // Agrega un elemento al principio de la lista
+    @Override
     public void agregarAdelante(T elem) {
         Nodo<T> nuevo = new Nodo<>(elem); // O(1)
 
@@ -54,11 +66,13 @@ public class ListaEnlazada<T> {
         }
         primero = nuevo; // O(1)
         longitud++; // O (1)
+        modificaciones++; // O(1)
 
     } // Complejidad agregarAdelante(): O(1)
 
 
     // Agregar un elemento al final de la lista
+    @Override
     public void agregarAtras(T elem) {
         Nodo<T> nuevo = new Nodo<>(elem); // O(1)
 
@@ -77,6 +91,7 @@ public class ListaEnlazada<T> {
 
 
     // Devuelve un elemento de la lista, dada su posicion
+    @Override
     public T obtener(int i) {
         Nodo<T> actual = primero; // O(1)
 
@@ -91,6 +106,7 @@ public class ListaEnlazada<T> {
 
 
     // Elimina un elemento de la lista, dada su posición
+    @Override
     public void eliminar(int i) {
 
         // Caso en el que se quiera eliminar la primera posición: O(1)
@@ -112,11 +128,13 @@ public class ListaEnlazada<T> {
             }
         }
         longitud--; // O(1)
+        modificaciones++; // O(1)
 
     } // Complejidad eliminar(): O(n)
 
     
     // Modificamos el valor de una posición de la lista
+    @Override
     public void modificarPosicion(int indice, T elem) {
         Nodo<T> actual = primero; // O(1)
 
@@ -130,6 +148,7 @@ public class ListaEnlazada<T> {
 
 
     // Copiamos una lista
+    @Override
     public ListaEnlazada<T> copiar() {
         ListaEnlazada<T> nuevaLista = new ListaEnlazada<>(); // O(1)
         Nodo<T> actual = this.primero; // O(1)
@@ -144,6 +163,24 @@ public class ListaEnlazada<T> {
     } // Complejidad copiar(): O(n)
 
 
+    // Elimina en una sola pasada todos los elementos que cumplen la condición, y devuelve cuántos eliminó
+    @Override
+    public int eliminarSi(Predicate<? super T> condicion) {
+        int eliminados = 0;
+        IteradorLista iterador = iterador();
+
+        // Cada elemento se evalúa una vez y se desengancha en O(1) con el iterador: O(n)
+        while (iterador.haySiguiente()) {
+            if (condicion.test(iterador.siguiente())) {
+                iterador.eliminarActual();
+                eliminados++;
+            }
+        }
+        return eliminados;
+
+    } // Complejidad eliminarSi(): O(n)
+
+
     // Copiamos una lista pasada como parámetro
     public ListaEnlazada(ListaEnlazada<T> lista) {
         Nodo<T> actual = lista.primero;
@@ -176,16 +213,31 @@ public class ListaEnlazada<T> {
     } // Complejidad toString(): O(n)
     
 
-    // Clase para armar un iterador de la lista
-    public class IteradorLista {
-        ListaEnlazada<T>.Nodo<T> indice;
+    // Clase para armar un iterador de la lista. Además de recorrer, puede eliminar el último elemento devuelto o insertar 
+    // uno después de él en O(1), porque recuerda el nodo anterior. Si la lista se modifica por fuera del iterador 
+    // (agregarAdelante, eliminar u otro iterador), sus operaciones lanzan ConcurrentModificationException; 
+    // agregarAtras sí se puede usar mientras se recorre, y el iterador ve los elementos agregados.
+    public class IteradorLista implements Iterador<T> {
+        ListaEnlazada<T>.Nodo<T> indice; // Último nodo devuelto (null si todavía no se devolvió ninguno)
+        ListaEnlazada<T>.Nodo<T> anterior; // Nodo anterior a indice (null si indice es el primero)
+        boolean hayActual; // Si indice es un elemento que se puede eliminar
+        int modificacionesEsperadas; // Valor de modificaciones de la lista que conoce el iterador
+
+        // Invariante de representación:
+        // - Si indice es null, el próximo elemento es primero; si no, es indice.sig.
+        // - Si hayActual, indice no es null y anterior es null (y indice = primero) o anterior.sig = indice.
+        // - Mientras modificacionesEsperadas = modificaciones, ningún otro cambio alteró los nodos indice y anterior.
 
         // Constructor de iterador
         public IteradorLista() {
             this.indice = null;  // O(1)
+            this.anterior = null;
+            this.hayActual = false;
+            this.modificacionesEsperadas = modificaciones;
         }
 
         // Se fija si hay un elemento más en la lista
+        @Override
         public boolean haySiguiente() {
 
             // Uuna o dos comparaciones de punteros y una asignación condicional: O(1)
@@ -196,23 +248,194 @@ public class ListaEnlazada<T> {
 
         // O(1). 
         // Devuelve el siguiente elemento de la lista
+        @Override
         public T siguiente() {
+            verificarModificaciones(); // O(1)
 
             // El método sólo involucra una evaluación condicional,  una asignación de referencia y el acceso a un valor del nodo: O(1)
+            anterior = indice;
             if (indice == null) { 
                 indice = primero;
             } else {
                 indice = indice.sig;
             }
+            hayActual = true;
             return indice.valor;
         } // Complejidad siguiente(): O(1)
+
+
+        // Elimina de la lista el último elemento devuelto por siguiente()
+        public void eliminarActual() {
+            verificarModificaciones(); // O(1)
+            if (!hayActual) {
+                throw new IllegalStateException("No hay un elemento actual para eliminar");
+            }
+
+            // Desenganchamos indice usando el nodo anterior: O(1)
+            if (anterior == null) {
+                primero = indice.sig;
+            } else {
+                anterior.sig = indice.sig;
+            }
+            if (indice == ultimNodo) {
+                ultimNodo = anterior;
+            }
+
+            // El próximo elemento sigue siendo el mismo: lo que venía después del nodo eliminado
+            indice = anterior;
+            hayActual = false;
+            longitud--;
+            modificaciones++;
+            modificacionesEsperadas = modificaciones;
+
+        } // Complejidad eliminarActual(): O(1)
+
+
+        // Inserta un elemento después del último devuelto por siguiente() (o al principio, si no hay ninguno). 
+        // El elemento insertado pasa a ser el actual, así que siguiente() continúa con los que ya estaban.
+        public void insertarDespues(T elem) {
+            verificarModificaciones(); // O(1)
+            Nodo<T> nuevo = new Nodo<>(elem);
+
+            // Enganchamos el nodo nuevo después de indice: O(1)
+            if (indice == null) {
+                nuevo.sig = primero;
+                primero = nuevo;
+            } else {
+                nuevo.sig = indice.sig;
+                indice.sig = nuevo;
+            }
+            if (nuevo.sig == null) {
+                ultimNodo = nuevo;
+            }
+            anterior = indice;
+            indice = nuevo;
+            hayActual = true;
+            longitud++;
+            modificaciones++;
+            modificacionesEsperadas = modificaciones;
+
+        } // Complejidad insertarDespues(): O(1)
+
+
+        // Lanza ConcurrentModificationException si la lista cambió por fuera de este iterador
+        private void verificarModificaciones() {
+            if (modificacionesEsperadas != modificaciones) {
+                throw new ConcurrentModificationException("La lista se modificó mientras se la recorría");
+            }
+        } // Complejidad verificarModificaciones(): O(1)
     } 
     
     // Construye un iterador
+    @Override
     public IteradorLista iterador() {
         return new IteradorLista();
     } // Complejidad iterador(): O(1)
-}
 
-    
-    
\ No newline at end of file
+
+    // Construye un Spliterator de la lista
+    @Override
+    public Spliterator<T> spliterator() {
+        return new EspliteradorLista();
+    } // Complejidad spliterator(): O(1)
+
+
+    // Spliterator de la lista: como no hay acceso por posición, cada división copia a un array los próximos elementos
+    // (un lote que crece en cada división, hasta la mitad de lo que queda) y los devuelve como un Spliterator de array. 
+    // Los dos lados conocen su tamaño exacto. Toma la longitud al construirse, así que no ve lo que se agregue después,
+    // y al terminar de recorrer lanza ConcurrentModificationException si la lista cambió (ver IteradorLista).
+    private final class EspliteradorLista implements Spliterator<T> {
+        private static final int LOTE_INICIAL = 64;
+        private static final int LOTE_MAXIMO = 1 << 16;
+
+        private Nodo<T> actual; // Próximo nodo a recorrer
+        private int restantes; // Cantidad de elementos que faltan recorrer
+        private int tamanioLote; // Tamaño máximo del próximo lote a separar
+        private final int modificacionesEsperadas;
+
+        EspliteradorLista() {
+            actual = primero;
+            restantes = longitud;
+            tamanioLote = LOTE_INICIAL;
+            modificacionesEsperadas = modificaciones;
+        }
+
+        // Recorre el próximo elemento: O(1)
+        @Override
+        public boolean tryAdvance(Consumer<? super T> accion) {
+            if (restantes <= 0) {
+                return false;
+            }
+            T valor = actual.valor;
+            actual = actual.sig;
+            restantes--;
+            accion.accept(valor);
+            if (restantes == 0) {
+                verificarModificaciones();
+            }
+            return true;
+        }
+
+        // Recorre todos los que faltan: O(restantes)
+        @Override
+        public void forEachRemaining(Consumer<? super T> accion) {
+            while (restantes > 0) {
+                T valor = actual.valor;
+                actual = actual.sig;
+                restantes--;
+                accion.accept(valor);
+            }
+            verificarModificaciones();
+        }
+
+        // Separa los próximos elementos en un array: O(tamaño del lote)
+        @Override
+        public Spliterator<T> trySplit() {
+            if (restantes <= 1) {
+                return null;
+            }
+            int cantidad = Math.min(tamanioLote, (restantes + 1) / 2);
+            Object[] lote = new Object[cantidad];
+            for (int i = 0; i < cantidad; i++) {
+                lote[i] = actual.valor;
+                actual = actual.sig;
+            }
+            restantes -= cantidad;
+            tamanioLote = Math.min(tamanioLote * 2, LOTE_MAXIMO);
+            return Spliterators.spliterator(lote, 0, cantidad, Spliterator.ORDERED);
+        }
+
+        @Override
+        public long estimateSize() {
+            return restantes;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+
+        private void verificarModificaciones() {
+            if (modificacionesEsperadas != modificaciones) {
+                throw new ConcurrentModificationException("La lista se modificó mientras se la recorría");
+            }
+        }
+    }
+
+
+    // Estima la memoria que ocupa la lista (sin contar los elementos, que comparte con quien los agregó).
+    // La disposición compacta es un array de referencias con exactamente longitud posiciones.
+    @Override
+    public ReporteMemoria memoria() {
+        ReporteMemoria reporte = new ReporteMemoria("ListaEnlazada");
+
+        // O(1): tamaños de las clases
+        long bytesLista = EstimadorMemoria.instancia(ListaEnlazada.class);
+        reporte.nodos = longitud;
+        reporte.elementos = longitud;
+        reporte.bytes = bytesLista + longitud * EstimadorMemoria.instancia(Nodo.class);
+        reporte.bytesCompactos = bytesLista + EstimadorMemoria.arrayReferencias(longitud);
+        return reporte;
+
+    } // Complejidad memoria(): O(1)
+}
@@ -0,0 +1,262 @@
+package aed;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+
+// Clase para representar una secuencia de enteros sin boxing: un array circular de int que crece al doble cuando se llena.
+// Tiene las mismas operaciones que Secuencia, pero recibe y devuelve int (una ListaEnlazada<Integer> guarda un Integer
+// dentro de un Nodo por elemento, ~40 bytes para guardar 4).
+public class ListaEnteros {
+
+    private static final int CAPACIDAD_INICIAL = 8;
+
+    private int[] elementos;
+    private int inicio; // Posición del array donde está el primer elemento
+    private int longitud;
+
+    // Invariante de representación:
+    // - elementos.length >= 1 y 0 <= longitud <= elementos.length.
+    // - 0 <= inicio < elementos.length.
+    // - El elemento i de la secuencia (0 <= i < longitud) está en elementos[(inicio + i) % elementos.length].
+
+    // Constructor de la secuencia vacía
+    public ListaEnteros() {
+        this(CAPACIDAD_INICIAL);
+    } // Complejidad: O(1)
+
+
+    // Constructor de la secuencia vacía, con lugar para la cantidad dada de elementos
+    public ListaEnteros(int capacidad) {
+        elementos = new int[Math.max(capacidad, 1)];
+        inicio = 0;
+        longitud = 0;
+    } // Complejidad: O(capacidad)
+
+
+    // Constructor de una secuencia con los elementos de un array
+    public ListaEnteros(int[] valores) {
+        this(valores.length);
+        agregarTodos(valores);
+    } // Complejidad: O(|valores|)
+
+
+    // Devuelve la longitud de la secuencia
+    public int longitud() {
+        return longitud;
+
+    } // Complejidad longitud(): O(1)
+
+
+    // Devuelve la posición del array que corresponde a la posición i de la secuencia
+    private int posicion(int i) {
+        int j = inicio + i;
+        return j < elementos.length ? j : j - elementos.length;
+
+    } // Complejidad posicion(): O(1)
+
+
+    // Asegura lugar para la cantidad dada de elementos, copiándolos a un array más grande (y desde la posición 0)
+    private void asegurarCapacidad(int cantidad) {
+        if (cantidad <= elementos.length) {
+            return;
+        }
+        int[] nuevos = new int[Math.max(cantidad, elementos.length * 2)];
+        copiarA(nuevos, 0);
+        elementos = nuevos;
+        inicio = 0;
+
+    } // Complejidad asegurarCapacidad(): O(n) cuando crece, O(1) si no
+
+
+    // Copia los elementos en orden a un array, desde la posición dada
+    private void copiarA(int[] destino, int desde) {
+
+        // A lo sumo dos tramos: desde inicio hasta el final del array, y desde el principio del array
+        int primerTramo = Math.min(longitud, elementos.length - inicio);
+        System.arraycopy(elementos, inicio, destino, desde, primerTramo);
+        System.arraycopy(elementos, 0, destino, desde + primerTramo, longitud - primerTramo);
+
+    } // Complejidad copiarA(): O(n)
+
+
+    // Agrega un elemento al principio
+    public void agregarAdelante(int elem) {
+        asegurarCapacidad(longitud + 1);
+        inicio = (inicio == 0) ? elementos.length - 1 : inicio - 1;
+        elementos[inicio] = elem;
+        longitud++;
+
+    } // Complejidad agregarAdelante(): O(1) amortizado
+
+
+    // Agrega un elemento al final
+    public void agregarAtras(int elem) {
+        asegurarCapacidad(longitud + 1);
+        elementos[posicion(longitud)] = elem;
+        longitud++;
+
+    } // Complejidad agregarAtras(): O(1) amortizado
+
+
+    // Agrega al final todos los elementos de un array, agrandando el array una sola vez
+    public void agregarTodos(int[] valores) {
+        asegurarCapacidad(longitud + valores.length);
+
+        // A lo sumo dos copias de bloque: O(|valores|)
+        int fin = posicion(longitud);
+        int primerTramo = Math.min(valores.length, elementos.length - fin);
+        System.arraycopy(valores, 0, elementos, fin, primerTramo);
+        System.arraycopy(valores, primerTramo, elementos, 0, valores.length - primerTramo);
+        longitud += valores.length;
+
+    } // Complejidad agregarTodos(): O(|valores|) amortizado
+
+
+    // Verifica que la posición esté en rango
+    private void verificarPosicion(int i) {
+        if (i < 0 || i >= longitud) {
+            throw new IndexOutOfBoundsException("Posición " + i + " fuera de la secuencia de longitud " + longitud);
+        }
+    }
+
+
+    // Devuelve el elemento en la posición i
+    public int obtener(int i) {
+        verificarPosicion(i);
+        return elementos[posicion(i)];
+
+    } // Complejidad obtener(): O(1)
+
+
+    // Cambia el valor de la posición i
+    public void modificarPosicion(int i, int elem) {
+        verificarPosicion(i);
+        elementos[posicion(i)] = elem;
+
+    } // Complejidad modificarPosicion(): O(1)
+
+
+    // Elimina el elemento en la posición i, corriendo el lado más corto de la secuencia
+    public void eliminar(int i) {
+        verificarPosicion(i);
+        if (i < longitud / 2) {
+            // Corremos los anteriores una posición hacia adelante: O(i)
+            for (int j = i; j > 0; j--) {
+                elementos[posicion(j)] = elementos[posicion(j - 1)];
+            }
+            inicio = posicion(1);
+        } else {
+            // Corremos los siguientes una posición hacia atrás: O(n - i)
+            for (int j = i; j < longitud - 1; j++) {
+                elementos[posicion(j)] = elementos[posicion(j + 1)];
+            }
+        }
+        longitud--;
+
+    } // Complejidad eliminar(): O(min(i, n - i))
+
+
+    // Devuelve la posición de la primera aparición de un valor, o -1 si no está
+    public int buscar(int valor) {
+
+        // En el peor caso recorre toda la secuencia: O(n)
+        for (int i = 0; i < longitud; i++) {
+            if (elementos[posicion(i)] == valor) {
+                return i;
+            }
+        }
+        return -1;
+
+    } // Complejidad buscar(): O(n)
+
+
+    // Devuelve un array con los elementos, en orden
+    public int[] toArray() {
+        int[] res = new int[longitud];
+        copiarA(res, 0);
+        return res;
+
+    } // Complejidad toArray(): O(n)
+
+
+    // Copia la secuencia (con el array justo)
+    public ListaEnteros copiar() {
+        return new ListaEnteros(toArray());
+
+    } // Complejidad copiar(): O(n)
+
+
+    // Devuelve un IntStream de los elementos (paralelo o no), sobre una copia en un array
+    public IntStream flujo(boolean paralelo) {
+        IntStream flujo = Arrays.stream(toArray());
+        return paralelo ? flujo.parallel() : flujo;
+
+    } // Complejidad flujo(): O(n)
+
+
+    // Convierte la secuencia en una String
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder("[");
+
+        // O(n)
+        for (int i = 0; i < longitud; i++) {
+            res.append(elementos[posicion(i)]);
+            if (i < longitud - 1) {
+                res.append(", ");
+            }
+        }
+        res.append("]");
+        return res.toString();
+
+    } // Complejidad toString(): O(n)
+
+
+    // Clase para armar un iterador de la secuencia, que devuelve int
+    public class IteradorEnteros {
+        int indice; // Posición del próximo elemento
+
+        // Constructor de iterador
+        public IteradorEnteros() {
+            indice = 0;
+        }
+
+        // Se fija si hay un elemento más
+        public boolean haySiguiente() {
+            return indice < longitud;
+
+        } // Complejidad haySiguiente(): O(1)
+
+        // Devuelve el siguiente elemento
+        public int siguiente() {
+            if (indice >= longitud) {
+                throw new NoSuchElementException();
+            }
+            int elem = elementos[posicion(indice)];
+            indice++;
+            return elem;
+
+        } // Complejidad siguiente(): O(1)
+    }
+
+    // Construye un iterador
+    public IteradorEnteros iterador() {
+        return new IteradorEnteros();
+    } // Complejidad iterador(): O(1)
+
+
+    // Estima la memoria que ocupa la secuencia. Los slots son las posiciones del array;
+    // la disposición compacta es un array de int con exactamente longitud posiciones.
+    public ReporteMemoria memoria() {
+        ReporteMemoria reporte = new ReporteMemoria("ListaEnteros");
+        long bytesLista = EstimadorMemoria.instancia(ListaEnteros.class);
+        reporte.slotsAsignados = elementos.length;
+        reporte.slotsUsados = longitud;
+        reporte.elementos = longitud;
+        reporte.bytes = bytesLista + EstimadorMemoria.arrayPrimitivos(elementos.length, 4);
+        reporte.bytesCompactos = bytesLista + EstimadorMemoria.arrayPrimitivos(longitud, 4);
+        return reporte;
+
+    } // Complejidad memoria(): O(1)
+}
@@ -0,0 +1,385 @@
+package aed;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+// Clase para representar una secuencia de Strings cortas (libretas universitarias) guardada fuera del heap, en un
+// ByteBuffer directo que crece al doble cuando se llena. Cada elemento se guarda empaquetado como un byte con su longitud
+// seguido de sus caracteres (uno por byte), así que el recolector de basura no ve un objeto por elemento: sólo el buffer.
+// La memoria del buffer se devuelve cuando el recolector descarta su objeto (como la de cualquier ByteBuffer directo), y
+// no antes: un lector sin lock o una instantánea pueden seguir leyéndolo después de que se cierre la materia.
+// Como las claves del Trie, los caracteres tienen que ser menores a 255, y las Strings no pueden tener más de 255.
+public class ListaFueraDelHeap implements Secuencia<String> {
+
+    public static final int CAPACIDAD_INICIAL = 256; // Bytes del primer buffer
+    public static final int LONGITUD_MAXIMA = 255; // Longitud máxima de cada String
+
+    private ByteBuffer datos; // Buffer directo (null mientras la lista nunca tuvo elementos)
+    private int usados; // Bytes usados del buffer
+    private int longitud; // Cantidad de elementos
+
+    // Invariante de representación:
+    // - Si datos es null, usados = 0 y longitud = 0.
+    // - Los bytes 0..usados-1 de datos son longitud registros seguidos, cada uno [largo][caracter 1]...[caracter largo],
+    // con 0 <= largo <= LONGITUD_MAXIMA; el orden de los registros es el de la secuencia.
+    // - usados <= datos.capacity().
+
+    // Constructor de la lista vacía (el buffer se reserva con el primer elemento)
+    public ListaFueraDelHeap() {
+        datos = null;
+        usados = 0;
+        longitud = 0;
+    } // Complejidad: O(1)
+
+
+    // Devuelve la longitud de la lista
+    @Override
+    public int longitud() {
+        return longitud;
+
+    } // Complejidad longitud(): O(1)
+
+
+    // Devuelve los bytes que ocupa la lista fuera del heap
+    public int bytesFueraDelHeap() {
+        return datos == null ? 0 : datos.capacity();
+
+    } // Complejidad bytesFueraDelHeap(): O(1)
+
+
+    // Asegura lugar para la cantidad dada de bytes, pasando los datos a un buffer del doble de tamaño si hace falta.
+    // El buffer anterior se libera cuando el recolector descarta su objeto (que es chico).
+    private void asegurarCapacidad(int bytes) {
+        if (datos != null && bytes <= datos.capacity()) {
+            return;
+        }
+        int capacidad = datos == null ? CAPACIDAD_INICIAL : datos.capacity();
+        while (capacidad < bytes) {
+            capacidad *= 2;
+        }
+        ByteBuffer nuevos = ByteBuffer.allocateDirect(capacidad);
+        if (datos != null) {
+            ByteBuffer viejos = datos.duplicate();
+            viejos.position(0);
+            viejos.limit(usados);
+            nuevos.put(viejos);
+        }
+        datos = nuevos;
+
+    } // Complejidad asegurarCapacidad(): O(usados) cuando crece, O(1) si no
+
+
+    // Verifica que la String se pueda empaquetar
+    private static void verificarElemento(String elem) {
+        if (elem.length() > LONGITUD_MAXIMA) {
+            throw new IllegalArgumentException("La String tiene más de " + LONGITUD_MAXIMA + " caracteres: " + elem);
+        }
+        for (int j = 0; j < elem.length(); j++) {
+            if (elem.charAt(j) >= 255) {
+                throw new IllegalArgumentException("La String tiene un caracter fuera de rango: " + elem);
+            }
+        }
+    } // Complejidad verificarElemento(): O(|elem|)
+
+
+    // Escribe el registro de una String desde el byte dado
+    private void escribir(int desde, String elem) {
+        datos.put(desde, (byte) elem.length());
+        for (int j = 0; j < elem.length(); j++) {
+            datos.put(desde + 1 + j, (byte) elem.charAt(j));
+        }
+    } // Complejidad escribir(): O(|elem|)
+
+
+    // Lee el registro que empieza en el byte dado de un buffer
+    private static String leer(ByteBuffer datos, int desde) {
+        int largo = datos.get(desde) & 0xFF;
+        byte[] caracteres = new byte[largo];
+        for (int j = 0; j < largo; j++) {
+            caracteres[j] = datos.get(desde + 1 + j);
+        }
+        return new String(caracteres, StandardCharsets.ISO_8859_1);
+
+    } // Complejidad leer(): O(largo)
+
+
+    // Devuelve la cantidad de bytes del registro que empieza en el byte dado de un buffer
+    private static int bytesRegistro(ByteBuffer datos, int desde) {
+        return 1 + (datos.get(desde) & 0xFF);
+
+    } // Complejidad bytesRegistro(): O(1)
+
+
+    // Corre los bytes desde..usados-1 la cantidad dada de posiciones (hacia atrás si es positiva, hacia adelante si no)
+    private void desplazar(int desde, int cantidad) {
+        if (cantidad > 0) {
+            for (int j = usados - 1; j >= desde; j--) {
+                datos.put(j + cantidad, datos.get(j));
+            }
+        } else {
+            for (int j = desde; j < usados; j++) {
+                datos.put(j + cantidad, datos.get(j));
+            }
+        }
+        usados += cantidad;
+
+    } // Complejidad desplazar(): O(usados - desde)
+
+
+    // Devuelve el byte donde empieza el registro de la posición i
+    private int inicioDe(int i) {
+        if (i < 0 || i >= longitud) {
+            throw new IndexOutOfBoundsException("Posición " + i + " fuera de la secuencia de longitud " + longitud);
+        }
+
+        // Salteamos los i registros anteriores: O(i)
+        int desde = 0;
+        for (int j = 0; j < i; j++) {
+            desde += bytesRegistro(datos, desde);
+        }
+        return desde;
+
+    } // Complejidad inicioDe(): O(i)
+
+
+    // Agrega un elemento al final de la lista
+    @Override
+    public void agregarAtras(String elem) {
+        verificarElemento(elem);
+        asegurarCapacidad(usados + 1 + elem.length());
+        escribir(usados, elem);
+        usados += 1 + elem.length();
+        longitud++;
+
+    } // Complejidad agregarAtras(): O(|elem|) amortizado, y como |elem| está acotada, O(1) amortizado
+
+
+    // Agrega un elemento al principio de la lista, corriendo todos los demás
+    @Override
+    public void agregarAdelante(String elem) {
+        verificarElemento(elem);
+        asegurarCapacidad(usados + 1 + elem.length());
+        desplazar(0, 1 + elem.length());
+        escribir(0, elem);
+        longitud++;
+
+    } // Complejidad agregarAdelante(): O(n)
+
+
+    // Devuelve el elemento de la posición i
+    @Override
+    public String obtener(int i) {
+        return leer(datos, inicioDe(i));
+
+    } // Complejidad obtener(): O(n)
+
+
+    // Elimina el elemento de la posición i, corriendo los siguientes
+    @Override
+    public void eliminar(int i) {
+        int desde = inicioDe(i);
+        int bytes = bytesRegistro(datos, desde);
+        desplazar(desde + bytes, -bytes);
+        longitud--;
+
+    } // Complejidad eliminar(): O(n)
+
+
+    // Cambia el valor de la posición i (si cambia la longitud, corre los siguientes)
+    @Override
+    public void modificarPosicion(int i, String elem) {
+        verificarElemento(elem);
+        int desde = inicioDe(i);
+        int diferencia = 1 + elem.length() - bytesRegistro(datos, desde);
+        asegurarCapacidad(usados + Math.max(diferencia, 0));
+        if (diferencia != 0) {
+            desplazar(desde + bytesRegistro(datos, desde), diferencia);
+        }
+        escribir(desde, elem);
+
+    } // Complejidad modificarPosicion(): O(n)
+
+
+    // Elimina en una sola pasada todos los elementos que cumplen la condición, y devuelve cuántos eliminó
+    @Override
+    public int eliminarSi(Predicate<? super String> condicion) {
+        int eliminados = 0;
+        int escritura = 0;
+
+        // Leemos cada registro y copiamos hacia adelante los que quedan: O(usados) = O(n)
+        int lectura = 0;
+        while (lectura < usados) {
+            int bytes = bytesRegistro(datos, lectura);
+            if (condicion.test(leer(datos, lectura))) {
+                eliminados++;
+            } else {
+                for (int j = 0; j < bytes; j++) {
+                    datos.put(escritura + j, datos.get(lectura + j));
+                }
+                escritura += bytes;
+            }
+            lectura += bytes;
+        }
+        usados = escritura;
+        longitud -= eliminados;
+        return eliminados;
+
+    } // Complejidad eliminarSi(): O(n)
+
+
+    // Copia la lista, en un buffer nuevo del mismo tamaño
+    @Override
+    public ListaFueraDelHeap copiar() {
+        ListaFueraDelHeap nueva = new ListaFueraDelHeap();
+        if (datos != null) {
+            nueva.asegurarCapacidad(datos.capacity());
+            ByteBuffer origen = datos.duplicate();
+            origen.position(0);
+            origen.limit(usados);
+            nueva.datos.put(origen);
+            nueva.usados = usados;
+            nueva.longitud = longitud;
+        }
+        return nueva;
+
+    } // Complejidad copiar(): O(n)
+
+
+    // Convierte la lista en una String
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder("[");
+
+        // O(n)
+        IteradorLista iterador = iterador();
+        while (iterador.haySiguiente()) {
+            res.append(iterador.siguiente());
+            if (iterador.haySiguiente()) {
+                res.append(", ");
+            }
+        }
+        res.append("]");
+        return res.toString();
+
+    } // Complejidad toString(): O(n)
+
+
+    // Clase para armar un iterador de la lista. Cada siguiente() arma la String del registro (en el heap joven).
+    // Ve los elementos que se agregan al final.
+    public class IteradorLista implements Iterador<String> {
+        int posicion; // Byte donde empieza el próximo registro
+
+        // Constructor de iterador
+        public IteradorLista() {
+            posicion = 0;
+        }
+
+        // Se fija si hay un elemento más
+        @Override
+        public boolean haySiguiente() {
+            return posicion < usados;
+
+        } // Complejidad haySiguiente(): O(1)
+
+        // Devuelve el siguiente elemento
+        @Override
+        public String siguiente() {
+            String elem = leer(datos, posicion);
+            posicion += bytesRegistro(datos, posicion);
+            return elem;
+
+        } // Complejidad siguiente(): O(|elem|) = O(1)
+    }
+
+    // Construye un iterador
+    @Override
+    public IteradorLista iterador() {
+        return new IteradorLista();
+    } // Complejidad iterador(): O(1)
+
+
+    // Construye un Spliterator de la lista
+    @Override
+    public Spliterator<String> spliterator() {
+        return new EspliteradorBytes(datos, 0, longitud);
+    } // Complejidad spliterator(): O(1)
+
+
+    // Spliterator de la lista que se divide por rangos de bytes: como los registros tienen largos distintos, dividir
+    // saltea la primera mitad de los registros que faltan (leyendo sólo el byte de largo de cada uno) y la deja para el
+    // Spliterator nuevo, sin copiar nada. Los dos lados conocen su tamaño exacto. Guarda el buffer y la longitud al
+    // construirse, así que no ve lo que se agregue después (aunque el buffer crezca); la lista no se puede modificar de
+    // otra forma mientras se la recorre.
+    private static final class EspliteradorBytes implements Spliterator<String> {
+        private final ByteBuffer datos;
+        private int posicion; // Byte donde empieza el próximo registro
+        private int restantes; // Cantidad de registros que faltan recorrer
+
+        EspliteradorBytes(ByteBuffer datos, int posicion, int restantes) {
+            this.datos = datos;
+            this.posicion = posicion;
+            this.restantes = restantes;
+        }
+
+        // Recorre el próximo elemento: O(|elem|)
+        @Override
+        public boolean tryAdvance(Consumer<? super String> accion) {
+            if (restantes <= 0) {
+                return false;
+            }
+            String elem = leer(datos, posicion);
+            posicion += bytesRegistro(datos, posicion);
+            restantes--;
+            accion.accept(elem);
+            return true;
+        }
+
+        // Separa la primera mitad de los registros que faltan: O(restantes)
+        @Override
+        public Spliterator<String> trySplit() {
+            if (restantes <= 1) {
+                return null;
+            }
+            int cantidad = restantes / 2;
+            int inicio = posicion;
+            for (int j = 0; j < cantidad; j++) {
+                posicion += bytesRegistro(datos, posicion);
+            }
+            restantes -= cantidad;
+            return new EspliteradorBytes(datos, inicio, cantidad);
+        }
+
+        @Override
+        public long estimateSize() {
+            return restantes;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+    }
+
+
+    // Estima la memoria que ocupa la lista. En el heap sólo están la lista y el objeto del buffer; los datos están
+    // fuera del heap. La disposición compacta es un buffer con exactamente los bytes usados.
+    @Override
+    public ReporteMemoria memoria() {
+        ReporteMemoria reporte = new ReporteMemoria("ListaFueraDelHeap");
+        long bytesLista = EstimadorMemoria.instancia(ListaFueraDelHeap.class);
+        reporte.elementos = longitud;
+        reporte.slotsAsignados = bytesFueraDelHeap();
+        reporte.slotsUsados = usados;
+        reporte.bytes = bytesLista;
+        if (datos != null) {
+            reporte.bytes += EstimadorMemoria.instancia(datos.getClass());
+        }
+        reporte.bytesCompactos = reporte.bytes;
+        reporte.bytesFueraDelHeap = bytesFueraDelHeap();
+        return reporte;
+
+    } // Complejidad memoria(): O(1)
+}
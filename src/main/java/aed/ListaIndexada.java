@@ -0,0 +1,636 @@
+package aed;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+// Clase para representar una secuencia indexada: un árbol B de bloques (rope) donde cada nodo interno guarda el tamaño 
+// de cada uno de sus subárboles. Así obtener, eliminar, modificarPosicion y agregarAdelante bajan por el árbol en O(log n),
+// y agregarAtras escribe en una cola que se cuelga del árbol como una hoja nueva cada vez que se llena.
+public class ListaIndexada<T> implements Secuencia<T> {
+
+    private static final int B = 64; // Capacidad de cada nodo (elementos de una hoja o hijos de un nodo interno)
+    private static final int MINIMO = B / 4; // Un nodo que no es la raíz con menos de MINIMO entradas se une o reparte con un vecino
+
+    private Nodo raiz; // Raíz del árbol (null si el árbol está vacío)
+    private int altura; // Cantidad de niveles de nodos internos (0 si la raíz es una hoja)
+    private int tamanioArbol; // Cantidad de elementos en el árbol
+    private Object[] cola; // Elementos agregados al final que todavía no se colgaron del árbol
+    private int cantCola;
+    private int modificaciones; // Cuenta los cambios de forma del árbol (para los iteradores)
+
+    // Invariante de representación:
+    // - La secuencia es: los elementos de las hojas del árbol de izquierda a derecha, seguidos de cola[0..cantCola-1].
+    // - Todas las hojas están a profundidad altura. Si raiz es null, tamanioArbol = 0 y altura = 0.
+    // - Cada nodo tiene entre 1 y B entradas. Los nodos que se crean al dividir tienen al menos B/2, las hojas que se cuelgan
+    // desde la cola tienen B, y eliminar nunca deja un nodo que no es la raíz con menos de MINIMO. La única excepción es la
+    // hoja que se crea cuando se agrega adelante con el árbol vacío, que puede quedar chica: la altura sigue siendo O(log n).
+    // - En un nodo interno, tamanios[j] es la cantidad de elementos del subárbol datos[j].
+    // - tamanioArbol es la suma de los tamaños de los hijos de la raíz (o la cantidad de la raíz si es una hoja).
+    // - 0 <= cantCola < B, y longitud() = tamanioArbol + cantCola.
+
+    // Clase nodo: una hoja guarda elementos, un nodo interno guarda hijos y sus tamaños
+    private static final class Nodo {
+        final boolean esHoja;
+        Object[] datos;
+        int[] tamanios; // Sólo en nodos internos
+        int cantidad;
+
+        Nodo(boolean esHoja) {
+            this.esHoja = esHoja;
+            this.datos = new Object[B];
+            this.tamanios = esHoja ? null : new int[B];
+            this.cantidad = 0;
+        }
+
+        // Cantidad de elementos del subárbol: O(B) = O(1)
+        int tamanio() {
+            if (esHoja) {
+                return cantidad;
+            }
+            int total = 0;
+            for (int j = 0; j < cantidad; j++) {
+                total += tamanios[j];
+            }
+            return total;
+        }
+    }
+
+    // Constructor de la secuencia vacía
+    public ListaIndexada() {
+        raiz = null;
+        altura = 0;
+        tamanioArbol = 0;
+        cola = new Object[B];
+        cantCola = 0;
+        modificaciones = 0;
+    } // Complejidad: O(1)
+
+
+    // Devuelve la longitud de la secuencia
+    @Override
+    public int longitud() {
+        return tamanioArbol + cantCola;
+
+    } // Complejidad longitud(): O(1)
+
+
+    // Agrega un elemento al final
+    @Override
+    public void agregarAtras(T elem) {
+        cola[cantCola] = elem;
+        cantCola++;
+
+        // Cuando la cola se llena, se cuelga del árbol como una hoja llena: O(log n), una vez cada B agregados
+        if (cantCola == B) {
+            Nodo hoja = new Nodo(true);
+            hoja.datos = cola;
+            hoja.cantidad = B;
+            colgarHoja(hoja);
+            cola = new Object[B];
+            cantCola = 0;
+        }
+
+    } // Complejidad agregarAtras(): O(1) amortizado (O(log n) cada B agregados, y B >= log n en la práctica)
+
+
+    // Cuelga una hoja a la derecha de todo el árbol
+    private void colgarHoja(Nodo hoja) {
+        modificaciones++;
+        if (raiz == null) {
+            raiz = hoja;
+        } else {
+            Nodo nuevo = colgarAux(raiz, hoja, altura);
+            if (nuevo != null) {
+                crecer(nuevo);
+            }
+        }
+        tamanioArbol += hoja.cantidad;
+
+    } // Complejidad colgarHoja(): O(altura) = O(log n)
+
+
+    // Cuelga la hoja a la derecha del subárbol de nodo (de la altura dada). Si nodo se divide, devuelve su nueva mitad derecha
+    private Nodo colgarAux(Nodo nodo, Nodo hoja, int nivel) {
+        if (nivel == 0) {
+            // nodo es una hoja: la nueva queda como su hermana derecha
+            return hoja;
+        }
+        int ultimo = nodo.cantidad - 1;
+        Nodo hijo = (Nodo) nodo.datos[ultimo];
+        Nodo nuevo = colgarAux(hijo, hoja, nivel - 1);
+        if (nuevo == null) {
+            nodo.tamanios[ultimo] += hoja.cantidad;
+            return null;
+        }
+        nodo.tamanios[ultimo] = hijo.tamanio(); // Si el hijo se dividió, perdió su mitad derecha
+        return insertarHijo(nodo, ultimo + 1, nuevo);
+
+    } // Complejidad colgarAux(): O(nivel)
+
+
+    // Hace crecer el árbol un nivel: la raíz actual y su nueva hermana pasan a ser hijos de una raíz nueva
+    private void crecer(Nodo hermana) {
+        Nodo nuevaRaiz = new Nodo(false);
+        nuevaRaiz.datos[0] = raiz;
+        nuevaRaiz.tamanios[0] = raiz.tamanio();
+        nuevaRaiz.datos[1] = hermana;
+        nuevaRaiz.tamanios[1] = hermana.tamanio();
+        nuevaRaiz.cantidad = 2;
+        raiz = nuevaRaiz;
+        altura++;
+
+    } // Complejidad crecer(): O(B) = O(1)
+
+
+    // Inserta un hijo en la posición j de un nodo interno. Si el nodo estaba lleno, lo divide y devuelve la mitad derecha
+    private Nodo insertarHijo(Nodo nodo, int j, Nodo hijo) {
+        Nodo derecha = null;
+        if (nodo.cantidad == B) {
+            derecha = dividir(nodo);
+            if (j > nodo.cantidad) {
+                j -= nodo.cantidad;
+                nodo = derecha;
+            }
+        }
+        System.arraycopy(nodo.datos, j, nodo.datos, j + 1, nodo.cantidad - j);
+        System.arraycopy(nodo.tamanios, j, nodo.tamanios, j + 1, nodo.cantidad - j);
+        nodo.datos[j] = hijo;
+        nodo.tamanios[j] = hijo.tamanio();
+        nodo.cantidad++;
+        return derecha;
+
+    } // Complejidad insertarHijo(): O(B) = O(1)
+
+
+    // Divide un nodo lleno a la mitad, y devuelve la mitad derecha (el nodo se queda con la izquierda)
+    private static Nodo dividir(Nodo nodo) {
+        Nodo derecha = new Nodo(nodo.esHoja);
+        int mitad = nodo.cantidad / 2;
+        derecha.cantidad = nodo.cantidad - mitad;
+        System.arraycopy(nodo.datos, mitad, derecha.datos, 0, derecha.cantidad);
+        Arrays.fill(nodo.datos, mitad, nodo.cantidad, null);
+        if (!nodo.esHoja) {
+            System.arraycopy(nodo.tamanios, mitad, derecha.tamanios, 0, derecha.cantidad);
+        }
+        nodo.cantidad = mitad;
+        return derecha;
+
+    } // Complejidad dividir(): O(B) = O(1)
+
+
+    // Agrega un elemento al principio
+    @Override
+    public void agregarAdelante(T elem) {
+        if (tamanioArbol == 0 && raiz == null && cantCola < B - 1) {
+            // Si todo está en la cola, lo corremos ahí: O(B) = O(1)
+            System.arraycopy(cola, 0, cola, 1, cantCola);
+            cola[0] = elem;
+            cantCola++;
+            return;
+        }
+        insertarEnArbol(0, elem);
+
+    } // Complejidad agregarAdelante(): O(log n)
+
+
+    // Inserta un elemento en la posición i del árbol (0 <= i <= tamanioArbol)
+    private void insertarEnArbol(int i, Object elem) {
+        modificaciones++;
+        if (raiz == null) {
+            raiz = new Nodo(true);
+        }
+        Nodo nuevo = insertarAux(raiz, i, elem);
+        if (nuevo != null) {
+            crecer(nuevo);
+        }
+        tamanioArbol++;
+
+    } // Complejidad insertarEnArbol(): O(B * altura) = O(log n)
+
+
+    // Inserta en la posición i del subárbol de nodo. Si el nodo se divide, devuelve su nueva mitad derecha
+    private Nodo insertarAux(Nodo nodo, int i, Object elem) {
+        if (nodo.esHoja) {
+            Nodo derecha = null;
+            if (nodo.cantidad == B) {
+                derecha = dividir(nodo);
+                if (i > nodo.cantidad) {
+                    i -= nodo.cantidad;
+                    nodo = derecha;
+                }
+            }
+            System.arraycopy(nodo.datos, i, nodo.datos, i + 1, nodo.cantidad - i);
+            nodo.datos[i] = elem;
+            nodo.cantidad++;
+            return derecha;
+        }
+
+        // Buscamos el hijo donde cae la posición (puede ser justo al final de un hijo): O(B)
+        int j = 0;
+        while (j < nodo.cantidad - 1 && i > nodo.tamanios[j]) {
+            i -= nodo.tamanios[j];
+            j++;
+        }
+        Nodo hijo = (Nodo) nodo.datos[j];
+        Nodo nuevo = insertarAux(hijo, i, elem);
+        if (nuevo == null) {
+            nodo.tamanios[j]++;
+            return null;
+        }
+        nodo.tamanios[j] = hijo.tamanio();
+        return insertarHijo(nodo, j + 1, nuevo);
+
+    } // Complejidad insertarAux(): O(B * altura del nodo)
+
+
+    // Verifica que la posición esté en rango
+    private void verificarPosicion(int i) {
+        if (i < 0 || i >= longitud()) {
+            throw new IndexOutOfBoundsException("Posición " + i + " fuera de la secuencia de longitud " + longitud());
+        }
+    }
+
+
+    // Busca la hoja que contiene la posición i del árbol. Devuelve la hoja, y deja en desplazamiento[0] la posición dentro de ella
+    // y en desplazamiento[1] la posición de su primer elemento en la secuencia
+    private Nodo buscarHoja(int i, int[] desplazamiento) {
+        Nodo nodo = raiz;
+        int inicio = 0;
+
+        // Se ejecuta altura veces, y cada vez recorre a lo sumo B tamaños: O(B * altura) = O(log n)
+        while (!nodo.esHoja) {
+            int j = 0;
+            while (i >= nodo.tamanios[j]) {
+                i -= nodo.tamanios[j];
+                inicio += nodo.tamanios[j];
+                j++;
+            }
+            nodo = (Nodo) nodo.datos[j];
+        }
+        desplazamiento[0] = i;
+        desplazamiento[1] = inicio;
+        return nodo;
+
+    } // Complejidad buscarHoja(): O(log n)
+
+
+    // Devuelve el elemento en la posición i
+    @Override
+    @SuppressWarnings("unchecked")
+    public T obtener(int i) {
+        verificarPosicion(i);
+        if (i >= tamanioArbol) {
+            return (T) cola[i - tamanioArbol];
+        }
+        int[] desplazamiento = new int[2];
+        Nodo hoja = buscarHoja(i, desplazamiento);
+        return (T) hoja.datos[desplazamiento[0]];
+
+    } // Complejidad obtener(): O(log n)
+
+
+    // Cambia el valor de la posición i
+    @Override
+    public void modificarPosicion(int i, T elem) {
+        verificarPosicion(i);
+        if (i >= tamanioArbol) {
+            cola[i - tamanioArbol] = elem;
+            return;
+        }
+        int[] desplazamiento = new int[2];
+        Nodo hoja = buscarHoja(i, desplazamiento);
+        hoja.datos[desplazamiento[0]] = elem;
+
+    } // Complejidad modificarPosicion(): O(log n)
+
+
+    // Elimina el elemento en la posición i
+    @Override
+    public void eliminar(int i) {
+        verificarPosicion(i);
+
+        // Si está en la cola, corremos el resto de la cola: O(B) = O(1)
+        if (i >= tamanioArbol) {
+            int k = i - tamanioArbol;
+            System.arraycopy(cola, k + 1, cola, k, cantCola - k - 1);
+            cantCola--;
+            cola[cantCola] = null;
+            return;
+        }
+
+        modificaciones++;
+        eliminarAux(raiz, i);
+        tamanioArbol--;
+
+        // Si la raíz quedó con un solo hijo, el árbol baja un nivel; si quedó vacía, el árbol queda vacío
+        while (!raiz.esHoja && raiz.cantidad == 1) {
+            raiz = (Nodo) raiz.datos[0];
+            altura--;
+        }
+        if (raiz.esHoja && raiz.cantidad == 0) {
+            raiz = null;
+        }
+
+    } // Complejidad eliminar(): O(B * altura) = O(log n)
+
+
+    // Elimina la posición i del subárbol de nodo, y repara los hijos que quedan con menos de MINIMO entradas
+    private void eliminarAux(Nodo nodo, int i) {
+        if (nodo.esHoja) {
+            System.arraycopy(nodo.datos, i + 1, nodo.datos, i, nodo.cantidad - i - 1);
+            nodo.cantidad--;
+            nodo.datos[nodo.cantidad] = null;
+            return;
+        }
+
+        // Buscamos el hijo que contiene la posición: O(B)
+        int j = 0;
+        while (i >= nodo.tamanios[j]) {
+            i -= nodo.tamanios[j];
+            j++;
+        }
+        Nodo hijo = (Nodo) nodo.datos[j];
+        eliminarAux(hijo, i);
+        nodo.tamanios[j]--;
+
+        // Si el hijo quedó muy chico, lo unimos o repartimos con un vecino: O(B)
+        if (hijo.cantidad < MINIMO && nodo.cantidad > 1) {
+            reequilibrar(nodo, j < nodo.cantidad - 1 ? j : j - 1);
+        }
+
+    } // Complejidad eliminarAux(): O(B * altura del nodo)
+
+
+    // Reparte las entradas de los hijos j y j+1 de un nodo interno: si entran en uno, los une; si no, las divide en partes iguales
+    private void reequilibrar(Nodo padre, int j) {
+        Nodo izquierda = (Nodo) padre.datos[j];
+        Nodo derecha = (Nodo) padre.datos[j + 1];
+        int total = izquierda.cantidad + derecha.cantidad;
+
+        if (total <= B) {
+            // Unimos derecha en izquierda y sacamos a derecha del padre: O(B)
+            System.arraycopy(derecha.datos, 0, izquierda.datos, izquierda.cantidad, derecha.cantidad);
+            if (!izquierda.esHoja) {
+                System.arraycopy(derecha.tamanios, 0, izquierda.tamanios, izquierda.cantidad, derecha.cantidad);
+            }
+            izquierda.cantidad = total;
+            padre.tamanios[j] += padre.tamanios[j + 1];
+            System.arraycopy(padre.datos, j + 2, padre.datos, j + 1, padre.cantidad - j - 2);
+            System.arraycopy(padre.tamanios, j + 2, padre.tamanios, j + 1, padre.cantidad - j - 2);
+            padre.cantidad--;
+            padre.datos[padre.cantidad] = null;
+            return;
+        }
+
+        // Juntamos las entradas de los dos y las repartimos a la mitad: O(B)
+        Object[] datos = new Object[total];
+        int[] tamanios = izquierda.esHoja ? null : new int[total];
+        System.arraycopy(izquierda.datos, 0, datos, 0, izquierda.cantidad);
+        System.arraycopy(derecha.datos, 0, datos, izquierda.cantidad, derecha.cantidad);
+        if (tamanios != null) {
+            System.arraycopy(izquierda.tamanios, 0, tamanios, 0, izquierda.cantidad);
+            System.arraycopy(derecha.tamanios, 0, tamanios, izquierda.cantidad, derecha.cantidad);
+        }
+        int mitad = total / 2;
+        Arrays.fill(izquierda.datos, null);
+        Arrays.fill(derecha.datos, null);
+        System.arraycopy(datos, 0, izquierda.datos, 0, mitad);
+        System.arraycopy(datos, mitad, derecha.datos, 0, total - mitad);
+        if (tamanios != null) {
+            System.arraycopy(tamanios, 0, izquierda.tamanios, 0, mitad);
+            System.arraycopy(tamanios, mitad, derecha.tamanios, 0, total - mitad);
+        }
+        izquierda.cantidad = mitad;
+        derecha.cantidad = total - mitad;
+        padre.tamanios[j] = izquierda.tamanio();
+        padre.tamanios[j + 1] = derecha.tamanio();
+
+    } // Complejidad reequilibrar(): O(B) = O(1)
+
+
+    // Elimina en una sola pasada todos los elementos que cumplen la condición, y devuelve cuántos eliminó.
+    // Vuelve a armar el árbol con los que quedan, que sale con todas las hojas llenas.
+    @Override
+    public int eliminarSi(Predicate<? super T> condicion) {
+        ListaIndexada<T> quedan = new ListaIndexada<>();
+
+        // O(n)
+        IteradorLista iterador = iterador();
+        while (iterador.haySiguiente()) {
+            T elem = iterador.siguiente();
+            if (!condicion.test(elem)) {
+                quedan.agregarAtras(elem);
+            }
+        }
+        int eliminados = longitud() - quedan.longitud();
+        if (eliminados > 0) {
+            raiz = quedan.raiz;
+            altura = quedan.altura;
+            tamanioArbol = quedan.tamanioArbol;
+            cola = quedan.cola;
+            cantCola = quedan.cantCola;
+            modificaciones++;
+        }
+        return eliminados;
+
+    } // Complejidad eliminarSi(): O(n)
+
+
+    // Copia la secuencia
+    @Override
+    public ListaIndexada<T> copiar() {
+        ListaIndexada<T> nueva = new ListaIndexada<>();
+
+        // O(n)
+        IteradorLista iterador = iterador();
+        while (iterador.haySiguiente()) {
+            nueva.agregarAtras(iterador.siguiente());
+        }
+        return nueva;
+
+    } // Complejidad copiar(): O(n)
+
+
+    // Convierte la secuencia en una String
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder("[");
+
+        // O(n)
+        IteradorLista iterador = iterador();
+        while (iterador.haySiguiente()) {
+            res.append(iterador.siguiente());
+            if (iterador.haySiguiente()) {
+                res.append(", ");
+            }
+        }
+        res.append("]");
+        return res.toString();
+
+    } // Complejidad toString(): O(n)
+
+
+    // Clase para armar un iterador de la secuencia. Recuerda la hoja donde está, así que avanzar dentro de una hoja es O(1) 
+    // y sólo vuelve a bajar por el árbol al cambiar de hoja (O(log n) cada B elementos). Ve los elementos que se agregan al final.
+    public class IteradorLista implements Iterador<T> {
+        int posicion; // Posición del próximo elemento
+        Object[] hoja; // Datos de la hoja donde está posicion (null si hay que buscarla)
+        int inicioHoja; // Posición del primer elemento de la hoja
+        int finHoja; // Posición siguiente al último elemento de la hoja
+        int version; // Valor de modificaciones cuando se buscó la hoja
+
+        // Constructor de iterador
+        public IteradorLista() {
+            posicion = 0;
+            hoja = null;
+        }
+
+        // Se fija si hay un elemento más
+        @Override
+        public boolean haySiguiente() {
+            return posicion < longitud();
+
+        } // Complejidad haySiguiente(): O(1)
+
+        // Devuelve el siguiente elemento
+        @Override
+        @SuppressWarnings("unchecked")
+        public T siguiente() {
+            Object elem;
+            if (posicion >= tamanioArbol) {
+                // Está en la cola: O(1)
+                elem = cola[posicion - tamanioArbol];
+            } else {
+                if (hoja == null || version != modificaciones || posicion >= finHoja) {
+                    // Cambiamos de hoja (o el árbol cambió de forma): O(log n)
+                    int[] desplazamiento = new int[2];
+                    Nodo nodo = buscarHoja(posicion, desplazamiento);
+                    hoja = nodo.datos;
+                    inicioHoja = desplazamiento[1];
+                    finHoja = inicioHoja + nodo.cantidad;
+                    version = modificaciones;
+                }
+                elem = hoja[posicion - inicioHoja];
+            }
+            posicion++;
+            return (T) elem;
+
+        } // Complejidad siguiente(): O(1) amortizado
+    }
+
+    // Construye un iterador
+    @Override
+    public IteradorLista iterador() {
+        return new IteradorLista();
+    } // Complejidad iterador(): O(1)
+
+
+    // Construye un Spliterator de la secuencia
+    @Override
+    public Spliterator<T> spliterator() {
+        return new EspliteradorRango(0, longitud());
+    } // Complejidad spliterator(): O(1)
+
+
+    // Spliterator de un rango de posiciones [posicion, fin) de la secuencia. Como el árbol sabe el tamaño de cada
+    // subárbol, dividir es partir el rango a la mitad en O(1), sin recorrer nada; al recorrer, cada lado baja por el árbol
+    // una vez por hoja, como IteradorLista. Toma la longitud al construirse, así que no ve lo que se agregue después.
+    private final class EspliteradorRango implements Spliterator<T> {
+        private int posicion; // Posición del próximo elemento
+        private final int fin;
+        private Object[] hoja; // Datos de la hoja donde está posicion (null si hay que buscarla)
+        private int inicioHoja; // Posición del primer elemento de la hoja
+        private int finHoja; // Posición siguiente al último elemento de la hoja
+        private int version; // Valor de modificaciones cuando se buscó la hoja
+
+        EspliteradorRango(int posicion, int fin) {
+            this.posicion = posicion;
+            this.fin = fin;
+            this.hoja = null;
+        }
+
+        // Recorre el próximo elemento: O(1) amortizado (O(log n) al cambiar de hoja)
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super T> accion) {
+            if (posicion >= fin) {
+                return false;
+            }
+            Object elem;
+            if (posicion >= tamanioArbol) {
+                elem = cola[posicion - tamanioArbol];
+            } else {
+                if (hoja == null || version != modificaciones || posicion < inicioHoja || posicion >= finHoja) {
+                    int[] desplazamiento = new int[2];
+                    Nodo nodo = buscarHoja(posicion, desplazamiento);
+                    hoja = nodo.datos;
+                    inicioHoja = desplazamiento[1];
+                    finHoja = inicioHoja + nodo.cantidad;
+                    version = modificaciones;
+                }
+                elem = hoja[posicion - inicioHoja];
+            }
+            posicion++;
+            accion.accept((T) elem);
+            return true;
+        }
+
+        // Separa la primera mitad del rango: O(1)
+        @Override
+        public Spliterator<T> trySplit() {
+            int mitad = (posicion + fin) >>> 1;
+            if (mitad <= posicion) {
+                return null;
+            }
+            Spliterator<T> primeraMitad = new EspliteradorRango(posicion, mitad);
+            posicion = mitad;
+            return primeraMitad;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fin - posicion;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+
+    // Estima la memoria que ocupa la secuencia (sin contar los elementos).
+    // Los slots son las entradas de los nodos y de la cola; la disposición compacta es un único array de longitud posiciones.
+    @Override
+    public ReporteMemoria memoria() {
+        ReporteMemoria reporte = new ReporteMemoria("ListaIndexada");
+        long bytesLista = EstimadorMemoria.instancia(ListaIndexada.class) + EstimadorMemoria.arrayReferencias(B);
+        reporte.bytes = bytesLista;
+        reporte.slotsAsignados = B;
+        reporte.slotsUsados = cantCola;
+        if (raiz != null) {
+            memoriaAux(raiz, reporte, EstimadorMemoria.instancia(Nodo.class) + EstimadorMemoria.arrayReferencias(B));
+        }
+        reporte.elementos = longitud();
+        reporte.bytesCompactos = EstimadorMemoria.instancia(ListaIndexada.class) + EstimadorMemoria.arrayReferencias(longitud());
+        return reporte;
+
+    } // Complejidad memoria(): O(cantidad de nodos) = O(n / MINIMO)
+
+
+    // Suma la memoria de un nodo y de sus descendientes (bytesNodo se calcula una sola vez, porque usa reflexión)
+    private void memoriaAux(Nodo nodo, ReporteMemoria reporte, long bytesNodo) {
+        reporte.nodos++;
+        reporte.slotsAsignados += B;
+        reporte.slotsUsados += nodo.cantidad;
+        reporte.bytes += bytesNodo;
+        if (!nodo.esHoja) {
+            reporte.bytes += EstimadorMemoria.arrayPrimitivos(B, 4);
+            for (int j = 0; j < nodo.cantidad; j++) {
+                memoriaAux((Nodo) nodo.datos[j], reporte, bytesNodo);
+            }
+        }
+    }
+}
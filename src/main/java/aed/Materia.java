@@ -1,12 +1,22 @@
 package aed;
 
-public class Materia {
+public class Materia implements Versionado {
 
     // Atributos de Materia
     public int[] docentes;
     public ListaEnlazada< String > nombres;
     public ListaEnlazada< DiccionarioTrie<Materia> > carreras_comunes;
-    public ListaEnlazada<String> inscriptos;
+    public volatile Secuencia<String> inscriptos; // Se reemplaza por una copia si una instantánea viva lee la actual
+    public ListaDeEspera espera; // Estudiantes que esperan lugar cuando el sistema respeta los cupos (null si nunca hubo)
+    public ConteoOrdenado.Nodo<ParCarreraMateria> enRanking; // Lugar en el ranking de SistemaSIU (null si no se activó)
+
+    // Atributos para instantáneas
+    private volatile int version; // Generación de la última escritura
+    private volatile EstadoMateria historial; // Estados anteriores que todavía leen las instantáneas vivas
+
+    // Atributo para las inscripciones optimistas
+    private volatile int sello; // Cambia después de cada escritura de la materia (ver sellar())
+    private volatile boolean cerrada; // Si el sistema ya la cerró
 
     // Invariante de representación:
 
@@ -30,10 +40,59 @@ public class Materia {
     // en la materia según su cargo, respetando la siguiente estructura: [PROF, JTP, AY1, AY2]
 
     // Lista de Strings inscriptos: cuenta con las libretas univeritarias de cada estudiante inscripto a la instancia Materia correspondiente,
-    // y como no hay dos LU iguales, cada lista de inscriptos no tiene repetidos.
+    // y como no hay dos LU iguales, cada lista de inscriptos no tiene repetidos. Puede ser cualquier Secuencia (ver TipoSecuencia).
+
+    // - espera: si no es null, los estudiantes que esperan entrar, ordenados por antigüedad. Ninguno está en inscriptos.
+
+    // - enRanking: si no es null, su conteo es inscriptos.longitud() y su elemento es el par (carrera de carreras_comunes[0],
+    // nombres[0]).
+    // Las instantáneas no la leen, así que no se guarda en los estados anteriores.
+
+    // - sello: SistemaSIU llama a sellar() al terminar cada escritura de docentes, inscriptos o espera, y cerrar() al cerrar
+    // la materia (que también cambia el sello). Si el sello leído antes de mirar la materia sigue igual, lo que se miró sigue
+    // valiendo, y si se leyó después del cierre, cerrada ya es true (ver SistemaSIU.inscribirTodas()).
+
+    // - historial: estados anteriores de la materia (docentes y lista de inscriptos), ordenados del más nuevo al más viejo,
+    // con versiones estrictamente decrecientes y menores a version. Antes de modificar docentes o inscriptos se llama a 
+    // prepararEscritura(), que guarda el estado actual si alguna instantánea viva lo necesita: la lista actual pasa al
+    // historial tal cual, y la materia sigue con una copia. Así una lista que lee una instantánea viva no se modifica más,
+    // y se puede recorrer sin lock.
+
+    // Clase para guardar un estado anterior de la materia
+    public static class EstadoMateria {
+        final int version;
+        final int[] docentes;
+        final Secuencia<String> inscriptos; // No se modifica mientras viva alguna instantánea de la versión
+        final EstadoMateria anterior;
+
+        EstadoMateria(int version, int[] docentes, Secuencia<String> inscriptos, EstadoMateria anterior) {
+            this.version = version;
+            this.docentes = docentes;
+            this.inscriptos = inscriptos;
+            this.anterior = anterior;
+        }
+
+        public int[] docentes() {
+            return docentes.clone();
+        }
+
+        public int inscriptos() {
+            return inscriptos.longitud();
+        }
+
+        // Devuelve la lista de inscriptos de la versión (sólo para leer, mientras la instantánea esté viva)
+        public Secuencia<String> listaInscriptos() {
+            return inscriptos;
+        }
+    }
 
     // Constructor de Materia
     public Materia(){
+        this(TipoSecuencia.ENLAZADA);
+    }
+
+    // Constructor de Materia, con la implementación de Secuencia dada para la lista de inscriptos
+    public Materia(TipoSecuencia tipo_inscriptos){
         
         // Los distintos nombres que tiene la materia para diferentes carreras
         this.nombres = new ListaEnlazada<>();
@@ -42,7 +101,7 @@ public class Materia {
         this.carreras_comunes = new ListaEnlazada<>();
 
         // Al principio, no hay inscriptos en la materia
-        inscriptos = new ListaEnlazada<>();
+        inscriptos = tipo_inscriptos.crear();
 
         // Inicializamos docentes con un Array de 4 posiciones, y al principio hay 0 en cada cargo
         docentes = new int[4];
@@ -51,4 +110,130 @@ public class Materia {
         }
 
     }
+
+
+    // Método a llamar antes de modificar docentes o inscriptos: si alguna instantánea viva lee el estado actual, lo guarda
+    public void prepararEscritura(ControlVersiones control) {
+
+        // Sólo escribe el sistema, así que la primera escritura de cada generación es la única que puede guardar algo: O(1)
+        if (control == null || version == control.generacion()) {
+            return;
+        }
+        synchronized (this) {
+            if (control.debeCopiar(version)) {
+                boolean estabaVacio = historial == null;
+                historial = new EstadoMateria(version, docentes.clone(), inscriptos, historial);
+                inscriptos = inscriptos.copiar();
+                if (estabaVacio) {
+                    control.registrarModificado(this);
+                }
+            }
+            version = control.generacion();
+        }
+
+    } // Complejidad prepararEscritura(): O(1) (O(E_m) la primera escritura después de tomar una instantánea, por la copia)
+
+
+    // Devuelve el sello actual de la materia, que hay que leer antes de mirar sus docentes, inscriptos o espera
+    public int sello() {
+        return sello;
+
+    } // Complejidad sello(): O(1)
+
+
+    // Método a llamar después de terminar de modificar la materia (o de cerrarla). Sólo escribe el sistema, de a uno,
+    // así que el incremento no necesita ser atómico; al ser volatile, quien lea el sello nuevo ve la escritura completa.
+    public void sellar() {
+        sello++;
+
+    } // Complejidad sellar(): O(1)
+
+
+    // Método a llamar después de sacar la materia del sistema
+    public void cerrar() {
+        cerrada = true;
+        sello++;
+
+    } // Complejidad cerrar(): O(1)
+
+
+    // Devuelve si la materia ya se cerró
+    public boolean estaCerrada() {
+        return cerrada;
+
+    } // Complejidad estaCerrada(): O(1)
+
+
+    // Devuelve el estado que tenía la materia en la versión dada
+    public synchronized EstadoMateria estadoEn(int version) {
+
+        // Si no se escribió después de la versión, el estado actual es el que se busca: O(1)
+        if (this.version <= version) {
+            return new EstadoMateria(this.version, docentes.clone(), inscriptos, null);
+        }
+
+        // Se ejecuta a lo sumo |historial| veces
+        EstadoMateria estado = historial;
+        while (estado != null && estado.version > version) {
+            estado = estado.anterior;
+        }
+        return estado;
+
+    } // Complejidad estadoEn(): O(|historial|)
+
+
+    // Descarta los estados anteriores que ya no lee ninguna instantánea viva
+    @Override
+    public synchronized boolean podarHistorial(ControlVersiones control) {
+
+        // Un estado anterior sirve para las versiones s con estado.version <= s < (version del estado siguiente)
+        ListaEnlazada<EstadoMateria> quedan = new ListaEnlazada<>();
+        int hasta = version;
+        EstadoMateria actual = historial;
+        while (actual != null) {
+            if (control.hayVivaEntre(actual.version, hasta)) {
+                quedan.agregarAdelante(actual);
+            }
+            hasta = actual.version;
+            actual = actual.anterior;
+        }
+
+        // Rearmamos el historial con los estados que quedaron
+        EstadoMateria nuevo = null;
+        ListaEnlazada<EstadoMateria>.IteradorLista iterador = quedan.iterador();
+        while (iterador.haySiguiente()) {
+            EstadoMateria estado = iterador.siguiente();
+            nuevo = new EstadoMateria(estado.version, estado.docentes, estado.inscriptos, nuevo);
+        }
+        historial = nuevo;
+        return nuevo != null;
+
+    } // Complejidad podarHistorial(): O(|historial| * |vivas|)
+
+
+    // Estima la memoria que ocupa la materia: el objeto, el array de docentes, sus tres listas y los estados anteriores
+    // guardados (con sus listas de inscriptos)
+    public ReporteMemoria memoria() {
+        ReporteMemoria reporte = new ReporteMemoria("Materia");
+
+        // O(1)
+        reporte.bytes = EstimadorMemoria.instancia(Materia.class) + EstimadorMemoria.arrayPrimitivos(docentes.length, 4);
+        reporte.bytesCompactos = reporte.bytes;
+        reporte.sumar(nombres.memoria());
+        reporte.sumar(carreras_comunes.memoria());
+        reporte.sumar(inscriptos.memoria());
+        if (espera != null) {
+            reporte.sumar(espera.memoria());
+        }
+
+        // Se ejecuta |historial| veces
+        long bytesEstado = EstimadorMemoria.instancia(EstadoMateria.class) + EstimadorMemoria.arrayPrimitivos(docentes.length, 4);
+        for (EstadoMateria estado = historial; estado != null; estado = estado.anterior) {
+            reporte.bytes += bytesEstado;
+            reporte.bytesCompactos += bytesEstado;
+            reporte.sumar(estado.inscriptos.memoria());
+        }
+        return reporte;
+
+    } // Complejidad memoria(): O(|historial|)
 }
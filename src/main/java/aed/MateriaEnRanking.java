@@ -0,0 +1,27 @@
+package aed;
+
+// Una materia del ranking de SistemaSIU.topMaterias(): la nombra por su primer nombre en su primera carrera (las
+// materias compartidas aparecen una sola vez), con su cantidad de inscriptos al momento de pedir el ranking.
+public class MateriaEnRanking {
+    String carrera;
+    String nombreMateria;
+    int inscriptos;
+
+    public MateriaEnRanking(String carrera, String nombreMateria, int inscriptos) {
+        this.carrera = carrera;
+        this.nombreMateria = nombreMateria;
+        this.inscriptos = inscriptos;
+    }
+
+    public String getCarrera() {
+        return this.carrera;
+    }
+
+    public String getNombreMateria() {
+        return this.nombreMateria;
+    }
+
+    public int getInscriptos() {
+        return this.inscriptos;
+    }
+}
@@ -0,0 +1,229 @@
+package aed;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+// Clase con las métricas de un SistemaSIU: histogramas de latencia por operación, contadores y medidores de tamaño.
+// Se crea con SistemaSIU.activarMetricas(); mientras no se active, el sistema no mide nada.
+public class MetricasSIU implements MetricasSIUMBean {
+
+    // Operaciones de SistemaSIU que se miden
+    public enum Operacion {
+        INSCRIBIR,
+        AGREGAR_DOCENTE,
+        PLANTEL_DOCENTE,
+        CERRAR_MATERIA,
+        DAR_DE_BAJA,
+        INSCRIPTOS,
+        EXCEDE_CUPO,
+        CARRERAS,
+        MATERIAS,
+        MATERIAS_INSCRIPTAS,
+        POSICION_EN_ESPERA,
+        INSCRIBIR_TODAS,
+        COMPACTAR
+    }
+
+    private final SistemaSIU sistema; // Sistema medido (para los medidores de tamaño)
+    private final HistogramaLatencias[] latencias; // Indexado por Operacion.ordinal()
+    private final LongAdder busquedas; // Búsquedas de una materia por (carrera, materia)
+    private final LongAdder fallos; // Búsquedas que no encontraron la materia
+    private final LongAdder cierres; // Materias cerradas
+
+    // Invariante de representación:
+    // - latencias tiene un histograma por cada valor de Operacion.
+    // - fallos <= busquedas.
+    // - Los contadores y los histogramas sólo crecen, y se actualizan sin locks (se pueden leer mientras el sistema escribe).
+
+    // Constructor (lo usa SistemaSIU.activarMetricas())
+    // O(1)
+    MetricasSIU(SistemaSIU sistema) {
+        this.sistema = sistema;
+        this.latencias = new HistogramaLatencias[Operacion.values().length];
+        for (int i = 0; i < latencias.length; i++) {
+            latencias[i] = new HistogramaLatencias();
+        }
+        this.busquedas = new LongAdder();
+        this.fallos = new LongAdder();
+        this.cierres = new LongAdder();
+    }
+
+
+    // Registra la latencia de una operación que empezó en el instante inicio (de System.nanoTime())
+    void registrar(Operacion operacion, long inicio) {
+
+        // O(1)
+        latencias[operacion.ordinal()].registrar(System.nanoTime() - inicio);
+
+    } // Complejidad registrar(): O(1)
+
+
+    // Registra una búsqueda de materia, y si la encontró o no
+    void registrarBusqueda(boolean encontrada) {
+        busquedas.increment();
+        if (!encontrada) {
+            fallos.increment();
+        }
+
+    } // Complejidad registrarBusqueda(): O(1)
+
+
+    // Registra el cierre de una materia
+    void registrarCierre() {
+        cierres.increment();
+
+    } // Complejidad registrarCierre(): O(1)
+
+
+    // Clase para representar una foto de las métricas en un momento dado (no cambia después de tomarla)
+    public static class Resumen {
+        private final long[][] cubetas; // Copia de los histogramas, indexada por Operacion.ordinal()
+        public final long busquedas;
+        public final long fallos;
+        public final long cierres;
+        public final long cantidadNodosTrie;
+        public final int cantidadMaterias;
+        public final int cantidadEstudiantes;
+        public final String cache; // Estado del cache de materias (null si no está activo)
+
+        Resumen(long[][] cubetas, long busquedas, long fallos, long cierres, long cantidadNodosTrie, int cantidadMaterias, int cantidadEstudiantes,
+                String cache) {
+            this.cubetas = cubetas;
+            this.busquedas = busquedas;
+            this.fallos = fallos;
+            this.cierres = cierres;
+            this.cantidadNodosTrie = cantidadNodosTrie;
+            this.cantidadMaterias = cantidadMaterias;
+            this.cantidadEstudiantes = cantidadEstudiantes;
+            this.cache = cache;
+        }
+
+        // Cantidad de veces que se ejecutó una operación
+        public long cantidad(Operacion operacion) {
+            return HistogramaLatencias.total(cubetas[operacion.ordinal()]);
+        }
+
+        // Percentil p (entre 0 y 100) de las latencias de una operación, en nanosegundos
+        public long percentilNanos(Operacion operacion, double p) {
+            return HistogramaLatencias.percentil(cubetas[operacion.ordinal()], p);
+        }
+
+        // Cantidad total de operaciones medidas
+        public long operaciones() {
+            long total = 0;
+            for (Operacion operacion : Operacion.values()) {
+                total += cantidad(operacion);
+            }
+            return total;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder res = new StringBuilder();
+            res.append(String.format("búsquedas=%d fallos=%d cierres=%d nodos=%d materias=%d estudiantes=%d%n",
+                busquedas, fallos, cierres, cantidadNodosTrie, cantidadMaterias, cantidadEstudiantes));
+            if (cache != null) {
+                res.append(cache).append(String.format("%n"));
+            }
+            for (Operacion operacion : Operacion.values()) {
+                long cantidad = cantidad(operacion);
+                if (cantidad > 0) {
+                    res.append(String.format("%s: n=%d p50=%dns p90=%dns p99=%dns max=%dns%n", operacion, cantidad,
+                        percentilNanos(operacion, 50), percentilNanos(operacion, 90), percentilNanos(operacion, 99), percentilNanos(operacion, 100)));
+                }
+            }
+            return res.toString();
+        }
+    }
+
+
+    // Toma una foto de las métricas. Los medidores de tamaño recorren las carreras del sistema.
+    public Resumen resumen() {
+        long[][] cubetas = new long[latencias.length][];
+        for (int i = 0; i < latencias.length; i++) {
+            cubetas[i] = latencias[i].copiarCubetas();
+        }
+        CacheMaterias cache = sistema.cache();
+        return new Resumen(cubetas, busquedas.sum(), fallos.sum(), cierres.sum(), 
+            sistema.cantidadNodosTries(), sistema.cantidadMaterias(), sistema.cantidadEstudiantes(),
+            cache == null ? null : cache.toString());
+
+    } // Complejidad resumen(): O(|C| * |c|) (ver SistemaSIU.cantidadNodosTries())
+
+
+    // Registra las métricas como MBean en el servidor JMX de la plataforma, con el nombre "aed:type=SistemaSIU,name=<nombre>"
+    public ObjectName registrarJMX(String nombre) throws JMException {
+        ObjectName objeto = new ObjectName("aed:type=SistemaSIU,name=" + ObjectName.quote(nombre));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objeto);
+        return objeto;
+    }
+
+
+    // Atributos y operaciones de MetricasSIUMBean
+
+    @Override
+    public long getOperaciones() {
+        return resumen().operaciones();
+    }
+
+    @Override
+    public long getBusquedas() {
+        return busquedas.sum();
+    }
+
+    @Override
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    @Override
+    public long getCierres() {
+        return cierres.sum();
+    }
+
+    @Override
+    public long getCantidadNodosTrie() {
+        return sistema.cantidadNodosTries();
+    }
+
+    @Override
+    public int getCantidadMaterias() {
+        return sistema.cantidadMaterias();
+    }
+
+    @Override
+    public int getCantidadEstudiantes() {
+        return sistema.cantidadEstudiantes();
+    }
+
+    @Override
+    public long getCacheAciertos() {
+        CacheMaterias cache = sistema.cache();
+        return cache == null ? 0 : cache.aciertos();
+    }
+
+    @Override
+    public long getCacheFallos() {
+        CacheMaterias cache = sistema.cache();
+        return cache == null ? 0 : cache.fallos();
+    }
+
+    @Override
+    public double getCacheTasaDeAciertos() {
+        CacheMaterias cache = sistema.cache();
+        return cache == null ? 0 : cache.tasaDeAciertos();
+    }
+
+    @Override
+    public long percentilNanos(String operacion, double p) {
+        return HistogramaLatencias.percentil(latencias[Operacion.valueOf(operacion).ordinal()].copiarCubetas(), p);
+    }
+
+    @Override
+    public String getResumen() {
+        return resumen().toString();
+    }
+}
@@ -0,0 +1,39 @@
+package aed;
+
+// Interfaz JMX de MetricasSIU (el nombre tiene que ser el de la clase seguido de MBean)
+public interface MetricasSIUMBean {
+
+    public long getOperaciones();
+
+    public long getBusquedas();
+
+    public long getFallos();
+
+    public long getCierres();
+
+    public long getCantidadNodosTrie();
+
+    public int getCantidadMaterias();
+
+    public int getCantidadEstudiantes();
+
+    public long getCacheAciertos();
+
+    public long getCacheFallos();
+
+    public double getCacheTasaDeAciertos();
+
+    /**
+     * Devuelve el percentil p (entre 0 y 100) de las latencias de una operación en nanosegundos.
+     * La operación es el nombre de un valor de MetricasSIU.Operacion, por ejemplo "INSCRIBIR".
+     * 
+     */
+    public long percentilNanos(String operacion, double p);
+
+    /**
+     * Devuelve un resumen de todas las métricas en texto.
+     * 
+     */
+    public String getResumen();
+
+}
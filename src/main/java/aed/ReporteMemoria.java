@@ -0,0 +1,105 @@
+package aed;
+
+// Clase para representar el uso de memoria estimado de una estructura: nodos, slots de hijos y bytes,
+// y cuánto ocuparía con una disposición compacta de los nodos
+public class ReporteMemoria {
+
+    public final String nombre; // Qué estructura describe el reporte
+    public long nodos; // Cantidad de nodos (de Trie o de lista)
+    public long slotsAsignados; // Slots de hijos reservados en los arrays de los nodos
+    public long slotsUsados; // Slots de hijos distintos de null
+    public long elementos; // Cantidad de elementos (claves del Trie o elementos de la lista)
+    public long bytes; // Bytes estimados que retiene la estructura
+    public long bytesCompactos; // Bytes estimados con nodos compactos (ver cada estructura)
+    public long bytesFueraDelHeap; // Bytes reservados fuera del heap (no incluidos en bytes)
+    private ListaEnlazada<ReporteMemoria> partes; // Reportes de las estructuras que la componen (ya sumados)
+
+    // Invariante de representación:
+    // - slotsUsados <= slotsAsignados, y todos los valores son mayores o iguales a cero.
+    // - Los valores incluyen los de las partes.
+    // - Los bytes cuentan sólo la estructura (nodos, arrays, listas): no los objetos guardados (Strings, Integer) que 
+    // comparten con quien los insertó.
+
+    // Constructor de un reporte vacío
+    public ReporteMemoria(String nombre) {
+        this.nombre = nombre;
+        this.partes = new ListaEnlazada<>();
+    }
+
+
+    // Constructor de un reporte con otro nombre y los mismos valores que otro reporte
+    public ReporteMemoria(String nombre, ReporteMemoria valores) {
+        this(nombre);
+        sumar(valores);
+        ListaEnlazada<ReporteMemoria>.IteradorLista iterador = valores.partes.iterador();
+        while (iterador.haySiguiente()) {
+            partes.agregarAtras(iterador.siguiente());
+        }
+    }
+
+
+    // Suma otro reporte a este, y lo guarda como una de sus partes
+    public void agregarParte(ReporteMemoria parte) {
+        sumar(parte);
+        partes.agregarAtras(parte);
+
+    } // Complejidad agregarParte(): O(1)
+
+
+    // Suma los valores de otro reporte a este, sin guardarlo como parte
+    public void sumar(ReporteMemoria otro) {
+        nodos += otro.nodos;
+        slotsAsignados += otro.slotsAsignados;
+        slotsUsados += otro.slotsUsados;
+        elementos += otro.elementos;
+        bytes += otro.bytes;
+        bytesCompactos += otro.bytesCompactos;
+        bytesFueraDelHeap += otro.bytesFueraDelHeap;
+
+    } // Complejidad sumar(): O(1)
+
+
+    // Devuelve las partes del reporte
+    public ListaEnlazada<ReporteMemoria> partes() {
+        return partes;
+
+    } // Complejidad partes(): O(1)
+
+
+    // Bytes que se ahorrarían con nodos compactos
+    public long ahorroCompacto() {
+        return bytes - bytesCompactos;
+
+    } // Complejidad ahorroCompacto(): O(1)
+
+
+    // Fracción de los slots asignados que están en uso (1 si no hay slots)
+    public double ocupacionSlots() {
+        return slotsAsignados == 0 ? 1 : (double) slotsUsados / slotsAsignados;
+
+    } // Complejidad ocupacionSlots(): O(1)
+
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+        agregarTexto(res, "");
+        return res.toString();
+
+    } // Complejidad toString(): O(cantidad de partes)
+
+
+    // Agrega el texto del reporte y de sus partes, con sangría
+    private void agregarTexto(StringBuilder res, String sangria) {
+        res.append(String.format("%s%s: %d bytes (compacto: %d, ahorro %d), %d nodos, %d elementos, slots %d/%d (%.2f%%)",
+            sangria, nombre, bytes, bytesCompactos, ahorroCompacto(), nodos, elementos, slotsUsados, slotsAsignados, 100 * ocupacionSlots()));
+        if (bytesFueraDelHeap > 0) {
+            res.append(String.format(", %d bytes fuera del heap", bytesFueraDelHeap));
+        }
+        res.append(String.format("%n"));
+        ListaEnlazada<ReporteMemoria>.IteradorLista iterador = partes.iterador();
+        while (iterador.haySiguiente()) {
+            iterador.siguiente().agregarTexto(res, sangria + "  ");
+        }
+    }
+}
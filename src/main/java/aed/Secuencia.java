@@ -1,4 +1,14 @@
-public interface Secuencia<T> {
+package aed;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public interface Secuencia<T> extends Iterable<T> {
        /**
      * Devuelve el largo de la secuencia.
      * 
@@ -36,9 +46,77 @@ public interface Secuencia<T> {
      */
     public void modificarPosicion(int indice, T valor);
 
+    /**
+     * Elimina en una sola pasada los elementos que cumplen
+     * la condicion, y retorna cuantos elimino.
+     * 
+     */
+    public int eliminarSi(Predicate<? super T> condicion);
+
     /**
      * Retorna un lista con los mismos elementos
      * 
      */
-    public ListaEnlazada<T> copiar();
+    public Secuencia<T> copiar();
+
+    /**
+     * Retorna un iterador que recorre la secuencia desde el principio.
+     * 
+     */
+    public Iterador<T> iterador();
+
+    /**
+     * Retorna una estimación de la memoria que ocupa la secuencia
+     * (sin contar los elementos).
+     * 
+     */
+    public ReporteMemoria memoria();
+
+    /**
+     * Retorna un Iterator de Java sobre el iterador de la secuencia,
+     * para poder recorrerla con for-each.
+     * 
+     */
+    @Override
+    public default Iterator<T> iterator() {
+        Iterador<T> iterador = iterador();
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return iterador.haySiguiente();
+            }
+
+            @Override
+            public T next() {
+                if (!iterador.haySiguiente()) {
+                    throw new NoSuchElementException();
+                }
+                return iterador.siguiente();
+            }
+        };
+    }
+
+    /**
+     * Retorna un Spliterator ordenado y con tamaño conocido.
+     * Por defecto se parte copiando lotes del iterador a arrays
+     * (de a 1024 elementos o más, así que una secuencia chica no se
+     * reparte entre hilos). Las listas lo redefinen para partirse
+     * según su estructura: ListaEnlazada por lotes, ListaDesenrollada
+     * por bloques, ListaIndexada por posiciones y ListaFueraDelHeap
+     * por rangos de bytes.
+     * 
+     */
+    @Override
+    public default Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), longitud(), Spliterator.ORDERED);
+    }
+
+    /**
+     * Retorna un Stream de los elementos de la secuencia,
+     * secuencial o paralelo.
+     * 
+     */
+    public default Stream<T> flujo(boolean paralelo) {
+        return StreamSupport.stream(spliterator(), paralelo);
+    }
 }
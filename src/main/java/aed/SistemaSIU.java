@@ -1,10 +1,64 @@
 package aed;
 
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+
 public class SistemaSIU {
 
     // Atributos del Sistema
-    DiccionarioTrie<Integer> estudiantes;
+    DiccionarioTrie<EstadoEstudiante> estudiantes; // Libreta -> su cantidad de materias (y su nodo en el índice)
     DiccionarioTrie<DiccionarioTrie<Materia>> carreras;
+    ControlVersiones control; // Versiones para las instantáneas de lectura
+    int cantMaterias; // Cantidad de materias (distintas) abiertas
+    int cantEstudiantes; // Cantidad de estudiantes
+    volatile MetricasSIU metricas; // Métricas de las operaciones (null si no se activaron)
+    TipoSecuencia tipoInscriptos; // Implementación de las listas de inscriptos de las materias nuevas
+    volatile IndiceCompuesto indicePlano; // Índice de un solo Trie con claves "carrera␟materia" (null si no se activó)
+    volatile CacheMaterias cache; // Cache de la resolución (carrera, materia) -> Materia (null si no se activó)
+    boolean cupos; // Si inscribir respeta el cupo de cada materia (los que no entran quedan en su lista de espera)
+    ConteoOrdenado<ParCarreraMateria> ranking; // Materias ordenadas por cantidad de inscriptos (null si no se activó)
+    ConteoOrdenado<String> estudiantesPorMaterias; // Estudiantes por cantidad de materias inscriptas (null si no se activó)
+    volatile FiltroLibretas filtroLibretas; // Filtro de Bloom de las libretas de estudiantes, delante del Trie
+    volatile CatalogoPerezoso catalogo; // Carreras todavía sin materializar (null si el catálogo está completo)
+    SistemaSIU registro; // Sistema con los estudiantes, compartido con otros fragmentos (null si tiene los suyos)
+
+    // Resultado de materiasInscriptas() para una libreta que no es de ningún estudiante
+    public static final int ESTUDIANTE_DESCONOCIDO = -1;
+
+    // Capacidad inicial del filtro de libretas cuando no se sabe cuántos estudiantes habrá (se duplica al llenarse)
+    static final int CAPACIDAD_INICIAL_FILTRO = 1024;
+
+    // Clase para el valor de cada estudiante en el Trie de estudiantes: su cantidad de materias inscriptas y, si el
+    // índice de estudiantes por cantidad de materias está activo, su nodo en ese índice (así moverlo de cubeta no busca
+    // la libreta en otro Trie). Es inmutable, como el Integer que reemplaza: cada cambio inserta un estado nuevo, y las
+    // instantáneas siguen viendo el suyo. Sin índice, los estados de las cantidades chicas se comparten.
+    static final class EstadoEstudiante {
+        private static final EstadoEstudiante[] SIN_NODO = new EstadoEstudiante[128];
+        static {
+            for (int i = 0; i < SIN_NODO.length; i++) {
+                SIN_NODO[i] = new EstadoEstudiante(i, null);
+            }
+        }
+
+        final int materias;
+        final ConteoOrdenado.Nodo<String> nodo; // null si el índice no está activo
+
+        private EstadoEstudiante(int materias, ConteoOrdenado.Nodo<String> nodo) {
+            this.materias = materias;
+            this.nodo = nodo;
+        }
+
+        // Devuelve el estado con la cantidad y el nodo dados (sin nodo y con menos de 128 materias, uno compartido)
+        static EstadoEstudiante de(int materias, ConteoOrdenado.Nodo<String> nodo) {
+            if (nodo != null || materias < 0 || materias >= SIN_NODO.length) {
+                return new EstadoEstudiante(materias, nodo);
+            }
+            return SIN_NODO[materias];
+
+        } // Complejidad de(): O(1)
+    }
 
     // Invariante de representacion:
 
@@ -40,6 +94,55 @@ public class SistemaSIU {
     // de claves de cada diccionario de SistemaSIU.carreras (es decir, la cantidad de nombres de cada materia por el número total de 
     // materias será igual a la cantidad de materias de cada carrera por el número total de carreras).
 
+    // - Instantáneas: todos los diccionarios del sistema comparten el ControlVersiones control. Las escrituras (inscribir, 
+    // agregarDocente, cerrarMateria) se hacen de a una (synchronized) y nunca modifican un nodo o estado de Materia que lea 
+    // una instantánea viva: lo copian o guardan su estado anterior (ver DiccionarioTrie y Materia).
+    // Las consultas no toman el lock: los Tries publican cada cambio con una escritura volatile (ver DiccionarioTrie), así
+    // que una consulta que encuentra un estudiante, una carrera o una materia la ve tal como quedó al insertarla.
+
+    // - cantMaterias es la cantidad de instancias distintas de Materia alcanzables desde carreras, y cantEstudiantes 
+    // la cantidad de claves de estudiantes.
+
+    // - Cupos: si cupos es true, ninguna inscripción hace que una materia supere su cupo (ver cupo()): los estudiantes que no
+    // entran quedan en la lista de espera de la materia, sin sumar materias inscriptas, y entran por antigüedad cuando se 
+    // libera o se agrega lugar. Si una materia tiene alguien en espera, está llena (inscriptos >= cupo).
+
+    // - Índice plano: si indicePlano no es null, tiene exactamente los pares (carrera, materia) de carreras, con las mismas
+    // instancias de Materia (ver IndiceCompuesto). cerrarMateria saca de él todos los nombres de la materia.
+
+    // - Cache: si cache no es null, cada par (carrera, materia) que guarda resuelve a la misma Materia que los Tries.
+    // cerrarMateria invalida todas las entradas de la materia cerrada (sus nombres en todas sus carreras).
+
+    // - Sellos: toda escritura de una materia (inscribir, agregarDocente, darDeBaja, cerrarMateria, inscribirTodas) cambia su
+    // sello al terminar (ver Materia.sellar()). inscribirTodas() valida sin lock y sólo aplica, con el lock, si los sellos de
+    // las materias que miró siguen iguales; así nunca aplica una validación hecha sobre un estado que ya cambió.
+
+    // - Ranking: si ranking no es null, tiene un nodo por cada materia abierta (Materia.enRanking), con conteo igual a su
+    // cantidad de inscriptos. Toda escritura que cambia inscriptos lo actualiza, y cerrarMateria saca el nodo.
+
+    // - Estudiantes por cantidad de materias: si estudiantesPorMaterias no es null, tiene un nodo por cada estudiante
+    // (estudiantes[LU].nodo), con conteo igual a estudiantes[LU].materias. Si es null, estudiantes[LU].nodo es null. Toda
+    // escritura que cambia la cantidad de materias de un estudiante lo mueve de cubeta.
+
+    // - Catálogo perezoso: si catalogo no es null, carreras tiene sólo las carreras ya materializadas, con todas sus
+    // materias, y el resto se arma la primera vez que se busca (ver CatalogoPerezoso). Las materias compartidas son la
+    // misma instancia en todas sus carreras, materializadas o no, y cantMaterias cuenta también las que no se crearon.
+    // Las operaciones que recorren todas las carreras (inscripcionesTotales, el ranking, el índice plano, las
+    // instantáneas y la exportación) materializan todo antes; cuando no queda nada pendiente, catalogo vuelve a null.
+
+    // - Filtro de libretas: toda clave de estudiantes está en filtroLibretas (ver FiltroLibretas), así que una libreta
+    // que el filtro rechaza no es de ningún estudiante y no hace falta buscarla en el Trie. Como los estudiantes no se
+    // eliminan, esto vale también para las versiones de las instantáneas.
+
+    // - Registro compartido: si registro no es null (un fragmento de SistemaSIUFragmentado), estudiantes está vacío y los
+    // estudiantes, con sus cantidades de materias, son los de registro: se buscan ahí y se suman con el lock de registro
+    // (ver sumarMateriasCompartidas()). registro nunca llama a un fragmento, así que los locks se toman siempre en el orden
+    // fragmento -> registro. El índice por cantidad de materias y las instantáneas de estudiantes van en registro.
+
+    // - Métricas: si metricas no es null, cada operación pública registra su latencia y cada búsqueda de materia se cuenta 
+    // (ver MetricasSIU). Si es null, sólo se paga una comparación por operación. Cada operación lee metricas una sola
+    // vez, al empezar, así que si se desactivan a la mitad no encuentra null después de haber visto que estaban activas.
+
 
     // - Referencia para complejidades:
 
@@ -54,6 +157,8 @@ public class SistemaSIU {
     // E: cantidad total de estudiantes
     // E_m: cantidad de estudiantes de una materia m
     // |estudiante|: longitud de libreta universitaria (acotada)
+    // W_m: cantidad de estudiantes en la lista de espera de una materia m
+    // k: cantidad de pares carrera - materia de una inscripción de inscribirTodas()
     
     // - Complejidades de DiccionarioTrie:
     // DiccionarioTrie(): O(1)
@@ -63,6 +168,11 @@ public class SistemaSIU {
     // pertenece(): O(|clave|)
     // eliminar(): O(|clave|)
     // obtenerClaves(): O(n*|clave|)
+    // cantidadNodos(), cantidadClaves(): O(1)
+    // recorrer sus claves o valores (for-each, Spliterator, flujoDeClaves(), flujoDeValores()): O(n*|clave|)
+    // buscar(primera, separador, segunda): O(|primera| + |segunda|), sin armar la clave
+    // flujoDeClavesConPrefijo(): O(|prefijo|) para llegar, y O(k*|clave|) para recorrer las k claves con el prefijo
+    // compactar(): O(cantidad de nodos)
 
     // - Complejidades de ListaEnlazada:
     // ListaEnlazada(): O(1)
@@ -72,6 +182,54 @@ public class SistemaSIU {
     // eliminar(): O(n)
     // modificarPosicion(): O(n)
     // iterador(), haySiguiente(), siguiente(): O(1)
+    // eliminarActual(), insertarDespues() (del iterador): O(1)
+    // eliminarSi(): O(n)
+
+    // - Complejidades de ListaEnteros (array circular de int, para datos numéricos sin boxing):
+    // longitud(), obtener(), modificarPosicion(), iterador(), haySiguiente(), siguiente(): O(1)
+    // agregarAdelante(), agregarAtras(): O(1) amortizado
+    // agregarTodos(), toArray(): O(cantidad de elementos copiados)
+    // eliminar(i): O(min(i, n - i))
+
+    // - Complejidades de ListaDesenrollada (bloques de B elementos, opcional para los inscriptos):
+    // agregarAtras(), longitud(), iterador(), haySiguiente(), siguiente(): O(1)
+    // agregarAdelante(): O(B)
+    // obtener(), modificarPosicion(): O(n / B)
+    // eliminar(): O(n / B + B)
+    // eliminarSi(): O(n)
+
+    // - Complejidades de ListaIndexada (árbol B de bloques con tamaños de subárboles, opcional para los inscriptos):
+    // longitud(), iterador(), haySiguiente(): O(1)
+    // agregarAtras(), siguiente(): O(1) amortizado
+    // agregarAdelante(), obtener(), eliminar(), modificarPosicion(): O(log n)
+    // eliminarSi(): O(n)
+
+    // - Complejidades de ListaFueraDelHeap (libretas empaquetadas en un ByteBuffer directo, opcional para los inscriptos):
+    // longitud(), iterador(), haySiguiente(), siguiente(): O(1)
+    // agregarAtras(): O(1) amortizado
+    // agregarAdelante(), obtener(), eliminar(), modificarPosicion(), eliminarSi(): O(n)
+
+    // - Complejidades de CacheMaterias (CLOCK de capacidad fija K, para la resolución de materias):
+    // buscar(), guardar(): O(1) esperado (más la comparación de las Strings si no son las mismas instancias)
+    // invalidar(): O(K)
+
+    // - Complejidades de ConteoOrdenado (cubetas de elementos con el mismo conteo, para el ranking de materias):
+    // sumar(): O(|delta|), O(1) para delta = ±1
+    // eliminar(), primero(), siguiente(): O(1)
+
+    // - Complejidades de CatalogoPerezoso (diccionarios de materias que se arman la primera vez que se pide la carrera):
+    // CatalogoPerezoso(): O(|C| * |M_c| * |c|), sin crear diccionarios de materias ni materias
+    // materializar(): O(|c|) si ya estaba, y O(|M_c| * |N_m| * (|c| + |n|)) la primera vez
+
+    // - Complejidades de FiltroLibretas (filtro de Bloom de las libretas, delante del Trie de estudiantes):
+    // agregar(), puedeEstar(): O(|estudiante|) = O(1)
+
+    // - Complejidades de ListaDeEspera (treap por antigüedad con tamaños de subárboles, para los cupos):
+    // longitud(): O(1)
+    // agregar(), primero(), sacarPrimero(), eliminar(), posicion(): O(log W_m) esperado
+
+    // Con instantáneas vivas, la primera escritura de cada nodo o Materia después de tomarlas suma O(1) (copia de un nodo 
+    // o del estado de la materia), así que las complejidades no cambian.
 
     
     enum CargoDocente{
@@ -84,15 +242,22 @@ public class SistemaSIU {
     
     // Método para crear sistema, con la informacion de las materias de cada carrera y los estudiantes
     public SistemaSIU(InfoMateria[] infoMaterias, String[] libretasUniversitarias){
+        this(infoMaterias, libretasUniversitarias, TipoSecuencia.ENLAZADA);
+    }
+
+
+    // Método para crear sistema, eligiendo la implementación de las listas de inscriptos de las materias
+    public SistemaSIU(InfoMateria[] infoMaterias, String[] libretasUniversitarias, TipoSecuencia tipo_inscriptos){
+        this(tipo_inscriptos);
 
-        estudiantes = new DiccionarioTrie<>();
-        carreras = new DiccionarioTrie<>();
+        // Sabiendo cuántos estudiantes hay, el filtro se arma una sola vez con el tamaño justo: O(E)
+        filtroLibretas = new FiltroLibretas(libretasUniversitarias.length);
 
         // Se ejecuta E veces (= longitud de libretasUniversitarias)
         for (String estudiante: libretasUniversitarias){
 
             // O(|estudiante|), pero al estar acotada |estudiante|, es O(1)
-            estudiantes.insertar(estudiante, 0); // en principio, ningun alumno esta inscripto a ninguna materia
+            agregarEstudiante(estudiante);
 
         } // E * O(1) = O(E)
 
@@ -100,7 +265,7 @@ public class SistemaSIU {
         for(InfoMateria info: infoMaterias){
 
             // O(1)
-            Materia nueva_materia = new Materia(); 
+            Materia nueva_materia = agregarMateria();
 
             // O(1)
             ParCarreraMateria[] pares_carrera_materia = info.getParesCarreraMateria();
@@ -108,101 +273,599 @@ public class SistemaSIU {
             // Se ejecuta |N_m| veces
             for (ParCarreraMateria carrera_materia: pares_carrera_materia){
 
-                // O(1)
-                String nombre_materia = carrera_materia.getNombreMateria();
-                nueva_materia.nombres.agregarAtras(nombre_materia);
+                // O(|c|) + O(|n|)
+                agregarNombre(nueva_materia, carrera_materia.getCarrera(), carrera_materia.getNombreMateria());
+
+            }
+
+        } // |M| * |N_m| * ( O(1) + O(|c|) + O(|n|) ) =
+        // O( |M| * |N_m| * ( |c| + |n| ) ) =
+        // O( |M| * |N_m| * |c| + |M| * |N_m| * |n|)
+        // Notemos que |C| * |M_c| = |M| * |N_m|, es decir, la sumatoria de la cantidad de materias de cada carrera 
+        // es igual a la sumatoria de la cantidad de nombres de cada materia (dado que cada nombre corresponde a una carrera diferente)
+        // Entonces O( |M| * |N_m| * |c| + |M| * |N_m| * |n|) = O( |C| * |M_c| * |c| + |M| * |N_m| * |n| )
+
+    } // Complejidad SistemaSIU():  O( |C| * |M_c| * |c| + |M| * |N_m| * |n| + E)
 
-                // O(1)
-                String nombre_carrera = carrera_materia.getCarrera();
 
-                // O(|c|)
-                if (this.carreras.pertenece(nombre_carrera)){
+    // Método para crear el sistema con el catálogo perezoso: al principio sólo se indexan las carreras de infoMaterias, y el
+    // diccionario de materias de cada carrera (con sus materias) se arma la primera vez que se la busca. Conviene cuando
+    // se usan pocas carreras: el tiempo de construcción y la memoria dependen de las carreras que se usan.
+    public static SistemaSIU conCatalogoPerezoso(InfoMateria[] infoMaterias, String[] libretasUniversitarias){
+        return conCatalogoPerezoso(infoMaterias, libretasUniversitarias, TipoSecuencia.ENLAZADA);
+    }
 
-                    // O(|c|) + O(|n|)
-                    this.carreras.buscar(nombre_carrera).insertar(nombre_materia, nueva_materia);
 
-                } else {
+    // Igual que el anterior, eligiendo la implementación de las listas de inscriptos de las materias
+    public static SistemaSIU conCatalogoPerezoso(InfoMateria[] infoMaterias, String[] libretasUniversitarias,
+                                                 TipoSecuencia tipo_inscriptos){
+        SistemaSIU sistema = new SistemaSIU(tipo_inscriptos);
 
-                    DiccionarioTrie<Materia> materias_de_carrera = new DiccionarioTrie<>();
+        // O(E)
+        sistema.filtroLibretas = new FiltroLibretas(libretasUniversitarias.length);
+        for (String estudiante: libretasUniversitarias){
+            sistema.agregarEstudiante(estudiante);
+        }
 
-                    // O(|c|) + O(|n|)
-                    materias_de_carrera.insertar(nombre_materia, nueva_materia);
-                    this.carreras.insertar(nombre_carrera, materias_de_carrera);
-                }
+        // Sólo el índice de carreras: O(|C| * |M_c| * |c|)
+        sistema.catalogo = new CatalogoPerezoso(infoMaterias, sistema.control, tipo_inscriptos);
+        sistema.cantMaterias = infoMaterias.length;
+        return sistema;
+
+    } // Complejidad conCatalogoPerezoso(): O(|C| * |M_c| * |c| + E)
+
+
+    // Método para crear un fragmento de SistemaSIUFragmentado: tiene sólo las materias de infoMaterias, y los estudiantes
+    // son los de registro, compartido por todos los fragmentos (no guarda otra copia de las libretas)
+    static SistemaSIU conRegistro(InfoMateria[] infoMaterias, SistemaSIU registro, TipoSecuencia tipo_inscriptos){
+        SistemaSIU fragmento = new SistemaSIU(infoMaterias, new String[0], tipo_inscriptos);
+        fragmento.registro = registro;
+        return fragmento;
+
+    } // Complejidad conRegistro(): O(|C| * |M_c| * |c| + |M| * |N_m| * |n|)
 
-                // O(1) + O(|c|) = O(|c|)
-                nueva_materia.carreras_comunes.agregarAtras(carreras.buscar(nombre_carrera));
 
+    // Constructor del sistema vacío, para cargarlo de a poco con agregarEstudiante(), agregarMateria() y agregarNombre()
+    // (lo usan el constructor público y CargadorSIU, que lee los datos de archivos sin armar los Arrays)
+    SistemaSIU(TipoSecuencia tipo_inscriptos){
+        control = new ControlVersiones();
+        estudiantes = new DiccionarioTrie<>(control);
+        carreras = new DiccionarioTrie<>(control);
+        filtroLibretas = new FiltroLibretas(CAPACIDAD_INICIAL_FILTRO);
+        tipoInscriptos = tipo_inscriptos;
+        cantMaterias = 0;
+        cantEstudiantes = 0;
+
+    } // Complejidad: O(1)
+
+
+    // Método auxiliar de la construcción: agrega un estudiante, sin materias inscriptas
+    void agregarEstudiante(String estudiante){
+        if (registro != null) {
+            throw new UnsupportedOperationException("Los estudiantes del fragmento están en su registro");
+        }
+
+        // O(|estudiante|) = O(1)
+        if (!estudiantes.pertenece(estudiante)) {
+            // Si el filtro se llenó, lo rearmamos con el doble de capacidad: O(E) cada vez que se duplica, O(1) amortizado
+            if (filtroLibretas.estaLleno()) {
+                agrandarFiltro();
             }
+            filtroLibretas.agregar(estudiante);
 
-        } // |M| * |N_m| * ( O(1) + O(1) + O(|c|) + O(|c|) + O(|c|) + O(|n|) ) =
-        // O( |M| * |N_m| * ( |c| + |n| ) ) =
-        // O( |M| * |N_m| * |c| + |M| * |N_m| * |n|)
-        // Notemos que |C| * |M_c| = |M| * |N_m|, es decir, la sumatoria de la cantidad de materias de cada carrera 
-        // es igual a la sumatoria de la cantidad de nombres de cada materia (dado que cada nombre corresponde a una carrera diferente)
-        // Entonces O( |M| * |N_m| * |c| + |M| * |N_m| * |n|) = O( |C| * |M_c| * |c| + |M| * |N_m| * |n| )
+            // en principio, ningun alumno esta inscripto a ninguna materia
+            ConteoOrdenado.Nodo<String> nodo = estudiantesPorMaterias == null ? null : estudiantesPorMaterias.agregar(estudiante, 0);
+            estudiantes.insertar(estudiante, EstadoEstudiante.de(0, nodo));
+            cantEstudiantes++;
+        }
+
+    } // Complejidad agregarEstudiante(): O(1) amortizado
 
-    } // Complejidad SistemaSIU():  O( |C| * |M_c| * |c| + |M| * |N_m| * |n| + E)
 
+    // Método auxiliar para rearmar el filtro de libretas con el doble de capacidad (los contadores empiezan de cero)
+    private void agrandarFiltro(){
+        FiltroLibretas nuevo = new FiltroLibretas(2 * Math.max(filtroLibretas.capacidad(), cantEstudiantes));
 
-    // Método para inscribir a un estudiante en una materia, dada también la carrera
-    public void inscribir(String estudiante, String carrera, String materia){
+        // Se ejecuta E veces
+        for (String estudiante : estudiantes) {
+            nuevo.agregar(estudiante);
+        }
+        filtroLibretas = nuevo;
+
+    } // Complejidad agrandarFiltro(): O(E)
+
+
+    // Método auxiliar que devuelve el estado de un estudiante (su cantidad de materias), o null si la libreta no es de
+    // ningún estudiante. El filtro descarta casi todas las libretas desconocidas sin bajar por el Trie.
+    private EstadoEstudiante buscarEstudiante(String estudiante){
+        if (registro != null) {
+            return registro.buscarEstudiante(estudiante);
+        }
 
         // O(|estudiante|) = O(1)
-        int valor_anterior = estudiantes.buscar(estudiante);
+        FiltroLibretas filtro = filtroLibretas;
+        if (!filtro.puedeEstar(estudiante)) {
+            return null;
+        }
 
         // O(|estudiante|) = O(1)
-        estudiantes.insertar(estudiante, valor_anterior+1);
+        EstadoEstudiante estado = estudiantes.buscar(estudiante);
+        if (estado == null) {
+            filtro.registrarFalsoPositivo();
+        }
+        return estado;
 
-        // O(|c|) + O(|m|)
-        Materia materia_obj = this.carreras.buscar(carrera).buscar(materia);
+    } // Complejidad buscarEstudiante(): O(1)
+
+
+    // Método para saber si una libreta es de algún estudiante del sistema
+    public boolean estudianteRegistrado(String estudiante){
+        return buscarEstudiante(estudiante) != null;
+
+    } // Complejidad estudianteRegistrado(): O(1)
+
+
+    // Método auxiliar de la construcción: crea una materia nueva, todavía sin nombres
+    Materia agregarMateria(){
+        cantMaterias++;
+        return new Materia(tipoInscriptos);
+
+    } // Complejidad agregarMateria(): O(1)
+
+
+    // Método auxiliar de la construcción: agrega a una materia su nombre en una carrera (creando la carrera si no existe)
+    void agregarNombre(Materia nueva_materia, String nombre_carrera, String nombre_materia){
 
         // O(1)
-        materia_obj.inscriptos.agregarAtras(estudiante);
+        nueva_materia.nombres.agregarAtras(nombre_materia);
+
+        // O(|c|)
+        DiccionarioTrie<Materia> materias_de_carrera = this.carreras.buscar(nombre_carrera);
+        if (materias_de_carrera == null){
+            materias_de_carrera = new DiccionarioTrie<>(control);
+
+            // O(|c|)
+            this.carreras.insertar(nombre_carrera, materias_de_carrera);
+        }
+
+        // O(|n|)
+        materias_de_carrera.insertar(nombre_materia, nueva_materia);
+
+        // O(1)
+        nueva_materia.carreras_comunes.agregarAtras(materias_de_carrera);
+
+    } // Complejidad agregarNombre(): O(|c| + |n|)
+
+
+    // Método auxiliar que devuelve el diccionario de materias de una carrera (null si no existe), materializándolo si
+    // el catálogo es perezoso y todavía no se pidió
+    private DiccionarioTrie<Materia> materiasDe(String carrera){
+
+        // El catálogo se lee antes que el Trie: si se leyera después, otro hilo podría publicar la carrera y anular el
+        // catálogo entre las dos lecturas, y una carrera que existe parecería no existir
+        CatalogoPerezoso catalogo_actual = catalogo;
+
+        // O(|c|)
+        DiccionarioTrie<Materia> materias_carrera = this.carreras.buscar(carrera);
+        if (materias_carrera == null && catalogo_actual != null) {
+            materias_carrera = materializar(carrera);
+        }
+        return materias_carrera;
+
+    } // Complejidad materiasDe(): O(|c|) (la primera vez, con el catálogo perezoso, O(|M_c| * |N_m| * (|c| + |n|)))
+
+
+    // Método auxiliar para materializar una carrera del catálogo perezoso. Con el lock, así que dos lectores que piden la
+    // misma carrera la arman una sola vez, y no se mezcla con las escrituras.
+    private synchronized DiccionarioTrie<Materia> materializar(String carrera){
+        CatalogoPerezoso catalogo_actual = catalogo;
+        if (catalogo_actual == null) {
+            return this.carreras.buscar(carrera);
+        }
+
+        // O(|c|) si otro hilo ya la materializó, O(|M_c| * |N_m| * (|c| + |n|)) si no
+        DiccionarioTrie<Materia> materias_carrera = catalogo_actual.materializar(carrera, this.carreras);
+        if (catalogo_actual.pendientes() == 0) {
+            catalogo = null;
+        }
+        return materias_carrera;
+
+    } // Complejidad materializar(): O(|M_c| * |N_m| * (|c| + |n|))
+
+
+    // Método para materializar todas las carreras que falten del catálogo perezoso (no hace nada si no hay pendientes)
+    public synchronized void materializarCatalogo(){
+        if (catalogo != null) {
+            catalogo.materializarTodas(this.carreras);
+            catalogo = null;
+        }
+
+    } // Complejidad materializarCatalogo(): O(|C| * |M_c| * (|c| + |m_c|)) la primera vez, O(1) después
+
+
+    // Método para saber cuántas carreras faltan materializar del catálogo perezoso (0 si está completo)
+    public synchronized int carrerasSinMaterializar(){
+        return catalogo == null ? 0 : catalogo.pendientes();
+
+    } // Complejidad carrerasSinMaterializar(): O(1)
+
+
+    // Método auxiliar para encontrar una materia dada su carrera (devuelve null si no está)
+    private Materia buscarMateria(String carrera, String materia){
+
+        // Con cache, un acierto evita recorrer los Tries: O(1) esperado
+        CacheMaterias cache_actual = cache;
+        Materia materia_obj = cache_actual == null ? null : cache_actual.buscar(carrera, materia);
+        if (materia_obj == null){
+
+            // La generación se lee antes de los Tries, para no guardar una materia que se cierre mientras tanto
+            int generacion = cache_actual == null ? 0 : cache_actual.generacion();
+
+            // Con el índice plano, una sola bajada; si no, una por cada Trie: O(|c|) + O(|m|)
+            IndiceCompuesto indice = indicePlano;
+            if (indice != null){
+                materia_obj = indice.buscar(carrera, materia);
+            } else {
+                DiccionarioTrie<Materia> materias_carrera = materiasDe(carrera);
+                materia_obj = materias_carrera == null ? null : materias_carrera.buscar(materia);
+            }
+
+            // O(1) esperado
+            if (cache_actual != null && materia_obj != null){
+                cache_actual.guardar(carrera, materia, materia_obj, generacion);
+            }
+        }
+
+        // O(1)
+        MetricasSIU metricas_actual = metricas;
+        if (metricas_actual != null) {
+            metricas_actual.registrarBusqueda(materia_obj != null);
+        }
+        return materia_obj;
+
+    } // Complejidad buscarMateria(): O(|c| + |m|)
+
+
+    // Método para inscribir a un estudiante en una materia, dada también la carrera. Si la libreta no es de ningún
+    // estudiante, lanza IllegalArgumentException sin tocar la materia.
+    public synchronized void inscribir(String estudiante, String carrera, String materia){
+        MetricasSIU metricas_actual = metricas;
+        long inicio = metricas_actual == null ? 0 : System.nanoTime();
+
+        // O(|estudiante|) = O(1)
+        EstadoEstudiante estado = buscarEstudiante(estudiante);
+        if (estado == null) {
+            throw new IllegalArgumentException("Estudiante desconocido: " + estudiante);
+        }
+
+        // O(|c|) + O(|m|)
+        Materia materia_obj = buscarMateria(carrera, materia);
+
+        // Con cupos, si la materia está llena el estudiante queda en espera y todavía no suma la materia: O(log W_m)
+        if (cupos && materia_obj.inscriptos.longitud() >= cupo(materia_obj.docentes)) {
+            if (materia_obj.espera == null) {
+                materia_obj.espera = new ListaDeEspera();
+            }
+            materia_obj.espera.agregar(estudiante);
+        } else {
+            // O(|estudiante|) = O(1); con registro, se vuelve a leer el estado con su lock
+            if (registro == null) {
+                sumarMaterias(estudiante, estado, 1);
+            } else {
+                sumarMaterias(estudiante, 1);
+            }
+
+            // O(1)
+            materia_obj.prepararEscritura(control);
+            materia_obj.inscriptos.agregarAtras(estudiante);
+            contarInscriptos(materia_obj, 1);
+        }
+        materia_obj.sellar();
+
+        if (metricas_actual != null) {
+            metricas_actual.registrar(MetricasSIU.Operacion.INSCRIBIR, inicio);
+        }
+
+    } // Complejidad inscribir(): O(|c|) + O(|m|) + O(1) + O(1) + O(1) = O(|c| + |m|) (con cupos y la materia llena, O(|c| + |m| + log W_m))
+
+
+    // Cantidad de intentos sin lock de inscribirTodas() antes de validar con el lock tomado
+    static final int INTENTOS_OPTIMISTAS = 3;
+
+
+    // Método para inscribir a un estudiante en varias materias a la vez, todo o nada: si el estudiante no existe, o alguna
+    // materia no existe, está repetida (con otro nombre o en otra carrera) o, con cupos, está llena, no lo inscribe en
+    // ninguna y devuelve false. Es optimista: busca y valida las materias sin el lock del sistema, anotando el sello de
+    // cada una, y con el lock sólo compara los sellos y aplica, así que dos inscripciones a materias distintas no se
+    // esperan mientras recorren los Tries. Si alguna materia cambió mientras tanto vuelve a empezar, y después de
+    // INTENTOS_OPTIMISTAS intentos valida con el lock tomado, para que una materia muy disputada no la demore sin fin.
+    public boolean inscribirTodas(String estudiante, ParCarreraMateria[] pares){
+        MetricasSIU metricas_actual = metricas;
+        long inicio = metricas_actual == null ? 0 : System.nanoTime();
+        Materia[] materias_obj = new Materia[pares.length];
+        int[] sellos = new int[pares.length];
+        boolean inscripto = false;
+
+        // Se ejecuta a lo sumo INTENTOS_OPTIMISTAS + 1 veces
+        int intento = 0;
+        while (true) {
+            intento++;
+            boolean optimista = intento <= INTENTOS_OPTIMISTAS;
+
+            // Sin lock: O(k * (|c| + |m|) + k²)
+            if (optimista) {
+                inscripto = validarInscripciones(estudiante, pares, materias_obj, sellos);
+            }
+
+            synchronized (this) {
+                if (!optimista) {
+                    // O(k * (|c| + |m|) + k²)
+                    inscripto = validarInscripciones(estudiante, pares, materias_obj, sellos);
+                } else if (!sellosVigentes(materias_obj, sellos)) {
+                    // O(k)
+                    continue;
+                }
+
+                // O(k) + O(|estudiante|) = O(k)
+                if (inscripto) {
+                    aplicarInscripciones(estudiante, materias_obj);
+                }
+                break;
+            }
+        }
+
+        if (metricas_actual != null) {
+            metricas_actual.registrar(MetricasSIU.Operacion.INSCRIBIR_TODAS, inicio);
+        }
+        return inscripto;
+
+    } // Complejidad inscribirTodas(): O(k * (|c| + |m|) + k²) por intento, y con el lock tomado O(k) (O(k * (|c| + |m|) + k²) en el último)
+
+
+    // Método auxiliar para buscar y validar las materias de inscribirTodas(), dejando en sellos el sello que tenía cada
+    // una antes de mirarla. Devuelve si se puede inscribir al estudiante en todas; las que no llegó a mirar quedan en null.
+    private boolean validarInscripciones(String estudiante, ParCarreraMateria[] pares, Materia[] materias_obj, int[] sellos){
+
+        // O(k)
+        for (int i = 0; i < materias_obj.length; i++) {
+            materias_obj[i] = null;
+        }
+
+        // Los estudiantes no se eliminan, así que si no está ahora no va a estar: O(|estudiante|) = O(1)
+        if (buscarEstudiante(estudiante) == null) {
+            return false;
+        }
+
+        // Se ejecuta a lo sumo k veces
+        for (int i = 0; i < pares.length; i++) {
+
+            // O(|c|) + O(|m|)
+            Materia materia_obj = buscarMateria(pares[i].getCarrera(), pares[i].getNombreMateria());
+            if (materia_obj == null) {
+                return false;
+            }
+
+            // El sello se lee antes de mirar la materia; si ya se cerró (después de encontrarla), no está: O(1)
+            sellos[i] = materia_obj.sello();
+            materias_obj[i] = materia_obj;
+            if (materia_obj.estaCerrada()) {
+                return false;
+            }
+
+            // Una materia compartida puede venir dos veces con nombres distintos: O(k)
+            for (int j = 0; j < i; j++) {
+                if (materias_obj[j] == materia_obj) {
+                    return false;
+                }
+            }
+
+            // O(1)
+            if (cupos && materia_obj.inscriptos.longitud() >= cupo(materia_obj.docentes)) {
+                return false;
+            }
+        }
+        return true;
 
-    } // Complejidad inscribir(): O(1) + O(1) + O(|c|) + O(|m|) + O(1) = O(|c| + |m|)
+    } // Complejidad validarInscripciones(): O(k * (|c| + |m|) + k²)
+
+
+    // Método auxiliar que devuelve si ninguna de las materias que miró validarInscripciones() cambió desde entonces
+    private static boolean sellosVigentes(Materia[] materias_obj, int[] sellos){
+
+        // Se ejecuta a lo sumo k veces: O(1) cada una
+        for (int i = 0; i < materias_obj.length && materias_obj[i] != null; i++) {
+            if (materias_obj[i].sello() != sellos[i]) {
+                return false;
+            }
+        }
+        return true;
+
+    } // Complejidad sellosVigentes(): O(k)
+
+
+    // Método auxiliar para inscribir al estudiante en las materias ya validadas de inscribirTodas()
+    private void aplicarInscripciones(String estudiante, Materia[] materias_obj){
+
+        // Se ejecuta k veces: O(1) cada una
+        for (Materia materia_obj : materias_obj) {
+            materia_obj.prepararEscritura(control);
+            materia_obj.inscriptos.agregarAtras(estudiante);
+            contarInscriptos(materia_obj, 1);
+            materia_obj.sellar();
+        }
+
+        // Se suman todas juntas: O(|estudiante|) = O(1)
+        sumarMaterias(estudiante, materias_obj.length);
+
+    } // Complejidad aplicarInscripciones(): O(k)
+
+
+    // Método auxiliar para calcular el cupo de una materia según su plantel docente: a lo sumo 250 estudiantes por cada 
+    // profesor, 100 por cada JTP, 20 por cada AY1 y 30 por cada AY2 (el array de docentes es [PROF, JTP, AY1, AY2])
+    private static int cupo(int[] docentes){
+
+        // O(1): comparaciones
+        return Math.min(Math.min(docentes[0] * 250, docentes[1] * 100), Math.min(docentes[2] * 20, docentes[3] * 30));
+
+    } // Complejidad cupo(): O(1)
+
+
+    // Método auxiliar para inscribir, por antigüedad, a los estudiantes en espera que entran en el cupo de una materia
+    private void promoverDeEspera(Materia materia_obj){
+        if (!cupos || materia_obj.espera == null) {
+            return;
+        }
+
+        // Se ejecuta k veces (k = lugares libres, a lo sumo W_m), y cada vez O(log W_m) + O(|estudiante|)
+        int lugares = cupo(materia_obj.docentes) - materia_obj.inscriptos.longitud();
+        while (lugares > 0 && materia_obj.espera.longitud() > 0) {
+            String estudiante = materia_obj.espera.sacarPrimero();
+            sumarMaterias(estudiante, 1);
+            materia_obj.prepararEscritura(control);
+            materia_obj.inscriptos.agregarAtras(estudiante);
+            contarInscriptos(materia_obj, 1);
+            lugares--;
+        }
+
+    } // Complejidad promoverDeEspera(): O(k * log W_m)
+
+
+    // Método auxiliar para actualizar el ranking cuando cambia la cantidad de inscriptos de una materia
+    private void contarInscriptos(Materia materia_obj, int delta){
+        if (ranking != null) {
+            ranking.sumar(materia_obj.enRanking, delta);
+        }
+
+    } // Complejidad contarInscriptos(): O(|delta|)
+
+
+    // Método auxiliar para sumarle delta materias a un estudiante, dado su estado actual, y moverlo de cubeta en el
+    // índice por cantidad de materias si está activo (el nodo viene en el estado, sin otra búsqueda)
+    private void sumarMaterias(String estudiante, EstadoEstudiante estado, int delta){
+
+        // O(|estudiante|) = O(1)
+        estudiantes.insertar(estudiante, EstadoEstudiante.de(estado.materias + delta, estado.nodo));
+
+        // O(|delta|)
+        if (estado.nodo != null) {
+            estudiantesPorMaterias.sumar(estado.nodo, delta);
+        }
+
+    } // Complejidad sumarMaterias(): O(|estudiante| + |delta|) = O(|delta|)
+
+
+    // Método auxiliar para sumarle delta materias a un estudiante registrado, buscando su estado. Con registro, la suma
+    // la hace registro con su lock, porque otros fragmentos suman al mismo estudiante en paralelo.
+    private void sumarMaterias(String estudiante, int delta){
+        if (registro != null) {
+            registro.sumarMateriasCompartidas(estudiante, delta);
+        } else {
+            sumarMaterias(estudiante, estudiantes.buscar(estudiante), delta);
+        }
+
+    } // Complejidad sumarMaterias(): O(|estudiante| + |delta|) = O(|delta|)
+
+
+    // Método para que un fragmento le sume delta materias a uno de los estudiantes de este registro
+    synchronized void sumarMateriasCompartidas(String estudiante, int delta){
+        sumarMaterias(estudiante, delta);
+
+    } // Complejidad sumarMateriasCompartidas(): O(|delta|)
 
 
     // Método para agergar un docente a una materia, dada también la carrera
-    public void agregarDocente(CargoDocente cargo, String carrera, String materia){
+    public synchronized void agregarDocente(CargoDocente cargo, String carrera, String materia){
+        MetricasSIU metricas_actual = metricas;
+        long inicio = metricas_actual == null ? 0 : System.nanoTime();
 
         // O(|c|) + O(|m|)
-        Materia materia_obj = this.carreras.buscar(carrera).buscar(materia);
+        Materia materia_obj = buscarMateria(carrera, materia);
 
         // El array de docentes es: [PROF, JTP, AY1, AY2]
         // O(1)
+        materia_obj.prepararEscritura(control);
         materia_obj.docentes[3-cargo.ordinal()]++;
 
-    } // Complejidad agregarDocente(): O(1) + O(|c|) + O(|m|) = O(|c| + |m|)
+        // Con cupos, el nuevo docente puede dejar entrar a k estudiantes en espera: O(k * log W_m)
+        promoverDeEspera(materia_obj);
+        materia_obj.sellar();
+
+        if (metricas_actual != null) {
+            metricas_actual.registrar(MetricasSIU.Operacion.AGREGAR_DOCENTE, inicio);
+        }
+
+    } // Complejidad agregarDocente(): O(1) + O(|c|) + O(|m|) = O(|c| + |m|) (con cupos, más O(k * log W_m) si entran k en espera)
 
 
     // Método para devolver un Array con 4 posiciones, donde cada una corresponde a la cantidad de docentes: [PROF, JTP, AY1, AY2]
     public int[] plantelDocente(String materia, String carrera){
+        MetricasSIU metricas_actual = metricas;
+        long inicio = metricas_actual == null ? 0 : System.nanoTime();
 
         // O(|c|) + O(|m|)
-        Materia materia_obj = this.carreras.buscar(carrera).buscar(materia);
-        
-        return materia_obj.docentes;
+        Materia materia_obj = buscarMateria(carrera, materia);
+        int[] docentes = materia_obj.docentes;
+
+        if (metricas_actual != null) {
+            metricas_actual.registrar(MetricasSIU.Operacion.PLANTEL_DOCENTE, inicio);
+        }
+        return docentes;
 
     } // Complejidad plantelDocente(): O(|c| + |m|)
 
 
-    public void cerrarMateria(String materia, String carrera){
+    // Método para dar de baja de una materia a todos los inscriptos que cumplen la condición (por ejemplo, los que no 
+    // cumplen las correlativas). Devuelve la cantidad de estudiantes dados de baja.
+    public synchronized int darDeBaja(String carrera, String materia, Predicate<String> condicion){
+        MetricasSIU metricas_actual = metricas;
+        long inicio = metricas_actual == null ? 0 : System.nanoTime();
+
+        // O(|c|) + O(|m|)
+        Materia materia_obj = buscarMateria(carrera, materia);
+        materia_obj.prepararEscritura(control);
+
+        // Una sola pasada sobre los inscriptos: cada baja se desengancha en O(1) y resta 1 a las materias del estudiante
+        // Se ejecuta E_m veces, y cada baja es O(|estudiante|) = O(1)
+        int bajas = materia_obj.inscriptos.eliminarSi(estudiante -> {
+            if (!condicion.test(estudiante)) {
+                return false;
+            }
+            sumarMaterias(estudiante, -1);
+            return true;
+        });
+
+        // El ranking baja de a una cubeta: O(bajas)
+        contarInscriptos(materia_obj, -bajas);
+
+        // Con cupos, los lugares que se liberaron los ocupan los estudiantes en espera: O(bajas * log W_m)
+        promoverDeEspera(materia_obj);
+        materia_obj.sellar();
+
+        if (metricas_actual != null) {
+            metricas_actual.registrar(MetricasSIU.Operacion.DAR_DE_BAJA, inicio);
+        }
+        return bajas;
+
+    } // Complejidad darDeBaja(): O(|c| + |m| + E_m) (con cupos, más O(bajas * log W_m))
+
+
+    public synchronized void cerrarMateria(String materia, String carrera){
+        MetricasSIU metricas_actual = metricas;
+        long inicio = metricas_actual == null ? 0 : System.nanoTime();
 
         // Encontramos la materia a cerrar: O(|c|) + O(|m|)	    
-        Materia materia_obj = this.carreras.buscar(carrera).buscar(materia);
+        Materia materia_obj = buscarMateria(carrera, materia);
 
         // A cada estudiante inscripto, restamos 1 a su cantidad de materias inscriptas
         // Se ejecuta E_m veces
-        ListaEnlazada<String>.IteradorLista iterador_estudiantes = materia_obj.inscriptos.iterador();
+        Iterador<String> iterador_estudiantes = materia_obj.inscriptos.iterador();
         for (int i = 0; i < materia_obj.inscriptos.longitud(); i++){
 
             // Recorremos el iterador, tomando los estudiantes: O(1)
             String estudiante = iterador_estudiantes.siguiente();
             
             // Buscamos la cantidad de materias que tiene y restamos 1: O(|estudiante) + O(|estudiante|) = O(1)
-            int cant_materias = this.estudiantes.buscar(estudiante);
-            this.estudiantes.insertar(estudiante, cant_materias-1);
+            sumarMaterias(estudiante, -1);
 
         } // E_m * O(1) = O(E_m)
 
@@ -224,17 +887,55 @@ public class SistemaSIU {
 
         } // |N_m| * O(1) * O(|n|)  = O(|N_m| * |n|)
 
-    } // Complejidad cerrarMateria(): O(|c|) + O(|m|) + O(E_m) + O(|N_m| * |n|) = O(|c| + |m| + |N_m| * |n| + E_m)
+        // Sacamos del índice plano todos los nombres de la materia: O(|N_m| * (|c| + |n|))
+        IndiceCompuesto indice = indicePlano;
+        if (indice != null) {
+            indice.eliminar(materia_obj);
+        }
+
+        // Sacamos del cache todos los nombres de la materia: O(K)
+        CacheMaterias cache_actual = cache;
+        if (cache_actual != null) {
+            cache_actual.invalidar(materia_obj);
+        }
+
+        // La materia deja el ranking: O(1)
+        if (ranking != null) {
+            ranking.eliminar(materia_obj.enRanking);
+            materia_obj.enRanking = null;
+        }
+
+        // Los estudiantes en espera no sumaban la materia: descartamos la lista de espera: O(1)
+        materia_obj.espera = null;
+
+        // Las inscripciones optimistas que la vieron abierta tienen que volver a buscarla: O(1)
+        materia_obj.cerrar();
+
+        // O(1)
+        cantMaterias--;
+        if (metricas_actual != null) {
+            metricas_actual.registrarCierre();
+            metricas_actual.registrar(MetricasSIU.Operacion.CERRAR_MATERIA, inicio);
+        }
+
+    } // Complejidad cerrarMateria(): O(|c|) + O(|m|) + O(E_m) + O(|N_m| * |n|) = O(|c| + |m| + |N_m| * |n| + E_m) (con cache, más O(K); con índice plano, más O(|N_m| * (|c| + |n|)))
 
 
     // Método que devuelve la cantidad de alumnos inscriptos en una materia, dada también una carrera
     public int inscriptos(String materia, String carrera){
+        MetricasSIU metricas_actual = metricas;
+        long inicio = metricas_actual == null ? 0 : System.nanoTime();
 
         // Encontramos la materia: O(|c|) + O(|m|)
-        Materia materia_obj = this.carreras.buscar(carrera).buscar(materia);
+        Materia materia_obj = buscarMateria(carrera, materia);
         
         // Devolvemos la longitud de la lista de inscriptos: O(1)
-        return materia_obj.inscriptos.longitud();
+        int cant_inscriptos = materia_obj.inscriptos.longitud();
+
+        if (metricas_actual != null) {
+            metricas_actual.registrar(MetricasSIU.Operacion.INSCRIPTOS, inicio);
+        }
+        return cant_inscriptos;
 
     } // Complejidad inscriptos(): O(|c| + |m|)
 
@@ -242,22 +943,22 @@ public class SistemaSIU {
     // Método para determinar si la cantidad de estudiantes excede la capacidad de la materia, dada las siguientes condiciones:
     // Debe haber a lo sumo 250 estudiantes por cada profesor, 100 por cada JTP, 20 por cada AY1 y 30 por cada AY2
     public boolean excedeCupo(String materia, String carrera){
+        MetricasSIU metricas_actual = metricas;
+        long inicio = metricas_actual == null ? 0 : System.nanoTime();
 
         // Encontramos la materia: O(|c|) + O(|m|)
-        Materia materia_obj = this.carreras.buscar(carrera).buscar(materia);
+        Materia materia_obj = buscarMateria(carrera, materia);
 
         // Tomamos el array de docentes y la longitud de la lista de inscriptos: O(1)
         int[] docentes = materia_obj.docentes;
         int cant_estudiantes = materia_obj.inscriptos.longitud();
 
-        // Si excede el cupo, significa que se cumple algunas de las siguientes condiciones:
-        // O(1): comparaciones
-        boolean excede_cupo = 
-            docentes[3] * 30 < cant_estudiantes // condicion para AY2
-            || docentes[2] * 20 < cant_estudiantes // condicion para AY1
-            || docentes[1] * 100 < cant_estudiantes // condicion para JTP
-            || docentes[0] * 250 < cant_estudiantes; // condicion para PROF
+        // Excede el cupo si supera la condición de alguno de los cargos, es decir, el mínimo de todas: O(1)
+        boolean excede_cupo = cant_estudiantes > cupo(docentes);
 
+        if (metricas_actual != null) {
+            metricas_actual.registrar(MetricasSIU.Operacion.EXCEDE_CUPO, inicio);
+        }
         return excede_cupo;
 
     } // Complejidad excedeCupo(): O(|c| + |m|)
@@ -265,59 +966,508 @@ public class SistemaSIU {
 
     // Método para devolver un Array con todas las carreras del sistema
     public String[] carreras(){
+        MetricasSIU metricas_actual = metricas;
+        long inicio = metricas_actual == null ? 0 : System.nanoTime();
+
+        // Recorremos las claves del diccionario carreras directo a un Array, sin pasar por una lista: O(|C| * |c|)
+        // Las Strings salen ordenadas lexicográficamente, y como el Spliterator del Trie sabe cuántas son,
+        // el Array se crea una sola vez con el tamaño justo. Con el catálogo perezoso, su índice tiene todas las carreras
+        CatalogoPerezoso catalogo_actual = catalogo;
+        String[] carreras_arr = catalogo_actual != null ? catalogo_actual.carreras()
+            : this.carreras.flujoDeClaves(false).toArray(String[]::new);
+
+        if (metricas_actual != null) {
+            metricas_actual.registrar(MetricasSIU.Operacion.CARRERAS, inicio);
+        }
+        return carreras_arr;
 
-        // Obtenemos todas las claves del diccionario carreras en una lista: O(|C| * |c|)
-        // Por como está implementado obtenerClaves(), las Strings estan ordenadas lexicográficamente
-        ListaEnlazada<String> lista_carreras = this.carreras.obtenerClaves();
+    } // Complejidad carreras(): O(|C|*|c|)
 
-        // Para pasar de una ListaEnlazada a un Array, armamos un iterador para recorrer lista_carreras
-        // y guardar los valores en un nuevo Array carreras_arr: O(1)
-        ListaEnlazada<String>.IteradorLista iterador_carreras = lista_carreras.iterador();
-        String[] carreras_arr = new String[lista_carreras.longitud()];
 
-        // Recorremos lista_carreras: se ejecuta |C| veces
-        for (int i = 0; i < lista_carreras.longitud(); i++){
+    // Método para devolver un Array con todas las materias de una carrera
+    public String[] materias(String carrera){
+        MetricasSIU metricas_actual = metricas;
+        long inicio = metricas_actual == null ? 0 : System.nanoTime();
+
+        // Buscamos el diccionario de las materias de la carrera y recorremos sus claves directo a un Array: O(|c| + |M_c| * |m_c|)
+        // Las Strings salen ordenadas lexicográficamente. Con el índice plano, recorremos el subárbol del prefijo de la carrera
+        IndiceCompuesto indice = indicePlano;
+        String[] materias_arr = indice != null ? indice.materias(carrera)
+            : materiasDe(carrera).flujoDeClaves(false).toArray(String[]::new);
+
+        if (metricas_actual != null) {
+            metricas_actual.registrar(MetricasSIU.Operacion.MATERIAS, inicio);
+        }
+        return materias_arr;
 
-            // O(1)
-            carreras_arr[i] = iterador_carreras.siguiente();
+    } // Complejidad materias(): O(|c| + |M_c| * |m_c|)
 
-        } // |C| * O(1) = O(|C|)
 
-        return carreras_arr;
+    // Método para devolver la cantidad total de inscripciones, sumando los inscriptos de cada materia una sola vez.
+    // Recorre las carreras en paralelo: cada materia se cuenta desde su primera carrera, así las compartidas no se repiten.
+    public synchronized long inscripcionesTotales(){
+        materializarCatalogo();
 
-    } // Complejidad carreras(): O(|C|*|c|) + O(1) + O(|C|) = (con |c|>0) O(|C|*|c|)
+        // Cada carrera y cada materia de cada carrera se visitan una vez, repartidas entre los núcleos: O(|C| * |M_c|) en total
+        return carreras.flujoDeValores(true)
+            .flatMap(materias_carrera -> materias_carrera.flujoDeValores(false)
+                .filter(materia_obj -> materia_obj.carreras_comunes.obtener(0) == materias_carrera))
+            .mapToLong(materia_obj -> materia_obj.inscriptos.longitud())
+            .sum();
 
+    } // Complejidad inscripcionesTotales(): O(|C| * |M_c|) (sin contar la división entre núcleos)
 
-    // Método para devolver un Array con todas las materias de una carrera
-    public String[] materias(String carrera){
 
-        // Buscamos el diccionario de las materias de la carrera y obtenemos sus claves en una lista: O(|c| + |M_c| * |m_c|)
-        // Por como esta implementado obtenerClaves(), las Strings están ordenadas lexicográficamente
-        ListaEnlazada<String> lista_materias = this.carreras.buscar(carrera).obtenerClaves();	  
+    // Método para devolver la cantidad de materias inscriptas de un estudiante (ESTUDIANTE_DESCONOCIDO si la libreta
+    // no es de ningún estudiante)
+    public int materiasInscriptas(String estudiante){
+        MetricasSIU metricas_actual = metricas;
+        long inicio = metricas_actual == null ? 0 : System.nanoTime();
 
-        // Para pasar de una ListaEnlazada a un Array, armamos un iterador para recorrer lista_carreras
-        // y guardar los valores en un nuevo Array materias_arr: O(1)
-        ListaEnlazada<String>.IteradorLista iterador_lista = lista_materias.iterador();
-        String[] materias_arr = new String[lista_materias.longitud()]; 
+        // Encuentra la cantidad de materias inscriptas en diccionario, si el filtro no descarta la libreta: O(|estudiante|) = O(1)
+        EstadoEstudiante encontrado = buscarEstudiante(estudiante);
+        int cant_materias = encontrado == null ? ESTUDIANTE_DESCONOCIDO : encontrado.materias;
 
-        // Recorremos lista_materias: se ejecuta |M_c| veces
-        for (int i = 0; i < lista_materias.longitud(); i++){
+        if (metricas_actual != null) {
+            metricas_actual.registrar(MetricasSIU.Operacion.MATERIAS_INSCRIPTAS, inicio);
+        }
+        return cant_materias;
 
-            // O(1)
-            materias_arr[i] = iterador_lista.siguiente(); 
+    } // Complejidad materiasInscriptas(): O(1)
 
-        } // |M_c| * O(1) = O(|M_c)
 
-        return materias_arr;
+    // Método para tomar una instantánea de lectura: una vista del sistema en este momento, que no cambia con las 
+    // escrituras posteriores y se puede leer desde otros hilos. No copia nada al tomarse: las escrituras siguientes 
+    // copian lo que modifican mientras la instantánea esté viva.
+    public synchronized Instantanea instantanea(){
 
-    } // Complejidad materias(): O(|c| + |M_c| * |m_c|) + O(1) + O(|M_c|) = (con |m_c|>0) O(|c| + |M_c| * |m_c|)
+        // La instantánea lee las carreras directo de los Tries: O(1) si el catálogo está completo
+        materializarCatalogo();
 
+        // O(1)
+        return new Instantanea(this, control.tomarVersion());
 
-    // Método para devolver la cantidad de materias inscriptas de un estudiante
-    public int materiasInscriptas(String estudiante){
+    } // Complejidad instantanea(): O(1)
 
-        // Encuentra la cantidad de materias inscriptas en diccionario: O(|estudiante|) = O(1)
-        return estudiantes.buscar(estudiante);	   
 
-    } // Complejidad materiasInscriptas(): O(1)
+    // Método para liberar la versión de una instantánea, descartando las copias que sólo ella necesitaba
+    synchronized void liberarInstantanea(int version){
+
+        // Ver ControlVersiones.liberarVersion()
+        control.liberarVersion(version);
+
+    } // Complejidad liberarInstantanea(): O(|vivas| + |modificados| * |vivas|)
+
+
+    // Método para activar los cupos: desde ahora, quienes se inscriban en una materia llena quedan en su lista de espera
+    public synchronized void activarCupos(){
+        cupos = true;
+
+    } // Complejidad activarCupos(): O(1)
+
+
+    // Método para devolver la posición de un estudiante en la lista de espera de una materia (1 es el próximo en entrar),
+    // o -1 si no está esperando
+    public synchronized int posicionEnEspera(String estudiante, String carrera, String materia){
+        MetricasSIU metricas_actual = metricas;
+        long inicio = metricas_actual == null ? 0 : System.nanoTime();
+
+        // O(|c|) + O(|m|) + O(log W_m)
+        Materia materia_obj = buscarMateria(carrera, materia);
+        int posicion = materia_obj.espera == null ? -1 : materia_obj.espera.posicion(estudiante);
+
+        if (metricas_actual != null) {
+            metricas_actual.registrar(MetricasSIU.Operacion.POSICION_EN_ESPERA, inicio);
+        }
+        return posicion;
+
+    } // Complejidad posicionEnEspera(): O(|c| + |m| + log W_m)
+
+
+    // Método para devolver la cantidad de estudiantes en la lista de espera de una materia
+    public synchronized int enEspera(String materia, String carrera){
+
+        // O(|c|) + O(|m|)
+        Materia materia_obj = buscarMateria(carrera, materia);
+        return materia_obj.espera == null ? 0 : materia_obj.espera.longitud();
+
+    } // Complejidad enEspera(): O(|c| + |m|)
+
+
+    // Método para activar el ranking de materias por cantidad de inscriptos: desde ahora cada inscripción, baja o cierre
+    // lo actualiza en O(1) por estudiante, y topMaterias() no necesita recorrer las materias
+    public synchronized void activarRanking(){
+        if (ranking != null) {
+            return;
+        }
+        materializarCatalogo();
+
+        // Cada materia se visita una vez, desde su primera carrera, y se nombra por su primer nombre: O(|C| * |M_c|)
+        ListaEnlazada<Materia> materias = new ListaEnlazada<>();
+        ListaEnlazada<String> primeras_carreras = new ListaEnlazada<>();
+        Iterator<String> claves = carreras.iterator();
+        Iterator<DiccionarioTrie<Materia>> valores = Spliterators.iterator(carreras.spliteratorValores());
+        while (claves.hasNext()) {
+            String carrera = claves.next();
+            DiccionarioTrie<Materia> materias_carrera = valores.next();
+            Iterator<Materia> materias_obj = Spliterators.iterator(materias_carrera.spliteratorValores());
+            while (materias_obj.hasNext()) {
+                Materia materia_obj = materias_obj.next();
+                if (materia_obj.carreras_comunes.obtener(0) == materias_carrera) {
+                    materias.agregarAtras(materia_obj);
+                    primeras_carreras.agregarAtras(carrera);
+                }
+            }
+        }
+
+        // Agregadas de menor a mayor cantidad de inscriptos, cada una va a la cubeta más alta: O(|M| * log |M|)
+        Materia[] ordenadas = new Materia[materias.longitud()];
+        String[] carreras_ordenadas = new String[ordenadas.length];
+        Integer[] orden = new Integer[ordenadas.length];
+        ListaEnlazada<Materia>.IteradorLista iterador_materias = materias.iterador();
+        ListaEnlazada<String>.IteradorLista iterador_carreras = primeras_carreras.iterador();
+        for (int i = 0; i < ordenadas.length; i++) {
+            ordenadas[i] = iterador_materias.siguiente();
+            carreras_ordenadas[i] = iterador_carreras.siguiente();
+            orden[i] = i;
+        }
+        Arrays.sort(orden, (i, j) -> Integer.compare(ordenadas[i].inscriptos.longitud(), ordenadas[j].inscriptos.longitud()));
+
+        ConteoOrdenado<ParCarreraMateria> nuevo = new ConteoOrdenado<>();
+        for (int i : orden) {
+            Materia materia_obj = ordenadas[i];
+            ParCarreraMateria nombre = new ParCarreraMateria(carreras_ordenadas[i], materia_obj.nombres.obtener(0));
+            materia_obj.enRanking = nuevo.agregar(nombre, materia_obj.inscriptos.longitud());
+        }
+        ranking = nuevo;
+
+    } // Complejidad activarRanking(): O(|C| * |M_c| + |M| * log |M|)
+
+
+    // Método para devolver las n materias con más inscriptos (o todas, si hay menos), de mayor a menor; las que tienen
+    // la misma cantidad, en el orden en que llegaron a ella. Cada materia aparece una vez aunque tenga varios nombres.
+    // La primera llamada activa el ranking (ver activarRanking()).
+    public synchronized MateriaEnRanking[] topMaterias(int n){
+        activarRanking();
+
+        // Se ejecuta min(n, |M|) veces: O(1) cada una
+        MateriaEnRanking[] top = new MateriaEnRanking[Math.min(n, ranking.tamanio())];
+        ConteoOrdenado.Nodo<ParCarreraMateria> nodo = ranking.primero();
+        for (int i = 0; i < top.length; i++) {
+            ParCarreraMateria nombre = nodo.elemento();
+            top[i] = new MateriaEnRanking(nombre.getCarrera(), nombre.getNombreMateria(), nodo.conteo());
+            nodo = ranking.siguiente(nodo);
+        }
+        return top;
+
+    } // Complejidad topMaterias(): O(n) (la primera vez, más la de activarRanking())
+
+
+    // Método para activar el índice de estudiantes por cantidad de materias inscriptas: desde ahora cada inscripción,
+    // baja o cierre mueve a cada estudiante afectado de cubeta en O(1), y las consultas por cantidad no recorren a todos
+    public synchronized void activarIndiceEstudiantes(){
+        if (registro != null) {
+            throw new UnsupportedOperationException("Los estudiantes del fragmento están en su registro");
+        }
+        if (estudiantesPorMaterias != null) {
+            return;
+        }
+
+        // Las libretas con su cantidad de materias: O(E)
+        String[] libretas = new String[cantEstudiantes];
+        int[] cantidades = new int[cantEstudiantes];
+        Iterator<String> claves = estudiantes.iterator();
+        Iterator<EstadoEstudiante> valores = Spliterators.iterator(estudiantes.spliteratorValores());
+        for (int i = 0; i < libretas.length; i++) {
+            libretas[i] = claves.next();
+            cantidades[i] = valores.next().materias;
+        }
+
+        // Agregados de menor a mayor cantidad, cada uno va a la cubeta más alta: O(E * log E)
+        Integer[] orden = new Integer[libretas.length];
+        for (int i = 0; i < orden.length; i++) {
+            orden[i] = i;
+        }
+        Arrays.sort(orden, (i, j) -> Integer.compare(cantidades[i], cantidades[j]));
+
+        // Cada estudiante guarda su nodo en su estado: O(E * |estudiante|) = O(E)
+        ConteoOrdenado<String> nuevo = new ConteoOrdenado<>();
+        for (int i : orden) {
+            estudiantes.insertar(libretas[i], EstadoEstudiante.de(cantidades[i], nuevo.agregar(libretas[i], cantidades[i])));
+        }
+        estudiantesPorMaterias = nuevo;
+
+    } // Complejidad activarIndiceEstudiantes(): O(E * log E)
+
+
+    // Método para devolver los estudiantes inscriptos en más de k materias, de más a menos materias.
+    // La primera llamada activa el índice (ver activarIndiceEstudiantes()).
+    public synchronized String[] estudiantesConMasDe(int k){
+        activarIndiceEstudiantes();
+
+        // Se ejecuta una vez por estudiante del resultado (más uno): O(1) cada una
+        ListaEnlazada<String> resultado = new ListaEnlazada<>();
+        ConteoOrdenado.Nodo<String> nodo = estudiantesPorMaterias.primero();
+        while (nodo != null && nodo.conteo() > k) {
+            resultado.agregarAtras(nodo.elemento());
+            nodo = estudiantesPorMaterias.siguiente(nodo);
+        }
+        return aArray(resultado);
+
+    } // Complejidad estudiantesConMasDe(): O(cantidad de estudiantes del resultado) (la primera vez, más la de activarIndiceEstudiantes())
+
+
+    // Método para devolver los estudiantes inscriptos en menos de k materias (por ejemplo, k = 1 da los que no están en
+    // ninguna), de menos a más materias. La primera llamada activa el índice (ver activarIndiceEstudiantes()).
+    public synchronized String[] estudiantesConMenosDe(int k){
+        activarIndiceEstudiantes();
+
+        // Se ejecuta una vez por estudiante del resultado (más uno): O(1) cada una
+        ListaEnlazada<String> resultado = new ListaEnlazada<>();
+        ConteoOrdenado.Nodo<String> nodo = estudiantesPorMaterias.ultimo();
+        while (nodo != null && nodo.conteo() < k) {
+            resultado.agregarAtras(nodo.elemento());
+            nodo = estudiantesPorMaterias.anterior(nodo);
+        }
+        return aArray(resultado);
+
+    } // Complejidad estudiantesConMenosDe(): O(cantidad de estudiantes del resultado) (la primera vez, más la de activarIndiceEstudiantes())
+
+
+    // Método para devolver cuántos estudiantes hay con cada cantidad de materias inscriptas, de mayor a menor cantidad:
+    // cada fila es {cantidad de materias, cantidad de estudiantes}, y sólo están las cantidades que tiene alguien.
+    // La primera llamada activa el índice (ver activarIndiceEstudiantes()).
+    public synchronized int[][] histogramaMateriasInscriptas(){
+        activarIndiceEstudiantes();
+
+        // O(cantidad de filas)
+        return estudiantesPorMaterias.histograma();
+
+    } // Complejidad histogramaMateriasInscriptas(): O(cantidad de cantidades distintas) (la primera vez, más la de activarIndiceEstudiantes())
+
+
+    // Método auxiliar para pasar una lista de Strings a un Array
+    private static String[] aArray(ListaEnlazada<String> lista){
+        String[] array = new String[lista.longitud()];
+
+        // Se ejecuta n veces: O(1) cada una
+        ListaEnlazada<String>.IteradorLista iterador = lista.iterador();
+        for (int i = 0; i < array.length; i++) {
+            array[i] = iterador.siguiente();
+        }
+        return array;
+
+    } // Complejidad aArray(): O(n)
+
+
+    // Método para recortar los arrays de hijos de todos los Tries del sistema (ver DiccionarioTrie.compactar()), por
+    // ejemplo desde un hilo en segundo plano después de cerrar muchas materias. Toma el lock de a un Trie por vez (el de
+    // estudiantes, el de carreras, el de cada carrera y los de los índices), así que las lecturas no lo esperan y una
+    // escritura espera a lo sumo la compactación de un Trie, no la de todo el sistema. Devuelve la cantidad estimada de
+    // bytes liberados.
+    public long compactar(){
+        MetricasSIU metricas_actual = metricas;
+        long inicio = metricas_actual == null ? 0 : System.nanoTime();
+        long liberados = 0;
+
+        // O(cantidad de nodos de estudiantes y de carreras), cada uno con el lock tomado
+        ListaEnlazada<DiccionarioTrie<Materia>> materias_carreras = new ListaEnlazada<>();
+        synchronized (this) {
+            liberados += estudiantes.compactar();
+        }
+        synchronized (this) {
+            liberados += carreras.compactar();
+
+            // O(|C|): los diccionarios de las carreras no cambian de instancia, así que se pueden compactar después
+            Iterator<DiccionarioTrie<Materia>> valores = Spliterators.iterator(carreras.spliteratorValores());
+            while (valores.hasNext()) {
+                materias_carreras.agregarAtras(valores.next());
+            }
+        }
+
+        // Se ejecuta |C| veces: O(cantidad de nodos del diccionario de cada carrera), de a una carrera con el lock
+        for (DiccionarioTrie<Materia> materias_carrera : materias_carreras) {
+            synchronized (this) {
+                liberados += materias_carrera.compactar();
+            }
+        }
+
+        // Los índices opcionales también son Tries
+        synchronized (this) {
+            IndiceCompuesto indice = indicePlano;
+            if (indice != null) {
+                liberados += indice.compactar();
+            }
+        }
+
+        if (metricas_actual != null) {
+            metricas_actual.registrar(MetricasSIU.Operacion.COMPACTAR, inicio);
+        }
+        return liberados;
+
+    } // Complejidad compactar(): O(cantidad total de nodos de los Tries)
+
+
+    // Método para activar el índice plano: desde ahora las búsquedas de materias y materias() usan un único Trie con
+    // claves "carrera␟materia" en lugar de los Tries anidados (que se siguen manteniendo para el resto de las operaciones)
+    public synchronized IndiceCompuesto activarIndicePlano(){
+        if (indicePlano == null) {
+            materializarCatalogo();
+            indicePlano = new IndiceCompuesto(carreras, control);
+        }
+        return indicePlano;
+
+    } // Complejidad activarIndicePlano(): O(|C| * |M_c| * (|c| + |m_c|))
+
+
+    // Método para activar un cache de la resolución (carrera, materia) con la capacidad dada (si ya había uno, lo reemplaza)
+    public synchronized CacheMaterias activarCache(int capacidad){
+        cache = new CacheMaterias(capacidad);
+        return cache;
+
+    } // Complejidad activarCache(): O(capacidad)
+
+
+    // Método para desactivar el cache: las búsquedas vuelven a recorrer los Tries
+    public synchronized void desactivarCache(){
+        cache = null;
+
+    } // Complejidad desactivarCache(): O(1)
+
+
+    // Método para devolver el cache (null si no está activo), por ejemplo para ver su tasa de aciertos
+    public CacheMaterias cache(){
+        return cache;
+
+    } // Complejidad cache(): O(1)
+
+
+    // Método para devolver el filtro de libretas, por ejemplo para ver su tasa de falsos positivos
+    public FiltroLibretas filtroLibretas(){
+        return filtroLibretas;
+
+    } // Complejidad filtroLibretas(): O(1)
+
+
+    // Método para activar las métricas del sistema (si ya estaban activas, devuelve las mismas)
+    public synchronized MetricasSIU activarMetricas(){
+        if (metricas == null) {
+            metricas = new MetricasSIU(this);
+        }
+        return metricas;
+
+    } // Complejidad activarMetricas(): O(1)
+
+
+    // Método para desactivar las métricas: las operaciones dejan de medirse
+    public synchronized void desactivarMetricas(){
+        metricas = null;
+
+    } // Complejidad desactivarMetricas(): O(1)
+
+
+    // Método para devolver la cantidad de materias abiertas
+    public int cantidadMaterias(){
+        return cantMaterias;
+
+    } // Complejidad cantidadMaterias(): O(1)
+
+
+    // Método para devolver la cantidad de estudiantes
+    public int cantidadEstudiantes(){
+        return registro == null ? cantEstudiantes : registro.cantidadEstudiantes();
+
+    } // Complejidad cantidadEstudiantes(): O(1)
+
+
+    // Método para devolver la cantidad total de nodos de los Tries del sistema (estudiantes, carreras y materias de cada carrera)
+    public long cantidadNodosTries(){
+
+        // O(1)
+        long total = estudiantes.cantidadNodos() + carreras.cantidadNodos();
+
+        // Recorremos las carreras: O(|C| * |c|)
+        ListaEnlazada<String> lista_carreras = carreras.obtenerClaves();
+        ListaEnlazada<String>.IteradorLista iterador_carreras = lista_carreras.iterador();
+        while (iterador_carreras.haySiguiente()) {
+            total += carreras.buscar(iterador_carreras.siguiente()).cantidadNodos();
+        }
+
+        // Con el catálogo perezoso, también los diccionarios que armó para materias compartidas y todavía no publicó
+        CatalogoPerezoso catalogo_actual = catalogo;
+        if (catalogo_actual != null) {
+            total += catalogo_actual.nodosSinPublicar();
+        }
+        return total;
+
+    } // Complejidad cantidadNodosTries(): O(|C| * |c|)
+
+
+    // Método para estimar la memoria que ocupa el sistema, separada en sus partes: el diccionario de estudiantes, 
+    // el de carreras, los diccionarios de materias de cada carrera y las materias (cada una se cuenta una sola vez)
+    public ReporteMemoria memoria(){
+        ReporteMemoria reporte = new ReporteMemoria("SistemaSIU");
+        reporte.bytes = EstimadorMemoria.instancia(SistemaSIU.class);
+        reporte.bytesCompactos = reporte.bytes;
+
+        // O(cantidad de nodos de estudiantes y de carreras)
+        ReporteMemoria reporte_estudiantes = new ReporteMemoria("Estudiantes", estudiantes.memoria());
+        ReporteMemoria reporte_carreras = new ReporteMemoria("Carreras", carreras.memoria());
+        ReporteMemoria reporte_materias_carreras = new ReporteMemoria("Materias de cada carrera");
+        ReporteMemoria reporte_materias = new ReporteMemoria("Materias");
+
+        // Se ejecuta |C| veces
+        ListaEnlazada<String>.IteradorLista iterador_carreras = carreras.obtenerClaves().iterador();
+        while (iterador_carreras.haySiguiente()){
+            String carrera = iterador_carreras.siguiente();
+            DiccionarioTrie<Materia> materias_carrera = carreras.buscar(carrera);
+
+            // O(cantidad de nodos del diccionario de la carrera)
+            reporte_materias_carreras.agregarParte(new ReporteMemoria(carrera, materias_carrera.memoria()));
+
+            // Cada materia se cuenta sólo desde su primer nombre en su primera carrera, así las compartidas no se repiten
+            // Se ejecuta |M_c| veces
+            ListaEnlazada<String>.IteradorLista iterador_materias = materias_carrera.obtenerClaves().iterador();
+            while (iterador_materias.haySiguiente()){
+                String nombre = iterador_materias.siguiente();
+                Materia materia_obj = materias_carrera.buscar(nombre);
+                if (materia_obj.carreras_comunes.obtener(0) == materias_carrera && materia_obj.nombres.obtener(0).equals(nombre)){
+                    reporte_materias.sumar(materia_obj.memoria());
+                }
+            }
+        }
+
+        reporte.agregarParte(reporte_estudiantes);
+        reporte.agregarParte(reporte_carreras);
+        reporte.agregarParte(reporte_materias_carreras);
+        reporte.agregarParte(reporte_materias);
+        reporte.agregarParte(filtroLibretas.memoria());
+        CatalogoPerezoso catalogo_actual = catalogo;
+        if (catalogo_actual != null) {
+            reporte.agregarParte(catalogo_actual.memoria());
+        }
+        IndiceCompuesto indice = indicePlano;
+        if (indice != null) {
+            reporte.agregarParte(indice.memoria());
+        }
+        CacheMaterias cache_actual = cache;
+        if (cache_actual != null) {
+            reporte.agregarParte(cache_actual.memoria());
+        }
+        if (ranking != null) {
+            reporte.agregarParte(ranking.memoria());
+        }
+        if (estudiantesPorMaterias != null) {
+            ReporteMemoria reporte_indice = new ReporteMemoria("Estudiantes por cantidad de materias");
+            reporte_indice.agregarParte(estudiantesPorMaterias.memoria());
+            ReporteMemoria reporte_estados = new ReporteMemoria("Estados de estudiantes con su nodo");
+            reporte_estados.elementos = cantEstudiantes;
+            reporte_estados.bytes = cantEstudiantes * EstimadorMemoria.instancia(EstadoEstudiante.class);
+            reporte_estados.bytesCompactos = reporte_estados.bytes;
+            reporte_indice.agregarParte(reporte_estados);
+            reporte.agregarParte(reporte_indice);
+        }
+        return reporte;
+
+    } // Complejidad memoria(): O(cantidad total de nodos de los Tries + |C| * |M_c| * |m_c|)
 }
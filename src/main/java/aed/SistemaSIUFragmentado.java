@@ -0,0 +1,211 @@
+package aed;
+
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+// Clase para representar el sistema repartido en varios fragmentos: cada fragmento es un SistemaSIU con parte de las
+// carreras, y un EnrutadorCarreras decide a cuál va cada operación. Como cada SistemaSIU tiene su propio monitor, las
+// escrituras en fragmentos distintos avanzan en paralelo (un único SistemaSIU hace una escritura por vez). Los estudiantes
+// están una sola vez, en un registro compartido; cada inscripción sólo lo bloquea para sumar el contador del estudiante.
+public class SistemaSIUFragmentado {
+
+    EnrutadorCarreras enrutador;
+    SistemaSIU[] fragmentos;
+    SistemaSIU registro; // Los estudiantes, con sus cantidades de materias, compartido por todos los fragmentos
+
+    // Invariante de representación:
+    // - registro es un SistemaSIU sin materias, con todas las libretas, y fragmentos[f] se construye con
+    // enrutador.materiasDe(f) y con registro como su registro compartido (ver SistemaSIU.conRegistro()): las libretas se
+    // guardan una sola vez, y las materias de un estudiante son su único contador en registro, que cada fragmento suma
+    // con el lock de registro.
+    // - Cada materia vive en un único fragmento (su dueño, ver EnrutadorCarreras), con todos sus nombres, así que
+    // inscribir, cerrarla o contar sus inscriptos toca sólo ese fragmento.
+    // - Un fragmento puede tener una carrera con sólo las materias compartidas de las que es dueño; la carrera es de
+    // todo el sistema y sus materias son la unión de las de cada fragmento que la tiene.
+    // - Los locks se toman en el orden fragmento -> registro (registro nunca llama a un fragmento), así que no se pueden
+    // trabar entre sí.
+
+    // Complejidades: las de SistemaSIU en el fragmento que corresponde, más O(|c| + |m|) del enrutador.
+    // N: cantidad de fragmentos
+
+    // Constructor del sistema repartido en cantFragmentos fragmentos (los fragmentos se construyen en paralelo)
+    public SistemaSIUFragmentado(InfoMateria[] infoMaterias, String[] libretasUniversitarias, int cantFragmentos) {
+        this(infoMaterias, libretasUniversitarias, cantFragmentos, TipoSecuencia.ENLAZADA);
+    }
+
+
+    // Constructor eligiendo además la implementación de las listas de inscriptos
+    public SistemaSIUFragmentado(InfoMateria[] infoMaterias, String[] libretasUniversitarias, int cantFragmentos,
+                                 TipoSecuencia tipo_inscriptos) {
+        enrutador = new EnrutadorCarreras(infoMaterias, cantFragmentos);
+        fragmentos = new SistemaSIU[cantFragmentos];
+
+        // Los estudiantes una sola vez: O(E)
+        registro = new SistemaSIU(new InfoMateria[0], libretasUniversitarias, tipo_inscriptos);
+
+        // Cada fragmento tiene sus propias materias: los construimos en paralelo
+        IntStream.range(0, cantFragmentos).parallel().forEach(f ->
+            fragmentos[f] = SistemaSIU.conRegistro(enrutador.materiasDe(f), registro, tipo_inscriptos));
+
+    } // Complejidad: la del enrutador, más O(E), más O(|C| * |M_c| * |c| + |M| * |N_m| * |n|) repartido entre los núcleos
+
+
+    // Método auxiliar para encontrar el fragmento de una materia
+    private SistemaSIU fragmento(String carrera, String materia) {
+
+        // O(|c|) + O(|m|)
+        int f = enrutador.fragmento(carrera, materia);
+        if (f < 0) {
+            throw new IllegalArgumentException("La carrera no existe: " + carrera);
+        }
+        return fragmentos[f];
+
+    } // Complejidad fragmento(): O(|c| + |m|)
+
+
+    // Método para inscribir a un estudiante en una materia, dada también la carrera
+    public void inscribir(String estudiante, String carrera, String materia) {
+        fragmento(carrera, materia).inscribir(estudiante, carrera, materia);
+
+    } // Complejidad inscribir(): O(|c| + |m|)
+
+
+    // Método para agregar un docente a una materia, dada también la carrera
+    public void agregarDocente(SistemaSIU.CargoDocente cargo, String carrera, String materia) {
+        fragmento(carrera, materia).agregarDocente(cargo, carrera, materia);
+
+    } // Complejidad agregarDocente(): O(|c| + |m|)
+
+
+    // Método para devolver el plantel docente de una materia: [PROF, JTP, AY1, AY2]
+    public int[] plantelDocente(String materia, String carrera) {
+        return fragmento(carrera, materia).plantelDocente(materia, carrera);
+
+    } // Complejidad plantelDocente(): O(|c| + |m|)
+
+
+    // Método para dar de baja de una materia a los inscriptos que cumplen la condición
+    public int darDeBaja(String carrera, String materia, Predicate<String> condicion) {
+        return fragmento(carrera, materia).darDeBaja(carrera, materia, condicion);
+
+    } // Complejidad darDeBaja(): O(|c| + |m| + E_m)
+
+
+    // Método para cerrar una materia (en todas sus carreras, que viven en el mismo fragmento)
+    public void cerrarMateria(String materia, String carrera) {
+        fragmento(carrera, materia).cerrarMateria(materia, carrera);
+
+    } // Complejidad cerrarMateria(): O(|c| + |m| + |N_m| * |n| + E_m)
+
+
+    // Método que devuelve la cantidad de inscriptos de una materia
+    public int inscriptos(String materia, String carrera) {
+        return fragmento(carrera, materia).inscriptos(materia, carrera);
+
+    } // Complejidad inscriptos(): O(|c| + |m|)
+
+
+    // Método para determinar si una materia excede su cupo
+    public boolean excedeCupo(String materia, String carrera) {
+        return fragmento(carrera, materia).excedeCupo(materia, carrera);
+
+    } // Complejidad excedeCupo(): O(|c| + |m|)
+
+
+    // Método para devolver todas las carreras, ordenadas
+    public String[] carreras() {
+        return enrutador.carreras();
+
+    } // Complejidad carreras(): O(|C| * |c|)
+
+
+    // Método para devolver las materias de una carrera, ordenadas: la unión de las de cada fragmento que la tiene
+    public String[] materias(String carrera) {
+        int[] con_carrera = enrutador.fragmentosDe(carrera);
+        if (con_carrera.length == 1) {
+            return fragmentos[con_carrera[0]].materias(carrera);
+        }
+
+        // Los nombres de una carrera no se repiten entre fragmentos; los juntamos en un Trie para ordenarlos: O(|M_c| * |m_c|)
+        DiccionarioTrie<Boolean> materias_carrera = new DiccionarioTrie<>();
+        for (int f : con_carrera) {
+            for (String materia : fragmentos[f].materias(carrera)) {
+                materias_carrera.insertar(materia, true);
+            }
+        }
+        return materias_carrera.flujoDeClaves(false).toArray(String[]::new);
+
+    } // Complejidad materias(): O(|c| + N + |M_c| * |m_c|)
+
+
+    // Método para devolver la cantidad de materias inscriptas de un estudiante (su contador en el registro compartido)
+    public int materiasInscriptas(String estudiante) {
+        return registro.materiasInscriptas(estudiante);
+
+    } // Complejidad materiasInscriptas(): O(1)
+
+
+    // Método para devolver la cantidad total de inscripciones, contando cada fragmento en paralelo (cada materia vive en un
+    // único fragmento, así que las compartidas se cuentan una vez)
+    public long inscripcionesTotales() {
+        return IntStream.range(0, fragmentos.length).parallel()
+            .mapToLong(f -> fragmentos[f].inscripcionesTotales())
+            .sum();
+
+    } // Complejidad inscripcionesTotales(): O(|C| * |M_c| + N)
+
+
+    // Método para activar los cupos en todos los fragmentos
+    public void activarCupos() {
+        for (SistemaSIU fragmento : fragmentos) {
+            fragmento.activarCupos();
+        }
+
+    } // Complejidad activarCupos(): O(N)
+
+
+    // Método para devolver la cantidad de materias abiertas
+    public int cantidadMaterias() {
+        int total = 0;
+        for (SistemaSIU fragmento : fragmentos) {
+            total += fragmento.cantidadMaterias();
+        }
+        return total;
+
+    } // Complejidad cantidadMaterias(): O(N)
+
+
+    // Método para devolver la cantidad de estudiantes
+    public int cantidadEstudiantes() {
+        return registro.cantidadEstudiantes();
+
+    } // Complejidad cantidadEstudiantes(): O(1)
+
+
+    // Método para devolver la cantidad de fragmentos
+    public int cantidadFragmentos() {
+        return fragmentos.length;
+
+    } // Complejidad cantidadFragmentos(): O(1)
+
+
+    // Método para devolver el enrutador (por ejemplo, para agrupar operaciones por fragmento)
+    public EnrutadorCarreras enrutador() {
+        return enrutador;
+
+    } // Complejidad enrutador(): O(1)
+
+
+    // Método para estimar la memoria de todos los fragmentos y del registro de estudiantes (contado una vez)
+    public ReporteMemoria memoria() {
+        ReporteMemoria reporte = new ReporteMemoria("SistemaSIUFragmentado");
+        reporte.bytes = EstimadorMemoria.instancia(SistemaSIUFragmentado.class);
+        reporte.bytesCompactos = reporte.bytes;
+        reporte.sumar(registro.memoria());
+        for (SistemaSIU fragmento : fragmentos) {
+            reporte.sumar(fragmento.memoria());
+        }
+        return reporte;
+
+    } // Complejidad memoria(): la de SistemaSIU.memoria() en el registro y en cada fragmento
+}
@@ -0,0 +1,26 @@
+package aed;
+
+// Implementaciones de Secuencia que puede usar el sistema (por ejemplo, para las listas de inscriptos de cada Materia)
+public enum TipoSecuencia {
+
+    ENLAZADA,    // ListaEnlazada: un nodo por elemento
+    DESENROLLADA, // ListaDesenrollada: bloques de varios elementos, más compacta y rápida de recorrer
+    INDEXADA,     // ListaIndexada: árbol de bloques, acceso y borrado por posición en O(log n)
+    FUERA_DEL_HEAP; // ListaFueraDelHeap: Strings cortas empaquetadas en un buffer directo (sólo para Strings, como las libretas)
+
+    // Crea una secuencia vacía del tipo (FUERA_DEL_HEAP sólo puede guardar Strings)
+    @SuppressWarnings("unchecked")
+    public <T> Secuencia<T> crear() {
+        switch (this) {
+            case DESENROLLADA:
+                return new ListaDesenrollada<>();
+            case INDEXADA:
+                return new ListaIndexada<>();
+            case FUERA_DEL_HEAP:
+                return (Secuencia<T>) new ListaFueraDelHeap();
+            default:
+                return new ListaEnlazada<>();
+        }
+
+    } // Complejidad crear(): O(1)
+}
@@ -0,0 +1,13 @@
+package aed;
+
+// Interfaz para las estructuras que guardan versiones anteriores de su estado, para que las lean las instantáneas vivas
+public interface Versionado {
+
+    /**
+     * Descarta las versiones anteriores que ya no necesita ninguna instantánea viva.
+     * Devuelve true si todavía quedan versiones anteriores guardadas.
+     * 
+     */
+    public boolean podarHistorial(ControlVersiones control);
+
+}
@@ -0,0 +1,102 @@
+package aed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.Test;
+
+public class CacheMateriasTests {
+
+    @Test
+    void desalojo_clock() {
+        CacheMaterias cache = new CacheMaterias(3);
+        Materia[] materias = {new Materia(), new Materia(), new Materia(), new Materia()};
+        for (int i = 0; i < 3; i++) {
+            cache.guardar("Carrera", "Materia " + i, materias[i], cache.generacion());
+        }
+        assertEquals(3, cache.ocupadas());
+
+        // Usamos la 0 y la 2: la manecilla desaloja la 1, la primera no usada
+        assertSame(materias[0], cache.buscar("Carrera", "Materia 0"));
+        assertSame(materias[2], cache.buscar("Carrera", "Materia 2"));
+        cache.guardar("Carrera", "Materia 3", materias[3], cache.generacion());
+        assertEquals(1, cache.desalojos());
+        assertNull(cache.buscar("Carrera", "Materia 1"));
+        assertSame(materias[0], cache.buscar("Carrera", "Materia 0"));
+        assertSame(materias[3], cache.buscar("Carrera", "Materia 3"));
+        assertEquals(3, cache.ocupadas());
+        assertEquals(4, cache.aciertos());
+        assertEquals(1, cache.fallos());
+        assertEquals(0.8, cache.tasaDeAciertos(), 1e-9);
+    }
+
+    @Test
+    void invalidar_todos_los_nombres() {
+        CacheMaterias cache = new CacheMaterias(8);
+        Materia analisis = new Materia();
+        Materia algoritmos = new Materia();
+        cache.guardar("Ciencias de la Computación", "Análisis I", analisis, cache.generacion());
+        cache.guardar("Ciencias Físicas", "Matemática 1", analisis, cache.generacion());
+        cache.guardar("Ciencias de Datos", "Algoritmos2", algoritmos, cache.generacion());
+
+        // Una resolución que empezó antes de la invalidación no se guarda
+        int generacion = cache.generacion();
+        cache.invalidar(analisis);
+        cache.guardar("Ciencias Químicas", "Análisis Matemático I", analisis, generacion);
+
+        assertNull(cache.buscar("Ciencias de la Computación", "Análisis I"));
+        assertNull(cache.buscar("Ciencias Físicas", "Matemática 1"));
+        assertNull(cache.buscar("Ciencias Químicas", "Análisis Matemático I"));
+        assertSame(algoritmos, cache.buscar("Ciencias de Datos", "Algoritmos2"));
+        assertEquals(1, cache.ocupadas());
+        assertEquals(2, cache.invalidadas());
+
+        // Los lugares liberados se reusan sin desalojar
+        for (int i = 0; i < 7; i++) {
+            cache.guardar("Ciencias de Datos", "Optativa " + i, new Materia(), cache.generacion());
+        }
+        assertEquals(8, cache.ocupadas());
+        assertEquals(0, cache.desalojos());
+    }
+
+    @Test
+    void lectores_sin_lock_con_desalojos() throws InterruptedException {
+        CacheMaterias cache = new CacheMaterias(16);
+        Materia[] materias = new Materia[64];
+        for (int i = 0; i < materias.length; i++) {
+            materias[i] = new Materia();
+        }
+        Queue<Throwable> fallas = new ConcurrentLinkedQueue<>();
+
+        // Cada lector busca y guarda pares de a muchos más que la capacidad: si encuentra una materia, es la de su par
+        Thread[] hilos = new Thread[4];
+        for (int h = 0; h < hilos.length; h++) {
+            int semilla = h;
+            hilos[h] = new Thread(() -> {
+                try {
+                    for (int k = 0; k < 50000; k++) {
+                        int i = (k * 7 + semilla * 13) % materias.length;
+                        Materia encontrada = cache.buscar("Carrera", "Materia " + i);
+                        if (encontrada == null) {
+                            cache.guardar("Carrera", "Materia " + i, materias[i], cache.generacion());
+                        } else {
+                            assertSame(materias[i], encontrada);
+                        }
+                    }
+                } catch (Throwable falla) {
+                    fallas.add(falla);
+                }
+            });
+            hilos[h].start();
+        }
+        SistemaSIUTests.esperar(hilos, fallas);
+        assertEquals(16, cache.ocupadas());
+        assertEquals(4 * 50000, cache.aciertos() + cache.fallos());
+
+        // Después de invalidar, ningún nombre de la materia queda
+        cache.invalidar(materias[3]);
+        assertNull(cache.buscar("Carrera", "Materia 3"));
+    }
+}
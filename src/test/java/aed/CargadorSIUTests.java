@@ -0,0 +1,90 @@
+package aed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CargadorSIUTests {
+
+    @TempDir
+    Path carpeta;
+
+    private Path escribir(String nombre, String contenido) throws IOException {
+        Path archivo = carpeta.resolve(nombre);
+        Files.write(archivo, contenido.getBytes(StandardCharsets.UTF_8));
+        return archivo;
+    }
+
+    @Test
+    void carga_igual_que_con_arrays() throws IOException {
+        Path catalogo = escribir("catalogo.csv",
+            "\uFEFF1;Ciencias de la Computación;Análisis I\r\n"
+            + "2;Ciencias Químicas;Química General\n"
+            + "\n"
+            + "1;Ciencias Químicas;Análisis Matemático I\n"
+            + "1;Ciencias Físicas;Matemática 1\n"
+            + "3;Ciencias Biológicas;Introducción a la Biología Molecular y Celular; con laboratorio");
+        Path padron = escribir("padron.txt", "123/23\n314/81\r\n\n942/20\n");
+
+        SistemaSIU cargado = CargadorSIU.cargar(catalogo, padron);
+        SistemaSIU esperado = new SistemaSIU(new InfoMateria[] {
+            new InfoMateria(new ParCarreraMateria[] {new ParCarreraMateria("Ciencias de la Computación", "Análisis I"),
+                new ParCarreraMateria("Ciencias Químicas", "Análisis Matemático I"), new ParCarreraMateria("Ciencias Físicas", "Matemática 1")}),
+            new InfoMateria(new ParCarreraMateria[] {new ParCarreraMateria("Ciencias Químicas", "Química General")}),
+            new InfoMateria(new ParCarreraMateria[] {new ParCarreraMateria("Ciencias Biológicas", "Introducción a la Biología Molecular y Celular; con laboratorio")})
+        }, new String[] {"123/23", "314/81", "942/20"});
+
+        assertEquals(3, cargado.cantidadMaterias());
+        assertEquals(3, cargado.cantidadEstudiantes());
+        assertArrayEquals(esperado.carreras(), cargado.carreras());
+        for (String carrera : esperado.carreras()) {
+            assertArrayEquals(esperado.materias(carrera), cargado.materias(carrera));
+        }
+
+        // Los tres nombres de la materia 1 son la misma instancia
+        cargado.inscribir("314/81", "Ciencias Químicas", "Análisis Matemático I");
+        cargado.inscribir("942/20", "Ciencias Físicas", "Matemática 1");
+        assertEquals(2, cargado.inscriptos("Análisis I", "Ciencias de la Computación"));
+        assertEquals(1, cargado.materiasInscriptas("942/20"));
+    }
+
+    @Test
+    void lineas_que_cruzan_ventanas() throws IOException {
+        StringBuilder contenido = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            contenido.append(i).append(";Carrera ñ ").append(i % 7).append(";Materia ").append(i).append('\n');
+        }
+        Path archivo = escribir("lineas.csv", contenido.toString());
+
+        // Ventanas de 32 bytes: casi todas las líneas quedan partidas entre dos ventanas
+        try (CargadorSIU.LectorLineas lector = new CargadorSIU.LectorLineas(archivo, 32)) {
+            String[] campos = new String[3];
+            for (int i = 0; i < 200; i++) {
+                assertEquals(3, lector.leerLinea(campos, ';'));
+                assertEquals(String.valueOf(i), campos[0]);
+                assertEquals("Carrera ñ " + (i % 7), campos[1]);
+                assertEquals("Materia " + i, campos[2]);
+            }
+            assertEquals(-1, lector.leerLinea(campos, ';'));
+        }
+    }
+
+    @Test
+    void errores_de_formato() throws IOException {
+        Path padron = escribir("padron.txt", "1/23\n");
+        Path catalogo = escribir("catalogo.csv", "1;Ciencias de Datos;Algoritmos1\n2;Ciencias de Datos\n");
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> CargadorSIU.cargar(catalogo, padron));
+        assertTrue(error.getMessage().contains("línea 2"));
+
+        Path larga = escribir("larga.txt", "0123456789012345678901234567890123456789\n");
+        try (CargadorSIU.LectorLineas lector = new CargadorSIU.LectorLineas(larga, 16)) {
+            assertThrows(IllegalArgumentException.class, () -> lector.leerLinea(new String[1], '\n'));
+        }
+    }
+}
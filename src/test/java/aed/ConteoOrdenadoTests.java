@@ -0,0 +1,88 @@
+package aed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ConteoOrdenadoTests {
+
+    // Devuelve los elementos de mayor a menor conteo, verificando que los conteos no crezcan
+    private static String recorrer(ConteoOrdenado<String> conteo) {
+        StringBuilder recorrido = new StringBuilder();
+        int anterior = Integer.MAX_VALUE;
+        for (ConteoOrdenado.Nodo<String> nodo = conteo.primero(); nodo != null; nodo = conteo.siguiente(nodo)) {
+            assertTrue(nodo.conteo() <= anterior);
+            anterior = nodo.conteo();
+            recorrido.append(nodo.elemento()).append(nodo.conteo()).append(' ');
+        }
+        return recorrido.toString().trim();
+    }
+
+    @Test
+    void mueve_entre_cubetas(){
+        ConteoOrdenado<String> conteo = new ConteoOrdenado<>();
+        assertNull(conteo.primero());
+        ConteoOrdenado.Nodo<String> a = conteo.agregar("a", 0);
+        ConteoOrdenado.Nodo<String> b = conteo.agregar("b", 0);
+        ConteoOrdenado.Nodo<String> c = conteo.agregar("c", 3);
+        assertEquals("c3 a0 b0", recorrer(conteo));
+        assertEquals(2, conteo.cantidadCubetas());
+
+        conteo.sumar(b, 1);
+        conteo.sumar(a, 1);
+        assertEquals("c3 b1 a1", recorrer(conteo));
+        assertEquals(2, conteo.cantidadCubetas());
+
+        conteo.sumar(b, 2);
+        assertEquals("c3 b3 a1", recorrer(conteo));
+        conteo.sumar(c, -3);
+        assertEquals("b3 a1 c0", recorrer(conteo));
+        assertEquals(3, conteo.cantidadCubetas());
+
+        conteo.eliminar(a);
+        assertEquals("b3 c0", recorrer(conteo));
+        assertEquals(2, conteo.tamanio());
+        assertEquals(2, conteo.cantidadCubetas());
+        conteo.eliminar(b);
+        conteo.eliminar(c);
+        assertNull(conteo.primero());
+        assertEquals(0, conteo.cantidadCubetas());
+    }
+
+    @Test
+    void coincide_con_los_contadores(){
+        Random azar = new Random(7);
+        int cantidad = 50;
+        ConteoOrdenado<String> conteo = new ConteoOrdenado<>();
+        @SuppressWarnings("unchecked")
+        ConteoOrdenado.Nodo<String>[] nodos = new ConteoOrdenado.Nodo[cantidad];
+        int[] esperados = new int[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            nodos[i] = conteo.agregar(Integer.toString(i), 0);
+        }
+
+        for (int paso = 0; paso < 20000; paso++) {
+            int i = azar.nextInt(cantidad);
+            int delta = esperados[i] > 0 && azar.nextInt(3) == 0 ? -Math.min(esperados[i], 1 + azar.nextInt(3)) : 1;
+            conteo.sumar(nodos[i], delta);
+            esperados[i] += delta;
+        }
+
+        int visitados = 0;
+        long suma = 0;
+        for (ConteoOrdenado.Nodo<String> nodo = conteo.primero(); nodo != null; nodo = conteo.siguiente(nodo)) {
+            assertEquals(esperados[Integer.parseInt(nodo.elemento())], nodo.conteo());
+            suma += nodo.conteo();
+            visitados++;
+        }
+        long suma_esperada = 0;
+        for (int esperado : esperados) {
+            suma_esperada += esperado;
+        }
+        assertEquals(cantidad, visitados);
+        assertEquals(suma_esperada, suma);
+        recorrer(conteo);
+    }
+}
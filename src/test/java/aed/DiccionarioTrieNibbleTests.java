@@ -0,0 +1,130 @@
+package aed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class DiccionarioTrieNibbleTests {
+
+    private static <V> ArrayList<String> claves(DiccionarioTrieNibble<V> dicc) {
+        ArrayList<String> claves = new ArrayList<>();
+        for (String clave : dicc) {
+            claves.add(clave);
+        }
+        return claves;
+    }
+
+    @Test
+    void insertar_buscar_y_eliminar(){
+        DiccionarioTrieNibble<String> dicc = new DiccionarioTrieNibble<>();
+        dicc.insertar("manzana", "Una fruta");
+        dicc.insertar("man", "Abreviatura de hombre");
+        dicc.insertar("mango", "Otra fruta");
+
+        // Dos nodos por byte: "man" son 6, "go" 4 más, "zana" 8 más, y la raíz
+        assertEquals(3, dicc.cantidadClaves());
+        assertEquals(19, dicc.cantidadNodos());
+        assertEquals("Una fruta", dicc.buscar("manzana"));
+        assertEquals("Abreviatura de hombre", dicc.buscar("man"));
+        assertNull(dicc.buscar("ma"));
+        assertNull(dicc.buscar("mangos"));
+        assertFalse(dicc.pertenece(""));
+
+        assertTrue(dicc.eliminar("manzana"));
+        assertFalse(dicc.eliminar("manzana"));
+        assertFalse(dicc.eliminar("ma"));
+        assertNull(dicc.buscar("manzana"));
+        assertEquals(11, dicc.cantidadNodos());
+        assertTrue(dicc.eliminar("man"));
+        assertEquals("Otra fruta", dicc.buscar("mango"));
+        assertEquals(11, dicc.cantidadNodos());
+        assertTrue(dicc.eliminar("mango"));
+        assertTrue(dicc.estaVacio());
+        assertEquals(1, dicc.cantidadNodos());
+    }
+
+    @Test
+    void acepta_cualquier_caracter_unicode(){
+        DiccionarioTrieNibble<Integer> dicc = new DiccionarioTrieNibble<>();
+        String[] claves = {"Análisis I", "Álgebra", "Ω", "数学", "Física 🚀", "", "ñandú", "Ā", "￿"};
+        for (int i = 0; i < claves.length; i++) {
+            dicc.insertar(claves[i], i);
+        }
+
+        for (int i = 0; i < claves.length; i++) {
+            assertEquals(i, dicc.buscar(claves[i]));
+        }
+        assertNull(dicc.buscar("数"));
+        assertNull(dicc.buscar("Física 🚁"));
+
+        // Las claves salen en el orden de sus códigos Unicode (el de String.compareTo() salvo por los surrogates)
+        ArrayList<String> esperadas = new ArrayList<>();
+        for (String clave : claves) {
+            esperadas.add(clave);
+        }
+        esperadas.sort(String::compareTo);
+        assertEquals(esperadas, claves(dicc));
+
+        assertTrue(dicc.eliminar("Física 🚀"));
+        assertNull(dicc.buscar("Física 🚀"));
+        assertEquals(claves.length - 1, dicc.cantidadClaves());
+    }
+
+    @Test
+    void rechaza_surrogates_sueltos(){
+        DiccionarioTrieNibble<Integer> dicc = new DiccionarioTrieNibble<>();
+        dicc.insertar("?", 1);
+        int nodos = dicc.cantidadNodos();
+
+        // Un surrogate suelto no tiene código Unicode: no se confunde con '?' ni con ninguna otra clave
+        for (String clave : new String[] {"\uD800", "a\uDC00b", "🚀".substring(0, 1), "\uDC00\uD800"}) {
+            assertThrows(IllegalArgumentException.class, () -> dicc.insertar(clave, 2));
+            assertNull(dicc.buscar(clave));
+            assertFalse(dicc.pertenece(clave));
+            assertFalse(dicc.eliminar(clave));
+        }
+        assertEquals(1, dicc.buscar("?"));
+        assertEquals(1, dicc.cantidadClaves());
+        assertEquals(nodos, dicc.cantidadNodos());
+    }
+
+    @Test
+    void coincide_con_diccionario_trie(){
+        DiccionarioTrie<Integer> trie = new DiccionarioTrie<>();
+        DiccionarioTrieNibble<Integer> nibble = new DiccionarioTrieNibble<>();
+        Random random = new Random(7);
+        String[] alfabeto = {"a", "b", "á", "/", "1", "ü"};
+
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder clave = new StringBuilder();
+            int largo = random.nextInt(5);
+            for (int j = 0; j < largo; j++) {
+                clave.append(alfabeto[random.nextInt(alfabeto.length)]);
+            }
+            if (random.nextInt(3) == 0) {
+                assertEquals(trie.pertenece(clave.toString()), nibble.eliminar(clave.toString()));
+                trie.eliminar(clave.toString());
+            } else {
+                trie.insertar(clave.toString(), i);
+                nibble.insertar(clave.toString(), i);
+            }
+        }
+
+        assertEquals(trie.cantidadClaves(), nibble.cantidadClaves());
+        ArrayList<String> esperadas = new ArrayList<>();
+        for (String clave : trie) {
+            esperadas.add(clave);
+            assertEquals(trie.buscar(clave), nibble.buscar(clave));
+        }
+        assertEquals(esperadas, claves(nibble));
+
+        // La memoria recorre los mismos nodos que cuenta el diccionario
+        ReporteMemoria reporte = nibble.memoria();
+        assertEquals(nibble.cantidadNodos(), reporte.nodos);
+        assertEquals(nibble.cantidadClaves(), reporte.elementos);
+        assertEquals(nibble.cantidadNodos() - 1, reporte.slotsUsados);
+    }
+}
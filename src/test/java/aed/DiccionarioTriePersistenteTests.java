@@ -0,0 +1,110 @@
+package aed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class DiccionarioTriePersistenteTests {
+
+    private static <V> ArrayList<String> claves(DiccionarioTriePersistente<V> dicc) {
+        ArrayList<String> claves = new ArrayList<>();
+        for (String clave : dicc) {
+            claves.add(clave);
+        }
+        return claves;
+    }
+
+    @Test
+    void las_versiones_anteriores_no_cambian(){
+        DiccionarioTriePersistente<String> vacio = new DiccionarioTriePersistente<>();
+        DiccionarioTriePersistente<String> v1 = vacio.insertar("manzana", "Una fruta");
+        DiccionarioTriePersistente<String> v2 = v1.insertar("man", "Abreviatura de hombre").insertar("mango", "Otra fruta");
+        DiccionarioTriePersistente<String> v3 = v2.eliminar("manzana");
+
+        assertTrue(vacio.estaVacio());
+        assertEquals(1, vacio.cantidadNodos());
+        assertEquals("Una fruta", v1.buscar("manzana"));
+        assertNull(v1.buscar("man"));
+        assertEquals(3, v2.cantidadClaves());
+        assertEquals(10, v2.cantidadNodos());
+        assertEquals("Una fruta", v2.buscar("manzana"));
+        assertNull(v3.buscar("manzana"));
+        assertEquals("Otra fruta", v3.buscar("mango"));
+        assertEquals(2, v3.cantidadClaves());
+        assertEquals(6, v3.cantidadNodos());
+
+        // Eliminar una clave que no está, o insertar el mismo valor, devuelve la misma versión
+        assertSame(v3, v3.eliminar("manzana"));
+        assertSame(v3, v3.eliminar("ma"));
+        assertSame(v3.insertar("ma", "x").eliminar("ma").buscar("mango"), v3.buscar("mango"));
+        String valor = v3.buscar("man");
+        assertSame(v3, v3.insertar("man", valor));
+
+        // Las claves salen ordenadas en cada versión
+        assertEquals(java.util.Arrays.asList("man", "mango", "manzana"), claves(v2));
+        assertEquals(java.util.Arrays.asList("man", "mango"), claves(v3));
+        assertThrows(IllegalArgumentException.class, () -> v3.insertar("Ā", "x"));
+        assertNull(v3.buscar("mĀ"));
+    }
+
+    @Test
+    void coincide_con_diccionario_trie(){
+        Random azar = new Random(3);
+        DiccionarioTrie<Integer> mutable = new DiccionarioTrie<>();
+        DiccionarioTriePersistente<Integer> persistente = new DiccionarioTriePersistente<>();
+        for (int paso = 0; paso < 3000; paso++) {
+            String clave = Integer.toString(azar.nextInt(500), 7) + (azar.nextBoolean() ? "á" : "");
+            if (azar.nextInt(3) == 0) {
+                mutable.eliminar(clave);
+                persistente = persistente.eliminar(clave);
+            } else {
+                mutable.insertar(clave, paso);
+                persistente = persistente.insertar(clave, paso);
+            }
+        }
+        assertEquals(mutable.cantidadClaves(), persistente.cantidadClaves());
+        assertEquals(mutable.cantidadNodos(), persistente.cantidadNodos());
+        ArrayList<String> esperadas = new ArrayList<>();
+        mutable.forEach(esperadas::add);
+        assertEquals(esperadas, claves(persistente));
+        for (String clave : esperadas) {
+            assertEquals(mutable.buscar(clave), persistente.buscar(clave));
+        }
+
+        DiccionarioTriePersistente<Integer> copia = DiccionarioTriePersistente.desde(mutable);
+        assertEquals(mutable.cantidadNodos(), copia.cantidadNodos());
+        assertEquals(esperadas, claves(copia));
+        for (String clave : esperadas) {
+            assertEquals(mutable.buscar(clave), copia.buscar(clave));
+        }
+    }
+
+    @Test
+    void versiones_parecidas_comparten_memoria(){
+        // Catálogo de una carrera, y 30 versiones que cierran una materia más cada una
+        DiccionarioTrie<Integer> catalogo = new DiccionarioTrie<>();
+        for (int i = 0; i < 2000; i++) {
+            catalogo.insertar("Materia optativa número " + i, i);
+        }
+        @SuppressWarnings("unchecked")
+        DiccionarioTriePersistente<Integer>[] versiones = new DiccionarioTriePersistente[31];
+        versiones[0] = DiccionarioTriePersistente.desde(catalogo);
+        for (int k = 1; k < versiones.length; k++) {
+            versiones[k] = versiones[k - 1].eliminar("Materia optativa número " + (k * 37));
+        }
+        assertEquals(1970, versiones[30].cantidadClaves());
+        assertEquals(2000, versiones[0].cantidadClaves());
+        assertNull(versiones[30].buscar("Materia optativa número 37"));
+        assertEquals(37, versiones[0].buscar("Materia optativa número 37"));
+
+        // Cada versión suma a lo sumo los nodos del camino de su clave, y las 31 juntas ocupan mucho menos que 31 copias
+        ReporteMemoria una = versiones[0].memoria();
+        ReporteMemoria todas = DiccionarioTriePersistente.memoriaCompartida(versiones);
+        assertTrue(todas.nodos - una.nodos <= 30 * ("Materia optativa número ".length() + 4));
+        assertTrue(todas.bytes < 2 * una.bytes, todas.bytes + " vs " + una.bytes);
+        assertTrue(una.bytes < catalogo.memoria().bytes / 10);
+    }
+}
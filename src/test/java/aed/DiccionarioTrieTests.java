@@ -2,6 +2,12 @@ package aed;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
 import org.junit.jupiter.api.Test;
 
 public class DiccionarioTrieTests {
@@ -40,4 +46,169 @@ public class DiccionarioTrieTests {
         dicc.estaVacio();
     }
 
+    @Test
+    void memoria_cuenta_nodos_y_slots(){
+        DiccionarioTrie<String> dicc = new DiccionarioTrie<>();
+        dicc.insertar("man", "Abreviatura de hombre");
+        dicc.insertar("mango", "Otra fruta");
+
+        // raíz + m, a, n, g, o
+        ReporteMemoria reporte = dicc.memoria();
+        assertEquals(6, reporte.nodos);
+        assertEquals(6, dicc.cantidadNodos());
+        assertEquals(2, reporte.elementos);
+        assertEquals(6 * 255, reporte.slotsAsignados);
+        assertEquals(5, reporte.slotsUsados);
+        assertTrue(reporte.bytesCompactos < reporte.bytes);
+
+        dicc.eliminar("mango");
+        assertEquals(4, dicc.memoria().nodos);
+        assertEquals(4, dicc.cantidadNodos());
+    }
+
+    @Test
+    void compactar_recorta_los_hijos(){
+        DiccionarioTrie<Integer> dicc = new DiccionarioTrie<>();
+        for (int i = 0; i < 300; i++) {
+            dicc.insertar(i + "/23", i);
+        }
+        for (int i = 0; i < 300; i += 2) {
+            assertTrue(dicc.eliminar(i + "/23"));
+        }
+        assertFalse(dicc.eliminar("0/23"));
+        long antes = dicc.memoria().bytes;
+        int nodos = dicc.cantidadNodos();
+
+        // Las claves sólo usan dígitos y '/': ningún array necesita pasar del '9'
+        long liberados = dicc.compactar();
+        ReporteMemoria despues = dicc.memoria();
+        assertTrue(liberados > 0);
+        assertEquals(antes - liberados, despues.bytes);
+        assertTrue(despues.slotsAsignados <= (long) nodos * ('9' + 1));
+        assertEquals(0, dicc.compactar());
+        assertEquals(nodos, dicc.cantidadNodos());
+        assertEquals(150, dicc.cantidadClaves());
+        assertEquals(7, dicc.buscar("7/23"));
+        assertNull(dicc.buscar("8/23"));
+        assertNull(dicc.buscar("7/23z"));
+        assertEquals(150, dicc.flujoDeClaves(true).count());
+
+        // Insertar después de compactar vuelve a agrandar el array que haga falta
+        dicc.insertar("7/23z", -1);
+        dicc.insertar("8/23", 8);
+        assertEquals(-1, dicc.buscar("7/23z"));
+        assertEquals(8, dicc.buscar("8/23"));
+        assertTrue(dicc.eliminar("7/23z"));
+        assertEquals(7, dicc.buscar("7/23"));
+        assertEquals(151, dicc.cantidadClaves());
+    }
+
+    @Test
+    void compactar_no_toca_lo_que_lee_una_instantanea(){
+        ControlVersiones control = new ControlVersiones();
+        DiccionarioTrie<Integer> dicc = new DiccionarioTrie<>(control);
+        dicc.insertar("abc", 1);
+        dicc.insertar("abd", 2);
+        int version = control.tomarVersion();
+        assertEquals(0, dicc.compactar());
+        dicc.eliminar("abd");
+        assertEquals(2, dicc.buscar("abd", version));
+        control.liberarVersion(version);
+        assertTrue(dicc.compactar() > 0);
+        assertEquals(1, dicc.buscar("abc"));
+    }
+
+    @Test
+    void recorrer_y_dividir_claves(){
+        DiccionarioTrie<Integer> dicc = new DiccionarioTrie<>();
+        ArrayList<String> esperadas = new ArrayList<>();
+        for (int i = 0; i < 1000; i++){
+            String clave = i + "/" + (i % 7);
+            dicc.insertar(clave, i);
+            esperadas.add(clave);
+        }
+        dicc.insertar("1/1", 1);
+        esperadas.sort(null);
+        assertEquals(1000, dicc.cantidadClaves());
+
+        ArrayList<String> claves = new ArrayList<>();
+        for (String clave : dicc){
+            claves.add(clave);
+        }
+        assertEquals(esperadas, claves);
+        assertEquals(esperadas, dicc.flujoDeClaves(true).collect(Collectors.toList()));
+        assertEquals(999 * 1000 / 2, dicc.flujoDeValores(true).mapToLong(valor -> valor).sum());
+
+        Spliterator<String> todo = dicc.spliterator();
+        assertTrue(todo.hasCharacteristics(Spliterator.SIZED | Spliterator.ORDERED | Spliterator.SORTED));
+        assertEquals(1000, todo.getExactSizeIfKnown());
+        Spliterator<String> primera = todo.trySplit();
+        assertNotNull(primera);
+        assertFalse(todo.hasCharacteristics(Spliterator.SIZED));
+        ArrayList<String> partes = new ArrayList<>();
+        primera.forEachRemaining(partes::add);
+        todo.forEachRemaining(partes::add);
+        assertEquals(esperadas, partes);
+
+        dicc.eliminar("1/1");
+        dicc.eliminar("no está");
+        assertEquals(999, dicc.cantidadClaves());
+    }
+
+    @Test
+    void las_copias_comparten_hijos_sin_cambiar_la_instantanea(){
+        ControlVersiones control = new ControlVersiones();
+        DiccionarioTrie<Integer> dicc = new DiccionarioTrie<>(control);
+        dicc.insertar("123/23", 1);
+        dicc.insertar("124/23", 2);
+        int version = control.tomarVersion();
+
+        // La copia de cada nodo del camino comparte el array de hijos hasta que cambia uno
+        dicc.insertar("125/23", 3);
+        dicc.insertar("12", 4);
+        dicc.eliminar("124/23");
+        assertEquals(2, dicc.buscar("124/23", version));
+        assertNull(dicc.buscar("125/23", version));
+        assertNull(dicc.buscar("12", version));
+        assertEquals("[123/23, 124/23]", dicc.obtenerClaves(version).toString());
+        assertEquals("[12, 123/23, 125/23]", dicc.obtenerClaves().toString());
+        assertEquals(11, dicc.cantidadNodos());
+        control.liberarVersion(version);
+
+        // Eliminar descuelga todos los nodos que quedaron sin claves
+        dicc.eliminar("125/23");
+        dicc.eliminar("123/23");
+        assertEquals(3, dicc.cantidadNodos());
+        assertEquals(4, dicc.buscar("12"));
+    }
+
+    @Test
+    void lector_sin_lock_ve_los_valores_completos() throws InterruptedException {
+        DiccionarioTrie<int[]> dicc = new DiccionarioTrie<>();
+        int cantidad = 20000;
+        Queue<Throwable> fallas = new ConcurrentLinkedQueue<>();
+
+        // El lector busca cada clave hasta encontrarla, sin ningún lock ni otra sincronización con el escritor
+        Thread lector = new Thread(() -> {
+            try {
+                for (int i = 0; i < cantidad; i++) {
+                    String clave = (i / 100) + "/" + String.format("%02d", i % 100);
+                    int[] valor = dicc.buscar(clave);
+                    while (valor == null) {
+                        valor = dicc.buscar(clave);
+                    }
+                    assertEquals(i, valor[0]);
+                }
+            } catch (Throwable falla) {
+                fallas.add(falla);
+            }
+        });
+        lector.start();
+        for (int i = 0; i < cantidad; i++) {
+            int[] valor = new int[1];
+            valor[0] = i;
+            dicc.insertar((i / 100) + "/" + String.format("%02d", i % 100), valor);
+        }
+        SistemaSIUTests.esperar(new Thread[] {lector}, fallas);
+    }
 }
@@ -0,0 +1,187 @@
+package aed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ExportadorSIUTests {
+    SistemaSIU sistema;
+
+    @BeforeEach
+    void init() {
+        InfoMateria[] infoMaterias = new InfoMateria[] {
+            new InfoMateria(new ParCarreraMateria[] {new ParCarreraMateria("Ciencias de la Computación", "Análisis I"), new ParCarreraMateria("Ciencias de Datos", "Análisis I"), new ParCarreraMateria("Ciencias Físicas", "Matemática 1")}),
+            new InfoMateria(new ParCarreraMateria[] {new ParCarreraMateria("Ciencias de Datos", "Algoritmos2"), new ParCarreraMateria("Ciencias de la Computación", "Algoritmos")}),
+            new InfoMateria(new ParCarreraMateria[] {new ParCarreraMateria("Ciencias Físicas", "Física 1")})
+        };
+        sistema = new SistemaSIU(infoMaterias, new String[] {"123/23", "314/81", "942/20"});
+        sistema.inscribir("314/81", "Ciencias Físicas", "Matemática 1");
+        sistema.inscribir("123/23", "Ciencias de Datos", "Análisis I");
+        sistema.inscribir("942/20", "Ciencias de Datos", "Algoritmos2");
+        sistema.agregarDocente(SistemaSIU.CargoDocente.AY2, "Ciencias Físicas", "Física 1");
+    }
+
+    private static String exportarCSV(SistemaSIU sistema) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        ExportadorSIU.exportar(sistema, Channels.newChannel(salida), ExportadorSIU.Formato.CSV, false);
+        return new String(salida.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void cada_materia_una_sola_vez() throws IOException {
+        // Las carreras se recorren en orden, y cada materia sale desde la primera carrera de su InfoMateria
+        assertEquals(
+            "N;0;Ciencias Físicas;Física 1\n"
+            + "D;0;0;0;0;1\n"
+            + "N;1;Ciencias de Datos;Algoritmos2\n"
+            + "N;1;Ciencias de la Computación;Algoritmos\n"
+            + "D;1;0;0;0;0\n"
+            + "I;1;942/20\n"
+            + "N;2;Ciencias de la Computación;Análisis I\n"
+            + "N;2;Ciencias de Datos;Análisis I\n"
+            + "N;2;Ciencias Físicas;Matemática 1\n"
+            + "D;2;0;0;0;0\n"
+            + "I;2;314/81\n"
+            + "I;2;123/23\n",
+            exportarCSV(sistema));
+
+        sistema.cerrarMateria("Algoritmos", "Ciencias de la Computación");
+        assertTrue(exportarCSV(sistema).contains("D;0;0;0;0;1\nN;1;Ciencias de la Computación;Análisis I\n"));
+    }
+
+    @Test
+    void binario_comprimido() throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        long registros = ExportadorSIU.exportar(sistema, Channels.newChannel(salida), ExportadorSIU.Formato.BINARIO, true);
+        assertEquals(12, registros);
+
+        // Leemos los registros de vuelta
+        byte[] datos = new GZIPInputStream(new ByteArrayInputStream(salida.toByteArray())).readAllBytes();
+        int[] posicion = {0};
+        int leidos = 0;
+        StringBuilder inscriptos = new StringBuilder();
+        while (posicion[0] < datos.length) {
+            char tipo = (char) datos[posicion[0]++];
+            int id = leerVarint(datos, posicion);
+            if (tipo == 'N') {
+                leerTexto(datos, posicion);
+                leerTexto(datos, posicion);
+            } else if (tipo == 'D') {
+                for (int k = 0; k < 4; k++) {
+                    leerVarint(datos, posicion);
+                }
+            } else {
+                assertEquals('I', tipo);
+                inscriptos.append(id).append(':').append(leerTexto(datos, posicion)).append(' ');
+            }
+            leidos++;
+        }
+        assertEquals(12, leidos);
+        assertEquals("1:942/20 2:314/81 2:123/23 ", inscriptos.toString());
+    }
+
+    @Test
+    void csv_con_separadores_en_los_nombres() throws IOException {
+        InfoMateria[] infoMaterias = new InfoMateria[] {
+            new InfoMateria(new ParCarreraMateria[] {new ParCarreraMateria("Ciencias; Exactas", "Taller \"Linux\"\nnivel 1")})
+        };
+        SistemaSIU raro = new SistemaSIU(infoMaterias, new String[] {"123/23"});
+        raro.inscribir("123/23", "Ciencias; Exactas", "Taller \"Linux\"\nnivel 1");
+        assertEquals(
+            "N;0;\"Ciencias; Exactas\";\"Taller \"\"Linux\"\"\nnivel 1\"\n"
+            + "D;0;0;0;0;0\n"
+            + "I;0;123/23\n",
+            exportarCSV(raro));
+    }
+
+    @Test
+    void exporta_una_instantanea_sin_frenar_las_escrituras() throws IOException {
+        // Con muchos inscriptos, el buffer se vuelca a la mitad del recorrido
+        String[] libretas = new String[20000];
+        for (int i = 0; i < libretas.length; i++) {
+            libretas[i] = (i / 100) + "/" + String.format("%02d", i % 100);
+        }
+        InfoMateria[] infoMaterias = new InfoMateria[] {
+            new InfoMateria(new ParCarreraMateria[] {new ParCarreraMateria("Ciencias Físicas", "Física 1")}),
+            new InfoMateria(new ParCarreraMateria[] {new ParCarreraMateria("Ciencias de Datos", "Algoritmos2")})
+        };
+        SistemaSIU grande = new SistemaSIU(infoMaterias, libretas);
+        for (String libreta : libretas) {
+            grande.inscribir(libreta, "Ciencias Físicas", "Física 1");
+        }
+        grande.inscribir(libretas[0], "Ciencias de Datos", "Algoritmos2");
+        String antes = exportarCSV(grande);
+
+        // La primera vez que se vuelca el buffer, otro hilo escribe en el sistema: si la exportación tuviera el lock,
+        // el hilo no terminaría
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        WritableByteChannel canal = Channels.newChannel(salida);
+        boolean[] escribio = {false};
+        WritableByteChannel con_escrituras = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer origen) throws IOException {
+                if (!escribio[0]) {
+                    escribio[0] = true;
+                    Thread escritor = new Thread(() -> {
+                        grande.inscribir(libretas[1], "Ciencias de Datos", "Algoritmos2");
+                        grande.darDeBaja("Ciencias Físicas", "Física 1", libreta -> true);
+                        grande.cerrarMateria("Algoritmos2", "Ciencias de Datos");
+                    });
+                    escritor.start();
+                    try {
+                        escritor.join(10000);
+                    } catch (InterruptedException e) {
+                        throw new IOException(e);
+                    }
+                    assertFalse(escritor.isAlive());
+                }
+                return canal.write(origen);
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        ExportadorSIU.exportar(grande, con_escrituras, ExportadorSIU.Formato.CSV, false);
+        assertTrue(escribio[0]);
+        assertEquals(antes, new String(salida.toByteArray(), StandardCharsets.UTF_8));
+
+        // Las escrituras quedaron, y la próxima exportación las ve
+        assertEquals(0, grande.inscriptos("Física 1", "Ciencias Físicas"));
+        assertEquals("N;0;Ciencias Físicas;Física 1\nD;0;0;0;0;0\n", exportarCSV(grande));
+    }
+
+    private static int leerVarint(byte[] datos, int[] posicion) {
+        int valor = 0;
+        int corrimiento = 0;
+        byte b;
+        do {
+            b = datos[posicion[0]++];
+            valor |= (b & 0x7F) << corrimiento;
+            corrimiento += 7;
+        } while (b < 0);
+        return valor;
+    }
+
+    private static String leerTexto(byte[] datos, int[] posicion) {
+        int largo = leerVarint(datos, posicion);
+        String texto = new String(datos, posicion[0], largo, StandardCharsets.UTF_8);
+        posicion[0] += largo;
+        return texto;
+    }
+}
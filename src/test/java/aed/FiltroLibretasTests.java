@@ -0,0 +1,57 @@
+package aed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class FiltroLibretasTests {
+
+    private static String libreta(int i) {
+        return (i / 100) + "/" + String.format("%02d", i % 100);
+    }
+
+    @Test
+    void sin_falsos_negativos_y_pocos_falsos_positivos() {
+        FiltroLibretas filtro = new FiltroLibretas(5000);
+        for (int i = 0; i < 5000; i++) {
+            filtro.agregar(libreta(i));
+        }
+        assertTrue(filtro.estaLleno());
+
+        for (int i = 0; i < 5000; i++) {
+            assertTrue(filtro.puedeEstar(libreta(i)));
+        }
+        assertEquals(0, filtro.rechazos());
+
+        // Libretas que no se agregaron: con 10 bits por libreta se espera alrededor de un 1% de falsos positivos
+        int pasaron = 0;
+        for (int i = 5000; i < 25000; i++) {
+            if (filtro.puedeEstar(libreta(i))) {
+                filtro.registrarFalsoPositivo();
+                pasaron++;
+            }
+        }
+        assertEquals(pasaron, filtro.falsosPositivos());
+        assertEquals(20000 - pasaron, filtro.rechazos());
+        assertTrue(filtro.tasaFalsosPositivos() < 0.03, filtro.toString());
+        assertTrue(filtro.tasaFalsosPositivosEsperada() < 0.03, filtro.toString());
+    }
+
+    @Test
+    void el_sistema_agranda_el_filtro() {
+        // Cargado de a uno, sin saber cuántos estudiantes habrá (como CargadorSIU)
+        SistemaSIU sistema = new SistemaSIU(TipoSecuencia.ENLAZADA);
+        int cant_estudiantes = 3 * SistemaSIU.CAPACIDAD_INICIAL_FILTRO;
+        for (int i = 0; i < cant_estudiantes; i++) {
+            sistema.agregarEstudiante(libreta(i));
+        }
+
+        FiltroLibretas filtro = sistema.filtroLibretas();
+        assertEquals(cant_estudiantes, filtro.cantidad());
+        assertTrue(filtro.capacidad() >= cant_estudiantes);
+        for (int i = 0; i < cant_estudiantes; i++) {
+            assertEquals(0, sistema.materiasInscriptas(libreta(i)));
+        }
+        assertEquals(SistemaSIU.ESTUDIANTE_DESCONOCIDO, sistema.materiasInscriptas(libreta(cant_estudiantes)));
+    }
+}
@@ -0,0 +1,44 @@
+package aed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class IndiceCompuestoTests {
+
+    @Test
+    void igual_que_los_tries_anidados() {
+        InfoMateria[] infoMaterias = new InfoMateria[] {
+            new InfoMateria(new ParCarreraMateria[] {new ParCarreraMateria("Ciencias de la Computación", "Análisis I"), new ParCarreraMateria("Ciencias de Datos", "Análisis I"), new ParCarreraMateria("Ciencias", "Matemática 1")}),
+            new InfoMateria(new ParCarreraMateria[] {new ParCarreraMateria("Ciencias de Datos", "Algoritmos2"), new ParCarreraMateria("Ciencias de la Computación", "Algoritmos")}),
+            new InfoMateria(new ParCarreraMateria[] {new ParCarreraMateria("Ciencias", "Física 1")}),
+            new InfoMateria(new ParCarreraMateria[] {new ParCarreraMateria("Ciencias de Datos", "Aprendizaje Automático")})
+        };
+        SistemaSIU anidado = new SistemaSIU(infoMaterias, new String[] {"1/23", "2/23"});
+        SistemaSIU plano = new SistemaSIU(infoMaterias, new String[] {"1/23", "2/23"});
+        IndiceCompuesto indice = plano.activarIndicePlano();
+        assertEquals(7, indice.cantidadClaves());
+
+        // "Ciencias" es prefijo de las otras carreras, pero el separador no deja que se mezclen
+        for (String carrera : anidado.carreras()) {
+            assertArrayEquals(anidado.materias(carrera), plano.materias(carrera));
+        }
+        assertArrayEquals(new String[] {"Física 1", "Matemática 1"}, plano.materias("Ciencias"));
+        assertNull(indice.buscar("Ciencias", "de Datos\u001FAlgoritmos2"));
+        assertNull(indice.buscar("Ciencias de", "Análisis I"));
+
+        // Los nombres de una materia compartida llegan a la misma instancia
+        assertSame(indice.buscar("Ciencias", "Matemática 1"), indice.buscar("Ciencias de Datos", "Análisis I"));
+        plano.inscribir("1/23", "Ciencias", "Matemática 1");
+        plano.inscribir("2/23", "Ciencias de la Computación", "Análisis I");
+        assertEquals(2, plano.inscriptos("Análisis I", "Ciencias de Datos"));
+
+        // Cerrar la materia saca todos sus nombres
+        plano.cerrarMateria("Análisis I", "Ciencias de Datos");
+        assertEquals(4, indice.cantidadClaves());
+        assertNull(indice.buscar("Ciencias", "Matemática 1"));
+        assertArrayEquals(new String[] {"Física 1"}, plano.materias("Ciencias"));
+        assertArrayEquals(new String[] {"Algoritmos2", "Aprendizaje Automático"}, plano.materias("Ciencias de Datos"));
+        assertEquals(0, plano.materiasInscriptas("1/23"));
+    }
+}
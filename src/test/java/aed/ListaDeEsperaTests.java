@@ -0,0 +1,65 @@
+package aed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ListaDeEsperaTests {
+
+    @Test
+    void ordena_por_antiguedad(){
+        ListaDeEspera espera = new ListaDeEspera();
+        assertTrue(espera.agregar("123/23"));
+        assertTrue(espera.agregar("314/81"));
+        assertTrue(espera.agregar("12/23"));
+        assertTrue(espera.agregar("sin formato"));
+        assertTrue(espera.agregar("942/2020"));
+        assertFalse(espera.agregar("12/23"));
+
+        assertEquals(5, espera.longitud());
+        assertEquals(1, espera.posicion("314/81"));
+        assertEquals(2, espera.posicion("942/2020"));
+        assertEquals(3, espera.posicion("12/23"));
+        assertEquals(4, espera.posicion("123/23"));
+        assertEquals(5, espera.posicion("sin formato"));
+        assertEquals(-1, espera.posicion("1/24"));
+
+        assertEquals("314/81", espera.sacarPrimero());
+        assertTrue(espera.eliminar("12/23"));
+        assertFalse(espera.eliminar("12/23"));
+        assertEquals("942/2020", espera.sacarPrimero());
+        assertEquals("123/23", espera.sacarPrimero());
+        assertEquals("sin formato", espera.sacarPrimero());
+        assertNull(espera.sacarPrimero());
+    }
+
+    @Test
+    void posiciones_con_muchos_estudiantes(){
+        ArrayList<String> estudiantes = new ArrayList<>();
+        for (int i = 0; i < 5000; i++){
+            estudiantes.add(i + "/" + (10 + i % 15));
+        }
+        ArrayList<String> mezclados = new ArrayList<>(estudiantes);
+        Collections.shuffle(mezclados, new Random(37));
+        ListaDeEspera espera = new ListaDeEspera();
+        for (String estudiante : mezclados){
+            espera.agregar(estudiante);
+        }
+
+        // Orden esperado: por año y después por número
+        estudiantes.sort((a, b) -> {
+            int anio = Integer.compare(ListaDeEspera.anioDeIngreso(a), ListaDeEspera.anioDeIngreso(b));
+            return anio != 0 ? anio : Integer.compare(Integer.parseInt(a.split("/")[0]), Integer.parseInt(b.split("/")[0]));
+        });
+        for (int i = 0; i < estudiantes.size(); i += 97){
+            assertEquals(i + 1, espera.posicion(estudiantes.get(i)));
+        }
+        for (String estudiante : estudiantes){
+            assertEquals(estudiante, espera.sacarPrimero());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package aed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+public class ListaDesenrolladaTests {
+
+    @Test
+    void agregar_obtener_y_recorrer(){
+        ListaDesenrollada<Integer> lista = new ListaDesenrollada<>(4);
+        for (int i = 0; i < 10; i++){
+            lista.agregarAtras(i);
+        }
+        lista.agregarAdelante(-1);
+        assertEquals(11, lista.longitud());
+        assertEquals(-1, lista.obtener(0));
+        assertEquals(9, lista.obtener(10));
+
+        Iterador<Integer> iterador = lista.iterador();
+        for (int i = -1; i < 10; i++){
+            assertTrue(iterador.haySiguiente());
+            assertEquals(i, iterador.siguiente());
+        }
+        assertFalse(iterador.haySiguiente());
+        lista.agregarAtras(10);
+        assertTrue(iterador.haySiguiente());
+        assertEquals(10, iterador.siguiente());
+    }
+
+    @Test
+    void eliminar_y_modificar(){
+        ListaDesenrollada<Integer> lista = new ListaDesenrollada<>(4);
+        for (int i = 0; i < 10; i++){
+            lista.agregarAtras(i);
+        }
+        lista.eliminar(0);
+        lista.eliminar(4);
+        lista.eliminar(7);
+        lista.modificarPosicion(1, 20);
+        assertEquals("[1, 20, 3, 4, 6, 7, 8]", lista.toString());
+        assertEquals(3, lista.eliminarSi(valor -> valor % 2 == 0 && valor < 10));
+        assertEquals("[1, 20, 3, 7]", lista.toString());
+        lista.agregarAtras(8);
+        lista.agregarAtras(6);
+        lista.agregarAtras(4);
+        for (int i = 0; i < 7; i++){
+            lista.eliminar(0);
+        }
+        assertEquals(0, lista.longitud());
+        assertFalse(lista.iterador().haySiguiente());
+        lista.agregarAtras(5);
+        assertEquals("[5]", lista.copiar().toString());
+    }
+
+    @Test
+    void sistema_con_inscriptos_desenrollados(){
+        InfoMateria[] infoMaterias = new InfoMateria[] {
+            new InfoMateria(new ParCarreraMateria[] {new ParCarreraMateria("Ciencias de la Computación", "Análisis I"), new ParCarreraMateria("Ciencias Físicas", "Matemática 1")})
+        };
+        String[] estudiantes = new String[200];
+        for (int i = 0; i < estudiantes.length; i++){
+            estudiantes[i] = i + "/24";
+        }
+        SistemaSIU sistema = new SistemaSIU(infoMaterias, estudiantes, TipoSecuencia.DESENROLLADA);
+        for (String estudiante : estudiantes){
+            sistema.inscribir(estudiante, "Ciencias Físicas", "Matemática 1");
+        }
+        assertEquals(200, sistema.inscriptos("Análisis I", "Ciencias de la Computación"));
+        sistema.cerrarMateria("Análisis I", "Ciencias de la Computación");
+        assertEquals(0, sistema.materiasInscriptas(estudiantes[199]));
+    }
+
+    @Test
+    void dividir_por_bloques(){
+        ListaDesenrollada<Integer> lista = new ListaDesenrollada<>(4);
+        for (int i = 0; i < 1000; i++){
+            lista.agregarAtras(i);
+        }
+        // Bloques de distintos tamaños
+        lista.eliminarSi(valor -> valor % 7 == 0);
+        lista.eliminar(0);
+        lista.agregarAdelante(-1);
+
+        List<Integer> esperado = new ArrayList<>();
+        for (int valor : lista){
+            esperado.add(valor);
+        }
+        assertEquals(esperado, lista.flujo(true).collect(Collectors.toList()));
+
+        // Dividiendo hasta que no se pueda más, las partes recorren todo en orden
+        List<Integer> recorrido = new ArrayList<>();
+        dividirYRecorrer(lista.spliterator(), recorrido);
+        assertEquals(esperado, recorrido);
+
+        Spliterator<Integer> resto = lista.spliterator();
+        Spliterator<Integer> primera = resto.trySplit();
+        assertNotNull(primera);
+        assertTrue(primera.estimateSize() >= lista.longitud() / 2);
+        assertEquals(lista.longitud(), primera.getExactSizeIfKnown() + resto.getExactSizeIfKnown());
+    }
+
+    static <T> void dividirYRecorrer(Spliterator<T> espliterador, List<T> recorrido){
+        Spliterator<T> primera = espliterador.trySplit();
+        if (primera == null){
+            assertTrue(espliterador.estimateSize() <= 4);
+            espliterador.forEachRemaining(recorrido::add);
+            return;
+        }
+        dividirYRecorrer(primera, recorrido);
+        dividirYRecorrer(espliterador, recorrido);
+    }
+}
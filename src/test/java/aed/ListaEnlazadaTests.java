@@ -0,0 +1,83 @@
+package aed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ConcurrentModificationException;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+public class ListaEnlazadaTests {
+
+    @Test
+    void iterador_elimina_e_inserta(){
+        ListaEnlazada<Integer> lista = new ListaEnlazada<>();
+        for (int i = 0; i < 10; i++){
+            lista.agregarAtras(i);
+        }
+
+        // Sacamos los pares y agregamos el triple de cada múltiplo de 3 después de él
+        ListaEnlazada<Integer>.IteradorLista iterador = lista.iterador();
+        while (iterador.haySiguiente()){
+            int valor = iterador.siguiente();
+            if (valor % 2 == 0){
+                iterador.eliminarActual();
+            } else if (valor % 3 == 0){
+                iterador.insertarDespues(valor * 3);
+            }
+        }
+        assertEquals("[1, 3, 9, 5, 7, 9, 27]", lista.toString());
+        assertEquals(7, lista.longitud());
+
+        // ultimNodo quedó bien: se puede seguir agregando atrás
+        lista.agregarAtras(100);
+        assertEquals(100, lista.obtener(7));
+
+        assertEquals(8, lista.eliminarSi(valor -> true));
+        assertEquals("[]", lista.toString());
+        lista.agregarAtras(1);
+        assertEquals("[1]", lista.toString());
+    }
+
+    @Test
+    void iterador_detecta_modificaciones(){
+        ListaEnlazada<Integer> lista = new ListaEnlazada<>();
+        lista.agregarAtras(1);
+        lista.agregarAtras(2);
+
+        ListaEnlazada<Integer>.IteradorLista iterador = lista.iterador();
+        assertThrows(IllegalStateException.class, () -> iterador.eliminarActual());
+        iterador.siguiente();
+        iterador.eliminarActual();
+        assertThrows(IllegalStateException.class, () -> iterador.eliminarActual());
+
+        // agregarAtras no invalida al iterador, pero eliminar sí
+        lista.agregarAtras(3);
+        assertEquals(2, iterador.siguiente());
+        lista.eliminar(0);
+        assertThrows(ConcurrentModificationException.class, () -> iterador.siguiente());
+    }
+
+    @Test
+    void recorrer_y_dividir(){
+        ListaEnlazada<Integer> lista = new ListaEnlazada<>();
+        for (int i = 0; i < 5000; i++){
+            lista.agregarAtras(i);
+        }
+
+        int suma = 0;
+        for (int valor : lista){
+            suma += valor;
+        }
+        assertEquals(4999 * 5000 / 2, suma);
+        assertEquals(4999 * 5000 / 2, lista.flujo(true).mapToLong(valor -> valor).sum());
+        assertEquals(lista.toString(), lista.flujo(true).map(String::valueOf).collect(Collectors.joining(", ", "[", "]")));
+
+        Spliterator<Integer> resto = lista.spliterator();
+        Spliterator<Integer> primera = resto.trySplit();
+        assertTrue(resto.hasCharacteristics(Spliterator.SIZED | Spliterator.ORDERED));
+        assertEquals(5000, primera.getExactSizeIfKnown() + resto.getExactSizeIfKnown());
+        assertTrue(primera.tryAdvance(valor -> assertEquals(0, valor)));
+    }
+}
@@ -0,0 +1,63 @@
+package aed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ListaEnterosTests {
+
+    @Test
+    void agregar_por_los_dos_lados_y_en_bloque(){
+        ListaEnteros lista = new ListaEnteros(2);
+        for (int i = 0; i < 5; i++){
+            lista.agregarAtras(i);
+            lista.agregarAdelante(-i - 1);
+        }
+        lista.agregarTodos(new int[] {10, 11, 12});
+        assertEquals("[-5, -4, -3, -2, -1, 0, 1, 2, 3, 4, 10, 11, 12]", lista.toString());
+        assertArrayEquals(new int[] {-5, -4, -3, -2, -1, 0, 1, 2, 3, 4, 10, 11, 12}, lista.toArray());
+        assertEquals(13, lista.longitud());
+        assertEquals(5, lista.buscar(0));
+        assertEquals(-1, lista.buscar(99));
+
+        ListaEnteros.IteradorEnteros iterador = lista.copiar().iterador();
+        int suma = 0;
+        while (iterador.haySiguiente()){
+            suma += iterador.siguiente();
+        }
+        assertEquals(33 - 15 + 10, suma);
+        assertEquals(suma, lista.flujo(true).sum());
+        assertThrows(IndexOutOfBoundsException.class, () -> lista.obtener(13));
+    }
+
+    @Test
+    void operaciones_al_azar_como_un_deque(){
+        ListaEnteros lista = new ListaEnteros();
+        ArrayDeque<Integer> esperada = new ArrayDeque<>();
+        Random azar = new Random(35);
+        for (int paso = 0; paso < 20000; paso++){
+            int op = azar.nextInt(6);
+            if (op < 2){
+                lista.agregarAtras(paso);
+                esperada.addLast(paso);
+            } else if (op < 4){
+                lista.agregarAdelante(paso);
+                esperada.addFirst(paso);
+            } else if (!esperada.isEmpty() && op == 4){
+                lista.eliminar(0);
+                esperada.removeFirst();
+            } else if (!esperada.isEmpty()){
+                lista.eliminar(lista.longitud() - 1);
+                esperada.removeLast();
+            }
+        }
+        assertEquals(esperada.toString(), lista.toString());
+        int medio = lista.longitud() / 2;
+        int valor = lista.obtener(medio + 1);
+        lista.eliminar(medio);
+        assertEquals(valor, lista.obtener(medio));
+    }
+}
@@ -0,0 +1,92 @@
+package aed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+public class ListaFueraDelHeapTests {
+
+    @Test
+    void agregar_modificar_y_eliminar(){
+        ListaFueraDelHeap lista = new ListaFueraDelHeap();
+        assertEquals(0, lista.bytesFueraDelHeap());
+        for (int i = 0; i < 100; i++){
+            lista.agregarAtras(i + "/" + (i % 20));
+        }
+        lista.agregarAdelante("ñandú");
+        assertEquals(101, lista.longitud());
+        assertEquals("ñandú", lista.obtener(0));
+        assertEquals("99/19", lista.obtener(100));
+        assertTrue(lista.bytesFueraDelHeap() >= 500);
+
+        lista.modificarPosicion(1, "un nombre más largo");
+        lista.modificarPosicion(2, "");
+        assertEquals("un nombre más largo", lista.obtener(1));
+        assertEquals("", lista.obtener(2));
+        assertEquals("2/2", lista.obtener(3));
+        lista.eliminar(0);
+        assertEquals(99, lista.eliminarSi(estudiante -> !estudiante.isEmpty()));
+        assertEquals(1, lista.longitud());
+        lista.agregarAtras("1/24");
+        assertEquals("[, 1/24]", lista.copiar().toString());
+        assertEquals(lista.bytesFueraDelHeap(), lista.memoria().bytesFueraDelHeap);
+
+        assertThrows(IllegalArgumentException.class, () -> lista.agregarAtras("中"));
+        assertThrows(IndexOutOfBoundsException.class, () -> lista.obtener(2));
+    }
+
+    @Test
+    void sistema_con_inscriptos_fuera_del_heap(){
+        InfoMateria[] infoMaterias = new InfoMateria[] {
+            new InfoMateria(new ParCarreraMateria[] {new ParCarreraMateria("Ciencias de la Computación", "Análisis I"), new ParCarreraMateria("Ciencias Físicas", "Matemática 1")}),
+            new InfoMateria(new ParCarreraMateria[] {new ParCarreraMateria("Ciencias de la Computación", "Algoritmos I")})
+        };
+        String[] estudiantes = new String[300];
+        for (int i = 0; i < estudiantes.length; i++){
+            estudiantes[i] = i + "/24";
+        }
+        SistemaSIU sistema = new SistemaSIU(infoMaterias, estudiantes, TipoSecuencia.FUERA_DEL_HEAP);
+        for (String estudiante : estudiantes){
+            sistema.inscribir(estudiante, "Ciencias Físicas", "Matemática 1");
+            sistema.inscribir(estudiante, "Ciencias de la Computación", "Algoritmos I");
+        }
+        assertEquals(300, sistema.inscriptos("Análisis I", "Ciencias de la Computación"));
+        assertTrue(sistema.memoria().bytesFueraDelHeap > 0);
+
+        try (Instantanea instantanea = sistema.instantanea()) {
+            sistema.cerrarMateria("Análisis I", "Ciencias de la Computación");
+            assertEquals(300, instantanea.inscriptos("Matemática 1", "Ciencias Físicas"));
+        }
+        assertEquals(1, sistema.materiasInscriptas(estudiantes[299]));
+        assertEquals(300, sistema.inscripcionesTotales());
+    }
+
+    @Test
+    void dividir_por_bytes(){
+        ListaFueraDelHeap lista = new ListaFueraDelHeap();
+        List<String> esperado = new ArrayList<>();
+        for (int i = 0; i < 3000; i++){
+            String libreta = i + "/" + (i % 7 == 0 ? "0" : "19");
+            lista.agregarAtras(libreta);
+            esperado.add(libreta);
+        }
+        assertEquals(esperado, lista.flujo(true).collect(Collectors.toList()));
+
+        Spliterator<String> resto = lista.spliterator();
+        Spliterator<String> primera = resto.trySplit();
+        Spliterator<String> segunda = resto.trySplit();
+        assertEquals(1500, primera.getExactSizeIfKnown());
+        assertEquals(750, segunda.getExactSizeIfKnown());
+        assertEquals(750, resto.getExactSizeIfKnown());
+        List<String> recorrido = new ArrayList<>();
+        primera.forEachRemaining(recorrido::add);
+        segunda.forEachRemaining(recorrido::add);
+        resto.forEachRemaining(recorrido::add);
+        assertEquals(esperado, recorrido);
+    }
+}
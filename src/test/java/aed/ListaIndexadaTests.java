@@ -0,0 +1,103 @@
+package aed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+public class ListaIndexadaTests {
+
+    @Test
+    void agregar_obtener_y_recorrer(){
+        ListaIndexada<Integer> lista = new ListaIndexada<>();
+        for (int i = 0; i < 10000; i++){
+            lista.agregarAtras(i);
+        }
+        lista.agregarAdelante(-1);
+        assertEquals(10001, lista.longitud());
+        assertEquals(-1, lista.obtener(0));
+        assertEquals(5000, lista.obtener(5001));
+        assertEquals(9999, lista.obtener(10000));
+
+        Iterador<Integer> iterador = lista.iterador();
+        for (int i = -1; i < 10000; i++){
+            assertTrue(iterador.haySiguiente());
+            assertEquals(i, iterador.siguiente());
+        }
+        assertFalse(iterador.haySiguiente());
+        lista.agregarAtras(10000);
+        assertTrue(iterador.haySiguiente());
+        assertEquals(10000, iterador.siguiente());
+        assertThrows(IndexOutOfBoundsException.class, () -> lista.obtener(10002));
+    }
+
+    @Test
+    void operaciones_al_azar_como_un_arraylist(){
+        ListaIndexada<Integer> lista = new ListaIndexada<>();
+        ArrayList<Integer> esperada = new ArrayList<>();
+        Random azar = new Random(32);
+        for (int paso = 0; paso < 50000; paso++){
+            int op = azar.nextInt(10);
+            if (op < 4 || esperada.isEmpty()){
+                lista.agregarAtras(paso);
+                esperada.add(paso);
+            } else if (op < 6){
+                lista.agregarAdelante(paso);
+                esperada.add(0, paso);
+            } else if (op < 9){
+                int i = azar.nextInt(esperada.size());
+                lista.eliminar(i);
+                esperada.remove(i);
+            } else {
+                int i = azar.nextInt(esperada.size());
+                lista.modificarPosicion(i, -paso);
+                esperada.set(i, -paso);
+            }
+            if (!esperada.isEmpty()){
+                int i = azar.nextInt(esperada.size());
+                assertEquals(esperada.get(i), lista.obtener(i));
+            }
+        }
+        assertEquals(esperada.size(), lista.longitud());
+        assertEquals(esperada.toString(), lista.copiar().toString());
+        esperada.removeIf(valor -> valor % 3 == 0);
+        lista.eliminarSi(valor -> valor % 3 == 0);
+        assertEquals(esperada.toString(), lista.toString());
+        while (lista.longitud() > 0){
+            lista.eliminar(lista.longitud() / 2);
+        }
+        assertEquals("[]", lista.toString());
+    }
+
+    @Test
+    void dividir_por_posiciones(){
+        ListaIndexada<Integer> lista = new ListaIndexada<>();
+        for (int i = 0; i < 5000; i++){
+            lista.agregarAtras(i);
+        }
+        for (int i = 0; i < 100; i++){
+            lista.agregarAdelante(-i);
+            lista.eliminar(3 * i);
+        }
+
+        List<Integer> esperado = new ArrayList<>();
+        for (int valor : lista){
+            esperado.add(valor);
+        }
+        assertEquals(esperado, lista.flujo(true).collect(Collectors.toList()));
+
+        Spliterator<Integer> resto = lista.spliterator();
+        Spliterator<Integer> primera = resto.trySplit();
+        assertEquals(lista.longitud() / 2, primera.getExactSizeIfKnown());
+        assertEquals(lista.longitud(), primera.getExactSizeIfKnown() + resto.getExactSizeIfKnown());
+        List<Integer> recorrido = new ArrayList<>();
+        primera.forEachRemaining(recorrido::add);
+        resto.forEachRemaining(recorrido::add);
+        assertEquals(esperado, recorrido);
+    }
+}
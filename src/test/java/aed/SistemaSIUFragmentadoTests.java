@@ -0,0 +1,155 @@
+package aed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SistemaSIUFragmentadoTests {
+    String[] estudiantes;
+    InfoMateria[] infoMaterias;
+
+    @BeforeEach
+    void init() {
+        infoMaterias = new InfoMateria[] {
+            new InfoMateria(new ParCarreraMateria[] {new ParCarreraMateria("Ciencias de la Computación", "Intro a la Programación"), new ParCarreraMateria("Ciencias de Datos", "Algoritmos1")}),
+            new InfoMateria(new ParCarreraMateria[] {new ParCarreraMateria("Ciencias de la Computación", "Algoritmos"), new ParCarreraMateria("Ciencias de Datos", "Algoritmos2")}),
+            new InfoMateria(new ParCarreraMateria[] {new ParCarreraMateria("Ciencias de la Computación", "Técnicas de Diseño de Algoritmos"), new ParCarreraMateria("Ciencias de Datos", "Algoritmos3")}),
+            new InfoMateria(new ParCarreraMateria[] {new ParCarreraMateria("Ciencias de la Computación", "Análisis I"), new ParCarreraMateria("Ciencias de Datos", "Análisis I"), new ParCarreraMateria("Ciencias Físicas", "Matemática 1"), new ParCarreraMateria("Ciencias Químicas", "Análisis Matemático I"), new ParCarreraMateria("Ciencias Matemáticas", "Análisis I") }),
+            new InfoMateria(new ParCarreraMateria[] {new ParCarreraMateria("Ciencias Biológicas", "Química General e Inorgánica 1"), new ParCarreraMateria("Ciencias Químicas", "Química General")}),
+            new InfoMateria(new ParCarreraMateria[] {new ParCarreraMateria("Ciencias Matemáticas", "Análisis II"), new ParCarreraMateria("Ciencias de Datos", "Análisis II"), new ParCarreraMateria("Ciencias Físicas", "Matemática 3"), new ParCarreraMateria("Ciencias Químicas", "Análisis Matemático II")}),
+            new InfoMateria(new ParCarreraMateria[] {new ParCarreraMateria("Ciencias Físicas", "Física 1")})
+        };
+        estudiantes = new String[] {"123/23", "321/24", "122/99", "314/81", "391/18", "478/19", "942/20", "291/18", "382/19", "892/22", "658/13", "217/12", "371/11", "294/20"};
+    }
+
+    @Test
+    void materias_compartidas_tienen_un_solo_duenio() {
+        EnrutadorCarreras enrutador = new EnrutadorCarreras(infoMaterias, 3);
+        int total = 0;
+        for (int f = 0; f < 3; f++) {
+            total += enrutador.materiasDe(f).length;
+        }
+        assertEquals(infoMaterias.length, total);
+
+        // Todos los nombres de una materia van al mismo fragmento, el menor entre los de sus carreras
+        for (InfoMateria info : infoMaterias) {
+            int duenio = Integer.MAX_VALUE;
+            for (ParCarreraMateria par : info.getParesCarreraMateria()) {
+                duenio = Math.min(duenio, enrutador.fragmentoPropio(par.getCarrera()));
+            }
+            for (ParCarreraMateria par : info.getParesCarreraMateria()) {
+                assertEquals(duenio, enrutador.fragmento(par.getCarrera(), par.getNombreMateria()));
+            }
+        }
+        assertEquals(-1, enrutador.fragmento("Ciencias de la Atmósfera", "Física 1"));
+    }
+
+    @Test
+    void mismo_resultado_que_un_solo_sistema() {
+        for (int cantFragmentos = 1; cantFragmentos <= 7; cantFragmentos++) {
+            SistemaSIU sistema = new SistemaSIU(infoMaterias, estudiantes);
+            SistemaSIUFragmentado fragmentado = new SistemaSIUFragmentado(infoMaterias, estudiantes, cantFragmentos);
+
+            int i = 0;
+            for (InfoMateria info : infoMaterias) {
+                for (ParCarreraMateria par : info.getParesCarreraMateria()) {
+                    for (int k = 0; k <= i % 3; k++) {
+                        String estudiante = estudiantes[(i * 5 + k) % estudiantes.length];
+                        sistema.inscribir(estudiante, par.getCarrera(), par.getNombreMateria());
+                        fragmentado.inscribir(estudiante, par.getCarrera(), par.getNombreMateria());
+                    }
+                    fragmentado.agregarDocente(SistemaSIU.CargoDocente.AY2, par.getCarrera(), par.getNombreMateria());
+                    i++;
+                }
+            }
+            sistema.cerrarMateria("Química General", "Ciencias Químicas");
+            fragmentado.cerrarMateria("Química General", "Ciencias Químicas");
+
+            assertArrayEquals(sistema.carreras(), fragmentado.carreras());
+            for (String carrera : sistema.carreras()) {
+                assertArrayEquals(sistema.materias(carrera), fragmentado.materias(carrera));
+                for (String materia : sistema.materias(carrera)) {
+                    assertEquals(sistema.inscriptos(materia, carrera), fragmentado.inscriptos(materia, carrera));
+                }
+            }
+            for (String estudiante : estudiantes) {
+                assertEquals(sistema.materiasInscriptas(estudiante), fragmentado.materiasInscriptas(estudiante));
+            }
+            assertEquals(sistema.inscripcionesTotales(), fragmentado.inscripcionesTotales());
+            assertEquals(sistema.cantidadMaterias(), fragmentado.cantidadMaterias());
+            assertArrayEquals(new int[] {0, 0, 0, 5}, fragmentado.plantelDocente("Análisis I", "Ciencias Matemáticas"));
+        }
+    }
+
+    @Test
+    void inscripciones_concurrentes() throws Exception {
+        SistemaSIUFragmentado fragmentado = new SistemaSIUFragmentado(infoMaterias, estudiantes, 4);
+        ParCarreraMateria[] pares = {
+            new ParCarreraMateria("Ciencias de la Computación", "Algoritmos"),
+            new ParCarreraMateria("Ciencias Físicas", "Física 1"),
+            new ParCarreraMateria("Ciencias Biológicas", "Química General e Inorgánica 1"),
+            new ParCarreraMateria("Ciencias Matemáticas", "Análisis I")
+        };
+        int porHilo = 2000;
+
+        ExecutorService hilos = Executors.newFixedThreadPool(pares.length);
+        try {
+            ArrayList<Future<?>> tareas = new ArrayList<>();
+            for (ParCarreraMateria par : pares) {
+                tareas.add(hilos.submit(() -> {
+                    for (int i = 0; i < porHilo; i++) {
+                        fragmentado.inscribir(estudiantes[i % estudiantes.length], par.getCarrera(), par.getNombreMateria());
+                    }
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            hilos.shutdown();
+        }
+
+        for (ParCarreraMateria par : pares) {
+            assertEquals(porHilo, fragmentado.inscriptos(par.getNombreMateria(), par.getCarrera()));
+        }
+        assertEquals(porHilo * pares.length, fragmentado.inscripcionesTotales());
+        int total = 0;
+        for (String estudiante : estudiantes) {
+            total += fragmentado.materiasInscriptas(estudiante);
+        }
+        assertEquals(porHilo * pares.length, total);
+    }
+
+    @Test
+    void estudiantes_en_un_registro_compartido() {
+        String[] con_repetidos = new String[estudiantes.length * 2];
+        for (int i = 0; i < con_repetidos.length; i++) {
+            con_repetidos[i] = estudiantes[i % estudiantes.length];
+        }
+        SistemaSIUFragmentado fragmentado = new SistemaSIUFragmentado(infoMaterias, con_repetidos, 4);
+        assertEquals(estudiantes.length, fragmentado.cantidadEstudiantes());
+        assertEquals(SistemaSIU.ESTUDIANTE_DESCONOCIDO, fragmentado.materiasInscriptas("999/99"));
+        assertThrows(IllegalArgumentException.class, () -> fragmentado.inscribir("999/99", "Ciencias Físicas", "Física 1"));
+
+        // Ningún fragmento guarda las libretas: todos usan el mismo registro
+        for (SistemaSIU fragmento : fragmentado.fragmentos) {
+            assertSame(fragmentado.registro, fragmento.registro);
+            assertEquals(0, fragmento.estudiantes.cantidadClaves());
+            assertEquals(estudiantes.length, fragmento.cantidadEstudiantes());
+        }
+
+        fragmentado.inscribir(estudiantes[0], "Ciencias Físicas", "Física 1");
+        fragmentado.inscribir(estudiantes[0], "Ciencias Biológicas", "Química General e Inorgánica 1");
+        fragmentado.inscribir(estudiantes[0], "Ciencias de la Computación", "Algoritmos");
+        assertEquals(3, fragmentado.materiasInscriptas(estudiantes[0]));
+        fragmentado.cerrarMateria("Física 1", "Ciencias Físicas");
+        assertEquals(2, fragmentado.materiasInscriptas(estudiantes[0]));
+        assertEquals(0, fragmentado.materiasInscriptas(estudiantes[1]));
+    }
+}
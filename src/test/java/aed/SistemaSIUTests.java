@@ -1,6 +1,11 @@
 package aed;
 
 import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 
@@ -312,4 +317,497 @@ public class SistemaSIUTests {
         String[] carreras = new String[] {"Ciencias Biológicas", "Ciencias Físicas", "Ciencias Matemáticas", "Ciencias Químicas", "Ciencias de Datos", "Ciencias de la Computación"};
         assertArrayEquals(carreras, sistema.carreras());
     }
+
+    @Test
+    void instantanea_no_ve_escrituras_posteriores(){
+        SistemaSIU sistema = new SistemaSIU(infoMaterias, estudiantes);
+        realizar_inscripciones(sistema);
+        sistema.agregarDocente(SistemaSIU.CargoDocente.PROF, "Ciencias de Datos", "Algoritmos1");
+
+        Instantanea instantanea = sistema.instantanea();
+        sistema.inscribir(estudiantes[12], "Ciencias de Datos", "Algoritmos1");
+        sistema.agregarDocente(SistemaSIU.CargoDocente.AY1, "Ciencias de Datos", "Algoritmos1");
+        sistema.cerrarMateria("Análisis I", "Ciencias de la Computación");
+
+        assertEquals(3, instantanea.inscriptos("Intro a la Programación", "Ciencias de la Computación"));
+        assertArrayEquals(new int[] {1, 0, 0, 0}, instantanea.plantelDocente("Algoritmos1", "Ciencias de Datos"));
+        assertEquals(0, instantanea.materiasInscriptas(estudiantes[12]));
+        assertEquals(2, instantanea.materiasInscriptas(estudiantes[0]));
+        String[] materiasCompu = new String[] {"Algoritmos", "Análisis I", "Intro a la Programación", "Técnicas de Diseño de Algoritmos"};
+        assertArrayEquals(materiasCompu, instantanea.materias("Ciencias de la Computación"));
+        assertEquals(5, instantanea.inscriptos("Matemática 1", "Ciencias Físicas"));
+
+        assertEquals(4, sistema.inscriptos("Intro a la Programación", "Ciencias de la Computación"));
+        assertEquals(1, sistema.materiasInscriptas(estudiantes[0]));
+        String[] materiasCompuAhora = new String[] {"Algoritmos", "Intro a la Programación", "Técnicas de Diseño de Algoritmos"};
+        assertArrayEquals(materiasCompuAhora, sistema.materias("Ciencias de la Computación"));
+
+        assertTrue(sistema.control.cantidadModificados() > 0);
+        instantanea.liberar();
+        assertEquals(0, sistema.control.cantidadModificados());
+        assertThrows(IllegalStateException.class, () -> instantanea.carreras());
+    }
+
+    @Test
+    void metricas_de_operaciones(){
+        SistemaSIU sistema = new SistemaSIU(infoMaterias, estudiantes);
+        MetricasSIU metricas = sistema.activarMetricas();
+        realizar_inscripciones(sistema);
+        sistema.inscriptos("Algoritmos1", "Ciencias de Datos");
+        sistema.cerrarMateria("Algoritmos1", "Ciencias de Datos");
+        assertThrows(NullPointerException.class, () -> sistema.inscriptos("Algoritmos1", "Ciencias de Datos"));
+
+        MetricasSIU.Resumen resumen = metricas.resumen();
+        assertEquals(22, resumen.cantidad(MetricasSIU.Operacion.INSCRIBIR));
+        assertEquals(1, resumen.cantidad(MetricasSIU.Operacion.INSCRIPTOS));
+        assertEquals(1, resumen.cantidad(MetricasSIU.Operacion.CERRAR_MATERIA));
+        assertEquals(25, resumen.busquedas);
+        assertEquals(1, resumen.fallos);
+        assertEquals(1, resumen.cierres);
+        assertEquals(5, resumen.cantidadMaterias);
+        assertEquals(14, resumen.cantidadEstudiantes);
+        assertTrue(resumen.cantidadNodosTrie > 0);
+        assertTrue(resumen.percentilNanos(MetricasSIU.Operacion.INSCRIBIR, 99) >= resumen.percentilNanos(MetricasSIU.Operacion.INSCRIBIR, 50));
+    }
+
+    @Test
+    void dar_de_baja_en_una_pasada() {
+        SistemaSIU sistema = new SistemaSIU(infoMaterias, estudiantes);
+        for (String estudiante : estudiantes) {
+            sistema.inscribir(estudiante, "Ciencias de la Computación", "Intro a la Programación");
+        }
+        sistema.inscribir(estudiantes[0], "Ciencias de la Computación", "Algoritmos");
+
+        int bajas = sistema.darDeBaja("Ciencias de la Computación", "Intro a la Programación", estudiante -> !estudiante.equals(estudiantes[0]));
+
+        assertEquals(estudiantes.length - 1, bajas);
+        assertEquals(1, sistema.inscriptos("Intro a la Programación", "Ciencias de la Computación"));
+        assertEquals(2, sistema.materiasInscriptas(estudiantes[0]));
+        assertEquals(0, sistema.materiasInscriptas(estudiantes[1]));
+        assertEquals(2, sistema.inscripcionesTotales());
+    }
+
+    @Test
+    void cupos_con_lista_de_espera() {
+        SistemaSIU sistema = new SistemaSIU(infoMaterias, estudiantes);
+        sistema.activarCupos();
+        sistema.agregarDocente(SistemaSIU.CargoDocente.PROF, "Ciencias de la Computación", "Algoritmos");
+        sistema.agregarDocente(SistemaSIU.CargoDocente.JTP, "Ciencias de la Computación", "Algoritmos");
+        sistema.agregarDocente(SistemaSIU.CargoDocente.AY1, "Ciencias de la Computación", "Algoritmos");
+
+        // Sin AY2 el cupo es 0: todos esperan
+        for (String estudiante : estudiantes) {
+            sistema.inscribir(estudiante, "Ciencias de la Computación", "Algoritmos");
+        }
+        assertEquals(0, sistema.inscriptos("Algoritmos", "Ciencias de la Computación"));
+        assertEquals(estudiantes.length, sistema.enEspera("Algoritmos", "Ciencias de la Computación"));
+        assertEquals(0, sistema.materiasInscriptas("314/81"));
+        assertEquals(1, sistema.posicionEnEspera("314/81", "Ciencias de la Computación", "Algoritmos"));
+        assertEquals(2, sistema.posicionEnEspera("122/99", "Ciencias de la Computación", "Algoritmos"));
+        assertEquals(3, sistema.posicionEnEspera("371/11", "Ciencias de la Computación", "Algoritmos"));
+        assertEquals(-1, sistema.posicionEnEspera("314/81", "Ciencias de la Computación", "Intro a la Programación"));
+
+        // Con un AY2 el cupo pasa a 20 (por el AY1): entran todos, del más antiguo al más nuevo
+        sistema.agregarDocente(SistemaSIU.CargoDocente.AY2, "Ciencias de la Computación", "Algoritmos");
+        assertEquals(estudiantes.length, sistema.inscriptos("Algoritmos2", "Ciencias de Datos"));
+        assertEquals(0, sistema.enEspera("Algoritmos", "Ciencias de la Computación"));
+        assertEquals(1, sistema.materiasInscriptas("314/81"));
+        assertFalse(sistema.excedeCupo("Algoritmos", "Ciencias de la Computación"));
+    }
+
+    @Test
+    void cache_de_materias() {
+        SistemaSIU sistema = new SistemaSIU(infoMaterias, estudiantes);
+        CacheMaterias cache = sistema.activarCache(4);
+        MetricasSIU metricas = sistema.activarMetricas();
+        realizar_inscripciones(sistema);
+
+        assertEquals(5, sistema.inscriptos("Análisis I", "Ciencias de la Computación"));
+        assertEquals(5, sistema.inscriptos("Análisis I", "Ciencias de la Computación"));
+        assertTrue(cache.aciertos() > 0);
+        assertEquals(4, cache.ocupadas());
+
+        // Cerrar la materia saca del cache todos sus nombres, y después ya no se encuentra por ninguno
+        assertEquals(5, sistema.inscriptos("Análisis I", "Ciencias Matemáticas"));
+        assertEquals(5, sistema.inscriptos("Matemática 1", "Ciencias Físicas"));
+        sistema.cerrarMateria("Análisis I", "Ciencias de Datos");
+        assertTrue(cache.invalidadas() >= 2);
+        assertThrows(NullPointerException.class, () -> sistema.inscriptos("Matemática 1", "Ciencias Físicas"));
+        assertThrows(NullPointerException.class, () -> sistema.inscriptos("Análisis I", "Ciencias Matemáticas"));
+        assertEquals(1, sistema.materiasInscriptas("123/23"));
+        assertTrue(metricas.resumen().toString().contains("cache: capacidad=4"));
+        assertEquals(cache.tasaDeAciertos(), metricas.getCacheTasaDeAciertos());
+    }
+
+    @Test
+    void inscribir_todas_es_todo_o_nada() {
+        SistemaSIU sistema = new SistemaSIU(infoMaterias, estudiantes);
+        ParCarreraMateria[] pares = new ParCarreraMateria[] {
+            new ParCarreraMateria("Ciencias de la Computación", "Algoritmos"),
+            new ParCarreraMateria("Ciencias Físicas", "Matemática 3"),
+            new ParCarreraMateria("Ciencias Químicas", "Química General")
+        };
+        assertTrue(sistema.inscribirTodas("123/23", pares));
+        assertEquals(3, sistema.materiasInscriptas("123/23"));
+        assertEquals(1, sistema.inscriptos("Algoritmos2", "Ciencias de Datos"));
+        assertEquals(1, sistema.inscriptos("Análisis II", "Ciencias Matemáticas"));
+
+        // Si una materia está cerrada no se inscribe en ninguna
+        sistema.cerrarMateria("Química General", "Ciencias Químicas");
+        assertFalse(sistema.inscribirTodas("321/24", pares));
+        assertEquals(0, sistema.materiasInscriptas("321/24"));
+        assertEquals(1, sistema.inscriptos("Algoritmos", "Ciencias de la Computación"));
+
+        // Tampoco si la misma materia viene dos veces con distintos nombres, o si el estudiante no existe
+        assertFalse(sistema.inscribirTodas("321/24", new ParCarreraMateria[] {
+            new ParCarreraMateria("Ciencias de Datos", "Análisis I"),
+            new ParCarreraMateria("Ciencias Físicas", "Matemática 1")
+        }));
+        assertFalse(sistema.inscribirTodas("000/00", new ParCarreraMateria[] {
+            new ParCarreraMateria("Ciencias de Datos", "Análisis I")
+        }));
+        assertEquals(0, sistema.materiasInscriptas("321/24"));
+        assertEquals(0, sistema.inscriptos("Análisis I", "Ciencias de Datos"));
+
+        // Con cupos, una materia llena también hace fallar todo (sin mandar a nadie a la lista de espera)
+        sistema.activarCupos();
+        assertFalse(sistema.inscribirTodas("321/24", new ParCarreraMateria[] {
+            new ParCarreraMateria("Ciencias de Datos", "Análisis I")
+        }));
+        assertEquals(0, sistema.enEspera("Análisis I", "Ciencias de Datos"));
+    }
+
+    @Test
+    void inscribir_todas_concurrente() throws InterruptedException {
+        int repeticiones = 200;
+        Thread[] hilos = new Thread[4];
+
+        // Un estudiante distinto por cada inscripción de cada hilo: nadie se inscribe dos veces en la misma materia
+        String[] libretas = new String[hilos.length * repeticiones];
+        for (int i = 0; i < libretas.length; i++) {
+            libretas[i] = (i / 100) + "/" + String.format("%02d", i % 100);
+        }
+        SistemaSIU sistema = new SistemaSIU(infoMaterias, libretas);
+
+        // Cada hilo inscribe a sus estudiantes en dos materias, una de ellas compartida con otro hilo,
+        // mientras otro hilo cierra una materia que no usan
+        Queue<Throwable> fallas = new ConcurrentLinkedQueue<>();
+        for (int t = 0; t < hilos.length; t++) {
+            String[] nombres = {"Intro a la Programación", "Algoritmos", "Técnicas de Diseño de Algoritmos", "Análisis I"};
+            ParCarreraMateria[] pares = new ParCarreraMateria[] {
+                new ParCarreraMateria("Ciencias de la Computación", nombres[t]),
+                new ParCarreraMateria("Ciencias de la Computación", nombres[(t + 1) % nombres.length])
+            };
+            int primero = t * repeticiones;
+            hilos[t] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < repeticiones; i++) {
+                        assertTrue(sistema.inscribirTodas(libretas[primero + i], pares));
+                    }
+                } catch (Throwable falla) {
+                    fallas.add(falla);
+                }
+            });
+        }
+        Thread cierre = new Thread(() -> sistema.cerrarMateria("Química General", "Ciencias Químicas"));
+        for (Thread hilo : hilos) {
+            hilo.start();
+        }
+        cierre.start();
+        esperar(hilos, fallas);
+        cierre.join();
+
+        for (String libreta : libretas) {
+            assertEquals(2, sistema.materiasInscriptas(libreta));
+        }
+        assertEquals(2 * repeticiones, sistema.inscriptos("Algoritmos", "Ciencias de la Computación"));
+        assertEquals(2 * repeticiones, sistema.inscriptos("Análisis I", "Ciencias Matemáticas"));
+        assertEquals(8 * repeticiones, sistema.inscripcionesTotales());
+    }
+
+    @Test
+    void ranking_de_materias() {
+        SistemaSIU sistema = new SistemaSIU(infoMaterias, estudiantes);
+        sistema.inscribir(estudiantes[0], "Ciencias de Datos", "Algoritmos2");
+        sistema.activarRanking();
+        realizar_inscripciones(sistema);
+
+        // Análisis I tiene cinco nombres pero aparece una vez, por su primer nombre
+        MateriaEnRanking[] top = sistema.topMaterias(3);
+        assertEquals(3, top.length);
+        assertEquals("Ciencias de la Computación", top[0].getCarrera());
+        assertEquals("Análisis I", top[0].getNombreMateria());
+        assertEquals(5, top[0].getInscriptos());
+        assertEquals(5, top[1].getInscriptos());
+        assertEquals(4, top[2].getInscriptos());
+        assertEquals(6, sistema.topMaterias(100).length);
+
+        // Las bajas, los cierres y las inscripciones de a varias lo actualizan
+        sistema.darDeBaja("Ciencias Biológicas", "Química General e Inorgánica 1", estudiante -> true);
+        sistema.cerrarMateria("Matemática 1", "Ciencias Físicas");
+        assertTrue(sistema.inscribirTodas(estudiantes[13], new ParCarreraMateria[] {
+            new ParCarreraMateria("Ciencias de la Computación", "Algoritmos")
+        }));
+        top = sistema.topMaterias(10);
+        assertEquals(5, top.length);
+        assertEquals("Análisis II", top[0].getNombreMateria());
+        assertEquals(4, top[0].getInscriptos());
+        assertEquals("Algoritmos", top[1].getNombreMateria());
+        assertEquals(4, top[1].getInscriptos());
+        assertEquals(0, top[4].getInscriptos());
+        for (MateriaEnRanking materia : top) {
+            assertEquals(materia.getInscriptos(), sistema.inscriptos(materia.getNombreMateria(), materia.getCarrera()));
+        }
+    }
+
+    @Test
+    void estudiantes_por_cantidad_de_materias() {
+        SistemaSIU sistema = new SistemaSIU(infoMaterias, estudiantes);
+        sistema.inscribir(estudiantes[9], "Ciencias de Datos", "Algoritmos1");
+        sistema.activarIndiceEstudiantes();
+        realizar_inscripciones(sistema);
+
+        // 892/22 está en 4 materias, y 382/19 en 3
+        assertArrayEquals(new String[] {"892/22"}, sistema.estudiantesConMasDe(3));
+        assertArrayEquals(new String[] {"892/22", "382/19"}, sistema.estudiantesConMasDe(2));
+        assertArrayEquals(new String[] {"371/11", "294/20"}, sistema.estudiantesConMenosDe(1));
+        assertArrayEquals(new int[][] {{4, 1}, {3, 1}, {2, 6}, {1, 4}, {0, 2}}, sistema.histogramaMateriasInscriptas());
+
+        // Las bajas, los cierres y las inscripciones de a varias mueven a los estudiantes
+        sistema.darDeBaja("Ciencias Biológicas", "Química General e Inorgánica 1", estudiante -> true);
+        sistema.cerrarMateria("Intro a la Programación", "Ciencias de la Computación");
+        assertTrue(sistema.inscribirTodas("294/20", new ParCarreraMateria[] {
+            new ParCarreraMateria("Ciencias de la Computación", "Algoritmos"),
+            new ParCarreraMateria("Ciencias Químicas", "Química General")
+        }));
+        assertEquals(0, sistema.estudiantesConMasDe(2).length);
+        assertArrayEquals(new String[] {"371/11"}, sistema.estudiantesConMenosDe(1));
+        int total = 0;
+        for (int[] fila : sistema.histogramaMateriasInscriptas()) {
+            total += fila[1];
+            for (String estudiante : fila[0] > 0 ? sistema.estudiantesConMasDe(fila[0] - 1) : new String[0]) {
+                assertTrue(sistema.materiasInscriptas(estudiante) >= fila[0]);
+            }
+        }
+        assertEquals(estudiantes.length, total);
+    }
+
+    @Test
+    void compactar_con_escrituras_concurrentes() throws InterruptedException {
+        String[] libretas = new String[2000];
+        for (int i = 0; i < libretas.length; i++) {
+            libretas[i] = (i / 100) + "/" + String.format("%02d", i % 100);
+        }
+        SistemaSIU sistema = new SistemaSIU(infoMaterias, libretas);
+        sistema.cerrarMateria("Química General", "Ciencias Químicas");
+
+        // Un hilo compacta una y otra vez mientras otros dos inscriben (compactar toma el lock de a un Trie por vez)
+        Queue<Throwable> fallas = new ConcurrentLinkedQueue<>();
+        Thread[] hilos = new Thread[3];
+        hilos[0] = new Thread(() -> {
+            try {
+                for (int i = 0; i < 50; i++) {
+                    sistema.compactar();
+                }
+            } catch (Throwable falla) {
+                fallas.add(falla);
+            }
+        });
+        for (int h = 1; h < hilos.length; h++) {
+            final int hilo = h;
+            hilos[h] = new Thread(() -> {
+                try {
+                    for (int i = hilo - 1; i < libretas.length; i += 2) {
+                        sistema.inscribir(libretas[i], "Ciencias de Datos", "Análisis I");
+                    }
+                } catch (Throwable falla) {
+                    fallas.add(falla);
+                }
+            });
+        }
+        for (Thread hilo : hilos) {
+            hilo.start();
+        }
+        esperar(hilos, fallas);
+
+        assertEquals(libretas.length, sistema.inscriptos("Matemática 1", "Ciencias Físicas"));
+        assertEquals(1, sistema.materiasInscriptas(libretas[libretas.length - 1]));
+        assertEquals(0, sistema.compactar());
+    }
+
+    @Test
+    void compactar_no_cambia_las_consultas() {
+        SistemaSIU sistema = new SistemaSIU(infoMaterias, estudiantes);
+        sistema.activarIndicePlano();
+        realizar_inscripciones(sistema);
+        sistema.cerrarMateria("Química General", "Ciencias Químicas");
+        sistema.cerrarMateria("Algoritmos", "Ciencias de la Computación");
+
+        long antes = sistema.memoria().bytes;
+        long liberados = sistema.compactar();
+        assertTrue(liberados > 0);
+        assertEquals(antes - liberados, sistema.memoria().bytes);
+        assertArrayEquals(new String[] {"Análisis I", "Intro a la Programación", "Técnicas de Diseño de Algoritmos"},
+            sistema.materias("Ciencias de la Computación"));
+        assertEquals(5, sistema.inscriptos("Análisis I", "Ciencias de Datos"));
+        assertEquals(1, sistema.materiasInscriptas("892/22"));
+
+        // Se puede seguir escribiendo después de compactar
+        sistema.inscribir("294/20", "Ciencias Físicas", "Matemática 3");
+        assertEquals(5, sistema.inscriptos("Análisis II", "Ciencias Matemáticas"));
+        assertEquals(1, sistema.materiasInscriptas("294/20"));
+    }
+
+    @Test
+    void estudiante_desconocido() {
+        SistemaSIU sistema = new SistemaSIU(infoMaterias, estudiantes);
+        realizar_inscripciones(sistema);
+        Instantanea instantanea = sistema.instantanea();
+
+        assertTrue(sistema.estudianteRegistrado("123/23"));
+        assertFalse(sistema.estudianteRegistrado("999/99"));
+        assertEquals(SistemaSIU.ESTUDIANTE_DESCONOCIDO, sistema.materiasInscriptas("999/99"));
+        assertEquals(SistemaSIU.ESTUDIANTE_DESCONOCIDO, instantanea.materiasInscriptas("999/99"));
+
+        // Inscribir una libreta desconocida no toca la materia
+        assertThrows(IllegalArgumentException.class, () -> sistema.inscribir("999/99", "Ciencias de Datos", "Análisis I"));
+        assertEquals(5, sistema.inscriptos("Análisis I", "Ciencias de Datos"));
+        assertFalse(sistema.inscribirTodas("999/99", new ParCarreraMateria[] {new ParCarreraMateria("Ciencias de Datos", "Análisis I")}));
+
+        // Cada consulta desconocida la rechaza el filtro o la cuenta como falso positivo
+        FiltroLibretas filtro = sistema.filtroLibretas();
+        assertEquals(5, filtro.rechazos() + filtro.falsosPositivos());
+        instantanea.liberar();
+    }
+
+    @Test
+    void catalogo_perezoso_comparte_materias() {
+        SistemaSIU sistema = SistemaSIU.conCatalogoPerezoso(infoMaterias, estudiantes);
+        assertEquals(6, sistema.carrerasSinMaterializar());
+        assertEquals(6, sistema.cantidadMaterias());
+        assertArrayEquals(new String[] {"Ciencias Biológicas", "Ciencias Físicas", "Ciencias Matemáticas", "Ciencias Químicas",
+            "Ciencias de Datos", "Ciencias de la Computación"}, sistema.carreras());
+        assertEquals(6, sistema.carrerasSinMaterializar());
+
+        // Inscribir en Física crea Análisis I con sus nombres en las otras carreras, sin materializarlas
+        sistema.inscribir("123/23", "Ciencias Físicas", "Matemática 1");
+        assertEquals(5, sistema.carrerasSinMaterializar());
+        assertEquals(1, sistema.inscriptos("Análisis I", "Ciencias de Datos"));
+        assertEquals(4, sistema.carrerasSinMaterializar());
+
+        // Una materia cerrada antes de materializar otra de sus carreras no vuelve a aparecer en ella
+        sistema.cerrarMateria("Análisis Matemático I", "Ciencias Químicas");
+        assertEquals(0, sistema.materiasInscriptas("123/23"));
+        assertArrayEquals(new String[] {"Análisis II"}, sistema.materias("Ciencias Matemáticas"));
+        assertArrayEquals(new String[] {"Algoritmos", "Intro a la Programación", "Técnicas de Diseño de Algoritmos"},
+            sistema.materias("Ciencias de la Computación"));
+        assertEquals(5, sistema.cantidadMaterias());
+        assertEquals(1, sistema.carrerasSinMaterializar());
+
+        sistema.materializarCatalogo();
+        assertEquals(0, sistema.carrerasSinMaterializar());
+        assertArrayEquals(new String[] {"Química General e Inorgánica 1"}, sistema.materias("Ciencias Biológicas"));
+    }
+
+    @Test
+    void catalogo_perezoso_igual_que_completo() {
+        SistemaSIU completo = new SistemaSIU(infoMaterias, estudiantes);
+        SistemaSIU perezoso = SistemaSIU.conCatalogoPerezoso(infoMaterias, estudiantes);
+        realizar_inscripciones(completo);
+        realizar_inscripciones(perezoso);
+        assertEquals(completo.cantidadNodosTries(), perezoso.cantidadNodosTries());
+        completo.cerrarMateria("Algoritmos1", "Ciencias de Datos");
+        perezoso.cerrarMateria("Algoritmos1", "Ciencias de Datos");
+
+        for (InfoMateria info : infoMaterias) {
+            for (ParCarreraMateria par : info.getParesCarreraMateria()) {
+                if (!par.getNombreMateria().equals("Algoritmos1") && !par.getNombreMateria().equals("Intro a la Programación")) {
+                    assertEquals(completo.inscriptos(par.getNombreMateria(), par.getCarrera()),
+                        perezoso.inscriptos(par.getNombreMateria(), par.getCarrera()));
+                }
+            }
+        }
+        for (String carrera : completo.carreras()) {
+            assertArrayEquals(completo.materias(carrera), perezoso.materias(carrera));
+        }
+        for (String estudiante : estudiantes) {
+            assertEquals(completo.materiasInscriptas(estudiante), perezoso.materiasInscriptas(estudiante));
+        }
+        assertEquals(completo.inscripcionesTotales(), perezoso.inscripcionesTotales());
+        assertEquals(0, perezoso.carrerasSinMaterializar());
+        assertEquals(completo.memoria().bytes, perezoso.memoria().bytes);
+    }
+
+    @Test
+    void catalogo_perezoso_concurrente() throws InterruptedException {
+        SistemaSIU sistema = SistemaSIU.conCatalogoPerezoso(infoMaterias, estudiantes);
+        String[][] nombres = {{"Ciencias Químicas", "Química General"}, {"Ciencias Biológicas", "Química General e Inorgánica 1"}};
+
+        // Cada hilo inscribe a sus estudiantes en la misma materia, por el nombre de una de sus dos carreras
+        Thread[] hilos = new Thread[4];
+        for (int h = 0; h < hilos.length; h++) {
+            final int hilo = h;
+            hilos[h] = new Thread(() -> {
+                for (int i = hilo; i < estudiantes.length; i += hilos.length) {
+                    String[] nombre = nombres[i % 2];
+                    sistema.inscribir(estudiantes[i], nombre[0], nombre[1]);
+                }
+            });
+            hilos[h].start();
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+
+        assertEquals(estudiantes.length, sistema.inscriptos("Química General", "Ciencias Químicas"));
+        assertEquals(estudiantes.length, sistema.inscriptos("Química General e Inorgánica 1", "Ciencias Biológicas"));
+        assertEquals(estudiantes.length, sistema.inscripcionesTotales());
+    }
+
+    @Test
+    void catalogo_perezoso_lectores_concurrentes() throws InterruptedException {
+        String[][] nombres = {
+            {"Ciencias de la Computación", "Algoritmos"}, {"Ciencias de Datos", "Algoritmos3"},
+            {"Ciencias Físicas", "Matemática 1"}, {"Ciencias Químicas", "Química General"},
+            {"Ciencias Matemáticas", "Análisis II"}, {"Ciencias Biológicas", "Química General e Inorgánica 1"}
+        };
+
+        // Cada hilo toca por primera vez una carrera distinta, sin lock, y todos arrancan juntos: el que materializa la
+        // última carrera anula el catálogo mientras los demás están buscando las suyas
+        for (int ronda = 0; ronda < 200; ronda++) {
+            SistemaSIU sistema = SistemaSIU.conCatalogoPerezoso(infoMaterias, estudiantes);
+            CountDownLatch largada = new CountDownLatch(1);
+            Queue<Throwable> fallas = new ConcurrentLinkedQueue<>();
+            Thread[] hilos = new Thread[nombres.length];
+            for (int h = 0; h < hilos.length; h++) {
+                String[] nombre = nombres[h];
+                hilos[h] = new Thread(() -> {
+                    try {
+                        largada.await();
+                        assertEquals(0, sistema.inscriptos(nombre[1], nombre[0]));
+                        assertFalse(sistema.excedeCupo(nombre[1], nombre[0]));
+                        assertNotNull(sistema.plantelDocente(nombre[1], nombre[0]));
+                    } catch (Throwable falla) {
+                        fallas.add(falla);
+                    }
+                });
+                hilos[h].start();
+            }
+            largada.countDown();
+            esperar(hilos, fallas);
+            assertEquals(0, sistema.carrerasSinMaterializar());
+        }
+    }
+
+    // Espera a que terminen los hilos y relanza la primera falla que hayan anotado (un assert que falla en otro hilo no
+    // hace fallar el test por sí solo)
+    static void esperar(Thread[] hilos, Queue<Throwable> fallas) throws InterruptedException {
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        Throwable falla = fallas.peek();
+        if (falla != null) {
+            fail(falla);
+        }
+    }
 }